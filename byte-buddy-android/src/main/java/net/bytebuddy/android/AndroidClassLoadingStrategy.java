@@ -8,12 +8,14 @@ import com.android.dx.dex.cf.CfTranslator;
 import com.android.dx.dex.file.DexFile;
 import dalvik.system.DexClassLoader;
 import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.RandomString;
 
 import java.io.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.logging.Logger;
@@ -44,6 +46,14 @@ import java.util.logging.Logger;
  * licensed under the <i>Apache 2.0 license</i>, please also note
  * <a href="https://developer.android.com/sdk/terms.html">their terms and conditions</a>.
  * </p>
+ * <p>
+ * By default, any dex file is only retained until the types it contains are loaded. With a
+ * {@link net.bytebuddy.android.AndroidClassLoadingStrategy.DexFileStorage#CONTENT_ADDRESSED} storage, dex files
+ * are named after a hash of the loaded class files and are retained within the private directory such that loading
+ * identical types does not require another dex conversion and reuses the Android VM's optimized dex file. Furthermore,
+ * many types can be collected by a {@link net.bytebuddy.android.AndroidClassLoadingStrategy.Batch} in order to load
+ * them by a single dex file and class loader.
+ * </p>
  */
 @TargetApi(Build.VERSION_CODES.CUPCAKE)
 public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
@@ -64,6 +74,16 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
      */
     private static final String EMPTY_LIBRARY_PATH = null;
 
+    /**
+     * The hash algorithm that is used for computing the name of a content-addressed dex file.
+     */
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    /**
+     * The symbols that are used for representing a hash value in hexadecimal notation.
+     */
+    private static final char[] HEX_SYMBOL = "0123456789abcdef".toCharArray();
+
     /**
      * The dex creator to be used by this Android class loading strategy.
      */
@@ -80,6 +100,11 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
      */
     private final RandomString randomString;
 
+    /**
+     * The storage that determines the location and the lifetime of any dex file.
+     */
+    private final DexFileStorage dexFileStorage;
+
     /**
      * Creates a new Android class loading strategy that uses the given folder for storing classes. The created
      * class loading strategy makes use of the
@@ -102,32 +127,101 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
      * @param dexProcessor     The dex processor to be used for creating a dex file out of Java files.
      */
     public AndroidClassLoadingStrategy(File privateDirectory, DexProcessor dexProcessor) {
+        this(privateDirectory, dexProcessor, DexFileStorage.TRANSIENT);
+    }
+
+    /**
+     * Creates a new Android class loading strategy that uses the given folder for storing classes.
+     *
+     * @param privateDirectory A directory that is <b>not shared with other applications</b> to be used for storing
+     *                         generated classes and their processed forms.
+     * @param dexProcessor     The dex processor to be used for creating a dex file out of Java files.
+     * @param dexFileStorage   The storage that determines the location and the lifetime of any dex file.
+     */
+    public AndroidClassLoadingStrategy(File privateDirectory, DexProcessor dexProcessor, DexFileStorage dexFileStorage) {
         if (!privateDirectory.isDirectory()) {
             throw new IllegalArgumentException("Not a directory " + privateDirectory);
         }
         this.privateDirectory = privateDirectory;
         this.dexProcessor = dexProcessor;
+        this.dexFileStorage = dexFileStorage;
         randomString = new RandomString();
     }
 
-    @Override
-    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
-        DexProcessor.Conversion conversion = dexProcessor.create();
+    /**
+     * Computes a hexadecimal hash value of the given types' names and binary representations which is independent
+     * of the iteration order of the given map.
+     *
+     * @param types The types to hash.
+     * @return A hexadecimal hash value of the given types.
+     */
+    protected static String hash(Map<TypeDescription, byte[]> types) {
+        SortedMap<String, byte[]> sortedTypes = new TreeMap<String, byte[]>();
         for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
-            conversion.register(entry.getKey().getName(), entry.getValue());
+            sortedTypes.put(entry.getKey().getName(), entry.getValue());
         }
-        File zipFile = new File(privateDirectory, randomString.nextString() + JAR_FILE_EXTENSION);
+        MessageDigest messageDigest;
         try {
-            if (!zipFile.createNewFile()) {
-                throw new IllegalStateException("Cannot create " + zipFile);
-            }
-            JarOutputStream zipOutputStream = new JarOutputStream(new FileOutputStream(zipFile));
+            messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Hash algorithm is not available: " + HASH_ALGORITHM, e);
+        }
+        for (Map.Entry<String, byte[]> entry : sortedTypes.entrySet()) {
             try {
-                zipOutputStream.putNextEntry(new JarEntry(DEX_CLASS_FILE));
-                conversion.drainTo(zipOutputStream);
-                zipOutputStream.closeEntry();
-            } finally {
-                zipOutputStream.close();
+                messageDigest.update(entry.getKey().getBytes("UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException("UTF-8 encoding is not supported", e);
+            }
+            messageDigest.update((byte) 0);
+            messageDigest.update(entry.getValue());
+        }
+        byte[] hash = messageDigest.digest();
+        char[] hexadecimal = new char[hash.length * 2];
+        for (int index = 0; index < hash.length; index++) {
+            hexadecimal[index * 2] = HEX_SYMBOL[(hash[index] >> 4) & 0xF];
+            hexadecimal[index * 2 + 1] = HEX_SYMBOL[hash[index] & 0xF];
+        }
+        return new String(hexadecimal);
+    }
+
+    /**
+     * Creates a new batch for collecting several types before loading them by a single dex file and class loader.
+     *
+     * @return A new, empty batch.
+     */
+    public Batch batch() {
+        return new Batch(this);
+    }
+
+    @Override
+    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+        File zipFile = dexFileStorage.locate(privateDirectory, types, randomString);
+        try {
+            if (!dexFileStorage.isAvailable(zipFile)) {
+                DexProcessor.Conversion conversion = dexProcessor.create();
+                for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                    conversion.register(entry.getKey().getName(), entry.getValue());
+                }
+                File temporaryFile = new File(privateDirectory, randomString.nextString() + JAR_FILE_EXTENSION);
+                if (!temporaryFile.createNewFile()) {
+                    throw new IllegalStateException("Cannot create " + temporaryFile);
+                }
+                try {
+                    JarOutputStream zipOutputStream = new JarOutputStream(new FileOutputStream(temporaryFile));
+                    try {
+                        zipOutputStream.putNextEntry(new JarEntry(DEX_CLASS_FILE));
+                        conversion.drainTo(zipOutputStream);
+                        zipOutputStream.closeEntry();
+                    } finally {
+                        zipOutputStream.close();
+                    }
+                } catch (IOException e) {
+                    if (!temporaryFile.delete()) {
+                        Logger.getAnonymousLogger().warning("Could not delete " + temporaryFile);
+                    }
+                    throw e;
+                }
+                dexFileStorage.publish(temporaryFile, zipFile);
             }
             ClassLoader dexClassLoader = dexProcessor.makeClassLoader(zipFile, privateDirectory, classLoader);
             Map<TypeDescription, Class<?>> loadedTypes = new HashMap<TypeDescription, Class<?>>(types.size());
@@ -142,9 +236,7 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
         } catch (IOException e) {
             throw new IllegalStateException("Cannot write to zip file " + zipFile, e);
         } finally {
-            if (!zipFile.delete()) {
-                Logger.getAnonymousLogger().warning("Could not delete " + zipFile);
-            }
+            dexFileStorage.release(zipFile);
         }
     }
 
@@ -154,9 +246,197 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
                 "dexProcessor=" + dexProcessor +
                 ", privateDirectory=" + privateDirectory +
                 ", randomString=" + randomString +
+                ", dexFileStorage=" + dexFileStorage +
                 '}';
     }
 
+    /**
+     * A dex file storage determines the location and the lifetime of a dex file that is created by an
+     * {@link net.bytebuddy.android.AndroidClassLoadingStrategy}.
+     */
+    public static enum DexFileStorage {
+
+        /**
+         * A transient storage writes any dex file to a randomly named file and deletes this file after the contained
+         * types were loaded. Any loaded type requires a new dex conversion.
+         */
+        TRANSIENT {
+            @Override
+            protected File locate(File privateDirectory, Map<TypeDescription, byte[]> types, RandomString randomString) {
+                return new File(privateDirectory, randomString.nextString() + JAR_FILE_EXTENSION);
+            }
+
+            @Override
+            protected boolean isAvailable(File zipFile) {
+                return false;
+            }
+
+            @Override
+            protected void publish(File temporaryFile, File zipFile) {
+                if (!temporaryFile.renameTo(zipFile)) {
+                    throw new IllegalStateException("Cannot create " + zipFile);
+                }
+            }
+
+            @Override
+            protected void release(File zipFile) {
+                if (zipFile.exists() && !zipFile.delete()) {
+                    Logger.getAnonymousLogger().warning("Could not delete " + zipFile);
+                }
+            }
+        },
+
+        /**
+         * A content-addressed storage names any dex file by a hash value of the contained types' class files and
+         * retains this file after loading. When identical types are loaded again, the existing dex file is reused
+         * without a further dex conversion what also allows the Android VM to reuse its optimized representation of
+         * this dex file. Retained files must be removed from the private directory explicitly when they are no
+         * longer required.
+         */
+        CONTENT_ADDRESSED {
+            @Override
+            protected File locate(File privateDirectory, Map<TypeDescription, byte[]> types, RandomString randomString) {
+                return new File(privateDirectory, hash(types) + JAR_FILE_EXTENSION);
+            }
+
+            @Override
+            protected boolean isAvailable(File zipFile) {
+                return zipFile.isFile();
+            }
+
+            @Override
+            protected void publish(File temporaryFile, File zipFile) {
+                // The file might have been created concurrently what does not matter as its content is identical.
+                if (!temporaryFile.renameTo(zipFile) && !zipFile.isFile()) {
+                    throw new IllegalStateException("Cannot create " + zipFile);
+                } else if (temporaryFile.exists() && !temporaryFile.delete()) {
+                    Logger.getAnonymousLogger().warning("Could not delete " + temporaryFile);
+                }
+            }
+
+            @Override
+            protected void release(File zipFile) {
+                /* do nothing */
+            }
+        };
+
+        /**
+         * Determines the location of the dex file for the given types.
+         *
+         * @param privateDirectory A directory that is <b>not shared with other applications</b> to be used for
+         *                         storing generated classes and their processed forms.
+         * @param types            The types that are contained by the dex file.
+         * @param randomString     A generator for random string values.
+         * @return The location of the dex file.
+         */
+        protected abstract File locate(File privateDirectory, Map<TypeDescription, byte[]> types, RandomString randomString);
+
+        /**
+         * Checks if a dex file already exists such that its creation can be skipped.
+         *
+         * @param zipFile The location of the dex file.
+         * @return {@code true} if the dex file already exists and can be reused.
+         */
+        protected abstract boolean isAvailable(File zipFile);
+
+        /**
+         * Moves a fully written dex file to its location.
+         *
+         * @param temporaryFile The file that was written.
+         * @param zipFile       The location of the dex file.
+         */
+        protected abstract void publish(File temporaryFile, File zipFile);
+
+        /**
+         * Releases a dex file after its types were loaded.
+         *
+         * @param zipFile The location of the dex file.
+         */
+        protected abstract void release(File zipFile);
+    }
+
+    /**
+     * A batch collects several types in order to load them by a single dex file and class loader. A batch is not
+     * thread-safe.
+     */
+    public static class Batch {
+
+        /**
+         * The class loading strategy that is used for loading the collected types.
+         */
+        private final ClassLoadingStrategy classLoadingStrategy;
+
+        /**
+         * The types that were collected by this batch.
+         */
+        private final Map<TypeDescription, byte[]> types;
+
+        /**
+         * Creates a new, empty batch.
+         *
+         * @param classLoadingStrategy The class loading strategy that is used for loading the collected types.
+         */
+        protected Batch(ClassLoadingStrategy classLoadingStrategy) {
+            this.classLoadingStrategy = classLoadingStrategy;
+            types = new LinkedHashMap<TypeDescription, byte[]>();
+        }
+
+        /**
+         * Adds a dynamic type and all of its auxiliary types to this batch.
+         *
+         * @param dynamicType The dynamic type to add.
+         * @return This batch.
+         */
+        public Batch add(DynamicType dynamicType) {
+            return add(dynamicType.getAllTypes());
+        }
+
+        /**
+         * Adds the given types to this batch.
+         *
+         * @param types The types to add mapped to their binary representation.
+         * @return This batch.
+         */
+        public Batch add(Map<TypeDescription, byte[]> types) {
+            this.types.putAll(types);
+            return this;
+        }
+
+        /**
+         * Returns the number of types that are currently collected by this batch.
+         *
+         * @return The number of collected types.
+         */
+        public int size() {
+            return types.size();
+        }
+
+        /**
+         * Loads all collected types by a single dex file and class loader and clears this batch.
+         *
+         * @param classLoader The parent class loader of the created class loader.
+         * @return A map of all collected types to their loaded representation.
+         */
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader) {
+            if (types.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            try {
+                return classLoadingStrategy.load(classLoader, new LinkedHashMap<TypeDescription, byte[]>(types));
+            } finally {
+                types.clear();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "AndroidClassLoadingStrategy.Batch{" +
+                    "classLoadingStrategy=" + classLoadingStrategy +
+                    ", types=" + types +
+                    '}';
+        }
+    }
+
     /**
      * A dex processor is responsible for converting a collection of Java class files into a Android dex file.
      */
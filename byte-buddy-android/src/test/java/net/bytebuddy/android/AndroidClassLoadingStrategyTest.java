@@ -20,12 +20,11 @@ import org.mockito.Mock;
 
 import java.io.File;
 import java.io.OutputStream;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
@@ -86,6 +85,73 @@ public class AndroidClassLoadingStrategyTest {
         verifyNoMoreInteractions(conversion);
     }
 
+    @Test
+    public void testContentAddressedProcessingIsReused() throws Exception {
+        AndroidClassLoadingStrategy.DexProcessor dexProcessor = mock(AndroidClassLoadingStrategy.DexProcessor.class);
+        ClassLoader classLoader = mock(ClassLoader.class);
+        doReturn(Object.class).when(classLoader).loadClass(FOO);
+        when(dexProcessor.makeClassLoader(any(File.class), eq(directory), any(ClassLoader.class))).thenReturn(classLoader);
+        AndroidClassLoadingStrategy.DexProcessor.Conversion conversion = mock(AndroidClassLoadingStrategy.DexProcessor.Conversion.class);
+        when(dexProcessor.create()).thenReturn(conversion);
+        ClassLoadingStrategy classLoadingStrategy = new AndroidClassLoadingStrategy(directory,
+                dexProcessor,
+                AndroidClassLoadingStrategy.DexFileStorage.CONTENT_ADDRESSED);
+        Map<TypeDescription, byte[]> unloaded = Collections.singletonMap(first, QUX);
+        ClassLoader parentClassLoader = mock(ClassLoader.class);
+        assertEquals(Object.class, classLoadingStrategy.load(parentClassLoader, unloaded).get(first));
+        assertEquals(Object.class, classLoadingStrategy.load(parentClassLoader, unloaded).get(first));
+        verify(dexProcessor).create();
+        verify(dexProcessor, times(2)).makeClassLoader(new File(directory, AndroidClassLoadingStrategy.hash(unloaded) + ".jar"),
+                directory,
+                parentClassLoader);
+        verifyNoMoreInteractions(dexProcessor);
+        verify(conversion).register(FOO, QUX);
+        verify(conversion).drainTo(any(OutputStream.class));
+        verifyNoMoreInteractions(conversion);
+        File[] file = directory.listFiles();
+        assertThat(file.length, is(1));
+        assertThat(file[0].delete(), is(true));
+    }
+
+    @Test
+    public void testHashIsContentDependent() throws Exception {
+        Map<TypeDescription, byte[]> unloaded = new HashMap<TypeDescription, byte[]>();
+        unloaded.put(first, QUX);
+        unloaded.put(second, BAZ);
+        Map<TypeDescription, byte[]> reordered = new LinkedHashMap<TypeDescription, byte[]>();
+        reordered.put(second, BAZ);
+        reordered.put(first, QUX);
+        assertThat(AndroidClassLoadingStrategy.hash(unloaded), is(AndroidClassLoadingStrategy.hash(reordered)));
+        assertThat(AndroidClassLoadingStrategy.hash(unloaded), not(is(AndroidClassLoadingStrategy.hash(Collections.singletonMap(first, QUX)))));
+        assertThat(AndroidClassLoadingStrategy.hash(Collections.singletonMap(first, QUX)),
+                not(is(AndroidClassLoadingStrategy.hash(Collections.singletonMap(first, BAZ)))));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        AndroidClassLoadingStrategy.DexProcessor dexProcessor = mock(AndroidClassLoadingStrategy.DexProcessor.class);
+        ClassLoader classLoader = mock(ClassLoader.class);
+        doReturn(Object.class).when(classLoader).loadClass(FOO);
+        doReturn(Void.class).when(classLoader).loadClass(BAR);
+        when(dexProcessor.makeClassLoader(any(File.class), eq(directory), any(ClassLoader.class))).thenReturn(classLoader);
+        AndroidClassLoadingStrategy.DexProcessor.Conversion conversion = mock(AndroidClassLoadingStrategy.DexProcessor.Conversion.class);
+        when(dexProcessor.create()).thenReturn(conversion);
+        AndroidClassLoadingStrategy.Batch batch = new AndroidClassLoadingStrategy(directory, dexProcessor).batch()
+                .add(Collections.singletonMap(first, QUX))
+                .add(Collections.singletonMap(second, BAZ));
+        assertThat(batch.size(), is(2));
+        ClassLoader parentClassLoader = mock(ClassLoader.class);
+        Map<TypeDescription, Class<?>> loaded = batch.load(parentClassLoader);
+        assertThat(loaded.size(), is(2));
+        assertEquals(Object.class, loaded.get(first));
+        assertEquals(Void.class, loaded.get(second));
+        assertThat(batch.size(), is(0));
+        assertThat(batch.load(parentClassLoader).size(), is(0));
+        verify(dexProcessor).create();
+        verify(dexProcessor).makeClassLoader(any(File.class), eq(directory), eq(parentClassLoader));
+        verifyNoMoreInteractions(dexProcessor);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAndroidClassLoaderRequiresDirectory() throws Exception {
         new AndroidClassLoadingStrategy(mock(File.class), mock(AndroidClassLoadingStrategy.DexProcessor.class));
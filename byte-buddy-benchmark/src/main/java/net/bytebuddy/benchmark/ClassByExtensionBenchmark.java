@@ -9,6 +9,7 @@ import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.MethodDelegation;
 import net.bytebuddy.instrumentation.SuperMethodCall;
 import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.RuntimeType;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super;
 import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
 import net.sf.cglib.proxy.*;
 import org.openjdk.jmh.annotations.*;
@@ -84,6 +85,67 @@ public class ClassByExtensionBenchmark {
                 .newInstance();
     }
 
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses an annotation-based approach
+     * where the super method is invoked on a proxy that is injected by the {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super}
+     * annotation.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the reflective invocation causes an exception.
+     */
+    @Benchmark
+    public ExampleClass benchmarkByteBuddyWithSuper() throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(baseClass)
+                .method(isDeclaredBy(ExampleClass.class)).intercept(MethodDelegation.to(ByteBuddySuperInterceptor.class))
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .newInstance();
+    }
+
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses an annotation-based approach
+     * where the super method is invoked on a proxy that is injected by the {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super}
+     * annotation. The proxy is created without calling a constructor.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the reflective invocation causes an exception.
+     */
+    @Benchmark
+    public ExampleClass benchmarkByteBuddyWithUnsafeSuper() throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(baseClass)
+                .method(isDeclaredBy(ExampleClass.class)).intercept(MethodDelegation.to(ByteBuddyUnsafeSuperInterceptor.class))
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .newInstance();
+    }
+
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses an annotation-based approach
+     * where the super method is invoked on a proxy that is injected by the {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super}
+     * annotation. The proxy is created without calling a constructor and is reused for any invocation on the same
+     * instance such that an interception does not allocate an object.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the reflective invocation causes an exception.
+     */
+    @Benchmark
+    public ExampleClass benchmarkByteBuddyWithReusedSuper() throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(baseClass)
+                .method(isDeclaredBy(ExampleClass.class)).intercept(MethodDelegation.to(ByteBuddyReusedSuperInterceptor.class))
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .newInstance();
+    }
+
     /**
      * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses a specialized interception
      * strategy which is easier to inline by the compiler.
@@ -197,4 +259,693 @@ public class ClassByExtensionBenchmark {
             return zuper.call();
         }
     }
+
+    /**
+     * A delegate for invoking a super method by a {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super} proxy.
+     */
+    public static class ByteBuddySuperInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ByteBuddySuperInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static boolean intercept(boolean arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static boolean[] intercept(boolean arg1, boolean arg2, boolean arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static byte intercept(byte arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static byte[] intercept(byte arg1, byte arg2, byte arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static short intercept(short arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static short[] intercept(short arg1, short arg2, short arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static int intercept(int arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static int[] intercept(int arg1, int arg2, int arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static char intercept(char arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static char[] intercept(char arg1, char arg2, char arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static long intercept(long arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static long[] intercept(long arg1, long arg2, long arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static float intercept(float arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static float[] intercept(float arg1, float arg2, float arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static double intercept(double arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static double[] intercept(double arg1, double arg2, double arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static Object intercept(Object arg, @Super ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static Object[] intercept(Object arg1, Object arg2, Object arg3, @Super ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * A delegate for invoking a super method by a {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super} proxy
+     * that is created without calling a constructor.
+     */
+    public static class ByteBuddyUnsafeSuperInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ByteBuddyUnsafeSuperInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static boolean intercept(boolean arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static boolean[] intercept(boolean arg1, boolean arg2, boolean arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static byte intercept(byte arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static byte[] intercept(byte arg1, byte arg2, byte arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static short intercept(short arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static short[] intercept(short arg1, short arg2, short arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static int intercept(int arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static int[] intercept(int arg1, int arg2, int arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static char intercept(char arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static char[] intercept(char arg1, char arg2, char arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static long intercept(long arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static long[] intercept(long arg1, long arg2, long arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static float intercept(float arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static float[] intercept(float arg1, float arg2, float arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static double intercept(double arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static double[] intercept(double arg1, double arg2, double arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static Object intercept(Object arg, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static Object[] intercept(Object arg1, Object arg2, Object arg3, @Super(strategy = Super.Instantiation.UNSAFE) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * A delegate for invoking a super method by a {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super} proxy
+     * that is reused for any invocation on the same instance.
+     */
+    public static class ByteBuddyReusedSuperInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ByteBuddyReusedSuperInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static boolean intercept(boolean arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static boolean[] intercept(boolean arg1, boolean arg2, boolean arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static byte intercept(byte arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static byte[] intercept(byte arg1, byte arg2, byte arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static short intercept(short arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static short[] intercept(short arg1, short arg2, short arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static int intercept(int arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static int[] intercept(int arg1, int arg2, int arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static char intercept(char arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static char[] intercept(char arg1, char arg2, char arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static long intercept(long arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static long[] intercept(long arg1, long arg2, long arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static float intercept(float arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static float[] intercept(float arg1, float arg2, float arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static double intercept(double arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static double[] intercept(double arg1, double arg2, double arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static Object intercept(Object arg, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg);
+        }
+
+        /**
+         * Calls the super method.
+         *
+         * @param arg1 An argument.
+         * @param arg2 An argument.
+         * @param arg3 An argument.
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         */
+        public static Object[] intercept(Object arg1, Object arg2, Object arg3, @Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) ExampleClass zuper) {
+            return zuper.method(arg1, arg2, arg3);
+        }
+    }
 }
@@ -0,0 +1,318 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.ClassVisitorWrapper;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
+import net.bytebuddy.dynamic.scaffold.FieldRegistry;
+import net.bytebuddy.dynamic.scaffold.MethodRegistry;
+import net.bytebuddy.dynamic.scaffold.TypeWriter;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassInstrumentationTarget;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassInstrumentedType;
+import net.bytebuddy.instrumentation.SuperMethodCall;
+import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
+import net.bytebuddy.instrumentation.attribute.TypeAttributeAppender;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.MethodList;
+import net.bytebuddy.instrumentation.method.MethodLookupEngine;
+import net.bytebuddy.instrumentation.type.InstrumentedType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A benchmark for the individual stages of Byte Buddy's code generation pipeline. Each stage is measured in isolation
+ * where the input of a stage is computed once for each benchmarked type. The benchmarked types are a corpus of
+ * non-final classes of the Java class library of different sizes. Types of the {@code java.*} namespace are not
+ * included as rebasing a type requires the injection of auxiliary types into the rebased type's package what is
+ * prohibited for this namespace. When this benchmark is run with JMH's
+ * {@link org.openjdk.jmh.profile.GCProfiler}, the number of bytes that are allocated per operation is reported
+ * for each stage as {@code gc.alloc.rate.norm}.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodeGenerationStageBenchmark {
+
+    /**
+     * The suffix that is appended to the name of any subclass that is created by this benchmark.
+     */
+    private static final String SUFFIX = "ByteBuddy";
+
+    /**
+     * A convenience reference to indicate that a class is not redefined by a class file transformer.
+     */
+    private static final Class<?> NOT_REDEFINED = null;
+
+    /**
+     * A convenience reference to the protection domain of a type of the Java class library.
+     */
+    private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
+
+    /**
+     * The name of the Java class library type that is subject to this benchmark.
+     */
+    @Param({"javax.naming.InitialContext",
+            "javax.management.openmbean.CompositeDataSupport",
+            "javax.swing.text.DefaultEditorKit",
+            "javax.swing.table.DefaultTableModel",
+            "javax.swing.JTree",
+            "javax.swing.JTable"})
+    public String typeName;
+
+    /**
+     * The class file version that is used for creating subclasses.
+     */
+    private ClassFileVersion classFileVersion;
+
+    /**
+     * A class file locator for the benchmarked type.
+     */
+    private ClassFileLocator classFileLocator;
+
+    /**
+     * The class file of the benchmarked type.
+     */
+    private byte[] classFile;
+
+    /**
+     * A description of the benchmarked type.
+     */
+    private TypeDescription typeDescription;
+
+    /**
+     * The method lookup engine to use.
+     */
+    private MethodLookupEngine methodLookupEngine;
+
+    /**
+     * A method registry that overrides any overridable method and that imitates the super type's constructors.
+     */
+    private MethodRegistry methodRegistry;
+
+    /**
+     * An instrumented type that subclasses the benchmarked type.
+     */
+    private InstrumentedType instrumentedType;
+
+    /**
+     * The method registry after it was prepared for the instrumented type.
+     */
+    private MethodRegistry.Prepared preparedMethodRegistry;
+
+    /**
+     * The method registry after it was compiled for the instrumented type.
+     */
+    private MethodRegistry.Compiled compiledMethodRegistry;
+
+    /**
+     * The instrumentation target factory to use for compiling the method registry.
+     */
+    private SubclassInstrumentationTarget.Factory instrumentationTargetFactory;
+
+    /**
+     * The field pool for the instrumented type.
+     */
+    private TypeWriter.FieldPool fieldPool;
+
+    /**
+     * The class files of the created subclass of the benchmarked type.
+     */
+    private Map<TypeDescription, byte[]> binaryRepresentations;
+
+    /**
+     * A class file transformer that rebases the benchmarked type.
+     */
+    private ClassFileTransformer classFileTransformer;
+
+    /**
+     * The class loader to use for loading and transforming types.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * Computes the input of all benchmarked stages.
+     *
+     * @throws Exception If the benchmarked type cannot be set up.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        classFileVersion = ClassFileVersion.forCurrentJavaVersion();
+        classLoader = getClass().getClassLoader();
+        classFileLocator = ClassFileLocator.ForClassLoader.ofClassPath();
+        classFile = classFileLocator.locate(typeName).resolve();
+        typeDescription = new TypeDescription.ForLoadedType(Class.forName(typeName));
+        methodLookupEngine = MethodLookupEngine.Default.Factory.INSTANCE.make(classFileVersion.isSupportsDefaultMethods());
+        ConstructorStrategy constructorStrategy = ConstructorStrategy.Default.IMITATE_SUPER_TYPE;
+        methodRegistry = constructorStrategy.inject(new MethodRegistry.Default().append(
+                        new MethodRegistry.LatentMethodMatcher.Simple(isOverridable().and(not(isDefaultFinalizer())).and(not(isDefaultMethod()))),
+                        SuperMethodCall.INSTANCE,
+                        MethodAttributeAppender.NoOp.INSTANCE),
+                MethodAttributeAppender.NoOp.INSTANCE);
+        instrumentedType = new SubclassInstrumentedType(classFileVersion,
+                typeDescription,
+                Collections.<TypeDescription>emptyList(),
+                Modifier.PUBLIC,
+                new NamingStrategy.SuffixingRandom(SUFFIX));
+        for (MethodDescription methodDescription : constructorStrategy.extractConstructors(instrumentedType)) {
+            instrumentedType = instrumentedType.withMethod(methodDescription.getInternalName(),
+                    methodDescription.getReturnType(),
+                    methodDescription.getParameterTypes(),
+                    methodDescription.getExceptionTypes(),
+                    methodDescription.getModifiers());
+        }
+        instrumentationTargetFactory = new SubclassInstrumentationTarget.Factory(BridgeMethodResolver.Simple.Factory.FAIL_ON_REQUEST,
+                SubclassInstrumentationTarget.OriginTypeIdentifier.SUPER_TYPE);
+        preparedMethodRegistry = methodRegistry.prepare(instrumentedType);
+        compiledMethodRegistry = preparedMethodRegistry.compile(instrumentationTargetFactory,
+                methodLookupEngine,
+                MethodRegistry.Compiled.Entry.Skip.INSTANCE);
+        fieldPool = new FieldRegistry.Default()
+                .prepare(compiledMethodRegistry.getInstrumentedType())
+                .compile(TypeWriter.FieldPool.Entry.NoOp.INSTANCE);
+        binaryRepresentations = benchmarkTypeWriter().getAllTypes();
+        classFileTransformer = new AgentBuilder.Default()
+                .disableSelfInitialization()
+                .rebase(named(typeName))
+                .transform(AgentBuilder.Transformer.NoOp.INSTANCE)
+                .makeRaw();
+    }
+
+    /**
+     * Creates a new class loader for loading the subclass of the benchmarked type.
+     *
+     * @return A new class loader.
+     */
+    private ClassLoader newClassLoader() {
+        return new URLClassLoader(new URL[0], classLoader);
+    }
+
+    /**
+     * Performs a benchmark for describing the benchmarked type by parsing its class file with a
+     * {@link net.bytebuddy.pool.TypePool} that does not cache any type descriptions.
+     *
+     * @return The declared methods of the parsed type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public MethodList benchmarkTypePoolDescription() {
+        return new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE, classFileLocator)
+                .describe(typeName)
+                .resolve()
+                .getDeclaredMethods();
+    }
+
+    /**
+     * Performs a benchmark for looking up all invokable methods of the benchmarked type.
+     *
+     * @return The finding of the method lookup engine, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public MethodLookupEngine.Finding benchmarkMethodLookupEngine() {
+        return methodLookupEngine.process(typeDescription);
+    }
+
+    /**
+     * Performs a benchmark for preparing a method registry for a subclass of the benchmarked type.
+     *
+     * @return The prepared method registry, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public MethodRegistry.Prepared benchmarkMethodRegistryPreparation() {
+        return methodRegistry.prepare(instrumentedType);
+    }
+
+    /**
+     * Performs a benchmark for compiling a prepared method registry for a subclass of the benchmarked type which
+     * includes the method lookup of all invokable methods.
+     *
+     * @return The compiled method registry, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public MethodRegistry.Compiled benchmarkMethodRegistryCompilation() {
+        return preparedMethodRegistry.compile(instrumentationTargetFactory,
+                methodLookupEngine,
+                MethodRegistry.Compiled.Entry.Skip.INSTANCE);
+    }
+
+    /**
+     * Performs a benchmark for writing the class file of a subclass of the benchmarked type from a compiled method
+     * registry.
+     *
+     * @return The created dynamic type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public DynamicType.Unloaded<?> benchmarkTypeWriter() {
+        return new TypeWriter.Default<Object>(compiledMethodRegistry.getInstrumentedType(),
+                compiledMethodRegistry.getLoadedTypeInitializer(),
+                compiledMethodRegistry.getTypeInitializer(),
+                Collections.<DynamicType>emptyList(),
+                classFileVersion,
+                new TypeWriter.Engine.ForCreation(compiledMethodRegistry.getInstrumentedType(),
+                        classFileVersion,
+                        compiledMethodRegistry.getInvokableMethods().filter(isOverridable()
+                                .and(not(isDefaultFinalizer()))
+                                .<MethodDescription>or(isDeclaredBy(compiledMethodRegistry.getInstrumentedType()))),
+                        new ClassVisitorWrapper.Chain(),
+                        TypeAttributeAppender.NoOp.INSTANCE,
+                        fieldPool,
+                        compiledMethodRegistry)).make();
+    }
+
+    /**
+     * Performs a benchmark for loading the subclass of the benchmarked type by a wrapping class loader.
+     *
+     * @return The loaded types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public Map<TypeDescription, Class<?>> benchmarkWrapperClassLoading() {
+        return ClassLoadingStrategy.Default.WRAPPER.load(classLoader, binaryRepresentations);
+    }
+
+    /**
+     * Performs a benchmark for loading the subclass of the benchmarked type by injecting it into a new class loader.
+     *
+     * @return The loaded types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public Map<TypeDescription, Class<?>> benchmarkInjectionClassLoading() {
+        return ClassLoadingStrategy.Default.INJECTION.load(newClassLoader(), binaryRepresentations);
+    }
+
+    /**
+     * Performs a benchmark for rebasing the benchmarked type by an agent builder's class file transformer.
+     *
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws IllegalClassFormatException If the class file cannot be transformed.
+     */
+    @Benchmark
+    public byte[] benchmarkAgentTransformation() throws IllegalClassFormatException {
+        return classFileTransformer.transform(classLoader,
+                typeDescription.getInternalName(),
+                NOT_REDEFINED,
+                DEFAULT_PROTECTION_DOMAIN,
+                classFile);
+    }
+}
@@ -73,6 +73,26 @@ public class SuperClassInvocationBenchmark {
      */
     private ExampleClass byteBuddyWithAnnotationsInstance;
 
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance is created by delegating to
+     * an interceptor that invokes the super method on a proxy that is injected via the {@code @Super} annotation.
+     */
+    private ExampleClass byteBuddyWithSuperInstance;
+
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance is created by delegating to
+     * an interceptor that invokes the super method on a proxy that is injected via the {@code @Super} annotation
+     * where this proxy is created without calling a constructor.
+     */
+    private ExampleClass byteBuddyWithUnsafeSuperInstance;
+
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance is created by delegating to
+     * an interceptor that invokes the super method on a proxy that is injected via the {@code @Super} annotation
+     * where this proxy is reused for any invocation on the same instance.
+     */
+    private ExampleClass byteBuddyWithReusedSuperInstance;
+
     /**
      * An instance created by Byte Buddy for performing benchmarks on. This instance is created by hard-coding
      * a super method invocation into the intercepted method.
@@ -99,6 +119,9 @@ public class SuperClassInvocationBenchmark {
     public void setUp() throws Exception {
         ClassByExtensionBenchmark classByExtensionBenchmark = new ClassByExtensionBenchmark();
         byteBuddyWithAnnotationsInstance = classByExtensionBenchmark.benchmarkByteBuddyWithAnnotations();
+        byteBuddyWithSuperInstance = classByExtensionBenchmark.benchmarkByteBuddyWithSuper();
+        byteBuddyWithUnsafeSuperInstance = classByExtensionBenchmark.benchmarkByteBuddyWithUnsafeSuper();
+        byteBuddyWithReusedSuperInstance = classByExtensionBenchmark.benchmarkByteBuddyWithReusedSuper();
         byteBuddySpecializedInstance = classByExtensionBenchmark.benchmarkByteBuddySpecialized();
         cglibInstance = classByExtensionBenchmark.benchmarkCglib();
         javassistInstance = classByExtensionBenchmark.benchmarkJavassist();
@@ -135,6 +158,101 @@ public class SuperClassInvocationBenchmark {
         blackHole.consume(byteBuddyWithAnnotationsInstance.method(stringValue, stringValue, stringValue));
     }
 
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses an annotation-based
+     * approach where the super method is invoked on a proxy that is injected via the {@code @Super} annotation.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithSuper(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithSuperInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(intValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(charValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(intValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(longValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithSuperInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses an annotation-based
+     * approach where the super method is invoked on a proxy that is injected via the {@code @Super} annotation and
+     * that is created without calling a constructor.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithUnsafeSuper(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(intValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(charValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(intValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(longValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithUnsafeSuperInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses an annotation-based
+     * approach where the super method is invoked on a proxy that is injected via the {@code @Super} annotation and
+     * that is reused for any invocation on the same instance.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithReusedSuper(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(intValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(charValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(intValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(longValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithReusedSuperInstance.method(stringValue, stringValue, stringValue));
+    }
+
     /**
      * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses a specialized
      * interception strategy which is easier to inline by the compiler.
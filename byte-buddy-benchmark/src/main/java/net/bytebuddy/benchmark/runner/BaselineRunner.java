@@ -0,0 +1,176 @@
+package net.bytebuddy.benchmark.runner;
+
+import net.bytebuddy.benchmark.CodeGenerationStageBenchmark;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>
+ * A runner for the {@link net.bytebuddy.benchmark.CodeGenerationStageBenchmark} that reports the time and the bytes
+ * that are allocated per operation for each stage of the code generation pipeline. The results are compared against
+ * a baseline that is stored as a properties file. If no such baseline exists, the results of the current run are
+ * stored as the new baseline.
+ * </p>
+ * <p>
+ * The runner expects the baseline file as its first argument. Optionally, a second argument specifies the relative
+ * tolerance for any deviation from the baseline before a result is reported as a regression. If any regression is
+ * found, the runner exits with a non-zero status code.
+ * </p>
+ */
+public class BaselineRunner {
+
+    /**
+     * A wildcard for the identification of a benchmark by JMH.
+     */
+    private static final String WILDCARD = ".*";
+
+    /**
+     * The default relative tolerance for any deviation from the baseline.
+     */
+    private static final double DEFAULT_TOLERANCE = 0.1d;
+
+    /**
+     * The suffix of the secondary result that is reported by the {@link org.openjdk.jmh.profile.GCProfiler} for the
+     * number of bytes that are allocated per operation.
+     */
+    private static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+
+    /**
+     * The suffix of a baseline property describing the time per operation.
+     */
+    private static final String TIME_SUFFIX = ".time";
+
+    /**
+     * The suffix of a baseline property describing the allocated bytes per operation.
+     */
+    private static final String ALLOCATION_SUFFIX = ".allocation";
+
+    /**
+     * The status code that is returned if a regression was found.
+     */
+    private static final int REGRESSION_STATUS = 1;
+
+    /**
+     * This class is not supposed to be constructed.
+     */
+    private BaselineRunner() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Executes the benchmark and compares its results to a baseline.
+     *
+     * @param args The baseline file and an optional relative tolerance.
+     * @throws RunnerException If the benchmark causes an exception.
+     * @throws IOException     If the baseline cannot be read or written.
+     */
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length < 1 || args.length > 2) {
+            throw new IllegalArgumentException("Expected a baseline file and an optional tolerance as arguments");
+        }
+        File baselineFile = new File(args[0]);
+        double tolerance = args.length == 2 ? Double.parseDouble(args[1]) : DEFAULT_TOLERANCE;
+        Properties current = toProperties(new Runner(new OptionsBuilder()
+                .include(WILDCARD + CodeGenerationStageBenchmark.class.getSimpleName() + WILDCARD)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build()).run());
+        if (baselineFile.isFile()) {
+            Properties baseline = new Properties();
+            InputStream inputStream = new FileInputStream(baselineFile);
+            try {
+                baseline.load(inputStream);
+            } finally {
+                inputStream.close();
+            }
+            if (compare(baseline, current, tolerance, System.out)) {
+                System.exit(REGRESSION_STATUS);
+            }
+        } else {
+            OutputStream outputStream = new FileOutputStream(baselineFile);
+            try {
+                current.store(outputStream, "Baseline of " + CodeGenerationStageBenchmark.class.getName());
+            } finally {
+                outputStream.close();
+            }
+            System.out.println("Stored new baseline in " + baselineFile);
+        }
+    }
+
+    /**
+     * Converts the results of a benchmark run into properties where each key identifies a benchmark method and its
+     * parameters.
+     *
+     * @param runResults The results of a benchmark run.
+     * @return The results as properties.
+     */
+    private static Properties toProperties(Collection<RunResult> runResults) {
+        Properties properties = new Properties();
+        for (RunResult runResult : runResults) {
+            BenchmarkParams benchmarkParams = runResult.getParams();
+            StringBuilder key = new StringBuilder(benchmarkParams.getBenchmark());
+            for (String parameter : benchmarkParams.getParamsKeys()) {
+                key.append('[').append(parameter).append('=').append(benchmarkParams.getParam(parameter)).append(']');
+            }
+            properties.setProperty(key + TIME_SUFFIX, String.valueOf(runResult.getPrimaryResult().getScore()));
+            for (Map.Entry<String, Result> entry : runResult.getSecondaryResults().entrySet()) {
+                if (entry.getKey().endsWith(ALLOCATION_RESULT)) {
+                    properties.setProperty(key + ALLOCATION_SUFFIX, String.valueOf(entry.getValue().getScore()));
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Compares the current results to a baseline and prints the comparison.
+     *
+     * @param baseline    The baseline results.
+     * @param current     The current results.
+     * @param tolerance   The relative tolerance for any deviation from the baseline.
+     * @param printStream The print stream to write the comparison to.
+     * @return {@code true} if any result exceeds its baseline by more than the given tolerance or if any result
+     * is positive where its baseline is zero.
+     */
+    private static boolean compare(Properties baseline, Properties current, double tolerance, PrintStream printStream) {
+        boolean regression = false;
+        for (String key : new TreeSet<String>(current.stringPropertyNames())) {
+            double currentValue = Double.parseDouble(current.getProperty(key));
+            String baselineProperty = baseline.getProperty(key);
+            if (baselineProperty == null) {
+                printStream.printf("%-120s %15.3f (no baseline)%n", key, currentValue);
+                continue;
+            }
+            double baselineValue = Double.parseDouble(baselineProperty);
+            if (baselineValue == 0d) {
+                // A relative deviation is undefined for a zero baseline such that any positive value is a regression.
+                boolean exceeded = currentValue > 0d;
+                regression |= exceeded;
+                printStream.printf("%-120s %15.3f %15.3f (zero baseline)%s%n",
+                        key,
+                        baselineValue,
+                        currentValue,
+                        exceeded ? " REGRESSION" : "");
+                continue;
+            }
+            double deviation = (currentValue - baselineValue) / baselineValue;
+            boolean exceeded = deviation > tolerance;
+            regression |= exceeded;
+            printStream.printf("%-120s %15.3f %15.3f %+8.2f%%%s%n",
+                    key,
+                    baselineValue,
+                    currentValue,
+                    deviation * 100d,
+                    exceeded ? " REGRESSION" : "");
+        }
+        return regression;
+    }
+}
@@ -0,0 +1,47 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.fail;
+
+public class ClassByExtensionBenchmarkByteBuddySuperInterceptorTest {
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCannotInstantiateClass() throws Exception {
+        Constructor<?> constructor = ClassByExtensionBenchmark.ByteBuddySuperInterceptor.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            fail();
+        } catch (InvocationTargetException e) {
+            throw (UnsupportedOperationException) e.getCause();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCannotInstantiateUnsafeClass() throws Exception {
+        Constructor<?> constructor = ClassByExtensionBenchmark.ByteBuddyUnsafeSuperInterceptor.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            fail();
+        } catch (InvocationTargetException e) {
+            throw (UnsupportedOperationException) e.getCause();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCannotInstantiateReusedClass() throws Exception {
+        Constructor<?> constructor = ClassByExtensionBenchmark.ByteBuddyReusedSuperInterceptor.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            fail();
+        } catch (InvocationTargetException e) {
+            throw (UnsupportedOperationException) e.getCause();
+        }
+    }
+}
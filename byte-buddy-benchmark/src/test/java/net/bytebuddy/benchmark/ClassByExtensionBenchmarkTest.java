@@ -67,6 +67,33 @@ public class ClassByExtensionBenchmarkTest {
         assertReturnValues(instance);
     }
 
+    @Test
+    public void testByteBuddyWithSuperClassCreation() throws Exception {
+        ExampleClass instance = classByExtensionBenchmark.benchmarkByteBuddyWithSuper();
+        assertNotEquals(ClassByExtensionBenchmark.BASE_CLASS, instance.getClass());
+        assertEquals(ClassByExtensionBenchmark.BASE_CLASS, instance.getClass().getSuperclass());
+        assertNotEquals(instance.getClass(), classByExtensionBenchmark.benchmarkByteBuddyWithSuper());
+        assertReturnValues(instance);
+    }
+
+    @Test
+    public void testByteBuddyWithUnsafeSuperClassCreation() throws Exception {
+        ExampleClass instance = classByExtensionBenchmark.benchmarkByteBuddyWithUnsafeSuper();
+        assertNotEquals(ClassByExtensionBenchmark.BASE_CLASS, instance.getClass());
+        assertEquals(ClassByExtensionBenchmark.BASE_CLASS, instance.getClass().getSuperclass());
+        assertNotEquals(instance.getClass(), classByExtensionBenchmark.benchmarkByteBuddyWithUnsafeSuper());
+        assertReturnValues(instance);
+    }
+
+    @Test
+    public void testByteBuddyWithReusedSuperClassCreation() throws Exception {
+        ExampleClass instance = classByExtensionBenchmark.benchmarkByteBuddyWithReusedSuper();
+        assertNotEquals(ClassByExtensionBenchmark.BASE_CLASS, instance.getClass());
+        assertEquals(ClassByExtensionBenchmark.BASE_CLASS, instance.getClass().getSuperclass());
+        assertNotEquals(instance.getClass(), classByExtensionBenchmark.benchmarkByteBuddyWithReusedSuper());
+        assertReturnValues(instance);
+    }
+
     @Test
     public void testByteBuddySpecializedClassCreation() throws Exception {
         ExampleClass instance = classByExtensionBenchmark.benchmarkByteBuddySpecialized();
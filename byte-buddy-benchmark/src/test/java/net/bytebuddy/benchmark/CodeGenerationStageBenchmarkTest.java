@@ -0,0 +1,88 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Parameterized.class)
+public class CodeGenerationStageBenchmarkTest {
+
+    private final Class<?> type;
+
+    private CodeGenerationStageBenchmark codeGenerationStageBenchmark;
+
+    public CodeGenerationStageBenchmarkTest(Class<?> type) {
+        this.type = type;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {javax.naming.InitialContext.class},
+                {javax.swing.table.DefaultTableModel.class},
+                {javax.swing.JTable.class}
+        });
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        codeGenerationStageBenchmark = new CodeGenerationStageBenchmark();
+        codeGenerationStageBenchmark.typeName = type.getName();
+        codeGenerationStageBenchmark.setUp();
+    }
+
+    @Test
+    public void testTypePoolDescription() throws Exception {
+        assertThat(codeGenerationStageBenchmark.benchmarkTypePoolDescription().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testMethodLookupEngine() throws Exception {
+        assertThat(codeGenerationStageBenchmark.benchmarkMethodLookupEngine().getTypeDescription().represents(type), is(true));
+    }
+
+    @Test
+    public void testMethodRegistryPreparation() throws Exception {
+        assertThat(codeGenerationStageBenchmark.benchmarkMethodRegistryPreparation().getInstrumentedType().getSupertype().represents(type), is(true));
+    }
+
+    @Test
+    public void testMethodRegistryCompilation() throws Exception {
+        assertThat(codeGenerationStageBenchmark.benchmarkMethodRegistryCompilation().getInvokableMethods().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testTypeWriter() throws Exception {
+        assertThat(codeGenerationStageBenchmark.benchmarkTypeWriter().getBytes(), notNullValue(byte[].class));
+    }
+
+    @Test
+    public void testWrapperClassLoading() throws Exception {
+        Map<TypeDescription, Class<?>> loaded = codeGenerationStageBenchmark.benchmarkWrapperClassLoading();
+        assertThat(loaded.size(), is(1));
+        assertThat(loaded.values().iterator().next().getSuperclass(), is((Object) type));
+    }
+
+    @Test
+    public void testInjectionClassLoading() throws Exception {
+        Map<TypeDescription, Class<?>> loaded = codeGenerationStageBenchmark.benchmarkInjectionClassLoading();
+        assertThat(loaded.size(), is(1));
+        assertThat(loaded.values().iterator().next().getSuperclass(), is((Object) type));
+        assertThat(codeGenerationStageBenchmark.benchmarkInjectionClassLoading().values().iterator().next(),
+                not(is((Object) loaded.values().iterator().next())));
+    }
+
+    @Test
+    public void testAgentTransformation() throws Exception {
+        assertThat(codeGenerationStageBenchmark.benchmarkAgentTransformation(), notNullValue(byte[].class));
+    }
+}
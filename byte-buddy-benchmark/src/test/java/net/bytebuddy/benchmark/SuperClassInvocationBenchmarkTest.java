@@ -18,6 +18,21 @@ public class SuperClassInvocationBenchmarkTest extends AbstractBlackHoleTest {
         superClassInvocationBenchmark.benchmarkByteBuddyWithAnnotations(blackHole);
     }
 
+    @Test
+    public void testByteBuddyWithSuperBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithSuper(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyWithUnsafeSuperBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithUnsafeSuper(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyWithReusedSuperBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithReusedSuper(blackHole);
+    }
+
     @Test
     public void testByteBuddySpecializedBenchmark() throws Exception {
         superClassInvocationBenchmark.benchmarkByteBuddySpecialized(blackHole);
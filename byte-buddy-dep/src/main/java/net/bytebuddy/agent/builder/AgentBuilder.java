@@ -23,17 +23,18 @@ import net.bytebuddy.utility.StreamDrainer;
 import org.objectweb.asm.MethodVisitor;
 
 import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 import static net.bytebuddy.utility.ByteBuddyCommons.join;
@@ -119,6 +120,16 @@ public interface AgentBuilder {
      */
     AgentBuilder withListener(Listener listener);
 
+    /**
+     * Defines the given {@link net.bytebuddy.agent.builder.AgentBuilder.Metrics} to be informed about the time that
+     * is spent in the different stages of a transformation by the created agent. The given metrics are notified
+     * after any other metrics that are already registered.
+     *
+     * @param metrics The metrics to be notified.
+     * @return A new instance of this agent builder which creates an agent that reports to the given metrics.
+     */
+    AgentBuilder withMetrics(Metrics metrics);
+
     /**
      * Defines the use of the given binary locator for locating binary data to given class names.
      *
@@ -164,6 +175,18 @@ public interface AgentBuilder {
      */
     AgentBuilder allowRetransformation();
 
+    /**
+     * Defines the installation mode that is applied when installing this agent on an
+     * {@link java.lang.instrument.Instrumentation}. The installation mode does not apply to a class file transformer
+     * that is created by {@link net.bytebuddy.agent.builder.AgentBuilder#makeRaw()}. An agent builder that rebases
+     * types rejects any {@link InstallationMode#isDeferred() deferring} installation mode as retransformation does
+     * not allow adding the methods of a rebased type on the HotSpot virtual machine.
+     *
+     * @param installationMode The installation mode to apply.
+     * @return A new instance of this agent builder which uses the given installation mode.
+     */
+    AgentBuilder withInstallationMode(InstallationMode installationMode);
+
     /**
      * Creates a {@link java.lang.instrument.ClassFileTransformer} that implements the configuration of this
      * agent builder.
@@ -189,6 +212,31 @@ public interface AgentBuilder {
      */
     ClassFileTransformer installOnByteBuddyAgent();
 
+    /**
+     * Creates and installs a {@link java.lang.instrument.ClassFileTransformer} that implements the configuration of
+     * this agent builder with a given {@link java.lang.instrument.Instrumentation} such that this configuration can
+     * later be replaced by the configuration of another agent builder without registering another class file
+     * transformer. The installed class file transformer always applies for retransformations. Any update retransforms
+     * affected types in batches of {@link net.bytebuddy.agent.builder.AgentBuilder.Installation#DEFAULT_BATCH_SIZE}.
+     *
+     * @param instrumentation The instrumentation on which this agent builder's configuration is to be installed.
+     * @return An installation that allows to update the installed configuration.
+     */
+    Installation installUpdatableOn(Instrumentation instrumentation);
+
+    /**
+     * Creates and installs a {@link java.lang.instrument.ClassFileTransformer} that implements the configuration of
+     * this agent builder with a given {@link java.lang.instrument.Instrumentation} such that this configuration can
+     * later be replaced by the configuration of another agent builder without registering another class file
+     * transformer. The installed class file transformer always applies for retransformations.
+     *
+     * @param instrumentation The instrumentation on which this agent builder's configuration is to be installed.
+     * @param batchSize       The maximum number of types that an update retransforms by a single call to
+     *                        {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+     * @return An installation that allows to update the installed configuration.
+     */
+    Installation installUpdatableOn(Instrumentation instrumentation, int batchSize);
+
     /**
      * Describes an {@link net.bytebuddy.agent.builder.AgentBuilder} which was handed a matcher for identifying
      * types to instrumented in order to supply one or several
@@ -401,13 +449,36 @@ public interface AgentBuilder {
          */
         Initialized initialize(String typeName, byte[] binaryRepresentation, ClassLoader classLoader);
 
+        /**
+         * A binary locator that is able to report the lookups of its type pool's cache to an agent builder's
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.Metrics}. An agent builder initializes such a binary locator
+         * by {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator.Monitorable#initialize(String, byte[], ClassLoader, net.bytebuddy.agent.builder.AgentBuilder.Metrics)}
+         * instead of {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator#initialize(String, byte[], ClassLoader)}.
+         */
+        static interface Monitorable extends BinaryLocator {
+
+            /**
+             * Initializes this binary locator.
+             *
+             * @param typeName             The binary name of the type that is being instrumented.
+             * @param binaryRepresentation The binary representation of the instrumented type.
+             * @param classLoader          The class loader of the instrumented type. Might be {@code null} if this class
+             *                             loader represents the bootstrap class loader.
+             * @param metrics              The metrics to which any type pool cache lookups are to be reported.
+             * @return This binary locator in its initialized form.
+             */
+            Initialized initialize(String typeName, byte[] binaryRepresentation, ClassLoader classLoader, Metrics metrics);
+        }
+
         /**
          * A default implementation of a {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator} that
          * is using a {@link net.bytebuddy.pool.TypePool.Default} with a
          * {@link net.bytebuddy.pool.TypePool.CacheProvider.Simple} and a
-         * {@link net.bytebuddy.dynamic.ClassFileLocator.ForClassLoader}.
+         * {@link net.bytebuddy.dynamic.ClassFileLocator.ForClassLoader}. Any lookup of the type pool's cache is
+         * reported to the supplied {@link net.bytebuddy.agent.builder.AgentBuilder.Metrics} unless these metrics
+         * are non-operational.
          */
-        static enum Default implements BinaryLocator {
+        static enum Default implements Monitorable {
 
             /**
              * The singleton instance.
@@ -418,9 +489,19 @@ public interface AgentBuilder {
             public BinaryLocator.Initialized initialize(String typeName,
                                                         byte[] binaryRepresentation,
                                                         ClassLoader classLoader) {
+                return initialize(typeName, binaryRepresentation, classLoader, Metrics.NoOp.INSTANCE);
+            }
+
+            @Override
+            public BinaryLocator.Initialized initialize(String typeName,
+                                                        byte[] binaryRepresentation,
+                                                        ClassLoader classLoader,
+                                                        Metrics metrics) {
                 return new Initialized(typeName,
                         binaryRepresentation,
-                        new TypePool.CacheProvider.Simple(),
+                        metrics == Metrics.NoOp.INSTANCE
+                                ? new TypePool.CacheProvider.Simple()
+                                : new Metrics.MonitoringCacheProvider(new TypePool.CacheProvider.Simple(), metrics),
                         ClassFileLocator.ForClassLoader.of(classLoader));
             }
 
@@ -479,7 +560,7 @@ public interface AgentBuilder {
 
                 @Override
                 public ClassFileLocator.Resolution locate(String typeName) throws IOException {
-                    return typeName.equals(typeName)
+                    return this.typeName.equals(typeName)
                             ? new ClassFileLocator.Resolution.Explicit(binaryRepresentation)
                             : classFileLocator.locate(typeName);
                 }
@@ -516,6 +597,134 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * A binary locator that is using a {@link net.bytebuddy.pool.TypePool.Default} with a
+         * {@link net.bytebuddy.pool.TypePool.CacheProvider.Simple} that is shared among all types of the same class
+         * loader such that type descriptions are only parsed once. The instrumented type itself is never looked up in
+         * or registered with the shared cache as its binary representation might differ from the class file that is
+         * located by its class loader. As the shared caches are never cleared and reference their class loaders, this
+         * binary locator should only be used for a limited number of transformations such as the retransformation
+         * of an {@link net.bytebuddy.agent.builder.AgentBuilder.Installation}'s update.
+         */
+        static class Shared implements Monitorable {
+
+            /**
+             * The cache providers of this binary locator mapped by their class loader.
+             */
+            private final Map<ClassLoader, TypePool.CacheProvider> cacheProviders;
+
+            /**
+             * Creates a new shared binary locator.
+             */
+            public Shared() {
+                cacheProviders = new IdentityHashMap<ClassLoader, TypePool.CacheProvider>();
+            }
+
+            @Override
+            public BinaryLocator.Initialized initialize(String typeName,
+                                                        byte[] binaryRepresentation,
+                                                        ClassLoader classLoader) {
+                return initialize(typeName, binaryRepresentation, classLoader, Metrics.NoOp.INSTANCE);
+            }
+
+            @Override
+            public BinaryLocator.Initialized initialize(String typeName,
+                                                        byte[] binaryRepresentation,
+                                                        ClassLoader classLoader,
+                                                        Metrics metrics) {
+                TypePool.CacheProvider cacheProvider;
+                synchronized (cacheProviders) {
+                    cacheProvider = cacheProviders.get(classLoader);
+                    if (cacheProvider == null) {
+                        cacheProvider = new TypePool.CacheProvider.Simple();
+                        cacheProviders.put(classLoader, cacheProvider);
+                    }
+                }
+                cacheProvider = new ExcludingCacheProvider(typeName, cacheProvider);
+                return new Default.Initialized(typeName,
+                        binaryRepresentation,
+                        metrics == Metrics.NoOp.INSTANCE
+                                ? cacheProvider
+                                : new Metrics.MonitoringCacheProvider(cacheProvider, metrics),
+                        ClassFileLocator.ForClassLoader.of(classLoader));
+            }
+
+            @Override
+            public String toString() {
+                synchronized (cacheProviders) {
+                    return "AgentBuilder.BinaryLocator.Shared{" +
+                            "cacheProviders=" + cacheProviders +
+                            '}';
+                }
+            }
+
+            /**
+             * A cache provider that delegates to a shared cache provider for any type but the instrumented type.
+             */
+            protected static class ExcludingCacheProvider implements TypePool.CacheProvider {
+
+                /**
+                 * The binary name of the instrumented type that is not cached.
+                 */
+                private final String typeName;
+
+                /**
+                 * The shared cache provider to delegate to.
+                 */
+                private final TypePool.CacheProvider cacheProvider;
+
+                /**
+                 * Creates a new excluding cache provider.
+                 *
+                 * @param typeName      The binary name of the instrumented type that is not cached.
+                 * @param cacheProvider The shared cache provider to delegate to.
+                 */
+                protected ExcludingCacheProvider(String typeName, TypePool.CacheProvider cacheProvider) {
+                    this.typeName = typeName;
+                    this.cacheProvider = cacheProvider;
+                }
+
+                @Override
+                public TypePool.Resolution find(String name) {
+                    return typeName.equals(name)
+                            ? null
+                            : cacheProvider.find(name);
+                }
+
+                @Override
+                public TypePool.Resolution register(String name, TypePool.Resolution resolution) {
+                    return typeName.equals(name)
+                            ? resolution
+                            : cacheProvider.register(name, resolution);
+                }
+
+                @Override
+                public void clear() {
+                    cacheProvider.clear();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    return this == other || !(other == null || getClass() != other.getClass())
+                            && typeName.equals(((ExcludingCacheProvider) other).typeName)
+                            && cacheProvider.equals(((ExcludingCacheProvider) other).cacheProvider);
+                }
+
+                @Override
+                public int hashCode() {
+                    return 31 * typeName.hashCode() + cacheProvider.hashCode();
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.BinaryLocator.Shared.ExcludingCacheProvider{" +
+                            "typeName='" + typeName + '\'' +
+                            ", cacheProvider=" + cacheProvider +
+                            '}';
+                }
+            }
+        }
+
         /**
          * A {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator} in initialized state.
          */
@@ -612,63 +821,1461 @@ public interface AgentBuilder {
              */
             private final Listener[] listener;
 
-            /**
-             * Creates a new compound listener.
-             *
-             * @param listener The listeners to apply in their application order.
-             */
-            public Compound(Listener... listener) {
-                this.listener = listener;
-            }
+            /**
+             * Creates a new compound listener.
+             *
+             * @param listener The listeners to apply in their application order.
+             */
+            public Compound(Listener... listener) {
+                this.listener = listener;
+            }
+
+            @Override
+            public void onTransformation(DynamicType dynamicType) {
+                for (Listener listener : this.listener) {
+                    listener.onTransformation(dynamicType);
+                }
+            }
+
+            @Override
+            public void onError(String typeName, Throwable throwable) {
+                for (Listener listener : this.listener) {
+                    listener.onError(typeName, throwable);
+                }
+            }
+
+            @Override
+            public void onIgnored(String typeName) {
+                for (Listener listener : this.listener) {
+                    listener.onIgnored(typeName);
+                }
+            }
+
+            @Override
+            public void onComplete(String typeName) {
+                for (Listener listener : this.listener) {
+                    listener.onComplete(typeName);
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && Arrays.equals(listener, ((Compound) other).listener);
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(listener);
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Listener.Compound{" +
+                        "listener=" + Arrays.toString(listener) +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * Metrics that are informed about the time that is spent in the different stages of a transformation, about
+     * the size of transformed class files and about the lookups of the type pool's cache. Metrics are invoked on the
+     * hot path of any class loading and should therefore avoid any blocking.
+     */
+    static interface Metrics {
+
+        /**
+         * Invoked after a stage of a transformation was completed.
+         *
+         * @param stage       The stage that was completed.
+         * @param nanoseconds The nanoseconds that were spent in this stage.
+         */
+        void onStage(Stage stage, long nanoseconds);
+
+        /**
+         * Invoked after a type was transformed.
+         *
+         * @param typeName        The binary name of the instrumented type.
+         * @param originalSize    The size of the original class file in bytes.
+         * @param transformedSize The size of the transformed class file in bytes.
+         */
+        void onTransformation(String typeName, int originalSize, int transformedSize);
+
+        /**
+         * Invoked after a type pool looked up a type in its cache.
+         *
+         * @param cached {@code true} if the looked up type was found in the cache.
+         */
+        void onTypePoolLookup(boolean cached);
+
+        /**
+         * Describes a stage of a transformation that is applied by an {@link net.bytebuddy.agent.builder.AgentBuilder}.
+         */
+        static enum Stage {
+
+            /**
+             * The initialization of the {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator}.
+             */
+            BINARY_LOCATION,
+
+            /**
+             * The resolution of the instrumented type by the binary locator's {@link net.bytebuddy.pool.TypePool}.
+             */
+            TYPE_RESOLUTION,
+
+            /**
+             * The evaluation of the registered matchers.
+             */
+            MATCHING,
+
+            /**
+             * The application of the registered transformers and the creation of the transformed class file.
+             */
+            CREATION,
+
+            /**
+             * The injection of auxiliary types and the registration of loaded type initializers.
+             */
+            INJECTION
+        }
+
+        /**
+         * A no-op implementation of {@link net.bytebuddy.agent.builder.AgentBuilder.Metrics}.
+         */
+        static enum NoOp implements Metrics {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public void onStage(Stage stage, long nanoseconds) {
+                /* do nothing */
+            }
+
+            @Override
+            public void onTransformation(String typeName, int originalSize, int transformedSize) {
+                /* do nothing */
+            }
+
+            @Override
+            public void onTypePoolLookup(boolean cached) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * Compound metrics that allow to group several metrics in one instance.
+         */
+        static class Compound implements Metrics {
+
+            /**
+             * The metrics that are represented by this compound metrics in their application order.
+             */
+            private final Metrics[] metrics;
+
+            /**
+             * Creates new compound metrics.
+             *
+             * @param metrics The metrics to apply in their application order.
+             */
+            public Compound(Metrics... metrics) {
+                this.metrics = metrics;
+            }
+
+            @Override
+            public void onStage(Stage stage, long nanoseconds) {
+                for (Metrics metrics : this.metrics) {
+                    metrics.onStage(stage, nanoseconds);
+                }
+            }
+
+            @Override
+            public void onTransformation(String typeName, int originalSize, int transformedSize) {
+                for (Metrics metrics : this.metrics) {
+                    metrics.onTransformation(typeName, originalSize, transformedSize);
+                }
+            }
+
+            @Override
+            public void onTypePoolLookup(boolean cached) {
+                for (Metrics metrics : this.metrics) {
+                    metrics.onTypePoolLookup(cached);
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && Arrays.equals(metrics, ((Compound) other).metrics);
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(metrics);
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Metrics.Compound{" +
+                        "metrics=" + Arrays.toString(metrics) +
+                        '}';
+            }
+        }
+
+        /**
+         * A cache provider that reports any lookup of a delegate cache provider to the given metrics.
+         */
+        static class MonitoringCacheProvider implements TypePool.CacheProvider {
+
+            /**
+             * The cache provider to which all calls are delegated.
+             */
+            private final TypePool.CacheProvider cacheProvider;
+
+            /**
+             * The metrics to which any lookup is reported.
+             */
+            private final Metrics metrics;
+
+            /**
+             * Creates a new monitoring cache provider.
+             *
+             * @param cacheProvider The cache provider to which all calls are delegated.
+             * @param metrics       The metrics to which any lookup is reported.
+             */
+            public MonitoringCacheProvider(TypePool.CacheProvider cacheProvider, Metrics metrics) {
+                this.cacheProvider = cacheProvider;
+                this.metrics = metrics;
+            }
+
+            @Override
+            public TypePool.Resolution find(String name) {
+                TypePool.Resolution resolution = cacheProvider.find(name);
+                metrics.onTypePoolLookup(resolution != null);
+                return resolution;
+            }
+
+            @Override
+            public TypePool.Resolution register(String name, TypePool.Resolution resolution) {
+                return cacheProvider.register(name, resolution);
+            }
+
+            @Override
+            public void clear() {
+                cacheProvider.clear();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && cacheProvider.equals(((MonitoringCacheProvider) other).cacheProvider)
+                        && metrics.equals(((MonitoringCacheProvider) other).metrics);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * cacheProvider.hashCode() + metrics.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Metrics.MonitoringCacheProvider{" +
+                        "cacheProvider=" + cacheProvider +
+                        ", metrics=" + metrics +
+                        '}';
+            }
+        }
+
+        /**
+         * A management interface for {@link net.bytebuddy.agent.builder.AgentBuilder.Metrics.Accumulating} that
+         * is compatible to the requirements of an MXBean such that accumulated metrics can be registered with an
+         * {@link javax.management.MBeanServer}. Any stage is referenced by the name of a
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.Metrics.Stage}.
+         */
+        static interface AccumulatingMXBean {
+
+            /**
+             * Returns the names of all stages of a transformation.
+             *
+             * @return The names of all stages of a transformation.
+             */
+            String[] getStages();
+
+            /**
+             * Returns the number of times a stage was completed.
+             *
+             * @param stage The name of the stage.
+             * @return The number of times the stage was completed.
+             */
+            long getCount(String stage);
+
+            /**
+             * Returns the total nanoseconds that were spent in a stage.
+             *
+             * @param stage The name of the stage.
+             * @return The total nanoseconds that were spent in the stage.
+             */
+            long getTotalNanoseconds(String stage);
+
+            /**
+             * Returns the maximum nanoseconds that were spent in a single completion of a stage.
+             *
+             * @param stage The name of the stage.
+             * @return The maximum nanoseconds that were spent in a single completion of the stage.
+             */
+            long getMaximumNanoseconds(String stage);
+
+            /**
+             * Returns a histogram of the nanoseconds that were spent in a stage. The value at index {@code i} counts
+             * the completions of the stage that took at least {@code 2^(i-1)} and less than {@code 2^i} nanoseconds
+             * where index {@code 0} counts completions that took no measurable time.
+             *
+             * @param stage The name of the stage.
+             * @return A histogram of the nanoseconds that were spent in the stage.
+             */
+            long[] getHistogram(String stage);
+
+            /**
+             * Returns the number of transformed types.
+             *
+             * @return The number of transformed types.
+             */
+            long getTransformationCount();
+
+            /**
+             * Returns the total size of all class files before their transformation.
+             *
+             * @return The total size of all class files before their transformation in bytes.
+             */
+            long getOriginalBytes();
+
+            /**
+             * Returns the total size of all class files after their transformation.
+             *
+             * @return The total size of all class files after their transformation in bytes.
+             */
+            long getTransformedBytes();
+
+            /**
+             * Returns the number of lookups of a type pool's cache.
+             *
+             * @return The number of lookups of a type pool's cache.
+             */
+            long getTypePoolLookups();
+
+            /**
+             * Returns the number of lookups of a type pool's cache that found a cached type.
+             *
+             * @return The number of lookups of a type pool's cache that found a cached type.
+             */
+            long getTypePoolHits();
+
+            /**
+             * Returns the ratio of lookups of a type pool's cache that found a cached type.
+             *
+             * @return The ratio of lookups of a type pool's cache that found a cached type or {@code 0} if no lookup
+             * was yet reported.
+             */
+            double getTypePoolHitRatio();
+
+            /**
+             * Resets all accumulated metrics. Metrics that are reported concurrently to a reset might or might not
+             * be reflected after the reset.
+             */
+            void reset();
+        }
+
+        /**
+         * Metrics that accumulate any reported values by lock-free counters. An instance of this class can be
+         * registered with an {@link javax.management.MBeanServer} as an MXBean.
+         */
+        static class Accumulating implements Metrics, AccumulatingMXBean {
+
+            /**
+             * The histograms of all stages indexed by the stages' ordinals.
+             */
+            private final Histogram[] histograms;
+
+            /**
+             * The number of transformed types.
+             */
+            private final AtomicLong transformationCount;
+
+            /**
+             * The total size of all class files before their transformation.
+             */
+            private final AtomicLong originalBytes;
+
+            /**
+             * The total size of all class files after their transformation.
+             */
+            private final AtomicLong transformedBytes;
+
+            /**
+             * The number of lookups of a type pool's cache.
+             */
+            private final AtomicLong typePoolLookups;
+
+            /**
+             * The number of lookups of a type pool's cache that found a cached type.
+             */
+            private final AtomicLong typePoolHits;
+
+            /**
+             * Creates new accumulating metrics.
+             */
+            public Accumulating() {
+                histograms = new Histogram[Stage.values().length];
+                for (int index = 0; index < histograms.length; index++) {
+                    histograms[index] = new Histogram();
+                }
+                transformationCount = new AtomicLong();
+                originalBytes = new AtomicLong();
+                transformedBytes = new AtomicLong();
+                typePoolLookups = new AtomicLong();
+                typePoolHits = new AtomicLong();
+            }
+
+            @Override
+            public void onStage(Stage stage, long nanoseconds) {
+                histograms[stage.ordinal()].record(nanoseconds);
+            }
+
+            @Override
+            public void onTransformation(String typeName, int originalSize, int transformedSize) {
+                transformationCount.incrementAndGet();
+                originalBytes.addAndGet(originalSize);
+                transformedBytes.addAndGet(transformedSize);
+            }
+
+            @Override
+            public void onTypePoolLookup(boolean cached) {
+                typePoolLookups.incrementAndGet();
+                if (cached) {
+                    typePoolHits.incrementAndGet();
+                }
+            }
+
+            /**
+             * Returns the histogram of the given stage.
+             *
+             * @param stage The stage for which the histogram is to be returned.
+             * @return The histogram of the given stage.
+             */
+            public Histogram getHistogram(Stage stage) {
+                return histograms[stage.ordinal()];
+            }
+
+            @Override
+            public String[] getStages() {
+                Stage[] stage = Stage.values();
+                String[] name = new String[stage.length];
+                for (int index = 0; index < stage.length; index++) {
+                    name[index] = stage[index].name();
+                }
+                return name;
+            }
+
+            @Override
+            public long getCount(String stage) {
+                return getHistogram(Stage.valueOf(stage)).getCount();
+            }
+
+            @Override
+            public long getTotalNanoseconds(String stage) {
+                return getHistogram(Stage.valueOf(stage)).getTotalNanoseconds();
+            }
+
+            @Override
+            public long getMaximumNanoseconds(String stage) {
+                return getHistogram(Stage.valueOf(stage)).getMaximumNanoseconds();
+            }
+
+            @Override
+            public long[] getHistogram(String stage) {
+                return getHistogram(Stage.valueOf(stage)).toArray();
+            }
+
+            @Override
+            public long getTransformationCount() {
+                return transformationCount.get();
+            }
+
+            @Override
+            public long getOriginalBytes() {
+                return originalBytes.get();
+            }
+
+            @Override
+            public long getTransformedBytes() {
+                return transformedBytes.get();
+            }
+
+            @Override
+            public long getTypePoolLookups() {
+                return typePoolLookups.get();
+            }
+
+            @Override
+            public long getTypePoolHits() {
+                return typePoolHits.get();
+            }
+
+            @Override
+            public double getTypePoolHitRatio() {
+                long lookups = typePoolLookups.get();
+                return lookups == 0L
+                        ? 0d
+                        : (double) typePoolHits.get() / lookups;
+            }
+
+            @Override
+            public void reset() {
+                for (Histogram histogram : histograms) {
+                    histogram.reset();
+                }
+                transformationCount.set(0L);
+                originalBytes.set(0L);
+                transformedBytes.set(0L);
+                typePoolLookups.set(0L);
+                typePoolHits.set(0L);
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Metrics.Accumulating{" +
+                        "histograms=" + Arrays.toString(histograms) +
+                        ", transformationCount=" + transformationCount +
+                        ", originalBytes=" + originalBytes +
+                        ", transformedBytes=" + transformedBytes +
+                        ", typePoolLookups=" + typePoolLookups +
+                        ", typePoolHits=" + typePoolHits +
+                        '}';
+            }
+
+            /**
+             * A lock-free histogram of nanosecond durations with buckets of exponentially growing size.
+             */
+            public static class Histogram {
+
+                /**
+                 * The number of buckets of a histogram which is one bucket for any bit length of a {@code long}
+                 * value including the bit length zero.
+                 */
+                private static final int BUCKETS = Long.SIZE + 1;
+
+                /**
+                 * The buckets of this histogram where the bucket at index {@code i} counts all durations with a
+                 * bit length of {@code i}.
+                 */
+                private final AtomicLongArray buckets;
+
+                /**
+                 * The number of recorded durations.
+                 */
+                private final AtomicLong count;
+
+                /**
+                 * The sum of all recorded durations.
+                 */
+                private final AtomicLong totalNanoseconds;
+
+                /**
+                 * The maximum of all recorded durations.
+                 */
+                private final AtomicLong maximumNanoseconds;
+
+                /**
+                 * Creates a new empty histogram.
+                 */
+                protected Histogram() {
+                    buckets = new AtomicLongArray(BUCKETS);
+                    count = new AtomicLong();
+                    totalNanoseconds = new AtomicLong();
+                    maximumNanoseconds = new AtomicLong();
+                }
+
+                /**
+                 * Records a duration. Negative durations which can be the result of a non-monotonic clock are
+                 * recorded as a duration of zero.
+                 *
+                 * @param nanoseconds The duration to record.
+                 */
+                protected void record(long nanoseconds) {
+                    long duration = Math.max(nanoseconds, 0L);
+                    buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(duration));
+                    count.incrementAndGet();
+                    totalNanoseconds.addAndGet(duration);
+                    long maximum = maximumNanoseconds.get();
+                    while (duration > maximum && !maximumNanoseconds.compareAndSet(maximum, duration)) {
+                        maximum = maximumNanoseconds.get();
+                    }
+                }
+
+                /**
+                 * Resets this histogram.
+                 */
+                protected void reset() {
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets.set(index, 0L);
+                    }
+                    count.set(0L);
+                    totalNanoseconds.set(0L);
+                    maximumNanoseconds.set(0L);
+                }
+
+                /**
+                 * Returns the number of recorded durations.
+                 *
+                 * @return The number of recorded durations.
+                 */
+                public long getCount() {
+                    return count.get();
+                }
+
+                /**
+                 * Returns the sum of all recorded durations.
+                 *
+                 * @return The sum of all recorded durations.
+                 */
+                public long getTotalNanoseconds() {
+                    return totalNanoseconds.get();
+                }
+
+                /**
+                 * Returns the maximum of all recorded durations.
+                 *
+                 * @return The maximum of all recorded durations.
+                 */
+                public long getMaximumNanoseconds() {
+                    return maximumNanoseconds.get();
+                }
+
+                /**
+                 * Returns the bucket counts of this histogram.
+                 *
+                 * @return The bucket counts of this histogram where the bucket at index {@code i} counts all
+                 * durations with a bit length of {@code i}.
+                 */
+                public long[] toArray() {
+                    long[] histogram = new long[BUCKETS];
+                    for (int index = 0; index < BUCKETS; index++) {
+                        histogram[index] = buckets.get(index);
+                    }
+                    return histogram;
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Metrics.Accumulating.Histogram{" +
+                            "buckets=" + buckets +
+                            ", count=" + count +
+                            ", totalNanoseconds=" + totalNanoseconds +
+                            ", maximumNanoseconds=" + maximumNanoseconds +
+                            '}';
+                }
+            }
+        }
+    }
+
+    /**
+     * An installation mode determines how a {@link java.lang.instrument.ClassFileTransformer} that implements an
+     * {@link net.bytebuddy.agent.builder.AgentBuilder}'s configuration is registered with an
+     * {@link java.lang.instrument.Instrumentation}.
+     */
+    static interface InstallationMode {
+
+        /**
+         * Registers a class file transformer with the given instrumentation.
+         *
+         * @param instrumentation      The instrumentation with which the class file transformer is to be registered.
+         * @param classFileTransformer The class file transformer that implements an agent builder's configuration.
+         * @param retransformation     {@code true} if the class file transformer should also apply for
+         *                             retransformations.
+         * @param listener             The listener to notify on errors that occur outside of the class file
+         *                             transformer.
+         * @return The class file transformer that was registered with the instrumentation.
+         */
+        ClassFileTransformer install(Instrumentation instrumentation,
+                                     ClassFileTransformer classFileTransformer,
+                                     boolean retransformation,
+                                     Listener listener);
+
+        /**
+         * Determines if this installation mode defers the transformation of a type until after the type was loaded,
+         * i.e. if it retransforms a type instead of transforming it while it is loaded.
+         *
+         * @return {@code true} if this installation mode defers the transformation of a type.
+         */
+        boolean isDeferred();
+
+        /**
+         * An installation mode that applies any transformation synchronously on the thread that loads a type.
+         */
+        static enum Synchronous implements InstallationMode {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public ClassFileTransformer install(Instrumentation instrumentation,
+                                                ClassFileTransformer classFileTransformer,
+                                                boolean retransformation,
+                                                Listener listener) {
+                instrumentation.addTransformer(classFileTransformer, retransformation);
+                return classFileTransformer;
+            }
+
+            @Override
+            public boolean isDeferred() {
+                return false;
+            }
+        }
+
+        /**
+         * <p>
+         * An installation mode that does not transform a type while it is loaded but that allows the loading thread
+         * to define the original type immediately. The type is queued instead and later retransformed in batches by
+         * a background thread using {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}. This
+         * reduces the latency of class loading at the cost of executing a type's original code until its
+         * retransformation is completed.
+         * </p>
+         * <p>
+         * If the installed class file transformer implements {@link Asynchronous.Selective}, a type is only queued
+         * if the class file transformer would transform it. Otherwise, any loaded type is queued.
+         * </p>
+         * <p>
+         * <b>Important</b>: Retransformation does not allow to add or remove fields or methods on the HotSpot
+         * virtual machine. An {@link net.bytebuddy.agent.builder.AgentBuilder.Default} always rebases a type which
+         * adds methods that represent the original implementations of the rebased methods. Such an agent builder
+         * therefore rejects this installation mode. This installation mode only applies to class file transformers
+         * that retain all members of a type and that are installed by
+         * {@link Asynchronous#install(Instrumentation, ClassFileTransformer, boolean, Listener)}. Any failed
+         * retransformation is reported to the given {@link net.bytebuddy.agent.builder.AgentBuilder.Listener}.
+         * </p>
+         */
+        static class Asynchronous implements InstallationMode {
+
+            /**
+             * The default maximum number of types that are queued for their retransformation.
+             */
+            public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+            /**
+             * The default maximum number of types that are retransformed by a single call to
+             * {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             */
+            public static final int DEFAULT_BATCH_SIZE = 256;
+
+            /**
+             * The default number of milliseconds the background thread waits for additional types before
+             * retransforming any queued types.
+             */
+            public static final long DEFAULT_INTERVAL = 100L;
+
+            /**
+             * The maximum number of types that are queued for their retransformation.
+             */
+            private final int queueSize;
+
+            /**
+             * The maximum number of types that are retransformed by a single call to
+             * {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             */
+            private final int batchSize;
+
+            /**
+             * The number of milliseconds the background thread waits for additional types before retransforming
+             * any queued types.
+             */
+            private final long interval;
+
+            /**
+             * The back pressure strategy to apply if the queue of types is full.
+             */
+            private final BackPressure backPressure;
+
+            /**
+             * The binary names of all types that are always transformed while they are loaded.
+             */
+            private final Set<String> synchronousTypes;
+
+            /**
+             * Creates a new asynchronous installation mode with a default configuration.
+             */
+            public Asynchronous() {
+                this(DEFAULT_QUEUE_SIZE,
+                        DEFAULT_BATCH_SIZE,
+                        DEFAULT_INTERVAL,
+                        BackPressure.SYNCHRONOUS,
+                        Collections.<String>emptySet());
+            }
+
+            /**
+             * Creates a new asynchronous installation mode.
+             *
+             * @param queueSize        The maximum number of types that are queued for their retransformation.
+             * @param batchSize        The maximum number of types that are retransformed by a single call to
+             *                         {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             * @param interval         The number of milliseconds the background thread waits for additional types
+             *                         before retransforming any queued types.
+             * @param backPressure     The back pressure strategy to apply if the queue of types is full.
+             * @param synchronousTypes The binary names of all types that are always transformed while they are loaded.
+             */
+            protected Asynchronous(int queueSize,
+                                   int batchSize,
+                                   long interval,
+                                   BackPressure backPressure,
+                                   Set<String> synchronousTypes) {
+                this.queueSize = queueSize;
+                this.batchSize = batchSize;
+                this.interval = interval;
+                this.backPressure = backPressure;
+                this.synchronousTypes = synchronousTypes;
+            }
+
+            /**
+             * Defines the maximum number of types that are queued for their retransformation.
+             *
+             * @param queueSize The maximum number of types that are queued for their retransformation.
+             * @return A new asynchronous installation mode with the given queue size.
+             */
+            public Asynchronous withQueueSize(int queueSize) {
+                if (queueSize < 1) {
+                    throw new IllegalArgumentException("The queue size must be positive: " + queueSize);
+                }
+                return new Asynchronous(queueSize, batchSize, interval, backPressure, synchronousTypes);
+            }
+
+            /**
+             * Defines the maximum number of types that are retransformed by a single call to
+             * {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             *
+             * @param batchSize The maximum number of types that are retransformed in a single batch.
+             * @return A new asynchronous installation mode with the given batch size.
+             */
+            public Asynchronous withBatchSize(int batchSize) {
+                if (batchSize < 1) {
+                    throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+                }
+                return new Asynchronous(queueSize, batchSize, interval, backPressure, synchronousTypes);
+            }
+
+            /**
+             * Defines the number of milliseconds the background thread waits for additional types before
+             * retransforming any queued types.
+             *
+             * @param interval The interval in milliseconds.
+             * @return A new asynchronous installation mode with the given interval.
+             */
+            public Asynchronous withInterval(long interval) {
+                if (interval < 1L) {
+                    throw new IllegalArgumentException("The interval must be positive: " + interval);
+                }
+                return new Asynchronous(queueSize, batchSize, interval, backPressure, synchronousTypes);
+            }
+
+            /**
+             * Defines the back pressure strategy to apply if the queue of types is full.
+             *
+             * @param backPressure The back pressure strategy to apply.
+             * @return A new asynchronous installation mode with the given back pressure strategy.
+             */
+            public Asynchronous withBackPressure(BackPressure backPressure) {
+                return new Asynchronous(queueSize, batchSize, interval, nonNull(backPressure), synchronousTypes);
+            }
+
+            /**
+             * Defines types that are always transformed while they are loaded in addition to any types that were
+             * already defined as such.
+             *
+             * @param typeName The binary names of the types that are always transformed while they are loaded.
+             * @return A new asynchronous installation mode with the given synchronous types.
+             */
+            public Asynchronous withSynchronousTypes(String... typeName) {
+                Set<String> synchronousTypes = new HashSet<String>(this.synchronousTypes);
+                synchronousTypes.addAll(Arrays.asList(nonNull(typeName)));
+                return new Asynchronous(queueSize, batchSize, interval, backPressure, synchronousTypes);
+            }
+
+            @Override
+            public ClassFileTransformer install(Instrumentation instrumentation,
+                                                ClassFileTransformer classFileTransformer,
+                                                boolean retransformation,
+                                                Listener listener) {
+                if (!instrumentation.isRetransformClassesSupported()) {
+                    throw new IllegalArgumentException("Retransformation is not supported by " + instrumentation);
+                }
+                Deferring deferring = new Deferring(instrumentation,
+                        classFileTransformer,
+                        listener,
+                        new ArrayBlockingQueue<Request>(queueSize),
+                        batchSize,
+                        interval,
+                        backPressure,
+                        synchronousTypes);
+                instrumentation.addTransformer(deferring, true);
+                deferring.start();
+                return deferring;
+            }
+
+            @Override
+            public boolean isDeferred() {
+                return true;
+            }
+
+            /**
+             * Retransforms the given types in batches of the given size. If the retransformation of a batch fails,
+             * each type of this batch is retransformed individually such that a single type that cannot be
+             * retransformed does not prevent the retransformation of any other type. Any failed retransformation of
+             * an individual type is reported to the given listener.
+             *
+             * @param instrumentation The instrumentation to use for the retransformation.
+             * @param types           The types to retransform.
+             * @param batchSize       The maximum number of types that are retransformed by a single call to
+             *                        {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             * @param listener        The listener to notify on a failed retransformation.
+             */
+            protected static void retransformInBatches(Instrumentation instrumentation,
+                                                       List<Class<?>> types,
+                                                       int batchSize,
+                                                       Listener listener) {
+                for (int index = 0; index < types.size(); index += batchSize) {
+                    List<Class<?>> batch = types.subList(index, Math.min(index + batchSize, types.size()));
+                    try {
+                        instrumentation.retransformClasses(batch.toArray(new Class<?>[batch.size()]));
+                    } catch (Throwable ignored) {
+                        for (Class<?> type : batch) {
+                            try {
+                                instrumentation.retransformClasses(type);
+                            } catch (Throwable throwable) {
+                                listener.onError(type.getName(), throwable);
+                            }
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Asynchronous that = (Asynchronous) other;
+                return queueSize == that.queueSize
+                        && batchSize == that.batchSize
+                        && interval == that.interval
+                        && backPressure == that.backPressure
+                        && synchronousTypes.equals(that.synchronousTypes);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = queueSize;
+                result = 31 * result + batchSize;
+                result = 31 * result + (int) (interval ^ (interval >>> 32));
+                result = 31 * result + backPressure.hashCode();
+                result = 31 * result + synchronousTypes.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.InstallationMode.Asynchronous{" +
+                        "queueSize=" + queueSize +
+                        ", batchSize=" + batchSize +
+                        ", interval=" + interval +
+                        ", backPressure=" + backPressure +
+                        ", synchronousTypes=" + synchronousTypes +
+                        '}';
+            }
+
+            /**
+             * A back pressure strategy determines how a type is treated if the queue of types that await their
+             * retransformation is full.
+             */
+            public static enum BackPressure {
+
+                /**
+                 * Transforms a type synchronously if the queue is full.
+                 */
+                SYNCHRONOUS {
+                    @Override
+                    protected boolean offer(BlockingQueue<Request> queue, Request request) {
+                        return queue.offer(request);
+                    }
+
+                    @Override
+                    protected boolean isSynchronousFallback() {
+                        return true;
+                    }
+                },
+
+                /**
+                 * Does not transform a type if the queue is full.
+                 */
+                DISCARD {
+                    @Override
+                    protected boolean offer(BlockingQueue<Request> queue, Request request) {
+                        return queue.offer(request);
+                    }
+
+                    @Override
+                    protected boolean isSynchronousFallback() {
+                        return false;
+                    }
+                },
+
+                /**
+                 * Blocks the loading thread until the queue can accept a type. If the loading thread is
+                 * interrupted while waiting, the type is transformed synchronously.
+                 */
+                BLOCK {
+                    @Override
+                    protected boolean offer(BlockingQueue<Request> queue, Request request) {
+                        try {
+                            queue.put(request);
+                            return true;
+                        } catch (InterruptedException ignored) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+
+                    @Override
+                    protected boolean isSynchronousFallback() {
+                        return true;
+                    }
+                };
+
+                /**
+                 * Offers a request to the given queue.
+                 *
+                 * @param queue   The queue of requests that await their retransformation.
+                 * @param request The request to offer.
+                 * @return {@code true} if the request was queued.
+                 */
+                protected abstract boolean offer(BlockingQueue<Request> queue, Request request);
+
+                /**
+                 * Determines if a type that could not be queued is transformed synchronously.
+                 *
+                 * @return {@code true} if a type that could not be queued is transformed synchronously.
+                 */
+                protected abstract boolean isSynchronousFallback();
+            }
+
+            /**
+             * A class file transformer that is able to determine if it transforms a type before the type is loaded.
+             * An asynchronous installation only queues types that such a transformer would transform.
+             */
+            public static interface Selective extends ClassFileTransformer {
+
+                /**
+                 * Determines if this class file transformer transforms a type that is currently loaded. If a type is
+                 * not transformed, this class file transformer is responsible for reporting the type as ignored.
+                 *
+                 * @param classLoader          The class loader of the type which is {@code null} for the bootstrap
+                 *                             class loader.
+                 * @param internalTypeName     The internal name of the type.
+                 * @param protectionDomain     The protection domain of the type.
+                 * @param binaryRepresentation The binary representation of the type.
+                 * @return {@code true} if this class file transformer transforms the given type.
+                 */
+                boolean isTransformed(ClassLoader classLoader,
+                                      String internalTypeName,
+                                      ProtectionDomain protectionDomain,
+                                      byte[] binaryRepresentation);
+            }
+
+            /**
+             * A request for the retransformation of a type that is identified by its name and its class loader. The
+             * class loader is only referenced weakly such that a queued type does not prevent its class loader from
+             * being garbage collected.
+             */
+            protected static class Request {
+
+                /**
+                 * The binary name of the type.
+                 */
+                private final String typeName;
+
+                /**
+                 * A weak reference to the class loader of the type or {@code null} for the bootstrap class loader.
+                 */
+                private final Reference<ClassLoader> classLoader;
+
+                /**
+                 * The hash code of this request which is computed eagerly as the class loader might be garbage
+                 * collected while this request is pending.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new request.
+                 *
+                 * @param typeName    The binary name of the type.
+                 * @param classLoader The class loader of the type which is {@code null} for the bootstrap
+                 *                    class loader.
+                 */
+                protected Request(String typeName, ClassLoader classLoader) {
+                    this.typeName = typeName;
+                    this.classLoader = classLoader == null
+                            ? null
+                            : new WeakReference<ClassLoader>(classLoader);
+                    hashCode = 31 * typeName.hashCode() + System.identityHashCode(classLoader);
+                }
+
+                /**
+                 * Returns the binary name of the requested type.
+                 *
+                 * @return The binary name of the requested type.
+                 */
+                protected String getTypeName() {
+                    return typeName;
+                }
+
+                /**
+                 * Checks if the requested type is loaded by the bootstrap class loader.
+                 *
+                 * @return {@code true} if the requested type is loaded by the bootstrap class loader.
+                 */
+                protected boolean isBootstrapType() {
+                    return classLoader == null;
+                }
+
+                /**
+                 * Returns the class loader of the requested type.
+                 *
+                 * @return The class loader of the requested type or {@code null} if the type is loaded by the
+                 * bootstrap class loader or if its class loader was garbage collected.
+                 */
+                protected ClassLoader getClassLoader() {
+                    return classLoader == null
+                            ? null
+                            : classLoader.get();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    Request request = (Request) other;
+                    ClassLoader classLoader = getClassLoader();
+                    return hashCode == request.hashCode
+                            && typeName.equals(request.typeName)
+                            && isBootstrapType() == request.isBootstrapType()
+                            && (classLoader != null || isBootstrapType())
+                            && classLoader == request.getClassLoader();
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.InstallationMode.Asynchronous.Request{" +
+                            "typeName='" + typeName + '\'' +
+                            ", classLoader=" + getClassLoader() +
+                            '}';
+                }
+            }
+
+            /**
+             * A class file transformer that defers the transformation of loaded types to a background thread
+             * which retransforms these types in batches.
+             */
+            public static class Deferring implements ClassFileTransformer, Runnable {
+
+                /**
+                 * The number of background iterations after which a request is discarded if its type is not
+                 * found among the loaded types, for example because its definition failed.
+                 */
+                protected static final int MAXIMUM_ATTEMPTS = 10;
+
+                /**
+                 * The value that is to be returned from a {@link java.lang.instrument.ClassFileTransformer} to
+                 * indicate that no class file transformation is to be applied.
+                 */
+                private static final byte[] NO_TRANSFORMATION = null;
+
+                /**
+                 * The name of the background thread.
+                 */
+                private static final String THREAD_NAME = "byte-buddy-deferred-transformation";
+
+                /**
+                 * The instrumentation with which this transformer is registered.
+                 */
+                private final Instrumentation instrumentation;
+
+                /**
+                 * The class file transformer that implements an agent builder's configuration.
+                 */
+                private final ClassFileTransformer classFileTransformer;
+
+                /**
+                 * The listener to notify about failed retransformations.
+                 */
+                private final Listener listener;
+
+                /**
+                 * The queue of requests that await their retransformation.
+                 */
+                private final BlockingQueue<Request> queue;
+
+                /**
+                 * The maximum number of types that are retransformed in a single batch.
+                 */
+                private final int batchSize;
+
+                /**
+                 * The number of milliseconds to wait for additional types before retransforming any queued types.
+                 */
+                private final long interval;
+
+                /**
+                 * The back pressure strategy to apply if the queue is full.
+                 */
+                private final BackPressure backPressure;
+
+                /**
+                 * The binary names of all types that are always transformed while they are loaded.
+                 */
+                private final Set<String> synchronousTypes;
 
-            @Override
-            public void onTransformation(DynamicType dynamicType) {
-                for (Listener listener : this.listener) {
-                    listener.onTransformation(dynamicType);
+                /**
+                 * The background thread that retransforms any queued types.
+                 */
+                private final Thread thread;
+
+                /**
+                 * Creates a new deferring class file transformer.
+                 *
+                 * @param instrumentation      The instrumentation with which this transformer is registered.
+                 * @param classFileTransformer The class file transformer that implements an agent builder's
+                 *                             configuration.
+                 * @param listener             The listener to notify about failed retransformations.
+                 * @param queue                The queue of requests that await their retransformation.
+                 * @param batchSize            The maximum number of types that are retransformed in a single batch.
+                 * @param interval             The number of milliseconds to wait for additional types before
+                 *                             retransforming any queued types.
+                 * @param backPressure         The back pressure strategy to apply if the queue is full.
+                 * @param synchronousTypes     The binary names of all types that are always transformed while they
+                 *                             are loaded.
+                 */
+                protected Deferring(Instrumentation instrumentation,
+                                    ClassFileTransformer classFileTransformer,
+                                    Listener listener,
+                                    BlockingQueue<Request> queue,
+                                    int batchSize,
+                                    long interval,
+                                    BackPressure backPressure,
+                                    Set<String> synchronousTypes) {
+                    this.instrumentation = instrumentation;
+                    this.classFileTransformer = classFileTransformer;
+                    this.listener = listener;
+                    this.queue = queue;
+                    this.batchSize = batchSize;
+                    this.interval = interval;
+                    this.backPressure = backPressure;
+                    this.synchronousTypes = synchronousTypes;
+                    thread = new Thread(this, THREAD_NAME);
+                    thread.setDaemon(true);
                 }
-            }
 
-            @Override
-            public void onError(String typeName, Throwable throwable) {
-                for (Listener listener : this.listener) {
-                    listener.onError(typeName, throwable);
+                /**
+                 * Starts the background thread of this transformer.
+                 */
+                protected void start() {
+                    thread.start();
                 }
-            }
 
-            @Override
-            public void onIgnored(String typeName) {
-                for (Listener listener : this.listener) {
-                    listener.onIgnored(typeName);
+                /**
+                 * Removes this transformer from its instrumentation and stops its background thread. Any types that
+                 * are still queued are not retransformed.
+                 *
+                 * @return {@code true} if this transformer was registered with its instrumentation.
+                 */
+                public boolean shutdown() {
+                    boolean removed = instrumentation.removeTransformer(this);
+                    thread.interrupt();
+                    return removed;
                 }
-            }
 
-            @Override
-            public void onComplete(String typeName) {
-                for (Listener listener : this.listener) {
-                    listener.onComplete(typeName);
+                @Override
+                public byte[] transform(ClassLoader classLoader,
+                                        String internalTypeName,
+                                        Class<?> classBeingRedefined,
+                                        ProtectionDomain protectionDomain,
+                                        byte[] binaryRepresentation) throws IllegalClassFormatException {
+                    String binaryTypeName = internalTypeName.replace('/', '.');
+                    if (classBeingRedefined != null
+                            || Thread.currentThread() == thread
+                            || synchronousTypes.contains(binaryTypeName)) {
+                        return classFileTransformer.transform(classLoader,
+                                internalTypeName,
+                                classBeingRedefined,
+                                protectionDomain,
+                                binaryRepresentation);
+                    } else if (classFileTransformer instanceof Selective && !((Selective) classFileTransformer).isTransformed(classLoader,
+                            internalTypeName,
+                            protectionDomain,
+                            binaryRepresentation)) {
+                        return NO_TRANSFORMATION;
+                    } else if (backPressure.offer(queue, new Request(binaryTypeName, classLoader))
+                            || !backPressure.isSynchronousFallback()) {
+                        return NO_TRANSFORMATION;
+                    } else {
+                        return classFileTransformer.transform(classLoader,
+                                internalTypeName,
+                                classBeingRedefined,
+                                protectionDomain,
+                                binaryRepresentation);
+                    }
                 }
-            }
 
-            @Override
-            public boolean equals(Object other) {
-                return this == other || !(other == null || getClass() != other.getClass())
-                        && Arrays.equals(listener, ((Compound) other).listener);
-            }
+                @Override
+                public void run() {
+                    Map<Request, Integer> pending = new LinkedHashMap<Request, Integer>();
+                    List<Request> requests = new ArrayList<Request>(batchSize);
+                    while (!Thread.currentThread().isInterrupted()) {
+                        try {
+                            Request request = queue.poll(interval, TimeUnit.MILLISECONDS);
+                            if (request != null) {
+                                requests.add(request);
+                                queue.drainTo(requests, batchSize - 1);
+                            }
+                        } catch (InterruptedException ignored) {
+                            return;
+                        }
+                        for (Request request : requests) {
+                            pending.put(request, 0);
+                        }
+                        requests.clear();
+                        if (!pending.isEmpty()) {
+                            retransform(pending);
+                        }
+                    }
+                }
 
-            @Override
-            public int hashCode() {
-                return Arrays.hashCode(listener);
-            }
+                /**
+                 * Retransforms all pending types that are already loaded. Loaded types are only looked up among the
+                 * types that were initiated by the class loaders of pending types. Pending types that are not yet
+                 * loaded remain pending until they exceed the maximum number of attempts. Pending types of a class
+                 * loader that was garbage collected are discarded. Class loaders are queried in the order of their first
+                 * pending request such that types are batched in a predictable order.
+                 *
+                 * @param pending The pending requests mapped to the number of previous attempts of locating
+                 *                their type.
+                 */
+                protected void retransform(Map<Request, Integer> pending) {
+                    Map<ClassLoader, Map<String, Request>> requests = new IdentityHashMap<ClassLoader, Map<String, Request>>();
+                    List<ClassLoader> classLoaders = new ArrayList<ClassLoader>();
+                    Iterator<Request> requestIterator = pending.keySet().iterator();
+                    while (requestIterator.hasNext()) {
+                        Request request = requestIterator.next();
+                        ClassLoader classLoader = request.getClassLoader();
+                        if (classLoader == null && !request.isBootstrapType()) {
+                            requestIterator.remove();
+                            continue;
+                        }
+                        Map<String, Request> typeNames = requests.get(classLoader);
+                        if (typeNames == null) {
+                            typeNames = new HashMap<String, Request>();
+                            requests.put(classLoader, typeNames);
+                            classLoaders.add(classLoader);
+                        }
+                        typeNames.put(request.getTypeName(), request);
+                    }
+                    List<Class<?>> types = new ArrayList<Class<?>>(pending.size());
+                    for (ClassLoader classLoader : classLoaders) {
+                        Map<String, Request> typeNames = requests.get(classLoader);
+                        for (Class<?> type : instrumentation.getInitiatedClasses(classLoader)) {
+                            Request request = type.getClassLoader() == classLoader
+                                    ? typeNames.remove(type.getName())
+                                    : null;
+                            if (request != null && pending.remove(request) != null && instrumentation.isModifiableClass(type)) {
+                                types.add(type);
+                            }
+                        }
+                    }
+                    Iterator<Map.Entry<Request, Integer>> iterator = pending.entrySet().iterator();
+                    while (iterator.hasNext()) {
+                        Map.Entry<Request, Integer> entry = iterator.next();
+                        if (entry.getValue() + 1 >= MAXIMUM_ATTEMPTS) {
+                            iterator.remove();
+                        } else {
+                            entry.setValue(entry.getValue() + 1);
+                        }
+                    }
+                    retransformInBatches(instrumentation, types, batchSize, listener);
+                }
 
-            @Override
-            public String toString() {
-                return "AgentBuilder.Listener.Compound{" +
-                        "listener=" + Arrays.toString(listener) +
-                        '}';
+                @Override
+                public String toString() {
+                    return "AgentBuilder.InstallationMode.Asynchronous.Deferring{" +
+                            "instrumentation=" + instrumentation +
+                            ", classFileTransformer=" + classFileTransformer +
+                            ", listener=" + listener +
+                            ", queue=" + queue +
+                            ", batchSize=" + batchSize +
+                            ", interval=" + interval +
+                            ", backPressure=" + backPressure +
+                            ", synchronousTypes=" + synchronousTypes +
+                            ", thread=" + thread +
+                            '}';
+                }
             }
         }
     }
 
+    /**
+     * An installation of an agent builder's configuration whose configuration can be replaced at runtime.
+     */
+    static interface Installation {
+
+        /**
+         * The default maximum number of types that an update retransforms by a single call to
+         * {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+         */
+        int DEFAULT_BATCH_SIZE = 256;
+
+        /**
+         * Returns the class file transformer that was registered with the instrumentation for this installation.
+         *
+         * @return The class file transformer that was registered with the instrumentation for this installation.
+         */
+        ClassFileTransformer getClassFileTransformer();
+
+        /**
+         * <p>
+         * Replaces the installed configuration by the configuration of the given agent builder. Any loaded type
+         * that is transformed differently by the given configuration than by the previous configuration is
+         * retransformed where only types that are matched by a transformation that was added or removed are
+         * considered. Errors during the retransformation of a type are reported to the given agent builder's
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.Listener}.
+         * </p>
+         * <p>
+         * <b>Important</b>: Retransformation does not allow to add or remove fields or methods on the HotSpot
+         * virtual machine. As any transformation rebases a type which adds methods, an update is rejected without
+         * changing the installed configuration if a loaded type that would be retransformed is only matched by one
+         * of the two configurations.
+         * </p>
+         *
+         * @param agentBuilder The agent builder that describes the configuration to install.
+         * @return The loaded types that were retransformed.
+         * @throws IllegalArgumentException If the update added or removed the rebasing of a loaded type.
+         */
+        List<Class<?>> update(AgentBuilder agentBuilder);
+    }
+
     /**
      * The default implementation of an {@link net.bytebuddy.agent.builder.AgentBuilder}.
      */
@@ -696,6 +2303,10 @@ public interface AgentBuilder {
          * that no class file transformation is to be applied.
          */
         private static final byte[] NO_TRANSFORMATION = null;
+        /**
+         * Represents a stage time stamp that is not taken because the time of transformation stages is not measured.
+         */
+        private static final long UNMEASURED = 0L;
 
         /**
          * The {@link net.bytebuddy.ByteBuddy} instance to be used.
@@ -712,6 +2323,11 @@ public interface AgentBuilder {
          */
         private final Listener listener;
 
+        /**
+         * The metrics to notify on transformations.
+         */
+        private final Metrics metrics;
+
         /**
          * The native method prefix to use which might also represent
          * {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_NATIVE_PREFIX} to indicate that no
@@ -731,6 +2347,12 @@ public interface AgentBuilder {
          */
         private final boolean retransformation;
 
+        /**
+         * The installation mode to apply when installing the generated {@link java.lang.instrument.ClassFileTransformer}
+         * on an {@link java.lang.instrument.Instrumentation}.
+         */
+        private final InstallationMode installationMode;
+
         /**
          * The list of transformation entries that are registered with this agent builder.
          */
@@ -753,9 +2375,11 @@ public interface AgentBuilder {
             this(nonNull(byteBuddy),
                     BinaryLocator.Default.INSTANCE,
                     Listener.NoOp.INSTANCE,
+                    Metrics.NoOp.INSTANCE,
                     NO_NATIVE_PREFIX,
                     false,
                     false,
+                    InstallationMode.Synchronous.INSTANCE,
                     Collections.<Transformation>emptyList());
         }
 
@@ -765,6 +2389,7 @@ public interface AgentBuilder {
          * @param byteBuddy                 The Byte Buddy instance to be used.
          * @param binaryLocator             The binary locator to use.
          * @param listener                  The listener to notify on transformations.
+         * @param metrics                   The metrics to notify on transformations.
          * @param nativeMethodPrefix        The native method prefix to use which might also represent
          *                                  {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_NATIVE_PREFIX}
          *                                  to indicate that no prefix should be added but rather a random suffix.
@@ -774,22 +2399,29 @@ public interface AgentBuilder {
          * @param retransformation          {@code true} if the generated
          *                                  {@link java.lang.instrument.ClassFileTransformer} should also apply
          *                                  for retransformations.
+         * @param installationMode          The installation mode to apply when installing the generated
+         *                                  {@link java.lang.instrument.ClassFileTransformer} on an
+         *                                  {@link java.lang.instrument.Instrumentation}.
          * @param entries                   The list of transformation entries that are registered with this
          *                                  agent builder.
          */
         protected Default(ByteBuddy byteBuddy,
                           BinaryLocator binaryLocator,
                           Listener listener,
+                          Metrics metrics,
                           String nativeMethodPrefix,
                           boolean disableSelfInitialization,
                           boolean retransformation,
+                          InstallationMode installationMode,
                           List<Transformation> entries) {
             this.byteBuddy = byteBuddy;
             this.binaryLocator = binaryLocator;
             this.listener = listener;
+            this.metrics = metrics;
             this.nativeMethodPrefix = nativeMethodPrefix;
             this.disableSelfInitialization = disableSelfInitialization;
             this.retransformation = retransformation;
+            this.installationMode = installationMode;
             this.entries = entries;
         }
 
@@ -814,9 +2446,11 @@ public interface AgentBuilder {
             return new Default(nonNull(byteBuddy),
                     binaryLocator,
                     listener,
+                    metrics,
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
+                    installationMode,
                     entries);
         }
 
@@ -825,9 +2459,24 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     new Listener.Compound(this.listener, nonNull(listener)),
+                    metrics,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    retransformation,
+                    installationMode,
+                    entries);
+        }
+
+        @Override
+        public AgentBuilder withMetrics(Metrics metrics) {
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    new Metrics.Compound(this.metrics, nonNull(metrics)),
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
+                    installationMode,
                     entries);
         }
 
@@ -836,9 +2485,11 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     nonNull(binaryLocator),
                     listener,
+                    metrics,
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
+                    installationMode,
                     entries);
         }
 
@@ -850,9 +2501,11 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     listener,
+                    metrics,
                     prefix,
                     disableSelfInitialization,
                     retransformation,
+                    installationMode,
                     entries);
         }
 
@@ -861,9 +2514,27 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     listener,
+                    metrics,
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     true,
+                    installationMode,
+                    entries);
+        }
+
+        @Override
+        public AgentBuilder withInstallationMode(InstallationMode installationMode) {
+            if (nonNull(installationMode).isDeferred()) {
+                throw new IllegalArgumentException("Cannot defer the transformation of rebased types: " + installationMode);
+            }
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    metrics,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    retransformation,
+                    installationMode,
                     entries);
         }
 
@@ -872,9 +2543,11 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     listener,
+                    metrics,
                     nativeMethodPrefix,
                     true,
                     retransformation,
+                    installationMode,
                     entries);
         }
 
@@ -885,14 +2558,36 @@ public interface AgentBuilder {
 
         @Override
         public ClassFileTransformer installOn(Instrumentation instrumentation) {
-            ClassFileTransformer classFileTransformer = makeRaw();
-            instrumentation.addTransformer(classFileTransformer, retransformation);
+            ClassFileTransformer classFileTransformer = installationMode.install(instrumentation,
+                    makeRaw(),
+                    retransformation,
+                    listener);
             if (!NO_NATIVE_PREFIX.equals(nonNull(nativeMethodPrefix))) {
                 instrumentation.setNativeMethodPrefix(classFileTransformer, nativeMethodPrefix);
             }
             return classFileTransformer;
         }
 
+        @Override
+        public Installation installUpdatableOn(Instrumentation instrumentation) {
+            return installUpdatableOn(instrumentation, Installation.DEFAULT_BATCH_SIZE);
+        }
+
+        @Override
+        public Installation installUpdatableOn(Instrumentation instrumentation, int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+            } else if (!instrumentation.isRetransformClassesSupported()) {
+                throw new IllegalArgumentException("Retransformation is not supported by " + instrumentation);
+            }
+            Updatable.Dispatcher dispatcher = new Updatable.Dispatcher(makeRaw());
+            ClassFileTransformer classFileTransformer = installationMode.install(instrumentation, dispatcher, true, listener);
+            if (!NO_NATIVE_PREFIX.equals(nonNull(nativeMethodPrefix))) {
+                instrumentation.setNativeMethodPrefix(classFileTransformer, nativeMethodPrefix);
+            }
+            return new Updatable(instrumentation, classFileTransformer, dispatcher, batchSize, this);
+        }
+
         @Override
         public ClassFileTransformer installOnByteBuddyAgent() {
             try {
@@ -913,9 +2608,11 @@ public interface AgentBuilder {
             return binaryLocator.equals(aDefault.binaryLocator)
                     && byteBuddy.equals(aDefault.byteBuddy)
                     && listener.equals(aDefault.listener)
+                    && metrics.equals(aDefault.metrics)
                     && nativeMethodPrefix.equals(aDefault.nativeMethodPrefix)
                     && disableSelfInitialization == aDefault.disableSelfInitialization
                     && retransformation == aDefault.retransformation
+                    && installationMode.equals(aDefault.installationMode)
                     && entries.equals(aDefault.entries);
 
         }
@@ -925,9 +2622,11 @@ public interface AgentBuilder {
             int result = byteBuddy.hashCode();
             result = 31 * result + binaryLocator.hashCode();
             result = 31 * result + listener.hashCode();
+            result = 31 * result + metrics.hashCode();
             result = 31 * result + nativeMethodPrefix.hashCode();
             result = 31 * result + (disableSelfInitialization ? 1 : 0);
             result = 31 * result + (retransformation ? 1 : 0);
+            result = 31 * result + installationMode.hashCode();
             result = 31 * result + entries.hashCode();
             return result;
         }
@@ -938,9 +2637,11 @@ public interface AgentBuilder {
                     "byteBuddy=" + byteBuddy +
                     ", binaryLocator=" + binaryLocator +
                     ", listener=" + listener +
+                    ", metrics=" + metrics +
                     ", nativeMethodPrefix=" + nativeMethodPrefix +
                     ", disableSelfInitialization=" + disableSelfInitialization +
                     ", retransformation=" + retransformation +
+                    ", installationMode=" + installationMode +
                     ", entries=" + entries +
                     '}';
         }
@@ -1358,6 +3059,260 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * An installation of a default agent builder's configuration that can be replaced by the configuration of
+         * another default agent builder. The loaded types that are affected by an update are determined by matching
+         * descriptions of the loaded types against the transformations that were added or removed only such that
+         * types that are not affected are neither parsed nor retransformed. If the updated configuration uses the
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator.Default}, the retransformed types are located
+         * by a {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator.Shared} binary locator for the duration of
+         * an update such that types that are referenced by several retransformed types are only parsed once.
+         */
+        protected static class Updatable implements Installation {
+
+            /**
+             * The instrumentation on which the configuration is installed.
+             */
+            private final Instrumentation instrumentation;
+
+            /**
+             * The class file transformer that was registered with the instrumentation.
+             */
+            private final ClassFileTransformer classFileTransformer;
+
+            /**
+             * The dispatcher that delegates to a class file transformer that implements the current configuration.
+             */
+            private final Dispatcher dispatcher;
+
+            /**
+             * The maximum number of types that are retransformed by a single call to
+             * {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             */
+            private final int batchSize;
+
+            /**
+             * The agent builder that describes the current configuration.
+             */
+            private volatile Default agentBuilder;
+
+            /**
+             * Creates a new updatable installation.
+             *
+             * @param instrumentation      The instrumentation on which the configuration is installed.
+             * @param classFileTransformer The class file transformer that was registered with the instrumentation.
+             * @param dispatcher           The dispatcher that delegates to a class file transformer that implements
+             *                             the current configuration.
+             * @param batchSize            The maximum number of types that are retransformed by a single call to
+             *                             {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+             * @param agentBuilder         The agent builder that describes the current configuration.
+             */
+            protected Updatable(Instrumentation instrumentation,
+                                ClassFileTransformer classFileTransformer,
+                                Dispatcher dispatcher,
+                                int batchSize,
+                                Default agentBuilder) {
+                this.instrumentation = instrumentation;
+                this.classFileTransformer = classFileTransformer;
+                this.dispatcher = dispatcher;
+                this.batchSize = batchSize;
+                this.agentBuilder = agentBuilder;
+            }
+
+            @Override
+            public ClassFileTransformer getClassFileTransformer() {
+                return classFileTransformer;
+            }
+
+            @Override
+            public synchronized List<Class<?>> update(AgentBuilder agentBuilder) {
+                Default previous = this.agentBuilder, updated = resolve(agentBuilder);
+                if (!previous.nativeMethodPrefix.equals(updated.nativeMethodPrefix)) {
+                    throw new IllegalArgumentException("Cannot change the native method prefix of an installation to "
+                            + updated.nativeMethodPrefix);
+                }
+                boolean compatible = previous.byteBuddy.equals(updated.byteBuddy)
+                        && previous.binaryLocator.equals(updated.binaryLocator)
+                        && previous.disableSelfInitialization == updated.disableSelfInitialization;
+                List<Transformation> changed = compatible
+                        ? changed(previous.entries, updated.entries)
+                        : join(previous.entries, updated.entries);
+                List<Class<?>> types = new ArrayList<Class<?>>();
+                if (!changed.isEmpty()) {
+                    for (Class<?> type : instrumentation.getAllLoadedClasses()) {
+                        if (!instrumentation.isModifiableClass(type)) {
+                            continue;
+                        }
+                        Transformation previousTransformation, updatedTransformation;
+                        try {
+                            TypeDescription typeDescription = new TypeDescription.ForLoadedType(type);
+                            ClassLoader classLoader = type.getClassLoader();
+                            ProtectionDomain protectionDomain = type.getProtectionDomain();
+                            if (match(changed, typeDescription, classLoader, type, protectionDomain) == null) {
+                                continue;
+                            }
+                            previousTransformation = match(previous.entries, typeDescription, classLoader, type, protectionDomain);
+                            updatedTransformation = match(updated.entries, typeDescription, classLoader, type, protectionDomain);
+                        } catch (Throwable throwable) {
+                            updated.listener.onError(type.getName(), throwable);
+                            continue;
+                        }
+                        if (previousTransformation == null || updatedTransformation == null) {
+                            throw new IllegalArgumentException("Cannot add or remove the rebasing of the loaded type " + type.getName());
+                        } else if (!compatible || !previousTransformation.equals(updatedTransformation)) {
+                            types.add(type);
+                        }
+                    }
+                }
+                this.agentBuilder = updated;
+                if (types.isEmpty()) {
+                    dispatcher.setClassFileTransformer(updated.makeRaw());
+                    return types;
+                }
+                dispatcher.setClassFileTransformer(updated.binaryLocator == BinaryLocator.Default.INSTANCE
+                        ? updated.withBinaryLocator(new BinaryLocator.Shared()).makeRaw()
+                        : updated.makeRaw());
+                try {
+                    InstallationMode.Asynchronous.retransformInBatches(instrumentation, types, batchSize, updated.listener);
+                } finally {
+                    dispatcher.setClassFileTransformer(updated.makeRaw());
+                }
+                return types;
+            }
+
+            /**
+             * Resolves an agent builder to a default agent builder.
+             *
+             * @param agentBuilder The agent builder to resolve.
+             * @return The resolved default agent builder.
+             */
+            private static Default resolve(AgentBuilder agentBuilder) {
+                if (agentBuilder instanceof Default.Matched) {
+                    agentBuilder = ((Default.Matched) agentBuilder).materialize();
+                }
+                if (!(agentBuilder instanceof Default)) {
+                    throw new IllegalArgumentException("Cannot install the configuration of " + agentBuilder);
+                }
+                return (Default) agentBuilder;
+            }
+
+            /**
+             * Computes the transformations that were added or removed. If the transformations that are retained
+             * are reordered, all transformations are considered as changed.
+             *
+             * @param previous The previous transformations.
+             * @param updated  The updated transformations.
+             * @return The transformations that were added or removed.
+             */
+            private static List<Transformation> changed(List<Transformation> previous, List<Transformation> updated) {
+                Set<Transformation> previousTransformations = new HashSet<Transformation>(previous);
+                Set<Transformation> updatedTransformations = new HashSet<Transformation>(updated);
+                List<Transformation> changed = new ArrayList<Transformation>();
+                List<Transformation> previousRetained = new ArrayList<Transformation>(previous.size());
+                List<Transformation> updatedRetained = new ArrayList<Transformation>(updated.size());
+                for (Transformation transformation : previous) {
+                    if (updatedTransformations.contains(transformation)) {
+                        previousRetained.add(transformation);
+                    } else {
+                        changed.add(transformation);
+                    }
+                }
+                for (Transformation transformation : updated) {
+                    if (previousTransformations.contains(transformation)) {
+                        updatedRetained.add(transformation);
+                    } else {
+                        changed.add(transformation);
+                    }
+                }
+                return previousRetained.equals(updatedRetained)
+                        ? changed
+                        : join(previous, updated);
+            }
+
+            /**
+             * Returns the first transformation that matches a loaded type.
+             *
+             * @param transformations  The transformations to match.
+             * @param typeDescription  A description of the loaded type.
+             * @param classLoader      The class loader of the loaded type.
+             * @param type             The loaded type.
+             * @param protectionDomain The protection domain of the loaded type.
+             * @return The first matching transformation or {@code null} if no transformation matches the type.
+             */
+            private static Transformation match(List<Transformation> transformations,
+                                                TypeDescription typeDescription,
+                                                ClassLoader classLoader,
+                                                Class<?> type,
+                                                ProtectionDomain protectionDomain) {
+                for (Transformation transformation : transformations) {
+                    if (transformation.matches(typeDescription, classLoader, type, protectionDomain)) {
+                        return transformation;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Default.Updatable{" +
+                        "instrumentation=" + instrumentation +
+                        ", classFileTransformer=" + classFileTransformer +
+                        ", dispatcher=" + dispatcher +
+                        ", batchSize=" + batchSize +
+                        ", agentBuilder=" + agentBuilder +
+                        '}';
+            }
+
+            /**
+             * A class file transformer that delegates to a class file transformer which can be replaced.
+             */
+            protected static class Dispatcher implements ClassFileTransformer {
+
+                /**
+                 * The class file transformer to delegate to.
+                 */
+                private volatile ClassFileTransformer classFileTransformer;
+
+                /**
+                 * Creates a new dispatcher.
+                 *
+                 * @param classFileTransformer The class file transformer to delegate to.
+                 */
+                protected Dispatcher(ClassFileTransformer classFileTransformer) {
+                    this.classFileTransformer = classFileTransformer;
+                }
+
+                /**
+                 * Replaces the class file transformer to delegate to.
+                 *
+                 * @param classFileTransformer The class file transformer to delegate to.
+                 */
+                protected void setClassFileTransformer(ClassFileTransformer classFileTransformer) {
+                    this.classFileTransformer = classFileTransformer;
+                }
+
+                @Override
+                public byte[] transform(ClassLoader classLoader,
+                                        String internalTypeName,
+                                        Class<?> classBeingRedefined,
+                                        ProtectionDomain protectionDomain,
+                                        byte[] binaryRepresentation) throws IllegalClassFormatException {
+                    return classFileTransformer.transform(classLoader,
+                            internalTypeName,
+                            classBeingRedefined,
+                            protectionDomain,
+                            binaryRepresentation);
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Default.Updatable.Dispatcher{" +
+                            "classFileTransformer=" + classFileTransformer +
+                            '}';
+                }
+            }
+        }
+
         /**
          * A {@link java.lang.instrument.ClassFileTransformer} that implements the enclosing agent builder's
          * configuration.
@@ -1374,10 +3329,17 @@ public interface AgentBuilder {
              */
             private final InitializationStrategy initializationStrategy;
 
+            /**
+             * {@code true} if the time that is spent in the different stages of a transformation is measured, i.e.
+             * if the enclosing agent builder's metrics are not non-operational.
+             */
+            private final boolean measured;
+
             /**
              * Creates a new executing transformer that reflects the enclosing agent builder's configuration.
              */
             public ExecutingTransformer() {
+                measured = metrics != Metrics.NoOp.INSTANCE;
                 methodNameTransformer = NO_NATIVE_PREFIX.equals(nativeMethodPrefix)
                         ? new MethodRebaseResolver.MethodNameTransformer.Suffixing()
                         : new MethodRebaseResolver.MethodNameTransformer.Prefixing(nativeMethodPrefix);
@@ -1393,15 +3355,20 @@ public interface AgentBuilder {
                                     ProtectionDomain protectionDomain,
                                     byte[] binaryRepresentation) {
                 String binaryTypeName = internalTypeName.replace('/', '.');
+                long stageStart = measured ? System.nanoTime() : UNMEASURED;
                 try {
-                    BinaryLocator.Initialized initialized = binaryLocator.initialize(binaryTypeName, binaryRepresentation, classLoader);
+                    BinaryLocator.Initialized initialized = initialize(binaryTypeName, binaryRepresentation, classLoader);
+                    stageStart = onStage(Metrics.Stage.BINARY_LOCATION, stageStart);
                     TypeDescription typeDescription = initialized.getTypePool().describe(binaryTypeName).resolve();
+                    stageStart = onStage(Metrics.Stage.TYPE_RESOLUTION, stageStart);
                     for (Transformation transformation : entries) {
                         if (transformation.matches(typeDescription, classLoader, classBeingRedefined, protectionDomain)) {
+                            stageStart = onStage(Metrics.Stage.MATCHING, stageStart);
                             DynamicType.Unloaded<?> dynamicType = initializationStrategy.apply(
                                     transformation.transform(byteBuddy.rebase(typeDescription,
                                             initialized.getClassFileLocator(),
                                             methodNameTransformer))).make();
+                            stageStart = onStage(Metrics.Stage.CREATION, stageStart);
                             Map<TypeDescription, LoadedTypeInitializer> loadedTypeInitializers = dynamicType.getLoadedTypeInitializers();
                             if (loadedTypeInitializers.size() > 1) {
                                 ClassLoaderByteArrayInjector injector = new ClassLoaderByteArrayInjector(classLoader, protectionDomain);
@@ -1413,10 +3380,14 @@ public interface AgentBuilder {
                             initializationStrategy.register(binaryTypeName,
                                     classLoader,
                                     loadedTypeInitializers.get(dynamicType.getTypeDescription()));
+                            onStage(Metrics.Stage.INJECTION, stageStart);
                             listener.onTransformation(dynamicType);
-                            return dynamicType.getBytes();
+                            byte[] transformed = dynamicType.getBytes();
+                            metrics.onTransformation(binaryTypeName, binaryRepresentation.length, transformed.length);
+                            return transformed;
                         }
                     }
+                    onStage(Metrics.Stage.MATCHING, stageStart);
                     listener.onIgnored(binaryTypeName);
                     return NO_TRANSFORMATION;
                 } catch (Throwable throwable) {
@@ -1427,12 +3398,46 @@ public interface AgentBuilder {
                 }
             }
 
+            /**
+             * Initializes the enclosing agent builder's binary locator. A
+             * {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator.Monitorable} binary locator is handed
+             * the enclosing agent builder's metrics.
+             *
+             * @param binaryTypeName       The binary name of the type that is being instrumented.
+             * @param binaryRepresentation The binary representation of the instrumented type.
+             * @param classLoader          The class loader of the instrumented type.
+             * @return The initialized binary locator.
+             */
+            private BinaryLocator.Initialized initialize(String binaryTypeName, byte[] binaryRepresentation, ClassLoader classLoader) {
+                return binaryLocator instanceof BinaryLocator.Monitorable
+                        ? ((BinaryLocator.Monitorable) binaryLocator).initialize(binaryTypeName, binaryRepresentation, classLoader, metrics)
+                        : binaryLocator.initialize(binaryTypeName, binaryRepresentation, classLoader);
+            }
+
+            /**
+             * Reports the completion of a stage to the enclosing agent builder's metrics. If the time of a stage
+             * is not measured, this method does not do anything.
+             *
+             * @param stage      The stage that was completed.
+             * @param stageStart The value of {@link System#nanoTime()} when the stage was started.
+             * @return The value of {@link System#nanoTime()} when the stage was completed.
+             */
+            private long onStage(Metrics.Stage stage, long stageStart) {
+                if (!measured) {
+                    return UNMEASURED;
+                }
+                long stageEnd = System.nanoTime();
+                metrics.onStage(stage, stageEnd - stageStart);
+                return stageEnd;
+            }
+
             @Override
             public String toString() {
                 return "AgentBuilder.Default.ExecutingTransformer{" +
                         "agentBuilder=" + Default.this +
                         ", methodNameTransformer=" + methodNameTransformer +
                         ", initializationStrategy=" + initializationStrategy +
+                        ", measured=" + measured +
                         '}';
             }
         }
@@ -1497,6 +3502,11 @@ public interface AgentBuilder {
                 return materialize().withListener(listener);
             }
 
+            @Override
+            public AgentBuilder withMetrics(Metrics metrics) {
+                return materialize().withMetrics(metrics);
+            }
+
             @Override
             public AgentBuilder withBinaryLocator(BinaryLocator binaryLocator) {
                 return materialize().withBinaryLocator(binaryLocator);
@@ -1517,6 +3527,11 @@ public interface AgentBuilder {
                 return materialize().allowRetransformation();
             }
 
+            @Override
+            public AgentBuilder withInstallationMode(InstallationMode installationMode) {
+                return materialize().withInstallationMode(installationMode);
+            }
+
             @Override
             public ClassFileTransformer makeRaw() {
                 return materialize().makeRaw();
@@ -1527,6 +3542,16 @@ public interface AgentBuilder {
                 return materialize().installOn(instrumentation);
             }
 
+            @Override
+            public Installation installUpdatableOn(Instrumentation instrumentation) {
+                return materialize().installUpdatableOn(instrumentation);
+            }
+
+            @Override
+            public Installation installUpdatableOn(Instrumentation instrumentation, int batchSize) {
+                return materialize().installUpdatableOn(instrumentation, batchSize);
+            }
+
             @Override
             public ClassFileTransformer installOnByteBuddyAgent() {
                 return materialize().installOnByteBuddyAgent();
@@ -1541,9 +3566,11 @@ public interface AgentBuilder {
                 return new Default(byteBuddy,
                         binaryLocator,
                         listener,
+                        metrics,
                         nativeMethodPrefix,
                         disableSelfInitialization,
                         retransformation,
+                        installationMode,
                         join(new Transformation(rawMatcher, transformer), entries));
             }
 
@@ -8,7 +8,8 @@ import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
 
@@ -143,6 +144,22 @@ public interface ClassFileLocator {
         }
     }
 
+    /**
+     * A class file locator that cannot locate any class files.
+     */
+    static enum NoOp implements ClassFileLocator {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public Resolution locate(String typeName) {
+            return Resolution.Illegal.INSTANCE;
+        }
+    }
+
     /**
      * A class file locator that queries a class loader for binary representations of class files.
      */
@@ -282,6 +299,16 @@ public interface ClassFileLocator {
             }
         }
 
+        /**
+         * Returns a class file locator that extracts class files in batches and caches the extracted class files.
+         *
+         * @param maximumSize The maximal number of class files to cache.
+         * @return A batched class file locator that uses the same instrumentation and class loader as this locator.
+         */
+        public Batched batched(int maximumSize) {
+            return new Batched(instrumentation, classLoader, maximumSize);
+        }
+
         @Override
         public Resolution locate(String typeName) {
             try {
@@ -406,6 +433,302 @@ public interface ClassFileLocator {
                         '}';
             }
         }
+
+        /**
+         * <p>
+         * An agent-based class file locator that extracts the class files of several types within a single
+         * retransformation. Names of types that are expected to be looked up can be enqueued such that their class
+         * files are extracted together with the next type that is looked up and not yet cached. Extracted class
+         * files are cached by the identity of their types where the least recently used class file is evicted if
+         * the cache exceeds its maximal size.
+         * </p>
+         * <p>
+         * <b>Note</b>: The cache holds strong references to the types of the cached class files.
+         * </p>
+         */
+        public static class Batched implements ClassFileLocator {
+
+            /**
+             * The instrumentation instance to use for looking up the binary format of a type.
+             */
+            private final Instrumentation instrumentation;
+
+            /**
+             * The class loader which is expected to load a class of a given binary format.
+             */
+            private final ClassLoader classLoader;
+
+            /**
+             * The maximal number of cached class files.
+             */
+            private final int maximumSize;
+
+            /**
+             * The names of types for which class files are extracted on the next retransformation.
+             */
+            private final Set<String> pending;
+
+            /**
+             * The cached class files by their types in their access order.
+             */
+            private final Map<Class<?>, byte[]> binaryRepresentations;
+
+            /**
+             * Creates a new batched agent-based class file locator.
+             *
+             * @param instrumentation The instrumentation to use for looking up a class file implementation.
+             * @param classLoader     The class loader that is expected to load the looked-up a class.
+             * @param maximumSize     The maximal number of class files to cache.
+             */
+            public Batched(Instrumentation instrumentation, ClassLoader classLoader, int maximumSize) {
+                if (!instrumentation.isRetransformClassesSupported()) {
+                    throw new IllegalArgumentException(instrumentation + " does not support retransformation");
+                } else if (maximumSize < 1) {
+                    throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+                }
+                this.instrumentation = instrumentation;
+                this.classLoader = nonNull(classLoader);
+                this.maximumSize = maximumSize;
+                pending = new LinkedHashSet<String>();
+                binaryRepresentations = new LeastRecentlyUsedCache(maximumSize);
+            }
+
+            /**
+             * Enqueues the names of types whose class files are extracted together with the next type that is
+             * looked up and whose class file is not yet cached.
+             *
+             * @param typeName The names of the types to enqueue.
+             * @return This class file locator.
+             */
+            public synchronized Batched enqueue(String... typeName) {
+                pending.addAll(Arrays.asList(typeName));
+                return this;
+            }
+
+            /**
+             * Extracts the class files of all enqueued types and the given types within a single retransformation.
+             *
+             * @param typeName The names of the types to extract in addition to the enqueued types.
+             * @return This class file locator.
+             */
+            public synchronized Batched prefetch(String... typeName) {
+                pending.addAll(Arrays.asList(typeName));
+                extract(Collections.<Class<?>>emptyList());
+                return this;
+            }
+
+            @Override
+            public synchronized Resolution locate(String typeName) {
+                Class<?> type;
+                try {
+                    type = classLoader.loadClass(typeName);
+                } catch (ClassNotFoundException ignored) {
+                    return Resolution.Illegal.INSTANCE;
+                }
+                byte[] binaryRepresentation = binaryRepresentations.get(type);
+                if (binaryRepresentation == null) {
+                    binaryRepresentation = extract(Collections.<Class<?>>singletonList(type)).get(type);
+                }
+                return binaryRepresentation == null
+                        ? Resolution.Illegal.INSTANCE
+                        : new Resolution.Explicit(binaryRepresentation);
+            }
+
+            /**
+             * Extracts the class files of the given types and of all enqueued types within a single
+             * retransformation and adds them to the cache.
+             *
+             * @param requested The types whose class files are requested.
+             * @return The extracted class files by their types.
+             */
+            private Map<Class<?>, byte[]> extract(List<Class<?>> requested) {
+                Set<Class<?>> types = new LinkedHashSet<Class<?>>(requested);
+                for (String typeName : pending) {
+                    try {
+                        Class<?> type = classLoader.loadClass(typeName);
+                        if (!binaryRepresentations.containsKey(type) && instrumentation.isModifiableClass(type)) {
+                            types.add(type);
+                        }
+                    } catch (ClassNotFoundException ignored) {
+                        /* do nothing */
+                    }
+                }
+                pending.clear();
+                Map<Class<?>, byte[]> extracted = retransform(types);
+                if (extracted == null && types.size() > requested.size()) {
+                    extracted = retransform(new LinkedHashSet<Class<?>>(requested));
+                }
+                if (extracted == null) {
+                    return Collections.emptyMap();
+                }
+                binaryRepresentations.putAll(extracted);
+                return extracted;
+            }
+
+            /**
+             * Extracts the class files of the given types within a single retransformation.
+             *
+             * @param types The types whose class files are to be extracted.
+             * @return The extracted class files by their types or {@code null} if the retransformation failed.
+             */
+            private Map<Class<?>, byte[]> retransform(Set<Class<?>> types) {
+                if (types.isEmpty()) {
+                    return Collections.emptyMap();
+                }
+                BatchExtractionClassFileTransformer classFileTransformer = new BatchExtractionClassFileTransformer(types);
+                try {
+                    instrumentation.addTransformer(classFileTransformer, true);
+                    try {
+                        instrumentation.retransformClasses(types.toArray(new Class<?>[types.size()]));
+                    } finally {
+                        instrumentation.removeTransformer(classFileTransformer);
+                    }
+                } catch (Exception ignored) {
+                    return null;
+                }
+                return classFileTransformer.getBinaryRepresentations();
+            }
+
+            /**
+             * Returns the number of cached class files.
+             *
+             * @return The number of cached class files.
+             */
+            public synchronized int size() {
+                return binaryRepresentations.size();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && maximumSize == ((Batched) other).maximumSize
+                        && classLoader.equals(((Batched) other).classLoader)
+                        && instrumentation.equals(((Batched) other).instrumentation);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * (31 * instrumentation.hashCode() + classLoader.hashCode()) + maximumSize;
+            }
+
+            @Override
+            public synchronized String toString() {
+                return "ClassFileLocator.AgentBased.Batched{" +
+                        "instrumentation=" + instrumentation +
+                        ", classLoader=" + classLoader +
+                        ", maximumSize=" + maximumSize +
+                        ", pending=" + pending +
+                        ", binaryRepresentations=" + binaryRepresentations.keySet() +
+                        '}';
+            }
+
+            /**
+             * A cache of class files by their types in their access order that evicts the least recently used class
+             * file if it exceeds its maximal size.
+             */
+            protected static class LeastRecentlyUsedCache extends LinkedHashMap<Class<?>, byte[]> {
+
+                /**
+                 * The serial version UID of this class.
+                 */
+                private static final long serialVersionUID = 1L;
+
+                /**
+                 * The initial capacity of the cache.
+                 */
+                private static final int INITIAL_CAPACITY = 16;
+
+                /**
+                 * The load factor of the cache.
+                 */
+                private static final float LOAD_FACTOR = 0.75f;
+
+                /**
+                 * Indicates that the entries of this cache are ordered by their last access.
+                 */
+                private static final boolean ACCESS_ORDER = true;
+
+                /**
+                 * The maximal number of cached class files.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * Creates a new least recently used cache.
+                 *
+                 * @param maximumSize The maximal number of cached class files.
+                 */
+                protected LeastRecentlyUsedCache(int maximumSize) {
+                    super(INITIAL_CAPACITY, LOAD_FACTOR, ACCESS_ORDER);
+                    this.maximumSize = maximumSize;
+                }
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Class<?>, byte[]> eldest) {
+                    return size() > maximumSize;
+                }
+            }
+        }
+
+        /**
+         * A non-operational class file transformer that remembers the binary format of several given classes.
+         */
+        public static class BatchExtractionClassFileTransformer implements ClassFileTransformer {
+
+            /**
+             * An indicator that an attempted class file transformation did not alter the handed class file.
+             */
+            private static final byte[] DO_NOT_TRANSFORM = null;
+
+            /**
+             * The types whose class files are to be extracted.
+             */
+            private final Set<Class<?>> types;
+
+            /**
+             * The extracted class files by their types.
+             */
+            private final Map<Class<?>, byte[]> binaryRepresentations;
+
+            /**
+             * Creates a class file transformer for the purpose of extracting several class files.
+             *
+             * @param types The types whose class files are to be extracted.
+             */
+            public BatchExtractionClassFileTransformer(Set<Class<?>> types) {
+                this.types = types;
+                binaryRepresentations = new ConcurrentHashMap<Class<?>, byte[]>();
+            }
+
+            @Override
+            public byte[] transform(ClassLoader classLoader,
+                                    String internalName,
+                                    Class<?> redefinedType,
+                                    ProtectionDomain protectionDomain,
+                                    byte[] classFile) throws IllegalClassFormatException {
+                if (redefinedType != null && types.contains(redefinedType)) {
+                    binaryRepresentations.put(redefinedType, classFile);
+                }
+                return DO_NOT_TRANSFORM;
+            }
+
+            /**
+             * Returns the binary representations of all class files that were extracted.
+             *
+             * @return The extracted class files by their types.
+             */
+            public Map<Class<?>, byte[]> getBinaryRepresentations() {
+                return binaryRepresentations;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassFileLocator.AgentBased.BatchExtractionClassFileTransformer{" +
+                        "types=" + types +
+                        ", binaryRepresentations=" + binaryRepresentations.keySet() +
+                        '}';
+            }
+        }
     }
 
     /**
@@ -19,16 +19,24 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.PersistentList;
+import net.bytebuddy.utility.PersistentMap;
 import org.objectweb.asm.Opcodes;
 
 import java.io.*;
 import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 import static net.bytebuddy.utility.ByteBuddyCommons.*;
@@ -1756,7 +1764,7 @@ public interface DynamicType {
                             methodLookupEngineFactory,
                             defaultFieldAttributeAppenderFactory,
                             defaultMethodAttributeAppenderFactory,
-                            join(fieldTokens, fieldToken),
+                            PersistentList.of(fieldTokens).append(fieldToken),
                             methodTokens);
                 }
 
@@ -2004,7 +2012,7 @@ public interface DynamicType {
                  * @return A subclass matched method interception that represents the materialized method.
                  */
                 private DefaultMatchedMethodInterception materialize(MethodToken methodToken) {
-                    return new DefaultMatchedMethodInterception(methodToken, join(methodTokens, methodToken));
+                    return new DefaultMatchedMethodInterception(methodToken, PersistentList.of(methodTokens).append(methodToken));
                 }
 
                 @Override
@@ -2202,7 +2210,7 @@ public interface DynamicType {
                     return AbstractBase.this.materialize(classFileVersion,
                             namingStrategy,
                             targetType,
-                            join(interfaceTypes, isInterface(Arrays.asList(interfaceType))),
+                            PersistentList.of(interfaceTypes).appendAll(isInterface(Arrays.asList(interfaceType))),
                             modifiers,
                             attributeAppender,
                             ignoredMethods,
@@ -2301,9 +2309,19 @@ public interface DynamicType {
     }
 
     /**
-     * A default implementation of a dynamic type.
+     * <p>
+     * An injector that writes the binary representations of any number of dynamic types into a jar file by a single
+     * pass over this jar file. Any entry of the jar file that represents an injected type is replaced while any other
+     * entry is copied in its compressed form such that it does not need to be inflated and deflated again. When an
+     * injector writes into its source jar file and no entry needs to be replaced, the injected types are appended to
+     * the jar file where only its central directory is rewritten.
+     * </p>
+     * <p>
+     * <b>Note</b>: Jar files in the ZIP64 format or with a prefix that is not considered by the offsets of its
+     * entries are copied entry by entry what requires to recompress all entries.
+     * </p>
      */
-    static class Default implements DynamicType {
+    static class Injector {
 
         /**
          * The file name extension for Java class files.
@@ -2311,9 +2329,14 @@ public interface DynamicType {
         private static final String CLASS_FILE_EXTENSION = ".class";
 
         /**
-         * The size of a writing buffer.
+         * A suffix for temporary files.
+         */
+        private static final String TEMP_SUFFIX = "tmp";
+
+        /**
+         * The size of a copying buffer.
          */
-        private static final int BUFFER_SIZE = 1024;
+        private static final int BUFFER_SIZE = 8192;
 
         /**
          * A convenience index for the beginning of an array to improve the readability of the code.
@@ -2326,9 +2349,1031 @@ public interface DynamicType {
         private static final int END_OF_FILE = -1;
 
         /**
-         * A suffix for temporary files.
+         * The jar file into which the dynamic types are injected.
          */
-        private static final String TEMP_SUFFIX = "tmp";
+        private final File sourceJar;
+
+        /**
+         * The binary representations of the injected types by their file names.
+         */
+        private final PersistentMap<String, byte[]> files;
+
+        /**
+         * Creates a new injector that does not yet inject any types.
+         *
+         * @param sourceJar The jar file into which the dynamic types are injected.
+         */
+        public Injector(File sourceJar) {
+            this(sourceJar, PersistentMap.<String, byte[]>empty());
+        }
+
+        /**
+         * Creates a new injector.
+         *
+         * @param sourceJar The jar file into which the dynamic types are injected.
+         * @param files     The binary representations of the injected types by their file names.
+         */
+        protected Injector(File sourceJar, PersistentMap<String, byte[]> files) {
+            this.sourceJar = sourceJar;
+            this.files = files;
+        }
+
+        /**
+         * Returns an injector that additionally injects the given dynamic types including their auxiliary types.
+         *
+         * @param dynamicType The dynamic types to inject.
+         * @return An injector that additionally injects the given dynamic types.
+         */
+        public Injector with(DynamicType... dynamicType) {
+            return with(Arrays.asList(dynamicType));
+        }
+
+        /**
+         * Returns an injector that additionally injects the given dynamic types including their auxiliary types.
+         *
+         * @param dynamicTypes The dynamic types to inject.
+         * @return An injector that additionally injects the given dynamic types.
+         */
+        public Injector with(Collection<? extends DynamicType> dynamicTypes) {
+            PersistentMap<String, byte[]> files = this.files;
+            for (DynamicType dynamicType : dynamicTypes) {
+                for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                    files = files.with(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                }
+                files = files.with(dynamicType.getTypeDescription().getInternalName() + CLASS_FILE_EXTENSION, dynamicType.getBytes());
+            }
+            return new Injector(sourceJar, files);
+        }
+
+        /**
+         * Writes the source jar file including all injected types to the given target file. The target file's folder
+         * must exist prior to calling this method.
+         *
+         * @param targetJar The file to write the injected jar file to.
+         * @return The {@code targetJar} file.
+         * @throws IOException If an IO exception occurs while injecting from the source into the target.
+         */
+        public File inject(File targetJar) throws IOException {
+            Archive archive = Archive.of(sourceJar);
+            if (archive == null || !archive.copyTo(targetJar, files)) {
+                stream(targetJar);
+            }
+            return targetJar;
+        }
+
+        /**
+         * Injects all types into the source jar file.
+         *
+         * @return The source jar file.
+         * @throws IOException If an IO exception occurs while injecting into the jar.
+         */
+        public File inject() throws IOException {
+            Archive archive = Archive.of(sourceJar);
+            if (archive != null && archive.append(files)) {
+                return sourceJar;
+            }
+            File temporary = File.createTempFile(sourceJar.getName(), TEMP_SUFFIX, sourceJar.getAbsoluteFile().getParentFile());
+            try {
+                if (archive == null || !archive.copyTo(temporary, files)) {
+                    stream(temporary);
+                }
+                if (!sourceJar.delete() || !temporary.renameTo(sourceJar)) {
+                    copy(temporary, sourceJar);
+                }
+            } finally {
+                if (temporary.exists() && !temporary.delete()) {
+                    Logger.getAnonymousLogger().warning("Cannot delete " + temporary);
+                }
+            }
+            return sourceJar;
+        }
+
+        /**
+         * Writes the source jar file including all injected types to the given target file by reading and writing
+         * each entry of the source jar file.
+         *
+         * @param targetJar The file to write the injected jar file to.
+         * @throws IOException If an IO exception occurs while injecting from the source into the target.
+         */
+        private void stream(File targetJar) throws IOException {
+            JarInputStream jarInputStream = new JarInputStream(new BufferedInputStream(new FileInputStream(sourceJar)));
+            try {
+                Manifest manifest = jarInputStream.getManifest();
+                OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(targetJar));
+                JarOutputStream jarOutputStream = manifest == null
+                        ? new JarOutputStream(outputStream)
+                        : new JarOutputStream(outputStream, manifest);
+                try {
+                    Map<String, byte[]> files = new LinkedHashMap<String, byte[]>(this.files);
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    JarEntry jarEntry;
+                    while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+                        jarOutputStream.putNextEntry(jarEntry);
+                        byte[] replacement = files.remove(jarEntry.getName());
+                        if (replacement == null) {
+                            int index;
+                            while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
+                                jarOutputStream.write(buffer, FROM_BEGINNING, index);
+                            }
+                        } else {
+                            jarOutputStream.write(replacement);
+                        }
+                        jarInputStream.closeEntry();
+                        jarOutputStream.closeEntry();
+                    }
+                    for (Map.Entry<String, byte[]> entry : files.entrySet()) {
+                        jarOutputStream.putNextEntry(new JarEntry(entry.getKey()));
+                        jarOutputStream.write(entry.getValue());
+                        jarOutputStream.closeEntry();
+                    }
+                } finally {
+                    jarOutputStream.close();
+                }
+            } finally {
+                jarInputStream.close();
+            }
+        }
+
+        /**
+         * Copies the content of a file to another file.
+         *
+         * @param source The file to copy.
+         * @param target The file to copy to.
+         * @throws IOException If an IO exception occurs while copying.
+         */
+        private static void copy(File source, File target) throws IOException {
+            InputStream inputStream = new BufferedInputStream(new FileInputStream(source));
+            try {
+                OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(target));
+                try {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int index;
+                    while ((index = inputStream.read(buffer)) != END_OF_FILE) {
+                        outputStream.write(buffer, FROM_BEGINNING, index);
+                    }
+                } finally {
+                    outputStream.close();
+                }
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && sourceJar.equals(((Injector) other).sourceJar)
+                    && files.equals(((Injector) other).files);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceJar.hashCode() + files.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "DynamicType.Injector{" +
+                    "sourceJar=" + sourceJar +
+                    ", files=" + files.keySet() +
+                    '}';
+        }
+
+        /**
+         * A representation of a jar file's central directory that allows to copy the jar file's entries in their
+         * compressed form.
+         */
+        private static class Archive {
+
+            /**
+             * The signature of a central directory's end record.
+             */
+            private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+            /**
+             * The signature of a ZIP64 central directory's end locator.
+             */
+            private static final int ZIP64_LOCATOR = 0x07064b50;
+
+            /**
+             * The signature of a central directory file header.
+             */
+            private static final int CENTRAL_FILE_HEADER = 0x02014b50;
+
+            /**
+             * The size of a central directory's end record without its comment.
+             */
+            private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+            /**
+             * The size of a ZIP64 central directory's end locator.
+             */
+            private static final int ZIP64_LOCATOR_SIZE = 20;
+
+            /**
+             * The size of a central directory file header without its variable fields.
+             */
+            private static final int CENTRAL_FILE_HEADER_SIZE = 46;
+
+            /**
+             * The maximal length of an archive comment.
+             */
+            private static final int MAXIMUM_COMMENT_LENGTH = 0xFFFF;
+
+            /**
+             * A marker value of an unsigned short field that indicates a value that is stored in ZIP64 format.
+             */
+            private static final int ZIP64_SHORT = 0xFFFF;
+
+            /**
+             * A marker value of an unsigned integer field that indicates a value that is stored in ZIP64 format.
+             */
+            private static final long ZIP64_INTEGER = 0xFFFFFFFFL;
+
+            /**
+             * The jar file that is represented by this archive.
+             */
+            private final File file;
+
+            /**
+             * The entries of this archive in the order of the central directory.
+             */
+            private final List<Entry> entries;
+
+            /**
+             * The offset of the central directory within the jar file.
+             */
+            private final long centralDirectoryOffset;
+
+            /**
+             * The archive's comment.
+             */
+            private final byte[] comment;
+
+            /**
+             * Creates a new archive.
+             *
+             * @param file                   The jar file that is represented by this archive.
+             * @param entries                The entries of this archive in the order of the central directory.
+             * @param centralDirectoryOffset The offset of the central directory within the jar file.
+             * @param comment                The archive's comment.
+             */
+            private Archive(File file, List<Entry> entries, long centralDirectoryOffset, byte[] comment) {
+                this.file = file;
+                this.entries = entries;
+                this.centralDirectoryOffset = centralDirectoryOffset;
+                this.comment = comment;
+            }
+
+            /**
+             * Reads the central directory of a jar file.
+             *
+             * @param file The jar file to read.
+             * @return An archive representing the jar file or {@code null} if the jar file's entries cannot be copied
+             * in their compressed form.
+             * @throws IOException If an IO exception occurs while reading the jar file.
+             */
+            private static Archive of(File file) throws IOException {
+                RandomAccessFile input = new RandomAccessFile(file, "r");
+                try {
+                    long length = input.length();
+                    int tailLength = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_SIZE + MAXIMUM_COMMENT_LENGTH);
+                    byte[] tail = new byte[tailLength];
+                    input.seek(length - tailLength);
+                    input.readFully(tail);
+                    ByteBuffer buffer = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN);
+                    for (int index = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; index >= 0; index--) {
+                        if (buffer.getInt(index) == END_OF_CENTRAL_DIRECTORY
+                                && index + END_OF_CENTRAL_DIRECTORY_SIZE + (buffer.getShort(index + 20) & 0xFFFF) == tailLength) {
+                            long endOfCentralDirectory = length - tailLength + index;
+                            int entryCount = buffer.getShort(index + 10) & 0xFFFF;
+                            long size = buffer.getInt(index + 12) & 0xFFFFFFFFL, offset = buffer.getInt(index + 16) & 0xFFFFFFFFL;
+                            if (buffer.getShort(index + 4) != 0
+                                    || buffer.getShort(index + 6) != 0
+                                    || entryCount == ZIP64_SHORT
+                                    || size == ZIP64_INTEGER
+                                    || offset == ZIP64_INTEGER
+                                    || offset + size != endOfCentralDirectory
+                                    || isZip64(input, endOfCentralDirectory)) {
+                                return null;
+                            }
+                            byte[] centralDirectory = new byte[(int) size];
+                            input.seek(offset);
+                            input.readFully(centralDirectory);
+                            List<Entry> entries = Entry.of(centralDirectory, entryCount, offset);
+                            return entries == null
+                                    ? null
+                                    : new Archive(file, entries, offset, Arrays.copyOfRange(tail, index + END_OF_CENTRAL_DIRECTORY_SIZE, tailLength));
+                        }
+                    }
+                    return null;
+                } finally {
+                    input.close();
+                }
+            }
+
+            /**
+             * Checks if a jar file contains a ZIP64 end of central directory locator.
+             *
+             * @param input                 The jar file.
+             * @param endOfCentralDirectory The offset of the central directory's end record.
+             * @return {@code true} if the jar file is in ZIP64 format.
+             * @throws IOException If an IO exception occurs while reading the jar file.
+             */
+            private static boolean isZip64(RandomAccessFile input, long endOfCentralDirectory) throws IOException {
+                if (endOfCentralDirectory < ZIP64_LOCATOR_SIZE) {
+                    return false;
+                }
+                input.seek(endOfCentralDirectory - ZIP64_LOCATOR_SIZE);
+                return Integer.reverseBytes(input.readInt()) == ZIP64_LOCATOR;
+            }
+
+            /**
+             * Writes this archive to the given file where the given files are injected.
+             *
+             * @param target The file to write to.
+             * @param files  The files to inject by their names.
+             * @return {@code true} if the archive was written or {@code false} if the resulting archive would
+             * require the ZIP64 format.
+             * @throws IOException If an IO exception occurs while writing the archive.
+             */
+            private boolean copyTo(File target, Map<String, byte[]> files) throws IOException {
+                List<Entry> entries = new ArrayList<Entry>(this.entries);
+                Collections.sort(entries);
+                RandomAccessFile input = new RandomAccessFile(file, "r");
+                try {
+                    OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(target));
+                    try {
+                        Writer writer = new Writer(outputStream, 0L);
+                        writer.copy(input, 0L, entries.isEmpty() ? centralDirectoryOffset : entries.get(0).localHeaderOffset);
+                        Map<String, byte[]> remaining = new LinkedHashMap<String, byte[]>(files);
+                        Map<Entry, byte[]> centralFileHeaders = new HashMap<Entry, byte[]>();
+                        for (int index = 0; index < entries.size(); index++) {
+                            Entry entry = entries.get(index);
+                            byte[] replacement = remaining.remove(entry.name);
+                            if (replacement == null) {
+                                long end = index + 1 < entries.size() ? entries.get(index + 1).localHeaderOffset : centralDirectoryOffset;
+                                centralFileHeaders.put(entry, entry.relocate(writer.getPosition()));
+                                writer.copy(input, entry.localHeaderOffset, end - entry.localHeaderOffset);
+                            } else {
+                                centralFileHeaders.put(entry, writer.write(entry.name, replacement));
+                            }
+                        }
+                        List<byte[]> centralDirectory = new ArrayList<byte[]>(this.entries.size() + remaining.size());
+                        for (Entry entry : this.entries) {
+                            centralDirectory.add(centralFileHeaders.get(entry));
+                        }
+                        for (Map.Entry<String, byte[]> entry : remaining.entrySet()) {
+                            centralDirectory.add(writer.write(entry.getKey(), entry.getValue()));
+                        }
+                        return writer.finish(centralDirectory, comment);
+                    } finally {
+                        outputStream.close();
+                    }
+                } finally {
+                    input.close();
+                }
+            }
+
+            /**
+             * Appends the given files to this archive's jar file if none of these files is already contained in
+             * the archive. The appended files and the new central directory overwrite the jar file's previous
+             * central directory. If this overwrite fails, the previous central directory is restored such that
+             * the jar file remains valid.
+             *
+             * @param files The files to append by their names.
+             * @return {@code true} if the files were appended.
+             * @throws IOException If an IO exception occurs while writing the archive.
+             */
+            private boolean append(Map<String, byte[]> files) throws IOException {
+                if (files.isEmpty()) {
+                    return true;
+                }
+                List<byte[]> centralDirectory = new ArrayList<byte[]>(entries.size() + files.size());
+                for (Entry entry : entries) {
+                    if (files.containsKey(entry.name)) {
+                        return false;
+                    }
+                    centralDirectory.add(entry.centralFileHeader);
+                }
+                ByteArrayOutputStream appendix = new ByteArrayOutputStream();
+                Writer writer = new Writer(appendix, centralDirectoryOffset);
+                for (Map.Entry<String, byte[]> entry : files.entrySet()) {
+                    centralDirectory.add(writer.write(entry.getKey(), entry.getValue()));
+                }
+                if (!writer.finish(centralDirectory, comment)) {
+                    return false;
+                }
+                RandomAccessFile output = new RandomAccessFile(file, "rw");
+                try {
+                    byte[] tail = new byte[(int) (output.length() - centralDirectoryOffset)];
+                    output.seek(centralDirectoryOffset);
+                    output.readFully(tail);
+                    boolean appended = false;
+                    try {
+                        output.seek(centralDirectoryOffset);
+                        output.write(appendix.toByteArray());
+                        output.setLength(output.getFilePointer());
+                        appended = true;
+                    } finally {
+                        if (!appended) {
+                            output.seek(centralDirectoryOffset);
+                            output.write(tail);
+                            output.setLength(centralDirectoryOffset + tail.length);
+                        }
+                    }
+                } finally {
+                    output.close();
+                }
+                return true;
+            }
+        }
+
+        /**
+         * An entry of a jar file's central directory.
+         */
+        private static class Entry implements Comparable<Entry> {
+
+            /**
+             * The offset of the local header offset within a central directory file header.
+             */
+            private static final int LOCAL_HEADER_OFFSET = 42;
+
+            /**
+             * The name of the entry.
+             */
+            private final String name;
+
+            /**
+             * The offset of the entry's local file header within the jar file.
+             */
+            private final long localHeaderOffset;
+
+            /**
+             * The binary representation of the entry's central directory file header.
+             */
+            private final byte[] centralFileHeader;
+
+            /**
+             * Creates a new entry.
+             *
+             * @param name              The name of the entry.
+             * @param localHeaderOffset The offset of the entry's local file header within the jar file.
+             * @param centralFileHeader The binary representation of the entry's central directory file header.
+             */
+            private Entry(String name, long localHeaderOffset, byte[] centralFileHeader) {
+                this.name = name;
+                this.localHeaderOffset = localHeaderOffset;
+                this.centralFileHeader = centralFileHeader;
+            }
+
+            /**
+             * Parses the entries of a central directory.
+             *
+             * @param centralDirectory       The binary representation of the central directory.
+             * @param entryCount             The number of entries of the central directory.
+             * @param centralDirectoryOffset The offset of the central directory within the jar file.
+             * @return The entries of the central directory or {@code null} if the central directory cannot be
+             * processed.
+             * @throws IOException If an entry's name cannot be decoded.
+             */
+            private static List<Entry> of(byte[] centralDirectory, int entryCount, long centralDirectoryOffset) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(centralDirectory).order(ByteOrder.LITTLE_ENDIAN);
+                List<Entry> entries = new ArrayList<Entry>(entryCount);
+                int position = 0;
+                for (int index = 0; index < entryCount; index++) {
+                    if (position + Archive.CENTRAL_FILE_HEADER_SIZE > centralDirectory.length
+                            || buffer.getInt(position) != Archive.CENTRAL_FILE_HEADER) {
+                        return null;
+                    }
+                    int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+                    int end = position
+                            + Archive.CENTRAL_FILE_HEADER_SIZE
+                            + nameLength
+                            + (buffer.getShort(position + 30) & 0xFFFF)
+                            + (buffer.getShort(position + 32) & 0xFFFF);
+                    long localHeaderOffset = buffer.getInt(position + LOCAL_HEADER_OFFSET) & 0xFFFFFFFFL;
+                    if (end > centralDirectory.length || localHeaderOffset >= centralDirectoryOffset) {
+                        return null;
+                    }
+                    entries.add(new Entry(new String(centralDirectory, position + Archive.CENTRAL_FILE_HEADER_SIZE, nameLength, Writer.CHARSET),
+                            localHeaderOffset,
+                            Arrays.copyOfRange(centralDirectory, position, end)));
+                    position = end;
+                }
+                return position == centralDirectory.length ? entries : null;
+            }
+
+            /**
+             * Returns a central directory file header for this entry with the given local header offset.
+             *
+             * @param localHeaderOffset The offset of the entry's local file header within the written jar file.
+             * @return A central directory file header for this entry with the given local header offset.
+             */
+            private byte[] relocate(long localHeaderOffset) {
+                byte[] centralFileHeader = this.centralFileHeader.clone();
+                ByteBuffer.wrap(centralFileHeader).order(ByteOrder.LITTLE_ENDIAN).putInt(LOCAL_HEADER_OFFSET, (int) localHeaderOffset);
+                return centralFileHeader;
+            }
+
+            @Override
+            public int compareTo(Entry other) {
+                return localHeaderOffset < other.localHeaderOffset ? -1 : (localHeaderOffset == other.localHeaderOffset ? 0 : 1);
+            }
+        }
+
+        /**
+         * A writer for the entries of a jar file that keeps track of the position within the written jar file.
+         */
+        private static class Writer {
+
+            /**
+             * The charset of entry names.
+             */
+            private static final String CHARSET = "UTF-8";
+
+            /**
+             * The signature of a local file header.
+             */
+            private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+            /**
+             * The size of a local file header without its variable fields.
+             */
+            private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+            /**
+             * The version that is required for extracting a written entry.
+             */
+            private static final short VERSION = 20;
+
+            /**
+             * The general purpose flag that indicates an entry name in UTF-8.
+             */
+            private static final short UTF_8_FLAG = 0x0800;
+
+            /**
+             * The compression method of deflated entries.
+             */
+            private static final short DEFLATED = 8;
+
+            /**
+             * The largest number of entries or offset that can be written without the ZIP64 format.
+             */
+            private static final long MAXIMUM_OFFSET = 0xFFFFFFFFL;
+
+            /**
+             * The output stream to write to.
+             */
+            private final OutputStream outputStream;
+
+            /**
+             * A buffer for copying and deflating.
+             */
+            private final byte[] buffer;
+
+            /**
+             * The modification time of written entries in MS-DOS format.
+             */
+            private final int time;
+
+            /**
+             * The current position within the written jar file.
+             */
+            private long position;
+
+            /**
+             * Creates a new writer.
+             *
+             * @param outputStream The output stream to write to.
+             * @param position     The position of the output stream within the written jar file.
+             */
+            private Writer(OutputStream outputStream, long position) {
+                this.outputStream = outputStream;
+                this.position = position;
+                buffer = new byte[BUFFER_SIZE];
+                time = toDosTime(System.currentTimeMillis());
+            }
+
+            /**
+             * Converts a time stamp into the MS-DOS format.
+             *
+             * @param timeStamp The time stamp to convert.
+             * @return The time stamp in MS-DOS format.
+             */
+            private static int toDosTime(long timeStamp) {
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTimeInMillis(timeStamp);
+                int year = calendar.get(Calendar.YEAR);
+                if (year < 1980) {
+                    return (1 << 21) | (1 << 16);
+                }
+                return (year - 1980) << 25
+                        | (calendar.get(Calendar.MONTH) + 1) << 21
+                        | calendar.get(Calendar.DAY_OF_MONTH) << 16
+                        | calendar.get(Calendar.HOUR_OF_DAY) << 11
+                        | calendar.get(Calendar.MINUTE) << 5
+                        | calendar.get(Calendar.SECOND) >> 1;
+            }
+
+            /**
+             * Returns the current position within the written jar file.
+             *
+             * @return The current position within the written jar file.
+             */
+            private long getPosition() {
+                return position;
+            }
+
+            /**
+             * Copies a range of a file without altering it.
+             *
+             * @param input  The file to copy from.
+             * @param offset The offset of the range to copy.
+             * @param length The length of the range to copy.
+             * @throws IOException If an IO exception occurs while copying.
+             */
+            private void copy(RandomAccessFile input, long offset, long length) throws IOException {
+                input.seek(offset);
+                while (length > 0) {
+                    int read = input.read(buffer, FROM_BEGINNING, (int) Math.min(buffer.length, length));
+                    if (read == END_OF_FILE) {
+                        throw new EOFException("Unexpected end of " + input);
+                    }
+                    outputStream.write(buffer, FROM_BEGINNING, read);
+                    position += read;
+                    length -= read;
+                }
+            }
+
+            /**
+             * Writes a deflated entry.
+             *
+             * @param name                 The name of the entry.
+             * @param binaryRepresentation The entry's content.
+             * @return The entry's central directory file header.
+             * @throws IOException If an IO exception occurs while writing.
+             */
+            private byte[] write(String name, byte[] binaryRepresentation) throws IOException {
+                byte[] encodedName = name.getBytes(CHARSET);
+                CRC32 checksum = new CRC32();
+                checksum.update(binaryRepresentation);
+                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(binaryRepresentation.length);
+                try {
+                    deflater.setInput(binaryRepresentation);
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        compressed.write(buffer, FROM_BEGINNING, deflater.deflate(buffer));
+                    }
+                } finally {
+                    deflater.end();
+                }
+                ByteBuffer localFileHeader = ByteBuffer.allocate(LOCAL_FILE_HEADER_SIZE + encodedName.length).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(LOCAL_FILE_HEADER)
+                        .putShort(VERSION)
+                        .putShort(UTF_8_FLAG)
+                        .putShort(DEFLATED)
+                        .putInt(time)
+                        .putInt((int) checksum.getValue())
+                        .putInt(compressed.size())
+                        .putInt(binaryRepresentation.length)
+                        .putShort((short) encodedName.length)
+                        .putShort((short) 0)
+                        .put(encodedName);
+                ByteBuffer centralFileHeader = ByteBuffer.allocate(Archive.CENTRAL_FILE_HEADER_SIZE + encodedName.length).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(Archive.CENTRAL_FILE_HEADER)
+                        .putShort(VERSION)
+                        .putShort(VERSION)
+                        .putShort(UTF_8_FLAG)
+                        .putShort(DEFLATED)
+                        .putInt(time)
+                        .putInt((int) checksum.getValue())
+                        .putInt(compressed.size())
+                        .putInt(binaryRepresentation.length)
+                        .putShort((short) encodedName.length)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putInt(0)
+                        .putInt((int) position)
+                        .put(encodedName);
+                outputStream.write(localFileHeader.array());
+                compressed.writeTo(outputStream);
+                position += localFileHeader.capacity() + compressed.size();
+                return centralFileHeader.array();
+            }
+
+            /**
+             * Writes the central directory and its end record.
+             *
+             * @param centralDirectory The central directory file headers to write.
+             * @param comment          The archive's comment.
+             * @return {@code true} if the central directory was written or {@code false} if the central directory
+             * would require the ZIP64 format.
+             * @throws IOException If an IO exception occurs while writing.
+             */
+            private boolean finish(List<byte[]> centralDirectory, byte[] comment) throws IOException {
+                if (centralDirectory.size() >= Archive.ZIP64_SHORT || position >= MAXIMUM_OFFSET) {
+                    return false;
+                }
+                long offset = position;
+                for (byte[] centralFileHeader : centralDirectory) {
+                    outputStream.write(centralFileHeader);
+                    position += centralFileHeader.length;
+                }
+                if (position >= MAXIMUM_OFFSET) {
+                    return false;
+                }
+                outputStream.write(ByteBuffer.allocate(Archive.END_OF_CENTRAL_DIRECTORY_SIZE + comment.length).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(Archive.END_OF_CENTRAL_DIRECTORY)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putShort((short) centralDirectory.size())
+                        .putShort((short) centralDirectory.size())
+                        .putInt((int) (position - offset))
+                        .putInt((int) offset)
+                        .putShort((short) comment.length)
+                        .put(comment)
+                        .array());
+                return true;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A cache for the class files that are written for dynamic types which allows to skip the creation of a dynamic
+     * type if neither the binary representation of the type that is transformed nor the configuration of the
+     * builder that transforms it were altered. Cached class files are identified by a hash of the original binary
+     * representation together with the builder's configuration which is compared by its {@code equals} and
+     * {@code hashCode} methods. On a cache hit, neither is a dynamic type created nor are its class files written if
+     * they were not altered since they were written by this cache.
+     * </p>
+     * <p>
+     * The cache evicts the least recently used class files once the overall size of all cached class files
+     * exceeds a given maximum.
+     * </p>
+     */
+    static class OutputCache {
+
+        /**
+         * The file name extension for Java class files.
+         */
+        private static final String CLASS_FILE_EXTENSION = ".class";
+
+        /**
+         * The algorithm that is used for hashing binary representations.
+         */
+        private static final String DIGEST_ALGORITHM = "SHA-1";
+
+        /**
+         * The maximal overall size of all cached class files in bytes.
+         */
+        private final long maximumSize;
+
+        /**
+         * The cached class files in their access order.
+         */
+        private final LinkedHashMap<Key, Entry> entries;
+
+        /**
+         * The overall size of all cached class files in bytes.
+         */
+        private long size;
+
+        /**
+         * Creates a new output cache.
+         *
+         * @param maximumSize The maximal overall size of all cached class files in bytes.
+         */
+        public OutputCache(long maximumSize) {
+            if (maximumSize < 0L) {
+                throw new IllegalArgumentException("The maximum size must not be negative: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+        }
+
+        /**
+         * Saves the dynamic type that is created by the given builder in the given folder unless the class files
+         * for the given binary representation and builder were already cached. See
+         * {@link net.bytebuddy.dynamic.DynamicType#saveIn(java.io.File)}.
+         *
+         * @param folder               The base target folder for storing the class files.
+         * @param binaryRepresentation The original binary representation of the type that the builder transforms.
+         * @param builder              The builder that creates the dynamic type.
+         * @return A map of all type descriptions mapped to their class files.
+         * @throws IOException If an IO exception occurs while writing a class file.
+         */
+        public Map<TypeDescription, File> saveIn(File folder, byte[] binaryRepresentation, Builder<?> builder) throws IOException {
+            Key key = new Key(digest(binaryRepresentation), builder);
+            Entry entry;
+            synchronized (this) {
+                entry = entries.get(key);
+            }
+            if (entry == null) {
+                entry = new Entry(builder.make().getAllTypes());
+                synchronized (this) {
+                    if (entries.put(key, entry) == null) {
+                        size += entry.getSize();
+                    }
+                    Iterator<Entry> iterator = entries.values().iterator();
+                    while (size > maximumSize && iterator.hasNext()) {
+                        size -= iterator.next().getSize();
+                        iterator.remove();
+                    }
+                }
+            }
+            return entry.saveIn(folder);
+        }
+
+        /**
+         * Returns the overall size of all cached class files in bytes.
+         *
+         * @return The overall size of all cached class files in bytes.
+         */
+        public synchronized long getSize() {
+            return size;
+        }
+
+        /**
+         * Removes all cached class files.
+         */
+        public synchronized void clear() {
+            entries.clear();
+            size = 0L;
+        }
+
+        /**
+         * Computes the hash of a binary representation.
+         *
+         * @param binaryRepresentation The binary representation to hash.
+         * @return The hash of the binary representation.
+         */
+        private static byte[] digest(byte[] binaryRepresentation) {
+            try {
+                return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(binaryRepresentation);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Cannot hash binary representation using " + DIGEST_ALGORITHM, e);
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "DynamicType.OutputCache{" +
+                    "maximumSize=" + maximumSize +
+                    ", entries=" + entries.size() +
+                    ", size=" + size +
+                    '}';
+        }
+
+        /**
+         * A key of a cache entry.
+         */
+        protected static class Key {
+
+            /**
+             * The hash of the original binary representation.
+             */
+            private final byte[] digest;
+
+            /**
+             * The configuration that is applied onto the original binary representation.
+             */
+            private final Object configuration;
+
+            /**
+             * Creates a new key.
+             *
+             * @param digest        The hash of the original binary representation.
+             * @param configuration The configuration that is applied onto the original binary representation.
+             */
+            protected Key(byte[] digest, Object configuration) {
+                this.digest = digest;
+                this.configuration = configuration;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && Arrays.equals(digest, ((Key) other).digest)
+                        && configuration.equals(((Key) other).configuration);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * Arrays.hashCode(digest) + configuration.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "DynamicType.OutputCache.Key{" +
+                        "digest=" + Arrays.toString(digest) +
+                        ", configuration=" + configuration +
+                        '}';
+            }
+        }
+
+        /**
+         * A cache entry containing the class files of a dynamic type and its auxiliary types together with a record
+         * of the files to which they were last written.
+         */
+        protected static class Entry {
+
+            /**
+             * The binary representations of all types by their descriptions.
+             */
+            private final Map<TypeDescription, byte[]> types;
+
+            /**
+             * The overall size of all binary representations.
+             */
+            private final long size;
+
+            /**
+             * The files to which the binary representations were last written together with their modification
+             * time at the time of writing.
+             */
+            private final Map<File, Long> written;
+
+            /**
+             * Creates a new cache entry.
+             *
+             * @param types The binary representations of all types by their descriptions.
+             */
+            protected Entry(Map<TypeDescription, byte[]> types) {
+                this.types = types;
+                long size = 0L;
+                for (byte[] binaryRepresentation : types.values()) {
+                    size += binaryRepresentation.length;
+                }
+                this.size = size;
+                written = new HashMap<File, Long>();
+            }
+
+            /**
+             * Returns the overall size of all binary representations.
+             *
+             * @return The overall size of all binary representations.
+             */
+            protected long getSize() {
+                return size;
+            }
+
+            /**
+             * Writes all class files of this entry into the given folder unless they are already present in the
+             * form in which they were written by this entry.
+             *
+             * @param folder The base target folder for storing the class files.
+             * @return A map of all type descriptions mapped to their class files.
+             * @throws IOException If an IO exception occurs while writing a class file.
+             */
+            protected synchronized Map<TypeDescription, File> saveIn(File folder) throws IOException {
+                Map<TypeDescription, File> savedFiles = new HashMap<TypeDescription, File>();
+                for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                    File target = new File(folder, entry.getKey().getName().replace('.', File.separatorChar) + CLASS_FILE_EXTENSION);
+                    Long lastModified = written.get(target);
+                    if (lastModified == null
+                            || lastModified != target.lastModified()
+                            || target.length() != entry.getValue().length) {
+                        if (target.getParentFile() != null) {
+                            target.getParentFile().mkdirs();
+                        }
+                        OutputStream outputStream = new FileOutputStream(target);
+                        try {
+                            outputStream.write(entry.getValue());
+                        } finally {
+                            outputStream.close();
+                        }
+                        written.put(target, target.lastModified());
+                    }
+                    savedFiles.put(entry.getKey(), target);
+                }
+                return savedFiles;
+            }
+
+            @Override
+            public String toString() {
+                return "DynamicType.OutputCache.Entry{" +
+                        "types=" + types.keySet() +
+                        ", size=" + size +
+                        ", written=" + written.keySet() +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A default implementation of a dynamic type.
+     */
+    static class Default implements DynamicType {
+
+        /**
+         * The file name extension for Java class files.
+         */
+        private static final String CLASS_FILE_EXTENSION = ".class";
 
         /**
          * A type description of this dynamic type.
@@ -2440,73 +3485,12 @@ public interface DynamicType {
 
         @Override
         public File inject(File sourceJar, File targetJar) throws IOException {
-            JarInputStream jarInputStream = new JarInputStream(new BufferedInputStream(new FileInputStream(sourceJar)));
-            try {
-                targetJar.createNewFile();
-                JarOutputStream jarOutputStream = new JarOutputStream(
-                        new BufferedOutputStream(new FileOutputStream(targetJar)), jarInputStream.getManifest());
-                try {
-                    Map<TypeDescription, byte[]> rawAuxiliaryTypes = getRawAuxiliaryTypes();
-                    Map<String, byte[]> files = new HashMap<String, byte[]>(rawAuxiliaryTypes.size() + 1);
-                    for (Map.Entry<TypeDescription, byte[]> entry : rawAuxiliaryTypes.entrySet()) {
-                        files.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
-                    }
-                    files.put(typeDescription.getInternalName() + CLASS_FILE_EXTENSION, binaryRepresentation);
-                    JarEntry jarEntry;
-                    while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
-                        jarOutputStream.putNextEntry(jarEntry);
-                        byte[] replacement = files.remove(jarEntry.getName());
-                        if (replacement == null) {
-                            byte[] buffer = new byte[BUFFER_SIZE];
-                            int index;
-                            while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
-                                jarOutputStream.write(buffer, FROM_BEGINNING, index);
-                            }
-                        } else {
-                            jarOutputStream.write(replacement);
-                        }
-                        jarInputStream.closeEntry();
-                        jarOutputStream.closeEntry();
-                    }
-                    for (Map.Entry<String, byte[]> entry : files.entrySet()) {
-                        jarOutputStream.putNextEntry(new JarEntry(entry.getKey()));
-                        jarOutputStream.write(entry.getValue());
-                        jarOutputStream.closeEntry();
-                    }
-                } finally {
-                    jarOutputStream.close();
-                }
-            } finally {
-                jarInputStream.close();
-            }
-            return targetJar;
+            return new Injector(sourceJar).with(this).inject(targetJar);
         }
 
         @Override
         public File inject(File jar) throws IOException {
-            File temporary = inject(jar, File.createTempFile(jar.getName(), TEMP_SUFFIX));
-            try {
-                InputStream jarInputStream = new BufferedInputStream(new FileInputStream(temporary));
-                try {
-                    OutputStream jarOutputStream = new BufferedOutputStream(new FileOutputStream(jar));
-                    try {
-                        byte[] buffer = new byte[BUFFER_SIZE];
-                        int index;
-                        while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
-                            jarOutputStream.write(buffer, FROM_BEGINNING, index);
-                        }
-                    } finally {
-                        jarOutputStream.close();
-                    }
-                } finally {
-                    jarInputStream.close();
-                }
-            } finally {
-                if (!temporary.delete()) {
-                    Logger.getAnonymousLogger().warning("Cannot delete " + temporary);
-                }
-            }
-            return jar;
+            return new Injector(jar).with(this).inject();
         }
 
         @Override
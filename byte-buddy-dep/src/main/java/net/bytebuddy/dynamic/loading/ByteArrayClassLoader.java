@@ -1,8 +1,10 @@
 package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.StreamDrainer;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -10,6 +12,8 @@ import java.security.*;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * A {@link java.lang.ClassLoader} that is capable of loading explicitly defined classes. The class loader will free
@@ -51,8 +55,31 @@ public class ByteArrayClassLoader extends ClassLoader {
                                 Map<String, byte[]> typeDefinitions,
                                 ProtectionDomain protectionDomain,
                                 PersistenceHandler persistenceHandler) {
+        this(parent, new HashMap<String, byte[]>(typeDefinitions.size()), typeDefinitions, protectionDomain, persistenceHandler);
+    }
+
+    /**
+     * Creates a new class loader for a given definition of classes that are registered with the given map. A subclass
+     * can use this constructor for supplying a map that allows for concurrent access.
+     *
+     * @param parent             The {@link java.lang.ClassLoader} that is the parent of this class loader.
+     * @param registry           An empty, mutable map to which the persisted type definitions are added and which is
+     *                           used by this class loader for looking up type definitions.
+     * @param typeDefinitions    A map of fully qualified class names pointing to their binary representations.
+     * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+     *                           protection domain.
+     * @param persistenceHandler The persistence handler of this class loader.
+     */
+    protected ByteArrayClassLoader(ClassLoader parent,
+                                   Map<String, byte[]> registry,
+                                   Map<String, byte[]> typeDefinitions,
+                                   ProtectionDomain protectionDomain,
+                                   PersistenceHandler persistenceHandler) {
         super(parent);
-        this.typeDefinitions = new HashMap<String, byte[]>(typeDefinitions);
+        this.typeDefinitions = registry;
+        for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+            this.typeDefinitions.put(entry.getKey(), persistenceHandler.persist(entry.getValue()));
+        }
         this.protectionDomain = protectionDomain;
         this.persistenceHandler = persistenceHandler;
         accessControlContext = AccessController.getContext();
@@ -173,6 +200,55 @@ public class ByteArrayClassLoader extends ClassLoader {
             }
         },
 
+        /**
+         * The compressed manifest persistence handler retains all class file representations and makes them accessible
+         * similarly to the {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader.PersistenceHandler#MANIFEST}
+         * handler. The class files are however held in a deflated format what reduces the heap footprint of a class
+         * loader over its lifetime at the cost of inflating a class file on each lookup.
+         */
+        MANIFEST_COMPRESSED(true) {
+            @Override
+            protected byte[] persist(byte[] binaryRepresentation) {
+                try {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length);
+                    DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream);
+                    try {
+                        deflaterOutputStream.write(binaryRepresentation);
+                    } finally {
+                        deflaterOutputStream.close();
+                    }
+                    return outputStream.toByteArray();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot compress class file", e);
+                }
+            }
+
+            @Override
+            protected byte[] lookup(String name, Map<String, byte[]> typeDefinitions) {
+                byte[] compressedRepresentation = typeDefinitions.get(name);
+                if (compressedRepresentation == null) {
+                    return null;
+                }
+                try {
+                    return new StreamDrainer().drain(new InflaterInputStream(new ByteArrayInputStream(compressedRepresentation)));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot decompress class file of " + name, e);
+                }
+            }
+
+            @Override
+            protected InputStream inputStream(String resourceName, Map<String, byte[]> typeDefinitions) {
+                if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
+                    return null;
+                }
+                byte[] compressedRepresentation = typeDefinitions.get(resourceName.replace('/', '.')
+                        .substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length()));
+                return compressedRepresentation == null
+                        ? null
+                        : new InflaterInputStream(new ByteArrayInputStream(compressedRepresentation));
+            }
+        },
+
         /**
          * The latent persistence handler hides all class file representations and does not make them accessible
          * even before they are loaded.
@@ -217,6 +293,16 @@ public class ByteArrayClassLoader extends ClassLoader {
             return manifest;
         }
 
+        /**
+         * Transforms a class file into the format in which it is retained by a class loader until it is looked up.
+         *
+         * @param binaryRepresentation The binary representation of a class file.
+         * @return The representation of the class file that is retained by the class loader.
+         */
+        protected byte[] persist(byte[] binaryRepresentation) {
+            return binaryRepresentation;
+        }
+
         /**
          * Performs a lookup of a class file by its name.
          *
@@ -1,17 +1,21 @@
 package net.bytebuddy.dynamic.loading;
 
+import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.StreamDrainer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.instrument.*;
+import java.nio.ByteBuffer;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * <p>
@@ -26,6 +30,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * adds a method if the original class contains an explicit <i>class initializer</i>. For these reasons, it is not
  * recommended to use this {@link net.bytebuddy.dynamic.ClassLoadingStrategy} with arbitrary classes.
  * </p>
+ * <p>
+ * By default, a class is reset by reading its class file from its class loader. Alternatively, a reloading strategy
+ * can be configured with a {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy.SnapshotStore} by
+ * {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy#withSnapshots()} which records the class files of all
+ * redefined classes in memory. Such a strategy is able to reset classes without any I/O and to roll back any number
+ * of redefinitions by {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy#rollback(int, Class[])}.
+ * </p>
  */
 public class ClassReloadingStrategy implements ClassLoadingStrategy {
 
@@ -74,6 +85,11 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      */
     private final Engine engine;
 
+    /**
+     * The snapshot store that records the class files of redefined classes.
+     */
+    private final SnapshotStore snapshotStore;
+
     /**
      * Creates a class reloading strategy for the given instrumentation. The given instrumentation must either
      * support {@link java.lang.instrument.Instrumentation#isRedefineClassesSupported()} or
@@ -91,6 +107,7 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         } else {
             throw new IllegalArgumentException("Instrumentation does not support class redefinition: " + instrumentation);
         }
+        snapshotStore = SnapshotStore.NoOp.INSTANCE;
     }
 
     /**
@@ -101,8 +118,21 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      * @param engine          An engine which performs the actual redefinition of a {@link java.lang.Class}.
      */
     public ClassReloadingStrategy(Instrumentation instrumentation, Engine engine) {
+        this(instrumentation, engine, SnapshotStore.NoOp.INSTANCE);
+    }
+
+    /**
+     * Creates a class reloading strategy for the given instrumentation using an explicit transformation strategy and
+     * a snapshot store for recording the class files of redefined classes.
+     *
+     * @param instrumentation The instrumentation to be used by this reloading strategy.
+     * @param engine          An engine which performs the actual redefinition of a {@link java.lang.Class}.
+     * @param snapshotStore   The snapshot store that records the class files of redefined classes.
+     */
+    protected ClassReloadingStrategy(Instrumentation instrumentation, Engine engine, SnapshotStore snapshotStore) {
         this.instrumentation = instrumentation;
         this.engine = engine;
+        this.snapshotStore = snapshotStore;
     }
 
     /**
@@ -146,6 +176,11 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             }
             loadedClasses.put(entry.getKey(), type);
         }
+        snapshotStore.capture(instrumentation, classDefinitions.keySet());
+        // The retransformation engine consumes the given class definitions such that they need to be copied for recording.
+        Map<Class<?>, ClassDefinition> redefinitions = snapshotStore == SnapshotStore.NoOp.INSTANCE
+                ? Collections.<Class<?>, ClassDefinition>emptyMap()
+                : new HashMap<Class<?>, ClassDefinition>(classDefinitions);
         try {
             engine.apply(instrumentation, classDefinitions);
         } catch (ClassNotFoundException e) {
@@ -153,25 +188,53 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         } catch (UnmodifiableClassException e) {
             throw new IllegalStateException("Cannot redefine specified class", e);
         }
+        snapshotStore.record(redefinitions);
         return loadedClasses;
     }
 
     /**
-     * Resets all classes to their original definition.
+     * Returns a class reloading strategy that records the class files of any redefined class in a compressed form
+     * on the heap. Such a strategy resets classes from memory and allows for rolling back redefinitions.
+     *
+     * @return A class reloading strategy that records the class files of redefined classes.
+     */
+    public ClassReloadingStrategy withSnapshots() {
+        return with(new SnapshotStore.Default());
+    }
+
+    /**
+     * Returns a class reloading strategy that uses the given snapshot store for recording the class files of
+     * redefined classes.
+     *
+     * @param snapshotStore The snapshot store to use.
+     * @return A class reloading strategy that uses the given snapshot store.
+     */
+    public ClassReloadingStrategy with(SnapshotStore snapshotStore) {
+        return new ClassReloadingStrategy(instrumentation, engine, snapshotStore);
+    }
+
+    /**
+     * Resets all classes to their original definition. Classes with a recorded snapshot are reset from memory while
+     * any other class is reset by reading its class file from its class loader. All classes are reset by a single
+     * redefinition.
      *
      * @param type The types to reset.
      * @return This class reloading strategy.
      */
     public ClassReloadingStrategy reset(Class<?>... type) {
+        List<Class<?>> types = Arrays.asList(type);
+        Map<Class<?>, byte[]> snapshots = snapshotStore.locate(types, SnapshotStore.ORIGINAL);
         Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(type.length);
         try {
             for (Class<?> aType : type) {
-                InputStream inputStream = aType.getClassLoader().getResourceAsStream(aType.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
-                try {
-                    classDefinitions.put(aType, new ClassDefinition(aType, new StreamDrainer().drain(inputStream)));
-                } finally {
-                    inputStream.close();
+                byte[] binaryRepresentation = snapshots.get(aType);
+                if (binaryRepresentation == null) {
+                    binaryRepresentation = readClassFile(aType);
+                    if (binaryRepresentation == null) {
+                        throw new IllegalStateException("Cannot locate class file of " + aType);
+                    }
                 }
+                classDefinitions.put(aType, new ClassDefinition(aType, binaryRepresentation));
             }
         } catch (IOException e) {
             throw new IllegalStateException("Exception while resetting types " + Arrays.toString(type), e);
@@ -183,19 +246,87 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         } catch (UnmodifiableClassException e) {
             throw new IllegalStateException("Cannot reset types " + Arrays.toString(type), e);
         }
+        snapshotStore.discard(types, SnapshotStore.ORIGINAL);
+        return this;
+    }
+
+    /**
+     * Rolls back the last redefinition of all given classes.
+     *
+     * @param type The types to roll back.
+     * @return This class reloading strategy.
+     */
+    public ClassReloadingStrategy rollback(Class<?>... type) {
+        return rollback(1, type);
+    }
+
+    /**
+     * Rolls back the given number of redefinitions of all given classes by a single redefinition. If a class was
+     * redefined less often than the given number of steps, it is reset to its original definition. Rolling back
+     * a class requires that its redefinitions were recorded by this strategy's snapshot store.
+     *
+     * @param steps The number of redefinitions to roll back.
+     * @param type  The types to roll back.
+     * @return This class reloading strategy.
+     */
+    public ClassReloadingStrategy rollback(int steps, Class<?>... type) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Cannot roll back " + steps + " redefinitions");
+        }
+        List<Class<?>> types = Arrays.asList(type);
+        Map<Class<?>, byte[]> snapshots = snapshotStore.locate(types, steps);
+        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(type.length);
+        for (Class<?> aType : type) {
+            byte[] binaryRepresentation = snapshots.get(aType);
+            if (binaryRepresentation == null) {
+                throw new IllegalStateException("No recorded redefinition of " + aType);
+            }
+            classDefinitions.put(aType, new ClassDefinition(aType, binaryRepresentation));
+        }
+        try {
+            engine.apply(instrumentation, classDefinitions);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Cannot locate types " + Arrays.toString(type), e);
+        } catch (UnmodifiableClassException e) {
+            throw new IllegalStateException("Cannot roll back types " + Arrays.toString(type), e);
+        }
+        snapshotStore.discard(types, steps);
         return this;
     }
 
+    /**
+     * Reads the class file of a type from its class loader.
+     *
+     * @param type The type for which the class file should be read.
+     * @return The class file of the given type or {@code null} if it cannot be located.
+     * @throws IOException If an I/O exception occurs while reading the class file.
+     */
+    protected static byte[] readClassFile(Class<?> type) throws IOException {
+        String name = type.getName().replace('.', '/') + CLASS_FILE_EXTENSION;
+        InputStream inputStream = type.getClassLoader() == null
+                ? ClassLoader.getSystemResourceAsStream(name)
+                : type.getClassLoader().getResourceAsStream(name);
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return new StreamDrainer().drain(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
                 && engine == ((ClassReloadingStrategy) other).engine
-                && instrumentation.equals(((ClassReloadingStrategy) other).instrumentation);
+                && instrumentation.equals(((ClassReloadingStrategy) other).instrumentation)
+                && snapshotStore.equals(((ClassReloadingStrategy) other).snapshotStore);
     }
 
     @Override
     public int hashCode() {
-        return 31 * instrumentation.hashCode() + engine.hashCode();
+        return 31 * (31 * instrumentation.hashCode() + engine.hashCode()) + snapshotStore.hashCode();
     }
 
     @Override
@@ -203,6 +334,7 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         return "ClassReloadingStrategy{" +
                 "instrumentation=" + instrumentation +
                 ", engine=" + engine +
+                ", snapshotStore=" + snapshotStore +
                 '}';
     }
 
@@ -333,4 +465,336 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             }
         }
     }
+
+    /**
+     * A snapshot store records the class files of classes that are redefined by a class reloading strategy such that
+     * these classes can later be reset or rolled back without reading their class files from their class loaders.
+     */
+    public static interface SnapshotStore {
+
+        /**
+         * Represents the number of rollback steps that always resolves the original definition of a class.
+         */
+        static final int ORIGINAL = Integer.MAX_VALUE;
+
+        /**
+         * Captures the current class files of any of the given classes that are not yet known to this store. This
+         * method is called before the given classes are redefined.
+         *
+         * @param instrumentation The instrumentation to be used for capturing class files.
+         * @param types           The types that are about to be redefined.
+         */
+        void capture(Instrumentation instrumentation, Collection<Class<?>> types);
+
+        /**
+         * Records the given class definitions after they were applied.
+         *
+         * @param classDefinitions A mapping of the redefined classes to their applied class definitions.
+         */
+        void record(Map<Class<?>, ClassDefinition> classDefinitions);
+
+        /**
+         * Locates the class files of the given types as they were defined the given number of redefinitions ago. If
+         * a type was redefined less often, its original class file is located. Types for which no redefinition was
+         * recorded are not contained in the returned map.
+         *
+         * @param types The types to locate.
+         * @param steps The number of redefinitions to step back.
+         * @return A mapping of all types with a recorded redefinition to the located class files.
+         */
+        Map<Class<?>, byte[]> locate(Collection<Class<?>> types, int steps);
+
+        /**
+         * Discards the given number of most recent redefinitions of the given types after these redefinitions
+         * were rolled back.
+         *
+         * @param types The types for which redefinitions were rolled back.
+         * @param steps The number of redefinitions that were rolled back.
+         */
+        void discard(Collection<Class<?>> types, int steps);
+
+        /**
+         * A snapshot store that does not record any class files.
+         */
+        static enum NoOp implements SnapshotStore {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public void capture(Instrumentation instrumentation, Collection<Class<?>> types) {
+                /* do nothing */
+            }
+
+            @Override
+            public void record(Map<Class<?>, ClassDefinition> classDefinitions) {
+                /* do nothing */
+            }
+
+            @Override
+            public Map<Class<?>, byte[]> locate(Collection<Class<?>> types, int steps) {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public void discard(Collection<Class<?>> types, int steps) {
+                /* do nothing */
+            }
+
+            @Override
+            public String toString() {
+                return "ClassReloadingStrategy.SnapshotStore.NoOp." + name();
+            }
+        }
+
+        /**
+         * <p>
+         * A default snapshot store that keeps compressed class files either on or off the heap. Snapshots are
+         * referenced weakly by their class such that recording a class never prevents its unloading.
+         * </p>
+         * <p>
+         * The original class file of a class is captured by a retransformation if supported by the instrumentation
+         * such that a redefinition by another party is retained. Otherwise, or if the retransformation fails, the
+         * class file is read from the class's class loader. Any later snapshot is taken from the recorded class
+         * definitions without any further lookup.
+         * </p>
+         */
+        static class Default implements SnapshotStore {
+
+            /**
+             * Indicates that a class file transformer is able to retransform classes.
+             */
+            private static final boolean CAN_RETRANSFORM = true;
+
+            /**
+             * {@code true} if the compressed class files should be stored off the heap.
+             */
+            private final boolean offHeap;
+
+            /**
+             * A mapping of recorded classes to their snapshots, starting with the original class file.
+             */
+            private final Map<Class<?>, List<Snapshot>> snapshots;
+
+            /**
+             * Creates a new default snapshot store that keeps its snapshots on the heap.
+             */
+            public Default() {
+                this(false);
+            }
+
+            /**
+             * Creates a new default snapshot store.
+             *
+             * @param offHeap {@code true} if the compressed class files should be stored off the heap.
+             */
+            public Default(boolean offHeap) {
+                this.offHeap = offHeap;
+                snapshots = new WeakHashMap<Class<?>, List<Snapshot>>();
+            }
+
+            @Override
+            public synchronized void capture(Instrumentation instrumentation, Collection<Class<?>> types) {
+                Set<Class<?>> unknownTypes = new LinkedHashSet<Class<?>>();
+                for (Class<?> type : types) {
+                    if (!snapshots.containsKey(type)) {
+                        unknownTypes.add(type);
+                    }
+                }
+                if (unknownTypes.isEmpty()) {
+                    return;
+                }
+                Map<Class<?>, byte[]> binaryRepresentations = new HashMap<Class<?>, byte[]>(unknownTypes.size());
+                if (instrumentation.isRetransformClassesSupported()) {
+                    ClassFileLocator.AgentBased.BatchExtractionClassFileTransformer classFileTransformer =
+                            new ClassFileLocator.AgentBased.BatchExtractionClassFileTransformer(unknownTypes);
+                    synchronized (instrumentation) {
+                        instrumentation.addTransformer(classFileTransformer, CAN_RETRANSFORM);
+                        try {
+                            instrumentation.retransformClasses(unknownTypes.toArray(new Class<?>[unknownTypes.size()]));
+                        } catch (UnmodifiableClassException ignored) {
+                            /* fall back to reading class files from their class loaders */
+                        } finally {
+                            instrumentation.removeTransformer(classFileTransformer);
+                        }
+                    }
+                    binaryRepresentations.putAll(classFileTransformer.getBinaryRepresentations());
+                }
+                for (Class<?> type : unknownTypes) {
+                    byte[] binaryRepresentation = binaryRepresentations.get(type);
+                    if (binaryRepresentation == null) {
+                        try {
+                            binaryRepresentation = readClassFile(type);
+                        } catch (IOException ignored) {
+                            continue;
+                        }
+                    }
+                    if (binaryRepresentation != null) {
+                        List<Snapshot> history = new ArrayList<Snapshot>(2);
+                        history.add(Snapshot.of(binaryRepresentation, offHeap));
+                        snapshots.put(type, history);
+                    }
+                }
+            }
+
+            @Override
+            public synchronized void record(Map<Class<?>, ClassDefinition> classDefinitions) {
+                for (Map.Entry<Class<?>, ClassDefinition> entry : classDefinitions.entrySet()) {
+                    List<Snapshot> history = snapshots.get(entry.getKey());
+                    if (history != null) {
+                        history.add(Snapshot.of(entry.getValue().getDefinitionClassFile(), offHeap));
+                    }
+                }
+            }
+
+            @Override
+            public synchronized Map<Class<?>, byte[]> locate(Collection<Class<?>> types, int steps) {
+                Map<Class<?>, byte[]> binaryRepresentations = new HashMap<Class<?>, byte[]>(types.size());
+                for (Class<?> type : types) {
+                    List<Snapshot> history = snapshots.get(type);
+                    if (history != null && history.size() > 1) {
+                        binaryRepresentations.put(type, history.get(indexOf(history, steps)).resolve());
+                    }
+                }
+                return binaryRepresentations;
+            }
+
+            @Override
+            public synchronized void discard(Collection<Class<?>> types, int steps) {
+                for (Class<?> type : types) {
+                    List<Snapshot> history = snapshots.get(type);
+                    if (history != null) {
+                        history.subList(indexOf(history, steps) + 1, history.size()).clear();
+                    }
+                }
+            }
+
+            /**
+             * Returns the index of the snapshot that represents the given number of steps before the current definition.
+             *
+             * @param history The history of snapshots of a class.
+             * @param steps   The number of redefinitions to step back.
+             * @return The index of the snapshot that represents the given number of steps before the current definition.
+             */
+            private static int indexOf(List<Snapshot> history, int steps) {
+                return Math.max(0, history.size() - 1 - Math.min(steps, history.size()));
+            }
+
+            /**
+             * Returns the number of recorded redefinitions of the given type.
+             *
+             * @param type The type for which to return the number of recorded redefinitions.
+             * @return The number of recorded redefinitions of the given type.
+             */
+            public synchronized int getDepth(Class<?> type) {
+                List<Snapshot> history = snapshots.get(type);
+                return history == null ? 0 : history.size() - 1;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassReloadingStrategy.SnapshotStore.Default{" +
+                        "offHeap=" + offHeap +
+                        ", snapshots=" + snapshots.size() +
+                        '}';
+            }
+
+            /**
+             * A compressed class file.
+             */
+            protected static class Snapshot {
+
+                /**
+                 * The compressed class file.
+                 */
+                private final ByteBuffer compressed;
+
+                /**
+                 * The length of the uncompressed class file.
+                 */
+                private final int length;
+
+                /**
+                 * Creates a new snapshot.
+                 *
+                 * @param compressed The compressed class file.
+                 * @param length     The length of the uncompressed class file.
+                 */
+                protected Snapshot(ByteBuffer compressed, int length) {
+                    this.compressed = compressed;
+                    this.length = length;
+                }
+
+                /**
+                 * Creates a snapshot of the given class file.
+                 *
+                 * @param binaryRepresentation The class file to compress.
+                 * @param offHeap              {@code true} if the compressed class file should be stored off the heap.
+                 * @return A snapshot of the given class file.
+                 */
+                protected static Snapshot of(byte[] binaryRepresentation, boolean offHeap) {
+                    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length / 2);
+                    try {
+                        deflater.setInput(binaryRepresentation);
+                        deflater.finish();
+                        byte[] buffer = new byte[BUFFER_SIZE];
+                        while (!deflater.finished()) {
+                            outputStream.write(buffer, FIRST_INDEX, deflater.deflate(buffer));
+                        }
+                    } finally {
+                        deflater.end();
+                    }
+                    byte[] compressed = outputStream.toByteArray();
+                    ByteBuffer byteBuffer;
+                    if (offHeap) {
+                        byteBuffer = ByteBuffer.allocateDirect(compressed.length);
+                        byteBuffer.put(compressed);
+                        byteBuffer.flip();
+                    } else {
+                        byteBuffer = ByteBuffer.wrap(compressed);
+                    }
+                    return new Snapshot(byteBuffer, binaryRepresentation.length);
+                }
+
+                /**
+                 * Resolves the uncompressed class file of this snapshot.
+                 *
+                 * @return The uncompressed class file of this snapshot.
+                 */
+                protected byte[] resolve() {
+                    byte[] compressed = new byte[this.compressed.remaining()];
+                    this.compressed.duplicate().get(compressed);
+                    byte[] binaryRepresentation = new byte[length];
+                    Inflater inflater = new Inflater();
+                    try {
+                        inflater.setInput(compressed);
+                        int offset = FIRST_INDEX;
+                        while (offset < length) {
+                            int inflated = inflater.inflate(binaryRepresentation, offset, length - offset);
+                            if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                                throw new IllegalStateException("Snapshot is shorter than its recorded length of " + length);
+                            }
+                            offset += inflated;
+                        }
+                    } catch (DataFormatException e) {
+                        throw new IllegalStateException("Cannot inflate snapshot", e);
+                    } finally {
+                        inflater.end();
+                    }
+                    return binaryRepresentation;
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassReloadingStrategy.SnapshotStore.Default.Snapshot{" +
+                            "compressed=" + compressed +
+                            ", length=" + length +
+                            '}';
+                }
+            }
+        }
+    }
 }
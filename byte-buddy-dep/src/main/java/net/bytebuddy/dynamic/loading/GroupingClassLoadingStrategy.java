@@ -0,0 +1,226 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A class loading strategy that groups types which are loaded for the same parent class loader into a shared
+ * {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader} instead of creating a new class loader for each call
+ * to {@link net.bytebuddy.dynamic.ClassLoadingStrategy#load(ClassLoader, java.util.Map)}. Once a group holds its
+ * maximum number of types, a new group is opened for any further types.
+ * </p>
+ * <p>
+ * A group is only referenced weakly by this strategy such that it becomes eligible for garbage collection and
+ * class unloading once none of the group's types, their instances or the group's class loader are reachable
+ * anymore. As a consequence, types are unloaded at group granularity. Types that are loaded by this strategy
+ * must not define a name that is already defined within the group's class loader. If this is the case, the types
+ * are loaded by a new group.
+ * </p>
+ */
+public class GroupingClassLoadingStrategy implements ClassLoadingStrategy {
+
+    /**
+     * The default maximum number of types that are loaded by a single group.
+     */
+    public static final int DEFAULT_GROUP_SIZE = 256;
+
+    /**
+     * A convenience reference that references the default protection domain which is {@code null}.
+     */
+    private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
+
+    /**
+     * The maximum number of types that are loaded by a single group.
+     */
+    private final int groupSize;
+
+    /**
+     * The protection domain to apply where {@code null} references an implicit protection domain.
+     */
+    private final ProtectionDomain protectionDomain;
+
+    /**
+     * The persistence handler to apply to any group's class loader.
+     */
+    private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
+
+    /**
+     * A mapping of parent class loaders to their currently open group. Both the parent class loader and the group
+     * are only referenced weakly.
+     */
+    private final Map<ClassLoader, Reference<Group>> openGroups;
+
+    /**
+     * Creates a new grouping class loading strategy with the default group size which hides the loaded class files.
+     */
+    public GroupingClassLoadingStrategy() {
+        this(DEFAULT_GROUP_SIZE);
+    }
+
+    /**
+     * Creates a new grouping class loading strategy which hides the loaded class files.
+     *
+     * @param groupSize The maximum number of types that are loaded by a single group.
+     */
+    public GroupingClassLoadingStrategy(int groupSize) {
+        this(groupSize, DEFAULT_PROTECTION_DOMAIN, ByteArrayClassLoader.PersistenceHandler.LATENT);
+    }
+
+    /**
+     * Creates a new grouping class loading strategy.
+     *
+     * @param groupSize          The maximum number of types that are loaded by a single group.
+     * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+     *                           protection domain.
+     * @param persistenceHandler The persistence handler to apply to any group's class loader.
+     */
+    public GroupingClassLoadingStrategy(int groupSize,
+                                        ProtectionDomain protectionDomain,
+                                        ByteArrayClassLoader.PersistenceHandler persistenceHandler) {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("A group must at least contain a single type: " + groupSize);
+        }
+        this.groupSize = groupSize;
+        this.protectionDomain = protectionDomain;
+        this.persistenceHandler = persistenceHandler;
+        openGroups = new WeakHashMap<ClassLoader, Reference<Group>>();
+    }
+
+    @Override
+    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+        Map<String, byte[]> rawTypeDefinitions = new HashMap<String, byte[]>(types.size());
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            rawTypeDefinitions.put(entry.getKey().getName(), entry.getValue());
+        }
+        Group group = register(classLoader, rawTypeDefinitions);
+        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        for (TypeDescription typeDescription : types.keySet()) {
+            try {
+                loadedTypes.put(typeDescription, group.loadClass(typeDescription.getName()));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Cannot load class " + typeDescription, e);
+            }
+        }
+        return loadedTypes;
+    }
+
+    /**
+     * Registers the given type definitions with an open group for the given parent class loader or opens a new
+     * group if no open group can accept the type definitions.
+     *
+     * @param classLoader     The parent class loader of the group.
+     * @param typeDefinitions The type definitions to register mapped by their names.
+     * @return The group that is responsible for loading the given type definitions.
+     */
+    protected synchronized Group register(ClassLoader classLoader, Map<String, byte[]> typeDefinitions) {
+        Reference<Group> reference = openGroups.get(classLoader);
+        Group group = reference == null ? null : reference.get();
+        if (group == null || !group.offer(typeDefinitions)) {
+            group = new Group(classLoader, typeDefinitions, protectionDomain, persistenceHandler, groupSize);
+            openGroups.put(classLoader, new WeakReference<Group>(group));
+        }
+        return group;
+    }
+
+    /**
+     * Closes all currently open groups such that any subsequently loaded types are loaded by new groups. Types that
+     * were already loaded by a closed group remain unaffected.
+     *
+     * @return This grouping class loading strategy.
+     */
+    public synchronized GroupingClassLoadingStrategy release() {
+        openGroups.clear();
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupingClassLoadingStrategy{" +
+                "groupSize=" + groupSize +
+                ", protectionDomain=" + protectionDomain +
+                ", persistenceHandler=" + persistenceHandler +
+                ", openGroups=" + openGroups +
+                '}';
+    }
+
+    /**
+     * A byte array class loader that represents a group of types which can be extended by additional types until
+     * it reaches its capacity. As types can be added while other threads look up resources of this class loader
+     * without holding its monitor, its type definitions are stored in a concurrent map.
+     */
+    protected static class Group extends ByteArrayClassLoader {
+
+        /**
+         * The maximum number of types that can be registered with this group.
+         */
+        private final int capacity;
+
+        /**
+         * The number of types that were registered with this group.
+         */
+        private int size;
+
+        /**
+         * Creates a new group.
+         *
+         * @param parent             The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param typeDefinitions    A map of fully qualified class names pointing to their binary representations.
+         * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+         *                           protection domain.
+         * @param persistenceHandler The persistence handler of this class loader.
+         * @param capacity           The maximum number of types that can be registered with this group.
+         */
+        protected Group(ClassLoader parent,
+                        Map<String, byte[]> typeDefinitions,
+                        ProtectionDomain protectionDomain,
+                        PersistenceHandler persistenceHandler,
+                        int capacity) {
+            super(parent, new ConcurrentHashMap<String, byte[]>(), typeDefinitions, protectionDomain, persistenceHandler);
+            this.capacity = capacity;
+            size = typeDefinitions.size();
+        }
+
+        /**
+         * Attempts to register additional type definitions with this group. The registration is rejected if the
+         * group would exceed its capacity or if any of the given types is already known to this group.
+         *
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         * @return {@code true} if the type definitions were registered with this group.
+         */
+        protected synchronized boolean offer(Map<String, byte[]> typeDefinitions) {
+            if (size + typeDefinitions.size() > capacity) {
+                return false;
+            }
+            for (String name : typeDefinitions.keySet()) {
+                if (this.typeDefinitions.containsKey(name) || findLoadedClass(name) != null) {
+                    return false;
+                }
+            }
+            for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+                this.typeDefinitions.put(entry.getKey(), persistenceHandler.persist(entry.getValue()));
+            }
+            size += typeDefinitions.size();
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "GroupingClassLoadingStrategy.Group{" +
+                    "parent=" + getParent() +
+                    ", typeDefinitions=" + typeDefinitions +
+                    ", persistenceHandler=" + persistenceHandler +
+                    ", protectionDomain=" + protectionDomain +
+                    ", accessControlContext=" + accessControlContext +
+                    ", capacity=" + capacity +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+}
@@ -80,9 +80,9 @@ public interface BridgeMethodResolver {
     static class Simple implements BridgeMethodResolver {
 
         /**
-         * A map of all bridges mapped by their unique signature.
+         * A map of all bridges mapped by their signature token.
          */
-        private final Map<String, BridgeTarget> bridges;
+        private final Map<MethodDescription.SignatureToken, BridgeTarget> bridges;
 
         /**
          * Creates a new simple bridge method resolver.
@@ -92,9 +92,9 @@ public interface BridgeMethodResolver {
          */
         public Simple(MethodList methodList, ConflictHandler conflictHandler) {
             MethodList bridgeMethods = methodList.filter(isBridge());
-            bridges = new HashMap<String, BridgeTarget>(bridgeMethods.size());
+            bridges = new HashMap<MethodDescription.SignatureToken, BridgeTarget>(bridgeMethods.size());
             for (MethodDescription bridgeMethod : bridgeMethods) {
-                bridges.put(bridgeMethod.getUniqueSignature(), findBridgeTargetFor(bridgeMethod, conflictHandler));
+                bridges.put(MethodDescription.SignatureToken.of(bridgeMethod), findBridgeTargetFor(bridgeMethod, conflictHandler));
             }
         }
 
@@ -122,7 +122,7 @@ public interface BridgeMethodResolver {
 
         @Override
         public MethodDescription resolve(MethodDescription methodDescription) {
-            BridgeTarget bridgeTarget = bridges.get(methodDescription.getUniqueSignature());
+            BridgeTarget bridgeTarget = bridges.get(MethodDescription.SignatureToken.of(methodDescription));
             if (bridgeTarget == null) { // The given method is not a bridge method.
                 return methodDescription;
             } else if (bridgeTarget.isResolved()) { // There is a definite target for the given bridge method.
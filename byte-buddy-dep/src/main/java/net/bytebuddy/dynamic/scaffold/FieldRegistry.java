@@ -3,8 +3,8 @@ package net.bytebuddy.dynamic.scaffold;
 import net.bytebuddy.instrumentation.attribute.FieldAttributeAppender;
 import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.PersistentMap;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -95,7 +95,8 @@ public interface FieldRegistry {
     static class Default implements FieldRegistry {
 
         /**
-         * Contains all non-prepared field registry entries mapped by the field name. This map should never be mutated.
+         * Contains all non-prepared field registry entries mapped by the field name. This map should never be mutated
+         * but is shared with any field registry that is derived from this registry.
          */
         private final Map<String, Entry> entries;
 
@@ -103,7 +104,7 @@ public interface FieldRegistry {
          * Creates a new field registry without any registered fields.
          */
         public Default() {
-            entries = Collections.emptyMap();
+            entries = PersistentMap.empty();
         }
 
         /**
@@ -119,11 +120,10 @@ public interface FieldRegistry {
         public FieldRegistry include(LatentFieldMatcher latentFieldMatcher,
                                      FieldAttributeAppender.Factory attributeAppenderFactory,
                                      Object defaultValue) {
-            Map<String, Entry> entries = new HashMap<String, Entry>(this.entries);
-            if (entries.put(latentFieldMatcher.getFieldName(), new Entry(attributeAppenderFactory, defaultValue)) != null) {
+            if (entries.containsKey(latentFieldMatcher.getFieldName())) {
                 throw new IllegalArgumentException("the field name " + latentFieldMatcher.getFieldName() + " is already registered");
             }
-            return new Default(entries);
+            return new Default(PersistentMap.of(entries).with(latentFieldMatcher.getFieldName(), new Entry(attributeAppenderFactory, defaultValue)));
         }
 
         @Override
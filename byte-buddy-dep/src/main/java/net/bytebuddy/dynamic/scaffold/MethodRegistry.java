@@ -10,11 +10,16 @@ import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.PersistentList;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.is;
-import static net.bytebuddy.utility.ByteBuddyCommons.join;
 
 /**
  * A method registry is responsible for storing information on how a method is intercepted.
@@ -190,7 +195,8 @@ public interface MethodRegistry {
     static class Default implements MethodRegistry {
 
         /**
-         * A list of all entries in their registration order.
+         * A list of all entries in their registration order. This list is shared with any method registry that is
+         * derived from this registry.
          */
         private final List<Entry> entries;
 
@@ -198,7 +204,7 @@ public interface MethodRegistry {
          * Creates a new empty method registry.
          */
         public Default() {
-            entries = Collections.emptyList();
+            entries = PersistentList.empty();
         }
 
         /**
@@ -215,14 +221,14 @@ public interface MethodRegistry {
         public MethodRegistry prepend(LatentMethodMatcher latentMethodMatcher,
                                       Instrumentation instrumentation,
                                       MethodAttributeAppender.Factory attributeAppenderFactory) {
-            return new Default(join(new Entry(latentMethodMatcher, instrumentation, attributeAppenderFactory), entries));
+            return new Default(PersistentList.of(entries).prepend(new Entry(latentMethodMatcher, instrumentation, attributeAppenderFactory)));
         }
 
         @Override
         public MethodRegistry append(LatentMethodMatcher latentMethodMatcher,
                                      Instrumentation instrumentation,
                                      MethodAttributeAppender.Factory attributeAppenderFactory) {
-            return new Default(join(entries, new Entry(latentMethodMatcher, instrumentation, attributeAppenderFactory)));
+            return new Default(PersistentList.of(entries).append(new Entry(latentMethodMatcher, instrumentation, attributeAppenderFactory)));
         }
 
         @Override
@@ -368,7 +374,8 @@ public interface MethodRegistry {
                         typeInitializer,
                         finding.getInvokableMethods(),
                         new ArrayList<Compiled.Entry>(compiledEntries),
-                        fallback.compile(instrumentationTarget));
+                        fallback.compile(instrumentationTarget),
+                        MatchCache.Shared.of(entries));
             }
 
             @Override
@@ -440,6 +447,11 @@ public interface MethodRegistry {
              */
             private final MethodRegistry.Compiled.Entry fallback;
 
+            /**
+             * The cache of the entries that match methods which are inherited by the instrumented type.
+             */
+            private final MatchCache matchCache;
+
             /**
              * Creates a new compiled default method registry.
              *
@@ -450,19 +462,23 @@ public interface MethodRegistry {
              * @param entries               The list of all compiled entries of this compiled method registry.
              * @param fallback              The fallback entry to apply for any method that is not matched by any of
              *                              the registered compiled entries.
+             * @param matchCache            The cache of the entries that match methods which are inherited by the
+             *                              instrumented type.
              */
             protected Compiled(TypeDescription instrumentedType,
                                LoadedTypeInitializer loadedTypeInitializer,
                                InstrumentedType.TypeInitializer typeInitializer,
                                MethodList invokableMethods,
                                List<Entry> entries,
-                               MethodRegistry.Compiled.Entry fallback) {
+                               MethodRegistry.Compiled.Entry fallback,
+                               MatchCache matchCache) {
                 this.instrumentedType = instrumentedType;
                 this.loadedTypeInitializer = loadedTypeInitializer;
                 this.typeInitializer = typeInitializer;
                 this.invokableMethods = invokableMethods;
                 this.entries = entries;
                 this.fallback = fallback;
+                this.matchCache = matchCache;
             }
 
             @Override
@@ -487,12 +503,22 @@ public interface MethodRegistry {
 
             @Override
             public MethodRegistry.Compiled.Entry target(MethodDescription methodDescription) {
-                for (Entry entry : entries) {
-                    if (entry.matches(methodDescription)) {
-                        return entry;
+                // Matches are cached by their distance to the end of the entry list as the registered entries always
+                // form the end of this list while the number of additional entries depends on the instrumented type.
+                Integer distance = matchCache.find(instrumentedType, methodDescription);
+                if (distance == null) {
+                    distance = MatchCache.NO_MATCH;
+                    for (int index = 0; index < entries.size(); index++) {
+                        if (entries.get(index).matches(methodDescription)) {
+                            distance = entries.size() - index;
+                            break;
+                        }
                     }
+                    matchCache.register(instrumentedType, methodDescription, distance);
                 }
-                return fallback;
+                return distance == MatchCache.NO_MATCH
+                        ? fallback
+                        : entries.get(entries.size() - distance);
             }
 
             @Override
@@ -502,6 +528,7 @@ public interface MethodRegistry {
                 Compiled compiled = (Compiled) other;
                 return entries.equals(compiled.entries)
                         && fallback.equals(compiled.fallback)
+                        && matchCache.equals(compiled.matchCache)
                         && instrumentedType.equals(compiled.instrumentedType)
                         && invokableMethods.equals(compiled.invokableMethods)
                         && loadedTypeInitializer.equals(compiled.loadedTypeInitializer)
@@ -516,6 +543,7 @@ public interface MethodRegistry {
                 result = 31 * result + invokableMethods.hashCode();
                 result = 31 * result + entries.hashCode();
                 result = 31 * result + fallback.hashCode();
+                result = 31 * result + matchCache.hashCode();
                 return result;
             }
 
@@ -528,6 +556,7 @@ public interface MethodRegistry {
                         ", invokableMethods=" + invokableMethods +
                         ", entries=" + entries +
                         ", fallback=" + fallback +
+                        ", matchCache=" + matchCache +
                         '}';
             }
 
@@ -583,6 +612,226 @@ public interface MethodRegistry {
             }
         }
 
+        /**
+         * <p>
+         * A cache of the registered entries that match methods which are inherited by an instrumented type.
+         * </p>
+         * <p>
+         * When types of the same shape are created for different instrumented types that share a common ancestor, the
+         * methods that are inherited from this ancestor are matched against the same entries over and over. If the
+         * method matchers of all registered entries are independent of the instrumented type, the index of the
+         * matching entry is only determined once for any registry with an equal list of entries and for any method
+         * of the identical declaring type description. Methods that are
+         * declared by the instrumented type are never cached as they might be matched by entries that are added
+         * during the preparation of the instrumented type.
+         * </p>
+         */
+        protected static interface MatchCache {
+
+            /**
+             * Represents a method that is not matched by any entry.
+             */
+            static final int NO_MATCH = 0;
+
+            /**
+             * Finds the cached match for a method.
+             *
+             * @param instrumentedType  The instrumented type.
+             * @param methodDescription The method for which a match is queried.
+             * @return The distance of the matching entry to the end of the entry list, {@link MatchCache#NO_MATCH} if no
+             * entry matches the method or {@code null} if no match is cached.
+             */
+            Integer find(TypeDescription instrumentedType, MethodDescription methodDescription);
+
+            /**
+             * Registers a match for a method.
+             *
+             * @param instrumentedType  The instrumented type.
+             * @param methodDescription The method that was matched.
+             * @param distance          The distance of the matching entry to the end of the entry list or
+             *                          {@link MatchCache#NO_MATCH} if no entry matches the method.
+             */
+            void register(TypeDescription instrumentedType, MethodDescription methodDescription, int distance);
+
+            /**
+             * A disabled match cache that never caches a match.
+             */
+            static enum Disabled implements MatchCache {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public Integer find(TypeDescription instrumentedType, MethodDescription methodDescription) {
+                    return null;
+                }
+
+                @Override
+                public void register(TypeDescription instrumentedType, MethodDescription methodDescription, int distance) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A match cache that is shared by all registries with an equal list of entries. Matches are only shared
+             * for methods that are declared by the identical type description such that two types of equal name,
+             * for example types that are loaded by different class loaders, never share a match. The type
+             * descriptions are only referenced weakly.
+             */
+            static class Shared implements MatchCache {
+
+                /**
+                 * The shared match caches by their registries' entries. The entries are only referenced weakly such that
+                 * a cache is discarded once no registry with an equal list of entries is in use.
+                 */
+                private static final Map<List<Entry>, Shared> CACHES = new WeakHashMap<List<Entry>, Shared>();
+
+                /**
+                 * The distances of the matching entries to the end of the entry list by their methods.
+                 */
+                private final ConcurrentMap<Key, Integer> distances;
+
+                /**
+                 * The reference queue that is notified when the declaring type of a cached method is collected.
+                 */
+                private final ReferenceQueue<TypeDescription> referenceQueue;
+
+                /**
+                 * Creates a new shared match cache.
+                 */
+                protected Shared() {
+                    distances = new ConcurrentHashMap<Key, Integer>();
+                    referenceQueue = new ReferenceQueue<TypeDescription>();
+                }
+
+                /**
+                 * Returns a match cache for the given entries. If no entries are registered or if any entry's method
+                 * matcher might depend on the instrumented type, a disabled match cache is returned.
+                 *
+                 * @param entries The registered entries of a method registry.
+                 * @return A match cache for the given entries.
+                 */
+                public static MatchCache of(List<Entry> entries) {
+                    if (entries.isEmpty()) {
+                        return Disabled.INSTANCE;
+                    }
+                    for (Entry entry : entries) {
+                        if (!(entry.getLatentMethodMatcher() instanceof LatentMethodMatcher.Simple)) {
+                            return Disabled.INSTANCE;
+                        }
+                    }
+                    synchronized (CACHES) {
+                        Shared shared = CACHES.get(entries);
+                        if (shared == null) {
+                            shared = new Shared();
+                            CACHES.put(entries, shared);
+                        }
+                        return shared;
+                    }
+                }
+
+                @Override
+                public Integer find(TypeDescription instrumentedType, MethodDescription methodDescription) {
+                    TypeDescription declaringType = methodDescription.getDeclaringType();
+                    return declaringType.equals(instrumentedType)
+                            ? null
+                            : distances.get(new Key(declaringType, MethodDescription.SignatureToken.of(methodDescription)));
+                }
+
+                @Override
+                public void register(TypeDescription instrumentedType, MethodDescription methodDescription, int distance) {
+                    TypeDescription declaringType = methodDescription.getDeclaringType();
+                    if (!declaringType.equals(instrumentedType)) {
+                        Reference<? extends TypeDescription> reference;
+                        while ((reference = referenceQueue.poll()) != null) {
+                            distances.remove(reference);
+                        }
+                        distances.put(new Key(declaringType, MethodDescription.SignatureToken.of(methodDescription), referenceQueue), distance);
+                    }
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodRegistry.Default.MatchCache.Shared{" +
+                            "distances=" + distances +
+                            ", referenceQueue=" + referenceQueue +
+                            '}';
+                }
+
+                /**
+                 * A key that identifies a method by the identity of its declaring type and by its signature. The
+                 * declaring type is only referenced weakly. A key whose declaring type was collected is only equal
+                 * to itself.
+                 */
+                protected static class Key extends WeakReference<TypeDescription> {
+
+                    /**
+                     * The signature token of the method.
+                     */
+                    private final MethodDescription.SignatureToken signatureToken;
+
+                    /**
+                     * The hash code of this key which is computed from the identity of the declaring type.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a key for looking up a method.
+                     *
+                     * @param declaringType  The method's declaring type.
+                     * @param signatureToken The signature token of the method.
+                     */
+                    protected Key(TypeDescription declaringType, MethodDescription.SignatureToken signatureToken) {
+                        this(declaringType, signatureToken, null);
+                    }
+
+                    /**
+                     * Creates a key for registering a method.
+                     *
+                     * @param declaringType  The method's declaring type.
+                     * @param signatureToken The signature token of the method.
+                     * @param referenceQueue The reference queue to notify when the declaring type is collected or
+                     *                       {@code null} if no queue should be notified.
+                     */
+                    protected Key(TypeDescription declaringType,
+                                  MethodDescription.SignatureToken signatureToken,
+                                  ReferenceQueue<? super TypeDescription> referenceQueue) {
+                        super(declaringType, referenceQueue);
+                        this.signatureToken = signatureToken;
+                        hashCode = 31 * System.identityHashCode(declaringType) + signatureToken.hashCode();
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) return true;
+                        if (other == null || getClass() != other.getClass()) return false;
+                        Key key = (Key) other;
+                        TypeDescription declaringType = get();
+                        return hashCode == key.hashCode
+                                && declaringType != null
+                                && declaringType == key.get()
+                                && signatureToken.equals(key.signatureToken);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "MethodRegistry.Default.MatchCache.Shared.Key{" +
+                                "declaringType=" + get() +
+                                ", signatureToken=" + signatureToken +
+                                ", hashCode=" + hashCode +
+                                '}';
+                    }
+                }
+            }
+        }
+
         /**
          * A method matcher that matches methods that are found in only one of two lists.
          */
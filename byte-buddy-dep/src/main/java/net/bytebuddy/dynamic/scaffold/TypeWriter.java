@@ -18,16 +18,14 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocati
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.RandomString;
 import org.objectweb.asm.*;
 import org.objectweb.asm.commons.RemappingClassAdapter;
 import org.objectweb.asm.commons.SimpleRemapper;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static net.bytebuddy.utility.ByteBuddyCommons.join;
 
@@ -79,6 +77,11 @@ public interface TypeWriter<T> {
              */
             private static final MethodVisitor IGNORE_METHOD = null;
 
+            /**
+             * The offset of the minor and major version within a class file.
+             */
+            private static final int CLASS_FILE_VERSION_OFFSET = 4;
+
             /**
              * The instrumented type that is written.
              */
@@ -180,7 +183,10 @@ public interface TypeWriter<T> {
             }
 
             /**
-             * Performs the actual creation of a class file.
+             * Performs the actual creation of a class file. The stack map frames of the original class file are
+             * retained such that frames are only computed for generated code. A class file that predates stack map
+             * frames retains its version such that its code, which might contain subroutines, is not required to
+             * supply any frames.
              *
              * @param instrumentationContext The instrumentation context to use for implementing the class file.
              * @param binaryRepresentation   The binary representation of the class file.
@@ -188,8 +194,18 @@ public interface TypeWriter<T> {
              */
             private byte[] doCreate(Instrumentation.Context.ExtractableView instrumentationContext, byte[] binaryRepresentation) {
                 ClassReader classReader = new ClassReader(binaryRepresentation);
-                ClassWriter classWriter = new ClassWriter(classReader, ASM_MANUAL_FLAG);
-                classReader.accept(writeTo(classVisitorWrapper.wrap(classWriter), instrumentationContext), ASM_MANUAL_FLAG);
+                ClassFileVersion originalClassFileVersion = new ClassFileVersion(classReader.readInt(CLASS_FILE_VERSION_OFFSET));
+                ClassFileVersion writtenClassFileVersion = originalClassFileVersion.compareTo(ClassFileVersion.JAVA_V6) < 0
+                        || classFileVersion.compareTo(originalClassFileVersion) < 0
+                        ? originalClassFileVersion
+                        : classFileVersion;
+                boolean framed = writtenClassFileVersion.compareTo(ClassFileVersion.JAVA_V6) >= 0;
+                ClassWriter classWriter = new ClassWriter(classReader, framed
+                        ? ClassWriter.COMPUTE_MAXS
+                        : ASM_MANUAL_FLAG);
+                classReader.accept(writeTo(classVisitorWrapper.wrap(classWriter), instrumentationContext, writtenClassFileVersion), framed
+                        ? ClassReader.EXPAND_FRAMES
+                        : ASM_MANUAL_FLAG);
                 return classWriter.toByteArray();
             }
 
@@ -198,13 +214,19 @@ public interface TypeWriter<T> {
              *
              * @param classVisitor           The class visitor to which this entry is to be written to.
              * @param instrumentationContext The instrumentation context to use for implementing the class file.
+             * @param classFileVersion       The version of the written class file.
              * @return A class visitor which is capable of applying the changes.
              */
             private ClassVisitor writeTo(ClassVisitor classVisitor,
-                                         Instrumentation.Context.ExtractableView instrumentationContext) {
+                                         Instrumentation.Context.ExtractableView instrumentationContext,
+                                         ClassFileVersion classFileVersion) {
                 String originalName = targetType.getInternalName();
                 String targetName = instrumentedType.getInternalName();
-                ClassVisitor targetClassVisitor = new RedefinitionClassVisitor(classVisitor, instrumentationContext);
+                ClassVisitor targetClassVisitor = new RedefinitionClassVisitor(classFileVersion.compareTo(ClassFileVersion.JAVA_V6) < 0
+                        ? classVisitor
+                        : new FrameComputingMethodWriter(classVisitor, new FrameComputingClassWriter(ClassWriter.COMPUTE_FRAMES,
+                        instrumentedType,
+                        classFileLocator)), classVisitor, instrumentationContext, classFileVersion);
                 return originalName.equals(targetName)
                         ? targetClassVisitor
                         : new RemappingClassAdapter(targetClassVisitor, new SimpleRemapper(originalName, targetName));
@@ -259,15 +281,27 @@ public interface TypeWriter<T> {
             }
 
             /**
-             * A class visitor which is capable of applying a redefinition of an existing class file.
+             * A class visitor which is capable of applying a redefinition of an existing class file. Any generated
+             * method is written to the underlying class visitor while any method that is copied from the original
+             * class file is written to a separate class visitor which does not compute stack map frames.
              */
             protected class RedefinitionClassVisitor extends ClassVisitor {
 
+                /**
+                 * The class visitor to which methods that are copied from the original class file are written.
+                 */
+                private final ClassVisitor originalCodeVisitor;
+
                 /**
                  * The instrumentation context for this class creation.
                  */
                 private final Instrumentation.Context.ExtractableView instrumentationContext;
 
+                /**
+                 * The version of the written class file.
+                 */
+                private final ClassFileVersion classFileVersion;
+
                 /**
                  * A mutable map of all declared fields of the instrumented type by their names.
                  */
@@ -289,12 +323,19 @@ public interface TypeWriter<T> {
                  * Creates a class visitor which is capable of redefining an existent class on the fly.
                  *
                  * @param classVisitor           The underlying class visitor to which writes are delegated.
+                 * @param originalCodeVisitor    The class visitor to which methods that are copied from the original
+                 *                               class file are written.
                  * @param instrumentationContext The instrumentation context to use for implementing the class file.
+                 * @param classFileVersion       The version of the written class file.
                  */
                 protected RedefinitionClassVisitor(ClassVisitor classVisitor,
-                                                   Instrumentation.Context.ExtractableView instrumentationContext) {
+                                                   ClassVisitor originalCodeVisitor,
+                                                   Instrumentation.Context.ExtractableView instrumentationContext,
+                                                   ClassFileVersion classFileVersion) {
                     super(ASM_API_VERSION, classVisitor);
+                    this.originalCodeVisitor = originalCodeVisitor;
                     this.instrumentationContext = instrumentationContext;
+                    this.classFileVersion = classFileVersion;
                     List<? extends FieldDescription> fieldDescriptions = instrumentedType.getDeclaredFields();
                     declaredFields = new HashMap<String, FieldDescription>(fieldDescriptions.size());
                     for (FieldDescription fieldDescription : fieldDescriptions) {
@@ -314,10 +355,7 @@ public interface TypeWriter<T> {
                                   String genericSignature,
                                   String superTypeInternalName,
                                   String[] interfaceTypeInternalName) {
-                    ClassFileVersion originalClassFileVersion = new ClassFileVersion(classFileVersionNumber);
-                    super.visit((classFileVersion.compareTo(originalClassFileVersion) > 0
-                                    ? classFileVersion
-                                    : originalClassFileVersion).getVersionNumber(),
+                    super.visit(classFileVersion.getVersionNumber(),
                             instrumentedType.getActualModifiers((modifiers & Opcodes.ACC_SUPER) != 0),
                             instrumentedType.getInternalName(),
                             instrumentedType.getGenericSignature(),
@@ -345,7 +383,7 @@ public interface TypeWriter<T> {
                     if (internalName.equals(MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME)) {
                         TypeInitializerInjection injectedCode = new TypeInitializerInjection();
                         this.injectedCode = injectedCode;
-                        return super.visitMethod(injectedCode.getInjectorProxyMethod().getModifiers(),
+                        return originalCodeVisitor.visitMethod(injectedCode.getInjectorProxyMethod().getModifiers(),
                                 injectedCode.getInjectorProxyMethod().getInternalName(),
                                 injectedCode.getInjectorProxyMethod().getDescriptor(),
                                 injectedCode.getInjectorProxyMethod().getGenericSignature(),
@@ -353,7 +391,7 @@ public interface TypeWriter<T> {
                     }
                     MethodDescription methodDescription = declarableMethods.remove(internalName + descriptor);
                     return methodDescription == null // Ignored method or not existent for the instrumented type.
-                            ? super.visitMethod(modifiers, internalName, descriptor, genericSignature, exceptionTypeInternalName)
+                            ? originalCodeVisitor.visitMethod(modifiers, internalName, descriptor, genericSignature, exceptionTypeInternalName)
                             : redefine(methodDescription, (modifiers & Opcodes.ACC_ABSTRACT) != 0);
                 }
 
@@ -369,7 +407,7 @@ public interface TypeWriter<T> {
                 private MethodVisitor redefine(MethodDescription methodDescription, boolean abstractOrigin) {
                     TypeWriter.MethodPool.Entry entry = methodPool.target(methodDescription);
                     if (!entry.isDefineMethod()) {
-                        return super.visitMethod(methodDescription.getModifiers(),
+                        return originalCodeVisitor.visitMethod(methodDescription.getModifiers(),
                                 methodDescription.getInternalName(),
                                 methodDescription.getDescriptor(),
                                 methodDescription.getGenericSignature(),
@@ -452,7 +490,7 @@ public interface TypeWriter<T> {
                         }
                         actualMethodVisitor.visitEnd();
                         mv = resolution.isRebased()
-                                ? cv.visitMethod(resolution.getResolvedMethod().getModifiers(),
+                                ? originalCodeVisitor.visitMethod(resolution.getResolvedMethod().getModifiers(),
                                 resolution.getResolvedMethod().getInternalName(),
                                 resolution.getResolvedMethod().getDescriptor(),
                                 resolution.getResolvedMethod().getGenericSignature(),
@@ -645,7 +683,14 @@ public interface TypeWriter<T> {
             private final TypeWriter.MethodPool methodPool;
 
             /**
-             * Creates a new type writer engine for redefining an existent class file.
+             * The class file locator for resolving types that are not part of the instrumented type's hierarchy
+             * when computing stack map frames.
+             */
+            private final ClassFileLocator classFileLocator;
+
+            /**
+             * Creates a new type writer engine for creating a new type where stack map frames are computed only
+             * from the instrumented type's hierarchy.
              *
              * @param instrumentedType    The instrumented type that is created.
              * @param classFileVersion    The class file version of the type that is to be written.
@@ -662,6 +707,37 @@ public interface TypeWriter<T> {
                                TypeAttributeAppender attributeAppender,
                                TypeWriter.FieldPool fieldPool,
                                TypeWriter.MethodPool methodPool) {
+                this(instrumentedType,
+                        classFileVersion,
+                        invokableMethods,
+                        classVisitorWrapper,
+                        attributeAppender,
+                        fieldPool,
+                        methodPool,
+                        ClassFileLocator.NoOp.INSTANCE);
+            }
+
+            /**
+             * Creates a new type writer engine for creating a new type.
+             *
+             * @param instrumentedType    The instrumented type that is created.
+             * @param classFileVersion    The class file version of the type that is to be written.
+             * @param invokableMethods    The invokable methods to consider for implementation.
+             * @param classVisitorWrapper The class visitor wrapper to apply to the ASM class writer.
+             * @param attributeAppender   The attribute appender to apply.
+             * @param fieldPool           The field pool to use for writing fields.
+             * @param methodPool          The method pool to use for writing methods.
+             * @param classFileLocator    The class file locator for resolving types that are not part of the
+             *                            instrumented type's hierarchy when computing stack map frames.
+             */
+            public ForCreation(TypeDescription instrumentedType,
+                               ClassFileVersion classFileVersion,
+                               List<? extends MethodDescription> invokableMethods,
+                               ClassVisitorWrapper classVisitorWrapper,
+                               TypeAttributeAppender attributeAppender,
+                               TypeWriter.FieldPool fieldPool,
+                               TypeWriter.MethodPool methodPool,
+                               ClassFileLocator classFileLocator) {
                 this.instrumentedType = instrumentedType;
                 this.classFileVersion = classFileVersion;
                 this.invokableMethods = invokableMethods;
@@ -669,11 +745,14 @@ public interface TypeWriter<T> {
                 this.attributeAppender = attributeAppender;
                 this.fieldPool = fieldPool;
                 this.methodPool = methodPool;
+                this.classFileLocator = classFileLocator;
             }
 
             @Override
             public byte[] create(Instrumentation.Context.ExtractableView instrumentationContext) {
-                ClassWriter classWriter = new ClassWriter(ASM_MANUAL_FLAG);
+                ClassWriter classWriter = new FrameComputingClassWriter(FrameComputingClassWriter.writerFlags(classFileVersion),
+                        instrumentedType,
+                        classFileLocator);
                 ClassVisitor classVisitor = classVisitorWrapper.wrap(classWriter);
                 classVisitor.visit(classFileVersion.getVersionNumber(),
                         instrumentedType.getActualModifiers(true),
@@ -706,7 +785,8 @@ public interface TypeWriter<T> {
                         && fieldPool.equals(that.fieldPool)
                         && instrumentedType.equals(that.instrumentedType)
                         && invokableMethods.equals(that.invokableMethods)
-                        && methodPool.equals(that.methodPool);
+                        && methodPool.equals(that.methodPool)
+                        && classFileLocator.equals(that.classFileLocator);
             }
 
             @Override
@@ -718,6 +798,7 @@ public interface TypeWriter<T> {
                 result = 31 * result + attributeAppender.hashCode();
                 result = 31 * result + fieldPool.hashCode();
                 result = 31 * result + methodPool.hashCode();
+                result = 31 * result + classFileLocator.hashCode();
                 return result;
             }
 
@@ -731,9 +812,260 @@ public interface TypeWriter<T> {
                         ", attributeAppender=" + attributeAppender +
                         ", fieldPool=" + fieldPool +
                         ", methodPool=" + methodPool +
+                        ", classFileLocator=" + classFileLocator +
+                        '}';
+            }
+        }
+
+        /**
+         * A class writer that computes stack map frames for class files of at least version 6 such that these
+         * class files can be verified by the type-checking verifier. Different to a plain ASM class writer, the
+         * common super type of two types is resolved without loading any classes. Instead, types are resolved
+         * from the instrumented type's hierarchy and otherwise by a {@link net.bytebuddy.pool.TypePool} that is
+         * only created if such a resolution is required. This type pool is backed by the class file locator of the
+         * builder that creates the type. If a type cannot be resolved, an exception is thrown as any assumed common
+         * super type could yield invalid stack map frames.
+         */
+        static class FrameComputingClassWriter extends ClassWriter {
+
+            /**
+             * The internal name of the {@link java.lang.Object} type.
+             */
+            private static final String OBJECT_INTERNAL_NAME = "java/lang/Object";
+
+            /**
+             * The instrumented type that is written.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * The class file locator for creating a type pool for resolving any type that is not part of the
+             * instrumented type's hierarchy.
+             */
+            private final ClassFileLocator classFileLocator;
+
+            /**
+             * A cache of all types that were already resolved by their internal names.
+             */
+            private final Map<String, TypeDescription> resolvedTypes;
+
+            /**
+             * The type pool that is used for resolving types or {@code null} if no such type pool was yet created.
+             */
+            private TypePool typePool;
+
+            /**
+             * Creates a new class writer for creating a new type.
+             *
+             * @param flags            The ASM flags to apply.
+             * @param instrumentedType The instrumented type that is written.
+             * @param classFileLocator The class file locator for creating a type pool for resolving any type
+             *                         that is not part of the instrumented type's hierarchy.
+             */
+            protected FrameComputingClassWriter(int flags, TypeDescription instrumentedType, ClassFileLocator classFileLocator) {
+                super(flags);
+                this.instrumentedType = instrumentedType;
+                this.classFileLocator = classFileLocator;
+                resolvedTypes = new HashMap<String, TypeDescription>();
+            }
+
+            /**
+             * Returns the ASM flags for writing a class file of the given version.
+             *
+             * @param classFileVersion The version of the class file that is written.
+             * @return The ASM flags for writing a class file of the given version.
+             */
+            protected static int writerFlags(ClassFileVersion classFileVersion) {
+                return classFileVersion.compareTo(ClassFileVersion.JAVA_V6) < 0
+                        ? ASM_MANUAL_FLAG
+                        : ClassWriter.COMPUTE_FRAMES;
+            }
+
+            @Override
+            protected String getCommonSuperClass(String firstInternalName, String secondInternalName) {
+                if (firstInternalName.equals(secondInternalName)) {
+                    return firstInternalName;
+                }
+                TypeDescription firstType = resolve(firstInternalName), secondType = resolve(secondInternalName);
+                if (firstType.isInterface() || secondType.isInterface()) {
+                    return OBJECT_INTERNAL_NAME;
+                }
+                Set<String> secondHierarchy = new HashSet<String>();
+                do {
+                    secondHierarchy.add(secondType.getInternalName());
+                    secondType = secondType.getSupertype();
+                } while (secondType != null);
+                do {
+                    if (secondHierarchy.contains(firstType.getInternalName())) {
+                        return firstType.getInternalName();
+                    }
+                    firstType = firstType.getSupertype();
+                } while (firstType != null);
+                return OBJECT_INTERNAL_NAME;
+            }
+
+            /**
+             * Resolves a type by its internal name.
+             *
+             * @param internalName The internal name of the type to resolve.
+             * @return A description of the resolved type.
+             */
+            private TypeDescription resolve(String internalName) {
+                TypeDescription typeDescription = resolvedTypes.get(internalName);
+                if (typeDescription != null) {
+                    return typeDescription;
+                }
+                typeDescription = locate(internalName);
+                if (typeDescription == null) {
+                    if (typePool == null) {
+                        typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), classFileLocator);
+                    }
+                    TypePool.Resolution resolution = typePool.describe(internalName.replace('/', '.'));
+                    if (!resolution.isResolved()) {
+                        throw new IllegalStateException("Cannot resolve " + internalName.replace('/', '.')
+                                + " for computing stack map frames using " + classFileLocator);
+                    }
+                    typeDescription = resolution.resolve();
+                }
+                resolvedTypes.put(internalName, typeDescription);
+                return typeDescription;
+            }
+
+            /**
+             * Locates a type within the class hierarchy of the instrumented type. Such types might not be available
+             * to the type pool as they are for example only represented in memory.
+             *
+             * @param internalName The internal name of the type to locate.
+             * @return The located type or {@code null} if no such type is a super class of the instrumented type.
+             */
+            private TypeDescription locate(String internalName) {
+                TypeDescription typeDescription = instrumentedType;
+                do {
+                    if (typeDescription.getInternalName().equals(internalName)) {
+                        return typeDescription;
+                    }
+                    typeDescription = typeDescription.getSupertype();
+                } while (typeDescription != null);
+                return null;
+            }
+
+            @Override
+            public String toString() {
+                return "TypeWriter.Engine.FrameComputingClassWriter{" +
+                        "instrumentedType=" + instrumentedType +
+                        ", classFileLocator=" + classFileLocator +
+                        ", typePool=" + typePool +
                         '}';
             }
         }
+
+        /**
+         * A class visitor that writes any method to a class writer that computes the method's stack map frames while
+         * any other element is written to the underlying class visitor. The methods are copied to the underlying class
+         * visitor when the class is completed such that the underlying class visitor is not required to compute any
+         * stack map frames.
+         */
+        static class FrameComputingMethodWriter extends ClassVisitor {
+
+            /**
+             * The class writer that computes the stack map frames of any written method.
+             */
+            private final ClassWriter classWriter;
+
+            /**
+             * Creates a new frame computing method writer.
+             *
+             * @param classVisitor The underlying class visitor to which the methods are copied once they are completed.
+             * @param classWriter  The class writer that computes the stack map frames of any written method.
+             */
+            protected FrameComputingMethodWriter(ClassVisitor classVisitor, ClassWriter classWriter) {
+                super(ASM_API_VERSION, classVisitor);
+                this.classWriter = classWriter;
+            }
+
+            @Override
+            public void visit(int classFileVersionNumber,
+                              int modifiers,
+                              String internalName,
+                              String genericSignature,
+                              String superTypeInternalName,
+                              String[] interfaceTypeInternalName) {
+                classWriter.visit(classFileVersionNumber,
+                        modifiers,
+                        internalName,
+                        genericSignature,
+                        superTypeInternalName,
+                        interfaceTypeInternalName);
+                super.visit(classFileVersionNumber,
+                        modifiers,
+                        internalName,
+                        genericSignature,
+                        superTypeInternalName,
+                        interfaceTypeInternalName);
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int modifiers,
+                                             String internalName,
+                                             String descriptor,
+                                             String genericSignature,
+                                             String[] exceptionTypeInternalName) {
+                return classWriter.visitMethod(modifiers, internalName, descriptor, genericSignature, exceptionTypeInternalName);
+            }
+
+            @Override
+            public void visitEnd() {
+                classWriter.visitEnd();
+                new ClassReader(classWriter.toByteArray()).accept(new MethodCopier(cv), ClassReader.EXPAND_FRAMES);
+                super.visitEnd();
+            }
+
+            @Override
+            public String toString() {
+                return "TypeWriter.Engine.FrameComputingMethodWriter{" +
+                        "classVisitor=" + cv +
+                        ", classWriter=" + classWriter +
+                        '}';
+            }
+
+            /**
+             * A class visitor that copies all methods of a class file to another class visitor while ignoring any
+             * other element of the class file.
+             */
+            protected static class MethodCopier extends ClassVisitor {
+
+                /**
+                 * The class visitor to which methods are copied.
+                 */
+                private final ClassVisitor classVisitor;
+
+                /**
+                 * Creates a new method copier.
+                 *
+                 * @param classVisitor The class visitor to which methods are copied.
+                 */
+                protected MethodCopier(ClassVisitor classVisitor) {
+                    super(ASM_API_VERSION);
+                    this.classVisitor = classVisitor;
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int modifiers,
+                                                 String internalName,
+                                                 String descriptor,
+                                                 String genericSignature,
+                                                 String[] exceptionTypeInternalName) {
+                    return classVisitor.visitMethod(modifiers, internalName, descriptor, genericSignature, exceptionTypeInternalName);
+                }
+
+                @Override
+                public String toString() {
+                    return "TypeWriter.Engine.FrameComputingMethodWriter.MethodCopier{" +
+                            "classVisitor=" + classVisitor +
+                            '}';
+                }
+            }
+        }
     }
 
     /**
@@ -21,6 +21,7 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariableAccess;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.instrumentation.type.auxiliary.AuxiliaryType;
 import net.bytebuddy.instrumentation.type.auxiliary.TrivialType;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -395,18 +396,25 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                  */
                 private static final String SUFFIX = "placeholder";
 
+                /**
+                 * A placeholder type that is shared by all rebased types. As this type is loaded by the bootstrap
+                 * class loader, it is visible to any rebased type such that no placeholder type needs to be defined.
+                 */
+                private static final TypeDescription SHARED_PLACEHOLDER = new TypeDescription.ForLoadedType(Void.class);
+
                 /**
                  * The method rebase resolver to use.
                  */
                 private final MethodRebaseResolver methodRebaseResolver;
 
                 /**
-                 * The placeholder type to use.
+                 * The auxiliary types that are required for rebasing the instrumented type.
                  */
-                private final DynamicType placeholderType;
+                private final List<DynamicType> auxiliaryTypes;
 
                 /**
-                 * Creates a new prepared target handler for a rebase instrumentation.
+                 * Creates a new prepared target handler for a rebase instrumentation that defines the given placeholder
+                 * type as an auxiliary type.
                  *
                  * @param placeholderType       The placeholder type to use for rebasing constructors.
                  * @param ignoredMethods        The methods that should be ignored for rebasing.
@@ -416,14 +424,37 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                 protected ForRebaseInstrumentation(DynamicType placeholderType,
                                                    ElementMatcher<? super MethodDescription> ignoredMethods,
                                                    MethodRebaseResolver.MethodNameTransformer methodNameTransformer) {
-                    this.placeholderType = placeholderType;
+                    this(placeholderType.getTypeDescription(),
+                            Collections.singletonList(placeholderType),
+                            ignoredMethods,
+                            methodNameTransformer);
+                }
+
+                /**
+                 * Creates a new prepared target handler for a rebase instrumentation.
+                 *
+                 * @param placeholderType       The placeholder type to use for rebasing constructors.
+                 * @param auxiliaryTypes        The auxiliary types that are required for rebasing the instrumented type.
+                 * @param ignoredMethods        The methods that should be ignored for rebasing.
+                 * @param methodNameTransformer The method name transformer to be applied by the created
+                 *                              method rebase resolver.
+                 */
+                protected ForRebaseInstrumentation(TypeDescription placeholderType,
+                                                   List<DynamicType> auxiliaryTypes,
+                                                   ElementMatcher<? super MethodDescription> ignoredMethods,
+                                                   MethodRebaseResolver.MethodNameTransformer methodNameTransformer) {
+                    this.auxiliaryTypes = auxiliaryTypes;
                     methodRebaseResolver = new MethodRebaseResolver.Default(ignoredMethods,
-                            placeholderType.getTypeDescription(),
+                            placeholderType,
                             methodNameTransformer);
                 }
 
                 /**
-                 * Creates a target handler for a rebase instrumentation.
+                 * Creates a target handler for a rebase instrumentation. Rebased constructors are distinguished from the
+                 * original constructors by a {@link java.lang.Void} parameter which is shared by all rebased types.
+                 * Only if the instrumented type already declares a constructor that takes such a parameter as its last
+                 * parameter, a unique placeholder type is defined as an auxiliary type in order to avoid a clash of
+                 * constructor signatures.
                  *
                  * @param ignoredMethods        The methods that should be ignored for rebasing.
                  * @param classFileVersion      The class file version for the created dynamic type.
@@ -436,15 +467,36 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                                           ClassFileVersion classFileVersion,
                                           TypeDescription instrumentedType,
                                           MethodRebaseResolver.MethodNameTransformer methodNameTransformer) {
-                    RandomString randomString = new RandomString();
-                    return new ForRebaseInstrumentation(TrivialType.INSTANCE
-                            .make(trivialTypeNameFor(instrumentedType, randomString),
+                    return isSharedPlaceholderApplicable(instrumentedType)
+                            ? new ForRebaseInstrumentation(SHARED_PLACEHOLDER,
+                            Collections.<DynamicType>emptyList(),
+                            ignoredMethods,
+                            methodNameTransformer)
+                            : new ForRebaseInstrumentation(TrivialType.INSTANCE
+                            .make(trivialTypeNameFor(instrumentedType, new RandomString()),
                                     classFileVersion,
                                     AuxiliaryType.MethodAccessorFactory.Illegal.INSTANCE),
                             ignoredMethods,
                             methodNameTransformer);
                 }
 
+                /**
+                 * Checks if the shared placeholder type can be appended to the instrumented type's constructors
+                 * without creating a signature that is already declared by another constructor.
+                 *
+                 * @param instrumentedType The instrumented type.
+                 * @return {@code true} if the shared placeholder type can be used for rebasing the instrumented type.
+                 */
+                private static boolean isSharedPlaceholderApplicable(TypeDescription instrumentedType) {
+                    for (MethodDescription constructor : instrumentedType.getDeclaredMethods().filter(isConstructor())) {
+                        TypeList parameterTypes = constructor.getParameterTypes();
+                        if (!parameterTypes.isEmpty() && parameterTypes.get(parameterTypes.size() - 1).represents(Void.class)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
                 /**
                  * Creates a trivial name for the instrumented type.
                  *
@@ -467,7 +519,7 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
 
                 @Override
                 public List<DynamicType> getAuxiliaryTypes() {
-                    return Collections.singletonList(placeholderType);
+                    return auxiliaryTypes;
                 }
 
                 @Override
@@ -486,13 +538,13 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                     if (other == null || getClass() != other.getClass()) return false;
                     ForRebaseInstrumentation that = (ForRebaseInstrumentation) other;
                     return methodRebaseResolver.equals(that.methodRebaseResolver)
-                            && placeholderType.equals(that.placeholderType);
+                            && auxiliaryTypes.equals(that.auxiliaryTypes);
                 }
 
                 @Override
                 public int hashCode() {
                     int result = methodRebaseResolver.hashCode();
-                    result = 31 * result + placeholderType.hashCode();
+                    result = 31 * result + auxiliaryTypes.hashCode();
                     return result;
                 }
 
@@ -500,7 +552,7 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                 public String toString() {
                     return "InlineDynamicTypeBuilder.TargetHandler.Prepared.ForRebaseInstrumentation{" +
                             "methodRebaseResolver=" + methodRebaseResolver +
-                            ", placeholderType=" + placeholderType +
+                            ", auxiliaryTypes=" + auxiliaryTypes +
                             '}';
                 }
 
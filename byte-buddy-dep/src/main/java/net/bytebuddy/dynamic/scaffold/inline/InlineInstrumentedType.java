@@ -80,8 +80,7 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
      * @param name                  The name of the instrumented type.
      * @param interfaces            The additional interfaces that this type should implement.
      * @param modifiers             The name of the instrumented type.
-     * @param fieldDescriptions     A list of field descriptions for this instrumented type.
-     * @param methodDescriptions    A list of method descriptions for this instrumented type.
+     * @param declaredMembers       The members that are declared by this instrumented type.
      * @param loadedTypeInitializer A loaded type initializer for this instrumented type.
      * @param typeInitializer       A type initializer for this instrumented type.
      */
@@ -89,15 +88,10 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
                                      String name,
                                      List<TypeDescription> interfaces,
                                      int modifiers,
-                                     List<? extends FieldDescription> fieldDescriptions,
-                                     List<? extends MethodDescription> methodDescriptions,
+                                     DeclaredMembers declaredMembers,
                                      LoadedTypeInitializer loadedTypeInitializer,
                                      TypeInitializer typeInitializer) {
-        super(loadedTypeInitializer,
-                typeInitializer,
-                name,
-                fieldDescriptions,
-                methodDescriptions);
+        super(loadedTypeInitializer, typeInitializer, declaredMembers);
         this.levelType = levelType;
         this.name = name;
         this.modifiers = modifiers;
@@ -109,17 +103,14 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
                                       TypeDescription fieldType,
                                       int modifiers) {
         FieldDescription additionalField = new FieldToken(internalName, fieldType, modifiers);
-        if (fieldDescriptions.contains(additionalField)) {
+        if (declaredMembers.isDeclared(additionalField)) {
             throw new IllegalArgumentException("Field " + additionalField + " is already defined on " + this);
         }
-        List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>(this.fieldDescriptions);
-        fieldDescriptions.add(additionalField);
         return new InlineInstrumentedType(levelType,
                 name,
                 interfaces,
                 this.modifiers,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers.with(additionalField),
                 loadedTypeInitializer,
                 typeInitializer);
     }
@@ -135,17 +126,14 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
                 parameterTypes,
                 exceptionTypes,
                 modifiers);
-        if (methodDescriptions.contains(additionalMethod)) {
+        if (declaredMembers.isDeclared(additionalMethod)) {
             throw new IllegalArgumentException("Method " + additionalMethod + " is already defined on " + this);
         }
-        List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>(this.methodDescriptions);
-        methodDescriptions.add(additionalMethod);
         return new InlineInstrumentedType(levelType,
                 name,
                 interfaces,
                 this.modifiers,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers.with(additionalMethod),
                 loadedTypeInitializer,
                 typeInitializer);
     }
@@ -156,8 +144,7 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
                 name,
                 interfaces,
                 modifiers,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers,
                 new LoadedTypeInitializer.Compound(this.loadedTypeInitializer, loadedTypeInitializer),
                 typeInitializer);
     }
@@ -168,8 +155,7 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
                 name,
                 interfaces,
                 modifiers,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers,
                 loadedTypeInitializer,
                 typeInitializer.expandWith(stackManipulation));
     }
@@ -180,8 +166,7 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
                 name,
                 interfaces,
                 modifiers,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers,
                 LoadedTypeInitializer.NoOp.INSTANCE,
                 TypeInitializer.None.INSTANCE);
     }
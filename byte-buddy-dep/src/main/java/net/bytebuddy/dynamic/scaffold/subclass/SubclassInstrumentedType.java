@@ -11,7 +11,6 @@ import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -79,8 +78,7 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
      * @param interfaces            A collection of loaded interfaces that are implemented by this instrumented class.
      * @param modifiers             The modifiers for this instrumentation.
      * @param name                  The name of this instrumented type.
-     * @param fieldDescriptions     A list of field descriptions to be applied for this instrumentation.
-     * @param methodDescriptions    A list of method descriptions to be applied for this instrumentation.
+     * @param declaredMembers       The members that are declared by this instrumentation.
      * @param loadedTypeInitializer A loaded type initializer to be applied for this instrumentation.
      * @param typeInitializer       A type initializer to be applied for this instrumentation.
      */
@@ -89,15 +87,10 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                                        List<TypeDescription> interfaces,
                                        int modifiers,
                                        String name,
-                                       List<? extends FieldDescription> fieldDescriptions,
-                                       List<? extends MethodDescription> methodDescriptions,
+                                       DeclaredMembers declaredMembers,
                                        LoadedTypeInitializer loadedTypeInitializer,
                                        TypeInitializer typeInitializer) {
-        super(loadedTypeInitializer,
-                typeInitializer,
-                name,
-                fieldDescriptions,
-                methodDescriptions);
+        super(loadedTypeInitializer, typeInitializer, declaredMembers);
         this.classFileVersion = classFileVersion;
         this.superClass = superClass;
         this.interfaces = interfaces;
@@ -110,18 +103,15 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                                       TypeDescription fieldType,
                                       int modifiers) {
         FieldDescription additionalField = new FieldToken(internalName, fieldType, modifiers);
-        if (fieldDescriptions.contains(additionalField)) {
+        if (declaredMembers.isDeclared(additionalField)) {
             throw new IllegalArgumentException("Field " + additionalField + " is already defined on " + this);
         }
-        List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>(this.fieldDescriptions);
-        fieldDescriptions.add(additionalField);
         return new SubclassInstrumentedType(classFileVersion,
                 superClass,
                 interfaces,
                 this.modifiers,
                 name,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers.with(additionalField),
                 loadedTypeInitializer,
                 typeInitializer);
     }
@@ -137,18 +127,15 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                 parameterTypes,
                 exceptionTypes,
                 modifiers);
-        if (methodDescriptions.contains(additionalMethod)) {
+        if (declaredMembers.isDeclared(additionalMethod)) {
             throw new IllegalArgumentException("Method " + additionalMethod + " is already defined on " + this);
         }
-        List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>(this.methodDescriptions);
-        methodDescriptions.add(additionalMethod);
         return new SubclassInstrumentedType(classFileVersion,
                 superClass,
                 interfaces,
                 this.modifiers,
                 name,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers.with(additionalMethod),
                 loadedTypeInitializer,
                 typeInitializer);
     }
@@ -160,8 +147,7 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                 interfaces,
                 modifiers,
                 name,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers,
                 new LoadedTypeInitializer.Compound(this.loadedTypeInitializer, loadedTypeInitializer),
                 typeInitializer);
     }
@@ -173,8 +159,7 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                 interfaces,
                 modifiers,
                 name,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers,
                 loadedTypeInitializer,
                 typeInitializer.expandWith(stackManipulation));
     }
@@ -186,8 +171,7 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                 interfaces,
                 modifiers,
                 name,
-                fieldDescriptions,
-                methodDescriptions,
+                declaredMembers,
                 LoadedTypeInitializer.NoOp.INSTANCE,
                 TypeInitializer.None.INSTANCE);
     }
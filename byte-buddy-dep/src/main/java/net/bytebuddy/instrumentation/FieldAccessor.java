@@ -5,17 +5,28 @@ import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.field.FieldList;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Duplication;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Throw;
+import net.bytebuddy.instrumentation.method.bytecode.stack.TypeCreation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.PrimitiveTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.ReferenceTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariableAccess;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.ByteBuddyCommons;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 import static net.bytebuddy.utility.ByteBuddyCommons.*;
@@ -87,6 +98,23 @@ public abstract class FieldAccessor implements Instrumentation {
                 nonNull(fieldNameExtractor));
     }
 
+    /**
+     * Defines a field accessor that implements indexed access to all non-static and non-final fields that are
+     * visible to the instrumented type. A method {@code get(int)} with a non-{@code void} return type is implemented
+     * to read the value of the field with the given index while a method {@code set(int, value)} with a
+     * {@code void} return type is implemented to write the given value to the field with the given index. Fields
+     * are indexed beginning with the fields that are declared by the most specific type of the instrumented type's
+     * hierarchy, in the order in which a type reports its declared fields, where shadowed fields are not indexed. Any index that does not
+     * represent a field results in an {@link java.lang.IndexOutOfBoundsException}. This allows for copying
+     * the properties of instances without using the reflection API. By default, the runtime type of a value is
+     * considered such that a value of type {@link java.lang.Object} can be assigned to any field.
+     *
+     * @return A field accessor that implements indexed access to the fields of an instrumented type.
+     */
+    public static AssignerConfigurable ofIndexedFields() {
+        return new ForIndexedFields(defaultAssigner(), true);
+    }
+
     /**
      * Returns the default assigner that is to be used if no explicit assigner is specified.
      *
@@ -265,7 +293,8 @@ public abstract class FieldAccessor implements Instrumentation {
          * A field locator that finds a type by traversing the type hierarchy beginning with fields defined
          * in the most specific subclass traversing the class hierarchy down to the least specific type.
          * This emulates the Java language's field access where fields are shadowed when an extending class defines
-         * a field with identical name.
+         * a field with identical name. The type hierarchy is only traversed once per field locator such that all
+         * fields that are accessed by the methods of an instrumented type are located from a single index.
          */
         static class ForInstrumentedTypeHierarchy implements FieldLocator {
 
@@ -274,6 +303,12 @@ public abstract class FieldAccessor implements Instrumentation {
              */
             private final TypeDescription instrumentedType;
 
+            /**
+             * An index of all fields that are visible to the instrumented type by their names or {@code null} if
+             * this index was not yet created. This index is not part of this locator's identity.
+             */
+            private volatile Map<String, FieldDescription> index;
+
             /**
              * Creates a field locator that follows the type hierarchy.
              *
@@ -283,16 +318,39 @@ public abstract class FieldAccessor implements Instrumentation {
                 this.instrumentedType = instrumentedType;
             }
 
-            @Override
-            public FieldDescription locate(String name) {
+            /**
+             * Creates an index of all fields that are visible to the given type by their names. If several types
+             * of the hierarchy declare a field of identical name, only the field of the most specific type is
+             * indexed. The index is ordered beginning with the fields of the most specific type, in the order in
+             * which a type description reports its declared fields.
+             *
+             * @param instrumentedType The type for which the visible fields are to be indexed.
+             * @return An index of all fields that are visible to the given type by their names.
+             */
+            protected static Map<String, FieldDescription> index(TypeDescription instrumentedType) {
+                Map<String, FieldDescription> index = new LinkedHashMap<String, FieldDescription>();
                 TypeDescription currentType = instrumentedType;
                 do {
-                    FieldList fieldList = currentType.getDeclaredFields().filter(named(name).and(isVisibleTo(instrumentedType)));
-                    if (fieldList.size() == 1) {
-                        return fieldList.getOnly();
+                    for (FieldDescription fieldDescription : currentType.getDeclaredFields().filter(isVisibleTo(instrumentedType))) {
+                        if (!index.containsKey(fieldDescription.getName())) {
+                            index.put(fieldDescription.getName(), fieldDescription);
+                        }
                     }
-                } while (!(currentType = currentType.getSupertype()).represents(Object.class));
-                throw new IllegalArgumentException("There is no field '" + name + " that is visible to " + instrumentedType);
+                } while ((currentType = currentType.getSupertype()) != null && !currentType.represents(Object.class));
+                return index;
+            }
+
+            @Override
+            public FieldDescription locate(String name) {
+                Map<String, FieldDescription> index = this.index;
+                if (index == null) {
+                    index = this.index = index(instrumentedType);
+                }
+                FieldDescription fieldDescription = index.get(name);
+                if (fieldDescription == null) {
+                    throw new IllegalArgumentException("There is no field '" + name + " that is visible to " + instrumentedType);
+                }
+                return fieldDescription;
             }
 
             @Override
@@ -901,6 +959,236 @@ public abstract class FieldAccessor implements Instrumentation {
         }
     }
 
+    /**
+     * Implementation of a field accessor instrumentation that accesses the fields of an instrumented type by
+     * their index.
+     */
+    protected static class ForIndexedFields implements AssignerConfigurable {
+
+        /**
+         * The assigner to use.
+         */
+        private final Assigner assigner;
+
+        /**
+         * {@code true} if the runtime type of the field's value should be considered when a field
+         * is accessed.
+         */
+        private final boolean considerRuntimeType;
+
+        /**
+         * Creates a new field accessor for indexed field access.
+         *
+         * @param assigner            The assigner to use.
+         * @param considerRuntimeType {@code true} if a field value's runtime type should be considered.
+         */
+        protected ForIndexedFields(Assigner assigner, boolean considerRuntimeType) {
+            this.assigner = assigner;
+            this.considerRuntimeType = considerRuntimeType;
+        }
+
+        @Override
+        public Instrumentation withAssigner(Assigner assigner, boolean considerRuntimeType) {
+            return new ForIndexedFields(nonNull(assigner), considerRuntimeType);
+        }
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>();
+            for (FieldDescription fieldDescription : FieldLocator.ForInstrumentedTypeHierarchy
+                    .index(instrumentationTarget.getTypeDescription()).values()) {
+                if (!fieldDescription.isStatic() && !fieldDescription.isFinal()) {
+                    fieldDescriptions.add(fieldDescription);
+                }
+            }
+            return new Appender(fieldDescriptions);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && considerRuntimeType == ((ForIndexedFields) other).considerRuntimeType
+                    && assigner.equals(((ForIndexedFields) other).assigner);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * assigner.hashCode() + (considerRuntimeType ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return "FieldAccessor.ForIndexedFields{" +
+                    "assigner=" + assigner +
+                    ", considerRuntimeType=" + considerRuntimeType +
+                    '}';
+        }
+
+        /**
+         * A byte code appender for implementing indexed field access by a table switch over the field indices.
+         */
+        protected class Appender implements ByteCodeAppender {
+
+            /**
+             * The indexed fields in the order of their index.
+             */
+            private final List<FieldDescription> fieldDescriptions;
+
+            /**
+             * Creates a new byte code appender for indexed field access.
+             *
+             * @param fieldDescriptions The indexed fields in the order of their index.
+             */
+            protected Appender(List<FieldDescription> fieldDescriptions) {
+                this.fieldDescriptions = fieldDescriptions;
+            }
+
+            @Override
+            public boolean appendsCode() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor,
+                              Instrumentation.Context instrumentationContext,
+                              MethodDescription instrumentedMethod) {
+                if (instrumentedMethod.isStatic()) {
+                    throw new IllegalArgumentException("Cannot access instance fields from static method " + instrumentedMethod);
+                } else if (takesArguments(int.class).and(not(returns(void.class))).matches(instrumentedMethod)) {
+                    return apply(methodVisitor, instrumentationContext, instrumentedMethod, true);
+                } else if (takesArguments(2).and(returns(void.class)).matches(instrumentedMethod)
+                        && instrumentedMethod.getParameterTypes().get(0).represents(int.class)) {
+                    return apply(methodVisitor, instrumentationContext, instrumentedMethod, false);
+                } else {
+                    throw new IllegalArgumentException("Method " + instrumentedMethod + " is no indexed field accessor");
+                }
+            }
+
+            /**
+             * Applies a table switch over all indexed fields where each case reads or writes the according field.
+             *
+             * @param methodVisitor          The method visitor to write any instructions to.
+             * @param instrumentationContext The instrumentation context of the current instrumentation.
+             * @param instrumentedMethod     The method that is target of the instrumentation.
+             * @param getter                 {@code true} if the fields are read, {@code false} if they are written.
+             * @return The required size of the operand stack and local variable array for this instrumentation.
+             */
+            private Size apply(MethodVisitor methodVisitor,
+                               Instrumentation.Context instrumentationContext,
+                               MethodDescription instrumentedMethod,
+                               boolean getter) {
+                int maximalSize = MethodVariableAccess.INTEGER
+                        .loadFromIndex(instrumentedMethod.getParameterOffset(0))
+                        .apply(methodVisitor, instrumentationContext)
+                        .getMaximalSize();
+                Label defaultCase = new Label();
+                Label[] cases = new Label[fieldDescriptions.size()];
+                for (int index = 0; index < cases.length; index++) {
+                    cases[index] = new Label();
+                }
+                if (cases.length > 0) {
+                    methodVisitor.visitTableSwitchInsn(0, cases.length - 1, defaultCase, cases);
+                } else {
+                    methodVisitor.visitInsn(Opcodes.POP);
+                }
+                int index = 0;
+                for (FieldDescription fieldDescription : fieldDescriptions) {
+                    methodVisitor.visitLabel(cases[index++]);
+                    StackManipulation fieldAccess = getter
+                            ? getter(fieldDescription, instrumentedMethod)
+                            : setter(fieldDescription, instrumentedMethod);
+                    maximalSize = Math.max(maximalSize, new StackManipulation.Compound(
+                            MethodVariableAccess.REFERENCE.loadFromIndex(0),
+                            fieldAccess,
+                            MethodReturn.returning(instrumentedMethod.getReturnType())
+                    ).apply(methodVisitor, instrumentationContext).getMaximalSize());
+                }
+                methodVisitor.visitLabel(defaultCase);
+                TypeDescription exceptionType = new TypeDescription.ForLoadedType(IndexOutOfBoundsException.class);
+                maximalSize = Math.max(maximalSize, new StackManipulation.Compound(
+                        TypeCreation.forType(exceptionType),
+                        Duplication.SINGLE,
+                        MethodInvocation.invoke(exceptionType.getDeclaredMethods().filter(isConstructor().and(takesArguments(0))).getOnly()),
+                        Throw.INSTANCE
+                ).apply(methodVisitor, instrumentationContext).getMaximalSize());
+                return new Size(maximalSize, instrumentedMethod.getStackSize());
+            }
+
+            /**
+             * Creates a stack manipulation for reading a field value and assigning it to the method's return type.
+             *
+             * @param fieldDescription   The field to read.
+             * @param instrumentedMethod The method that is target of the instrumentation.
+             * @return A stack manipulation for reading the field value.
+             */
+            private StackManipulation getter(FieldDescription fieldDescription, MethodDescription instrumentedMethod) {
+                StackManipulation assignment = assigner.assign(fieldDescription.getFieldType(),
+                        instrumentedMethod.getReturnType(),
+                        considerRuntimeType);
+                if (!assignment.isValid()) {
+                    throw new IllegalStateException("Getter type of " + instrumentedMethod + " is not compatible with " + fieldDescription);
+                }
+                return new StackManipulation.Compound(FieldAccess.forField(fieldDescription).getter(), assignment);
+            }
+
+            /**
+             * Creates a stack manipulation for assigning the method's second argument to a field.
+             *
+             * @param fieldDescription   The field to write.
+             * @param instrumentedMethod The method that is target of the instrumentation.
+             * @return A stack manipulation for writing the field value.
+             */
+            private StackManipulation setter(FieldDescription fieldDescription, MethodDescription instrumentedMethod) {
+                TypeDescription parameterType = instrumentedMethod.getParameterTypes().get(1);
+                StackManipulation assignment = assigner.assign(parameterType,
+                        fieldDescription.getFieldType(),
+                        considerRuntimeType);
+                if (!assignment.isValid()) {
+                    throw new IllegalStateException("Setter type of " + instrumentedMethod + " is not compatible with " + fieldDescription);
+                }
+                return new StackManipulation.Compound(
+                        MethodVariableAccess.forType(parameterType).loadFromIndex(instrumentedMethod.getParameterOffset(1)),
+                        assignment,
+                        FieldAccess.forField(fieldDescription).putter()
+                );
+            }
+
+            /**
+             * Returns the outer instance.
+             *
+             * @return The outer instance.
+             */
+            private ForIndexedFields getForIndexedFields() {
+                return ForIndexedFields.this;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && fieldDescriptions.equals(((Appender) other).fieldDescriptions)
+                        && ForIndexedFields.this.equals(((Appender) other).getForIndexedFields());
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * ForIndexedFields.this.hashCode() + fieldDescriptions.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "FieldAccessor.ForIndexedFields.Appender{" +
+                        "fieldDescriptions=" + fieldDescriptions +
+                        ", forIndexedFields=" + ForIndexedFields.this +
+                        '}';
+            }
+        }
+    }
+
     /**
      * An byte code appender for an field accessor instrumentation.
      */
@@ -1,12 +1,15 @@
 package net.bytebuddy.instrumentation;
 
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.PrimitiveTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.VoidAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.DownCasting;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.ReferenceTypeAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.collection.ArrayAccess;
 import net.bytebuddy.instrumentation.method.bytecode.stack.constant.*;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
@@ -15,6 +18,9 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.reflect.Modifier;
+import java.util.*;
+
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.utility.ByteBuddyCommons.isValidIdentifier;
 import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
@@ -70,7 +76,13 @@ public abstract class FixedValue implements Instrumentation {
      * {@link java.lang.Short}, {@link java.lang.Character}, {@link java.lang.Integer}, {@link java.lang.Long},
      * {@link java.lang.Float} and {@link java.lang.Double}.</li>
      * <li>A {@code null} reference.</li>
+     * <li>Any {@link java.lang.Class} value of a primitive type or of a public type that is loaded by the bootstrap
+     * class loader.</li>
+     * <li>Any {@link java.lang.Enum} constant of a public enumeration type that is loaded by the bootstrap class loader.
+     * Such constants are read from their declaring type's static field.</li>
      * </ul>
+     * Other classes and enumerations are not inlined as they are not necessarily visible to the class loader of the
+     * instrumented type.
      * <p>&nbsp;</p>
      * If possible, the constant pool value is substituted by a byte code instruction that creates the value. (This is
      * possible for integer types and types that are presented by integers inside the JVM ({@code boolean}, {@code byte},
@@ -135,11 +147,53 @@ public abstract class FixedValue implements Instrumentation {
                     new TypeDescription.ForLoadedType(double.class),
                     defaultAssigner(),
                     defaultConsiderRuntimeType());
+        } else if (type == Class.class && isBootstrapVisible((Class<?>) fixedValue)) {
+            return new ForPoolValue(ClassConstant.of(new TypeDescription.ForLoadedType((Class<?>) fixedValue)),
+                    new TypeDescription.ForLoadedType(Class.class),
+                    defaultAssigner(),
+                    defaultConsiderRuntimeType());
+        } else if (fixedValue instanceof Enum<?> && isBootstrapVisible(((Enum<?>) fixedValue).getDeclaringClass())) {
+            return new ForPoolValue(FieldAccess.forEnumeration(new AnnotationDescription.EnumerationValue.ForLoadedEnumeration((Enum<?>) fixedValue)),
+                    new TypeDescription.ForLoadedType(((Enum<?>) fixedValue).getDeclaringClass()),
+                    defaultAssigner(),
+                    defaultConsiderRuntimeType());
         } else {
             return reference(fixedValue);
         }
     }
 
+    /**
+     * Checks if a type can be referenced from any instrumented type, either as a constant pool value or by reading
+     * a field that it declares. This is only guaranteed for public types that are loaded by the bootstrap class
+     * loader as any other type might not be visible to the class loader of an instrumented type. An array type is
+     * considered by its component type.
+     *
+     * @param type The type to check.
+     * @return {@code true} if the given type is visible to any instrumented type.
+     */
+    private static boolean isBootstrapVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || (Modifier.isPublic(type.getModifiers()) && type.getClassLoader() == null);
+    }
+
+    /**
+     * Creates a fixed value instrumentation that returns a fixed value for each instrumented method that is looked
+     * up by the method's name. Each value is inlined into the instrumented method under the same conditions as
+     * by {@link net.bytebuddy.instrumentation.FixedValue#value(Object)}. All values that cannot be inlined are stored
+     * in a single static array field of the instrumented type that is initialized at once, rather than defining a
+     * field for each value. This allows to return a large number of constants from an instrumented type at the
+     * costs of a single field and a single initialization. Instrumenting a method without a mapped name causes an
+     * exception.
+     *
+     * @param fixedValues A mapping of method names to the fixed values that are returned by these methods.
+     * @return An instrumentation for the given {@code fixedValues}.
+     */
+    public static AssignerConfigurable byMethodName(Map<String, ?> fixedValues) {
+        return new ForNamedValues(new LinkedHashMap<String, Object>(nonNull(fixedValues)), defaultAssigner(), defaultConsiderRuntimeType());
+    }
+
     /**
      * Other than {@link net.bytebuddy.instrumentation.FixedValue#value(Object)}, this function
      * will create a fixed value instrumentation that will always defined a field in the instrumented class. As a result,
@@ -490,4 +544,212 @@ public abstract class FixedValue implements Instrumentation {
             }
         }
     }
+
+    /**
+     * A fixed value instrumentation that returns a different fixed value for each instrumented method depending on
+     * the method's name. Values that cannot be represented as a constant are stored in a single static array field.
+     */
+    protected static class ForNamedValues extends FixedValue implements AssignerConfigurable {
+
+        /**
+         * The prefix of the static field that is created for storing the fixed values that cannot be inlined.
+         */
+        private static final String PREFIX = "fixedValues";
+
+        /**
+         * A mapping of method names to the fixed values that are returned by these methods.
+         */
+        private final Map<String, ?> fixedValues;
+
+        /**
+         * The name of the field in which the fixed values that cannot be inlined are stored.
+         */
+        private final String fieldName;
+
+        /**
+         * Creates a new fixed value instrumentation for named values.
+         *
+         * @param fixedValues         A mapping of method names to the fixed values that are returned by these methods.
+         * @param assigner            The assigner to use for assigning the fixed value to the return type of the
+         *                            instrumented value.
+         * @param considerRuntimeType If {@code true}, the runtime type of the given value will be considered for
+         *                            assigning the return type.
+         */
+        protected ForNamedValues(Map<String, ?> fixedValues, Assigner assigner, boolean considerRuntimeType) {
+            super(assigner, considerRuntimeType);
+            this.fixedValues = fixedValues;
+            fieldName = String.format("%s$%d", PREFIX, Math.abs(fixedValues.hashCode()));
+        }
+
+        @Override
+        public Instrumentation withAssigner(Assigner assigner, boolean considerRuntimeType) {
+            return new ForNamedValues(fixedValues, nonNull(assigner), considerRuntimeType);
+        }
+
+        /**
+         * Returns all fixed values that cannot be inlined in the order of their storage within the static array field.
+         *
+         * @return All fixed values that cannot be inlined.
+         */
+        private List<Object> nonConstantValues() {
+            List<Object> nonConstantValues = new ArrayList<Object>();
+            for (Object fixedValue : fixedValues.values()) {
+                if (!(value(fixedValue) instanceof ForPoolValue)) {
+                    nonConstantValues.add(fixedValue);
+                }
+            }
+            return nonConstantValues;
+        }
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            List<Object> nonConstantValues = nonConstantValues();
+            return nonConstantValues.isEmpty()
+                    ? instrumentedType
+                    : instrumentedType
+                    .withField(fieldName,
+                            new TypeDescription.ForLoadedType(Object[].class),
+                            Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
+                    .withInitializer(LoadedTypeInitializer.ForStaticField.nonAccessible(fieldName, nonConstantValues.toArray()));
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            return new NamedValuesByteCodeAppender(instrumentationTarget.getTypeDescription());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && fixedValues.equals(((ForNamedValues) other).fixedValues)
+                    && super.equals(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + fixedValues.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "FixedValue.ForNamedValues{" +
+                    "fixedValues=" + fixedValues +
+                    ", fieldName='" + fieldName + '\'' +
+                    ", assigner=" + assigner +
+                    ", considerRuntimeType=" + considerRuntimeType +
+                    '}';
+        }
+
+        /**
+         * A byte code appender for returning the fixed value that is mapped to an instrumented method's name.
+         */
+        private class NamedValuesByteCodeAppender implements ByteCodeAppender {
+
+            /**
+             * The type of each fixed value mapped by the name of the method that returns it.
+             */
+            private final Map<String, TypeDescription> fixedValueTypes;
+
+            /**
+             * The stack manipulation that loads each fixed value onto the operand stack mapped by the name of the
+             * method that returns it.
+             */
+            private final Map<String, StackManipulation> valueLoadInstructions;
+
+            /**
+             * The names of the methods that return a fixed value which is read from the static array field. Such a
+             * value is loaded as an {@link java.lang.Object} and is cast to the instrumented method's return type
+             * rather than to the value's runtime type which might not be visible to the instrumented type.
+             */
+            private final Set<String> referencedValues;
+
+            /**
+             * Creates a new byte code appender for returning named fixed values.
+             *
+             * @param instrumentedType The instrumented type that is subject of the instrumentation.
+             */
+            private NamedValuesByteCodeAppender(TypeDescription instrumentedType) {
+                fixedValueTypes = new HashMap<String, TypeDescription>(fixedValues.size());
+                valueLoadInstructions = new HashMap<String, StackManipulation>(fixedValues.size());
+                referencedValues = new HashSet<String>();
+                StackManipulation fieldGetAccess = null;
+                int index = 0;
+                for (Map.Entry<String, ?> entry : fixedValues.entrySet()) {
+                    AssignerConfigurable fixedValue = value(entry.getValue());
+                    if (fixedValue instanceof ForPoolValue) {
+                        fixedValueTypes.put(entry.getKey(), ((ForPoolValue) fixedValue).loadedType);
+                        valueLoadInstructions.put(entry.getKey(), ((ForPoolValue) fixedValue).valueLoadInstruction);
+                    } else {
+                        if (fieldGetAccess == null) {
+                            fieldGetAccess = FieldAccess.forField(instrumentedType.getDeclaredFields()
+                                    .filter((named(fieldName))).getOnly()).getter();
+                        }
+                        fixedValueTypes.put(entry.getKey(), new TypeDescription.ForLoadedType(entry.getValue().getClass()));
+                        valueLoadInstructions.put(entry.getKey(), new StackManipulation.Compound(fieldGetAccess,
+                                IntegerConstant.forValue(index++),
+                                ArrayAccess.REFERENCE.load()));
+                        referencedValues.add(entry.getKey());
+                    }
+                }
+            }
+
+            @Override
+            public boolean appendsCode() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor, Context instrumentationContext, MethodDescription instrumentedMethod) {
+                StackManipulation valueLoadInstruction = valueLoadInstructions.get(instrumentedMethod.getInternalName());
+                if (valueLoadInstruction == null) {
+                    throw new IllegalArgumentException("No fixed value is defined for " + instrumentedMethod);
+                }
+                TypeDescription fixedValueType = fixedValueTypes.get(instrumentedMethod.getInternalName());
+                if (referencedValues.contains(instrumentedMethod.getInternalName())) {
+                    if (!assigner.assign(fixedValueType, instrumentedMethod.getReturnType(), considerRuntimeType).isValid()) {
+                        throw new IllegalArgumentException("Cannot return value of type " + fixedValueType + " for " + instrumentedMethod);
+                    }
+                    TypeDescription returnType = instrumentedMethod.getReturnType();
+                    if (returnType.represents(void.class)) {
+                        fixedValueType = new TypeDescription.ForLoadedType(Object.class);
+                    } else {
+                        if (!returnType.isPrimitive()) {
+                            fixedValueType = returnType;
+                        }
+                        valueLoadInstruction = new StackManipulation.Compound(valueLoadInstruction, new DownCasting(fixedValueType));
+                    }
+                }
+                return ForNamedValues.this.apply(methodVisitor,
+                        instrumentationContext,
+                        instrumentedMethod,
+                        fixedValueType,
+                        valueLoadInstruction);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && valueLoadInstructions.equals(((NamedValuesByteCodeAppender) other).valueLoadInstructions)
+                        && fixedValueTypes.equals(((NamedValuesByteCodeAppender) other).fixedValueTypes)
+                        && referencedValues.equals(((NamedValuesByteCodeAppender) other).referencedValues);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = valueLoadInstructions.hashCode();
+                result = 31 * result + fixedValueTypes.hashCode();
+                result = 31 * result + referencedValues.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "NamedValuesByteCodeAppender{" +
+                        "fixedValueTypes=" + fixedValueTypes +
+                        ", valueLoadInstructions=" + valueLoadInstructions +
+                        ", referencedValues=" + referencedValues +
+                        '}';
+            }
+        }
+    }
 }
@@ -512,6 +512,25 @@ public interface Instrumentation {
              */
             static final int FIELD_CACHE_MODIFIER = Opcodes.ACC_SYNTHETIC | Opcodes.ACC_FINAL | Opcodes.ACC_STATIC;
 
+            /**
+             * A default modifier for an instance field that serves as a lazily initialized cache.
+             */
+            static final int INSTANCE_FIELD_CACHE_MODIFIER = Opcodes.ACC_SYNTHETIC | Opcodes.ACC_TRANSIENT | Opcodes.ACC_VOLATILE;
+
+            /**
+             * Defines a {@code transient} and {@code volatile} instance field for lazily caching a value per instance of
+             * the instrumented type. Other than a field that is registered by
+             * {@link net.bytebuddy.instrumentation.Instrumentation.Context#cache(StackManipulation, TypeDescription)},
+             * this field is not initialized but is {@code null} until a value is explicitly assigned to it. Any request
+             * for a field of the same type returns the same field. As the field is added to the instrumented type, it
+             * must not be defined for a type that is redefined or retransformed after it was loaded.
+             *
+             * @param fieldType The type of the field for storing the cached value.
+             * @return A description of a field that was defined on the instrumented type for storing a value of the
+             * given type.
+             */
+            FieldDescription cacheInstance(TypeDescription fieldType);
+
             /**
              * Returns any {@link net.bytebuddy.instrumentation.type.auxiliary.AuxiliaryType} that was registered
              * with this {@link net.bytebuddy.instrumentation.Instrumentation.Context}.
@@ -653,6 +672,11 @@ public interface Instrumentation {
              */
             private final Map<FieldCacheEntry, FieldDescription> registeredFieldCacheEntries;
 
+            /**
+             * A map of the types of already registered instance field caches to their field representation.
+             */
+            private final Map<TypeDescription, FieldDescription> registeredInstanceFieldCaches;
+
             /**
              * An instance for supporting the creation of random values.
              */
@@ -713,6 +737,7 @@ public interface Instrumentation {
                 accessorMethodEntries = new HashMap<MethodDescription, TypeWriter.MethodPool.Entry>();
                 auxiliaryTypes = new HashMap<AuxiliaryType, DynamicType>();
                 registeredFieldCacheEntries = new HashMap<FieldCacheEntry, FieldDescription>();
+                registeredInstanceFieldCaches = new HashMap<TypeDescription, FieldDescription>();
                 randomString = new RandomString();
                 canRegisterFieldCache = true;
             }
@@ -846,6 +871,23 @@ public interface Instrumentation {
                 return fieldCache;
             }
 
+            @Override
+            public FieldDescription cacheInstance(TypeDescription fieldType) {
+                FieldDescription fieldCache = registeredInstanceFieldCaches.get(fieldType);
+                if (fieldCache != null) {
+                    return fieldCache;
+                } else if (instrumentedType.isInterface()) {
+                    throw new IllegalStateException("Cannot define an instance field cache for interface " + instrumentedType);
+                }
+                validateFieldCacheAccessibility();
+                fieldCache = new FieldDescription.Latent(String.format("%s$%s", fieldCachePrefix, randomString.nextString()),
+                        instrumentedType,
+                        fieldType,
+                        INSTANCE_FIELD_CACHE_MODIFIER);
+                registeredInstanceFieldCaches.put(fieldType, fieldCache);
+                return fieldCache;
+            }
+
             /**
              * Validates that the field cache is still accessible. Once the type initializer of a class is written, no
              * additional field caches can be defined. See
@@ -875,6 +917,13 @@ public interface Instrumentation {
                             fieldDescription.getGenericSignature(),
                             null).visitEnd();
                 }
+                for (FieldDescription fieldDescription : registeredInstanceFieldCaches.values()) {
+                    classVisitor.visitField(fieldDescription.getModifiers(),
+                            fieldDescription.getInternalName(),
+                            fieldDescription.getDescriptor(),
+                            fieldDescription.getGenericSignature(),
+                            null).visitEnd();
+                }
                 for (Map.Entry<MethodDescription, TypeWriter.MethodPool.Entry> entry : accessorMethodEntries.entrySet()) {
                     entry.getValue().apply(classVisitor, this, entry.getKey());
                 }
@@ -895,6 +944,7 @@ public interface Instrumentation {
                         ", accessorMethodEntries=" + accessorMethodEntries +
                         ", auxiliaryTypes=" + auxiliaryTypes +
                         ", registeredFieldCacheEntries=" + registeredFieldCacheEntries +
+                        ", registeredInstanceFieldCaches=" + registeredInstanceFieldCaches +
                         ", randomString=" + randomString +
                         ", canRegisterFieldCache=" + canRegisterFieldCache +
                         '}';
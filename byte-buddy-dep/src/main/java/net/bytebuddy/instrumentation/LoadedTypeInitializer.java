@@ -1,9 +1,9 @@
 package net.bytebuddy.instrumentation;
 
 import java.io.Serializable;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * Implementations of this interface explicitly initialize a loaded type. Usually, such implementations inject runtime
@@ -115,16 +115,29 @@ public interface LoadedTypeInitializer {
 
         @Override
         public void onLoad(Class<?> type) {
+            Field field;
+            try {
+                field = type.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(String.format("There is no field %s defined for %s", fieldName, type), e);
+            }
+            if (makeAccessible) {
+                field.setAccessible(true);
+            }
+            onLoad(type, field);
+        }
+
+        /**
+         * Sets the value of the given field that was already resolved and made accessible if required.
+         *
+         * @param type  The manifestation of the instrumented type.
+         * @param field The field that is represented by this initializer.
+         */
+        private void onLoad(Class<?> type, Field field) {
             try {
-                Field field = type.getDeclaredField(fieldName);
-                if (makeAccessible) {
-                    field.setAccessible(true);
-                }
                 field.set(STATIC_FIELD, value);
             } catch (IllegalAccessException e) {
                 throw new IllegalArgumentException(String.format("Could not access field %s on %s", fieldName, type), e);
-            } catch (NoSuchFieldException e) {
-                throw new IllegalStateException(String.format("There is no field %s defined for %s", fieldName, type), e);
             }
         }
 
@@ -189,10 +202,64 @@ public interface LoadedTypeInitializer {
             this.loadedTypeInitializer = loadedTypeInitializers.toArray(new LoadedTypeInitializer[loadedTypeInitializers.size()]);
         }
 
+        /**
+         * Adds the given loaded type initializers to a list where any compound loaded type initializer is
+         * replaced by its components.
+         *
+         * @param loadedTypeInitializer  The loaded type initializers to add.
+         * @param loadedTypeInitializers The list to which the loaded type initializers are added.
+         * @return The given list.
+         */
+        private static List<LoadedTypeInitializer> flatten(LoadedTypeInitializer[] loadedTypeInitializer,
+                                                           List<LoadedTypeInitializer> loadedTypeInitializers) {
+            for (LoadedTypeInitializer initializer : loadedTypeInitializer) {
+                if (initializer instanceof Compound) {
+                    flatten(((Compound) initializer).loadedTypeInitializer, loadedTypeInitializers);
+                } else {
+                    loadedTypeInitializers.add(initializer);
+                }
+            }
+            return loadedTypeInitializers;
+        }
+
+        /**
+         * Applies all represented loaded type initializers in their order. Static fields that are set by
+         * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer.ForStaticField} initializers are resolved by
+         * a single reflective lookup and are made accessible in a single step rather than resolving and preparing
+         * each field individually.
+         *
+         * @param type The manifestation of the instrumented type.
+         */
         @Override
         public void onLoad(Class<?> type) {
-            for (LoadedTypeInitializer loadedTypeInitializer : this.loadedTypeInitializer) {
-                loadedTypeInitializer.onLoad(type);
+            List<LoadedTypeInitializer> loadedTypeInitializers = flatten(this.loadedTypeInitializer, new ArrayList<LoadedTypeInitializer>());
+            Map<String, Field> fields = new HashMap<String, Field>();
+            List<Field> inaccessibleFields = new ArrayList<Field>();
+            for (LoadedTypeInitializer loadedTypeInitializer : loadedTypeInitializers) {
+                if (loadedTypeInitializer instanceof ForStaticField) {
+                    if (fields.isEmpty()) {
+                        for (Field field : type.getDeclaredFields()) {
+                            fields.put(field.getName(), field);
+                        }
+                    }
+                    ForStaticField<?> forStaticField = (ForStaticField<?>) loadedTypeInitializer;
+                    Field field = fields.get(forStaticField.fieldName);
+                    if (field == null) {
+                        throw new IllegalStateException(String.format("There is no field %s defined for %s", forStaticField.fieldName, type));
+                    } else if (forStaticField.makeAccessible) {
+                        inaccessibleFields.add(field);
+                    }
+                }
+            }
+            if (!inaccessibleFields.isEmpty()) {
+                AccessibleObject.setAccessible(inaccessibleFields.toArray(new Field[inaccessibleFields.size()]), true);
+            }
+            for (LoadedTypeInitializer loadedTypeInitializer : loadedTypeInitializers) {
+                if (loadedTypeInitializer instanceof ForStaticField) {
+                    ((ForStaticField<?>) loadedTypeInitializer).onLoad(type, fields.get(((ForStaticField<?>) loadedTypeInitializer).fieldName));
+                } else {
+                    loadedTypeInitializer.onLoad(type);
+                }
             }
         }
 
@@ -7,8 +7,8 @@ import net.bytebuddy.utility.PropertyDispatcher;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.reflect.Modifier;
+import java.util.*;
 
 /**
  * An annotation description describes {@link java.lang.annotation.Annotation} meta data of a class without this class
@@ -323,6 +323,11 @@ public interface AnnotationDescription {
          */
         private final S annotation;
 
+        /**
+         * A snapshot of the represented annotation's property values or {@code null} if no snapshot was yet taken.
+         */
+        private volatile Snapshot snapshot;
+
         /**
          * Creates a new annotation description for a loaded annotation.
          *
@@ -391,21 +396,23 @@ public interface AnnotationDescription {
             if (!methodDescription.getDeclaringType().represents(annotation.annotationType())) {
                 throw new IllegalArgumentException(methodDescription + " does not represent " + annotation.annotationType());
             }
-            try {
-                boolean visible = methodDescription.isVisibleTo(new TypeDescription.ForLoadedType(getClass()));
-                Method method = methodDescription instanceof MethodDescription.ForLoadedMethod
-                        ? ((MethodDescription.ForLoadedMethod) methodDescription).getLoadedMethod()
-                        : null;
-                if (method == null || (!visible && !method.isAccessible())) {
-                    method = annotation.annotationType().getDeclaredMethod(methodDescription.getName());
-                    if (!visible) {
-                        method.setAccessible(true);
-                    }
-                }
-                return wrap(method.invoke(annotation), methodDescription.getReturnType());
-            } catch (Exception e) {
-                throw new IllegalStateException("Cannot access annotation property " + methodDescription, e);
+            Object value = snapshot().getValue(methodDescription);
+            return PropertyDispatcher.of(value.getClass()).conditionalClone(value);
+        }
+
+        /**
+         * Returns a snapshot of all property values of the represented annotation. A snapshot is only computed once
+         * for any description and is released together with this description.
+         *
+         * @return A snapshot of all property values of the represented annotation.
+         */
+        private Snapshot snapshot() {
+            Snapshot snapshot = this.snapshot;
+            if (snapshot == null) {
+                snapshot = Snapshot.of(annotation);
+                this.snapshot = snapshot;
             }
+            return snapshot;
         }
 
         @Override
@@ -421,5 +428,182 @@ public interface AnnotationDescription {
         public TypeDescription getAnnotationType() {
             return new TypeDescription.ForLoadedType(annotation.annotationType());
         }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            } else if (other instanceof ForLoadedAnnotation
+                    && ((ForLoadedAnnotation<?>) other).annotation.annotationType() == annotation.annotationType()) {
+                return snapshot().equals(((ForLoadedAnnotation<?>) other).snapshot());
+            } else {
+                return super.equals(other);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return snapshot().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return snapshot().toString(annotation.annotationType());
+        }
+
+        /**
+         * A snapshot of the property values of an annotation where each value is stored in its wrapped form as
+         * specified by {@link net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription}.
+         */
+        private static class Snapshot {
+
+            /**
+             * The names of the annotation properties in the order of their declaration.
+             */
+            private final String[] names;
+
+            /**
+             * The wrapped values of the annotation properties where the index of a value corresponds to the index
+             * of the property's name. Values that could not be read are represented by the causing exception
+             * wrapped in an {@link net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription.ForLoadedAnnotation.Snapshot.Failure}.
+             */
+            private final Object[] values;
+
+            /**
+             * Creates a new snapshot.
+             *
+             * @param names  The names of the annotation properties in the order of their declaration.
+             * @param values The wrapped values of the annotation properties.
+             */
+            private Snapshot(String[] names, Object[] values) {
+                this.names = names;
+                this.values = values;
+            }
+
+            /**
+             * Reads all property values of the given annotation.
+             *
+             * @param annotation The annotation for which a snapshot is to be created.
+             * @return A snapshot of the given annotation's property values.
+             */
+            private static Snapshot of(Annotation annotation) {
+                List<Method> methods = new ArrayList<Method>();
+                for (Method method : annotation.annotationType().getDeclaredMethods()) {
+                    if (!Modifier.isStatic(method.getModifiers()) && method.getParameterTypes().length == 0) {
+                        methods.add(method);
+                    }
+                }
+                String[] names = new String[methods.size()];
+                Object[] values = new Object[methods.size()];
+                boolean visible = Modifier.isPublic(annotation.annotationType().getModifiers());
+                int index = 0;
+                for (Method method : methods) {
+                    names[index] = method.getName();
+                    try {
+                        if (!visible) {
+                            method.setAccessible(true);
+                        }
+                        values[index] = wrap(method.invoke(annotation), new TypeDescription.ForLoadedType(method.getReturnType()));
+                    } catch (Exception e) {
+                        values[index] = new Failure(e);
+                    }
+                    index++;
+                }
+                return new Snapshot(names, values);
+            }
+
+            /**
+             * Returns the value of the given annotation property.
+             *
+             * @param methodDescription The annotation property.
+             * @return The wrapped value of the given annotation property. Array values must not be modified.
+             */
+            private Object getValue(MethodDescription methodDescription) {
+                String name = methodDescription.getName();
+                for (int index = 0; index < names.length; index++) {
+                    if (names[index].equals(name)) {
+                        if (values[index] instanceof Failure) {
+                            throw new IllegalStateException("Cannot access annotation property " + methodDescription,
+                                    ((Failure) values[index]).exception);
+                        }
+                        return values[index];
+                    }
+                }
+                throw new IllegalStateException("Cannot access annotation property " + methodDescription);
+            }
+
+            /**
+             * Creates a string representation of the represented annotation.
+             *
+             * @param annotationType The type of the represented annotation.
+             * @return A string representation of the represented annotation.
+             */
+            private String toString(Class<?> annotationType) {
+                StringBuilder toString = new StringBuilder();
+                toString.append('@');
+                toString.append(annotationType.getName());
+                toString.append('(');
+                for (int index = 0; index < names.length; index++) {
+                    if (index > 0) {
+                        toString.append(", ");
+                    }
+                    toString.append(names[index]);
+                    toString.append('=');
+                    toString.append(PropertyDispatcher.of(values[index].getClass()).toString(values[index]));
+                }
+                toString.append(')');
+                return toString.toString();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Snapshot snapshot = (Snapshot) other;
+                if (!Arrays.equals(names, snapshot.names)) {
+                    return false;
+                }
+                for (int index = 0; index < values.length; index++) {
+                    if (!PropertyDispatcher.of(values[index].getClass()).equals(values[index], snapshot.values[index])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public int hashCode() {
+                int hashCode = 0;
+                for (Object value : values) {
+                    hashCode += 31 * PropertyDispatcher.of(value.getClass()).hashCode(value);
+                }
+                return hashCode;
+            }
+
+            /**
+             * Represents an annotation property that could not be read.
+             */
+            private static class Failure {
+
+                /**
+                 * The exception that was thrown when reading the annotation property.
+                 */
+                private final Exception exception;
+
+                /**
+                 * Creates a new failure.
+                 *
+                 * @param exception The exception that was thrown when reading the annotation property.
+                 */
+                private Failure(Exception exception) {
+                    this.exception = exception;
+                }
+
+                @Override
+                public String toString() {
+                    return "<error: " + exception + ">";
+                }
+            }
+        }
     }
 }
@@ -225,6 +225,11 @@ public interface AnnotationList extends FilterableList<AnnotationDescription, An
             return new Explicit(new ArrayList<AnnotationDescription>(inherited));
         }
 
+        @Override
+        protected List<? extends AnnotationDescription> unwrap() {
+            return annotationDescriptions;
+        }
+
         @Override
         protected AnnotationList wrap(List<AnnotationDescription> values) {
             return new Explicit(values);
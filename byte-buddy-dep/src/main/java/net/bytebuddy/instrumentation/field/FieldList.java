@@ -74,6 +74,11 @@ public interface FieldList extends FilterableList<FieldDescription, FieldList> {
             return fieldDescriptions.size();
         }
 
+        @Override
+        protected List<? extends FieldDescription> unwrap() {
+            return fieldDescriptions;
+        }
+
         @Override
         protected FieldList wrap(List<FieldDescription> values) {
             return new Explicit(values);
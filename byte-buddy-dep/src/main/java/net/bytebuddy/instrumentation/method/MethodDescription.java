@@ -206,6 +206,27 @@ public interface MethodDescription extends ByteCodeElement {
             return getInternalName() + getDescriptor();
         }
 
+        /**
+         * Returns a token that represents the unique signature of this method. Other than the unique signature,
+         * a signature token caches its hash code such that it represents a cheap key for a map.
+         *
+         * @return A signature token that represents the unique signature of this method.
+         * @see SignatureToken#of(MethodDescription)
+         */
+        public SignatureToken getSignatureToken() {
+            return SignatureToken.of(getInternalName(), getDescriptor());
+        }
+
+        /**
+         * Determines if this method description caches its hash code such that comparing hash codes is cheaper
+         * than comparing the properties of two method descriptions.
+         *
+         * @return {@code true} if this method description caches its hash code.
+         */
+        protected boolean isHashCodeCached() {
+            return false;
+        }
+
         @Override
         public int getStackSize() {
             return getParameterTypes().getStackSize() + (isStatic() ? 0 : 1);
@@ -300,6 +321,10 @@ public interface MethodDescription extends ByteCodeElement {
         @Override
         public boolean equals(Object other) {
             return other == this || other instanceof MethodDescription
+                    && (!isHashCodeCached()
+                    || !(other instanceof AbstractMethodDescription)
+                    || !((AbstractMethodDescription) other).isHashCodeCached()
+                    || hashCode() == other.hashCode())
                     && getInternalName().equals(((MethodDescription) other).getInternalName())
                     && getDeclaringType().equals(((MethodDescription) other).getDeclaringType())
                     && getReturnType().equals(((MethodDescription) other).getReturnType())
@@ -363,6 +388,26 @@ public interface MethodDescription extends ByteCodeElement {
          */
         private final Constructor<?> constructor;
 
+        /**
+         * The parameter types of this constructor which are computed lazily.
+         */
+        private TypeList parameterTypes;
+
+        /**
+         * The descriptor of this constructor which is computed lazily.
+         */
+        private String descriptor;
+
+        /**
+         * The signature token of this constructor which is computed lazily.
+         */
+        private SignatureToken signatureToken;
+
+        /**
+         * The hash code of this constructor which is computed lazily or {@code 0} if it was not yet computed.
+         */
+        private int hashCode;
+
         /**
          * Creates a new immutable method description for a loaded constructor.
          *
@@ -384,7 +429,12 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public TypeList getParameterTypes() {
-            return new TypeList.ForLoadedType(constructor.getParameterTypes());
+            TypeList parameterTypes = this.parameterTypes;
+            if (parameterTypes == null) {
+                parameterTypes = new TypeList.ForLoadedType(constructor.getParameterTypes());
+                this.parameterTypes = parameterTypes;
+            }
+            return parameterTypes;
         }
 
         @Override
@@ -439,7 +489,42 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public String getDescriptor() {
-            return Type.getConstructorDescriptor(constructor);
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = Type.getConstructorDescriptor(constructor);
+                this.descriptor = descriptor;
+            }
+            return descriptor;
+        }
+
+        @Override
+        public String getUniqueSignature() {
+            return getSignatureToken().getUniqueSignature();
+        }
+
+        @Override
+        public SignatureToken getSignatureToken() {
+            SignatureToken signatureToken = this.signatureToken;
+            if (signatureToken == null) {
+                signatureToken = super.getSignatureToken();
+                this.signatureToken = signatureToken;
+            }
+            return signatureToken;
+        }
+
+        @Override
+        protected boolean isHashCodeCached() {
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = this.hashCode;
+            if (hashCode == 0) {
+                hashCode = super.hashCode();
+                this.hashCode = hashCode;
+            }
+            return hashCode;
         }
 
         @Override
@@ -463,6 +548,26 @@ public interface MethodDescription extends ByteCodeElement {
          */
         private final Method method;
 
+        /**
+         * The parameter types of this method which are computed lazily.
+         */
+        private TypeList parameterTypes;
+
+        /**
+         * The descriptor of this method which is computed lazily.
+         */
+        private String descriptor;
+
+        /**
+         * The signature token of this method which is computed lazily.
+         */
+        private SignatureToken signatureToken;
+
+        /**
+         * The hash code of this method which is computed lazily or {@code 0} if it was not yet computed.
+         */
+        private int hashCode;
+
         /**
          * Creates a new immutable method description for a loaded method.
          *
@@ -484,7 +589,12 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public TypeList getParameterTypes() {
-            return new TypeList.ForLoadedType(method.getParameterTypes());
+            TypeList parameterTypes = this.parameterTypes;
+            if (parameterTypes == null) {
+                parameterTypes = new TypeList.ForLoadedType(method.getParameterTypes());
+                this.parameterTypes = parameterTypes;
+            }
+            return parameterTypes;
         }
 
         @Override
@@ -544,7 +654,42 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public String getDescriptor() {
-            return Type.getMethodDescriptor(method);
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = Type.getMethodDescriptor(method);
+                this.descriptor = descriptor;
+            }
+            return descriptor;
+        }
+
+        @Override
+        public String getUniqueSignature() {
+            return getSignatureToken().getUniqueSignature();
+        }
+
+        @Override
+        public SignatureToken getSignatureToken() {
+            SignatureToken signatureToken = this.signatureToken;
+            if (signatureToken == null) {
+                signatureToken = super.getSignatureToken();
+                this.signatureToken = signatureToken;
+            }
+            return signatureToken;
+        }
+
+        @Override
+        protected boolean isHashCodeCached() {
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = this.hashCode;
+            if (hashCode == 0) {
+                hashCode = super.hashCode();
+                this.hashCode = hashCode;
+            }
+            return hashCode;
         }
 
         /**
@@ -710,4 +855,122 @@ public interface MethodDescription extends ByteCodeElement {
             return null;
         }
     }
+
+    /**
+     * A token representing the unique signature of a method, i.e. its internal name and its descriptor. Signature
+     * tokens cache their hash code which makes them a cheap key for maps of methods.
+     */
+    static class SignatureToken {
+
+        /**
+         * The internal name of the represented method.
+         */
+        private final String internalName;
+
+        /**
+         * The descriptor of the represented method.
+         */
+        private final String descriptor;
+
+        /**
+         * The hash code of this token.
+         */
+        private final int hashCode;
+
+        /**
+         * The unique signature of the represented method which is computed lazily.
+         */
+        private String uniqueSignature;
+
+        /**
+         * Creates a new signature token.
+         *
+         * @param internalName The internal name of the represented method.
+         * @param descriptor   The descriptor of the represented method.
+         */
+        protected SignatureToken(String internalName, String descriptor) {
+            this.internalName = internalName;
+            this.descriptor = descriptor;
+            hashCode = 31 * internalName.hashCode() + descriptor.hashCode();
+        }
+
+        /**
+         * Returns a signature token of a method with the given internal name and descriptor.
+         *
+         * @param internalName The internal name of the represented method.
+         * @param descriptor   The descriptor of the represented method.
+         * @return A signature token representing the given method signature.
+         */
+        public static SignatureToken of(String internalName, String descriptor) {
+            return new SignatureToken(internalName, descriptor);
+        }
+
+        /**
+         * Returns a signature token of the given method. If the method description is an
+         * {@link net.bytebuddy.instrumentation.method.MethodDescription.AbstractMethodDescription}, a signature
+         * token that is cached by the method description is reused.
+         *
+         * @param methodDescription The method description to represent.
+         * @return A signature token representing the given method's signature.
+         */
+        public static SignatureToken of(MethodDescription methodDescription) {
+            return methodDescription instanceof AbstractMethodDescription
+                    ? ((AbstractMethodDescription) methodDescription).getSignatureToken()
+                    : of(methodDescription.getInternalName(), methodDescription.getDescriptor());
+        }
+
+        /**
+         * Returns the internal name of the represented method.
+         *
+         * @return The internal name of the represented method.
+         */
+        public String getInternalName() {
+            return internalName;
+        }
+
+        /**
+         * Returns the descriptor of the represented method.
+         *
+         * @return The descriptor of the represented method.
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * Returns the unique signature of the represented method.
+         *
+         * @return The unique signature of the represented method.
+         * @see MethodDescription#getUniqueSignature()
+         */
+        public String getUniqueSignature() {
+            String uniqueSignature = this.uniqueSignature;
+            if (uniqueSignature == null) {
+                uniqueSignature = internalName + descriptor;
+                this.uniqueSignature = uniqueSignature;
+            }
+            return uniqueSignature;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof SignatureToken
+                    && hashCode == ((SignatureToken) other).hashCode
+                    && internalName.equals(((SignatureToken) other).internalName)
+                    && descriptor.equals(((SignatureToken) other).descriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodDescription.SignatureToken{" +
+                    "internalName='" + internalName + '\'' +
+                    ", descriptor='" + descriptor + '\'' +
+                    '}';
+        }
+    }
 }
@@ -99,6 +99,11 @@ public interface MethodList extends FilterableList<MethodDescription, MethodList
             return methodDescriptions.size();
         }
 
+        @Override
+        protected List<? extends MethodDescription> unwrap() {
+            return methodDescriptions;
+        }
+
         @Override
         protected MethodList wrap(List<MethodDescription> values) {
             return new Explicit(values);
@@ -1,6 +1,7 @@
 package net.bytebuddy.instrumentation.method;
 
 import net.bytebuddy.instrumentation.attribute.annotation.AnnotationList;
+import net.bytebuddy.instrumentation.type.PackageDescription;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -9,6 +10,8 @@ import org.objectweb.asm.Opcodes;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -484,7 +487,19 @@ public interface MethodLookupEngine {
 
         @Override
         public Finding process(TypeDescription typeDescription) {
-            MethodBucket methodBucket = new MethodBucket(typeDescription);
+            return process(typeDescription, any());
+        }
+
+        /**
+         * Retrieves all methods that can be called on a given type where only those methods that are declared by
+         * the given type are considered which are matched by the given matcher.
+         *
+         * @param typeDescription       The type for which all invokable methods should be looked up.
+         * @param declaredMethodMatcher A matcher for the methods declared by the given type that are considered.
+         * @return The looked up methods for the given type.
+         */
+        protected Finding process(TypeDescription typeDescription, ElementMatcher<? super MethodDescription> declaredMethodMatcher) {
+            MethodBucket methodBucket = new MethodBucket(typeDescription, declaredMethodMatcher);
             Set<TypeDescription> interfaces = new HashSet<TypeDescription>();
             TypeList defaultMethodRelevantInterfaces = typeDescription.getInterfaces();
             while ((typeDescription = typeDescription.getSupertype()) != null) {
@@ -640,6 +655,17 @@ public interface MethodLookupEngine {
              * @param typeOfInterest The type for which a type extraction is performed.
              */
             protected MethodBucket(TypeDescription typeOfInterest) {
+                this(typeOfInterest, any());
+            }
+
+            /**
+             * Creates a new mutable method bucket which only considers the methods declared by the type of interest
+             * that are matched by the given matcher.
+             *
+             * @param typeOfInterest        The type for which a type extraction is performed.
+             * @param declaredMethodMatcher A matcher for the methods declared by the type of interest that are considered.
+             */
+            protected MethodBucket(TypeDescription typeOfInterest, ElementMatcher<? super MethodDescription> declaredMethodMatcher) {
                 this.typeOfInterest = typeOfInterest;
                 classMethods = new HashMap<String, MethodDescription>();
                 interfaceMethods = new HashMap<String, MethodDescription>();
@@ -647,7 +673,7 @@ public interface MethodLookupEngine {
                 virtualMethodMatcher = isMethod().<MethodDescription>and(not(isPrivate()
                         .<MethodDescription>or(isStatic())
                         .<MethodDescription>or(isPackagePrivate().and(not(isVisibleTo(typeOfInterest))))));
-                pushClass(typeOfInterest, any());
+                pushClass(typeOfInterest, declaredMethodMatcher);
             }
 
             /**
@@ -969,4 +995,305 @@ public interface MethodLookupEngine {
             }
         }
     }
+
+    /**
+     * <p>
+     * A method lookup engine that analyzes the super types and interfaces of a type only once for any shape of a
+     * type. A shape is defined by a type's super type, its interfaces and its package. The methods that are inherited
+     * by a shape are stored in a {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.Templating.Template}
+     * which is then combined with the methods that are declared by any looked up type of this shape. This is
+     * beneficial when many types of the same shape are created, for example when a proxy factory subclasses the
+     * same types repeatedly for different interceptors.
+     * </p>
+     * <p>
+     * <b>Important</b>: Templates are stored for the lifetime of an engine and are looked up by the equality of
+     * type descriptions which compare their names. An engine should therefore not be shared between types that
+     * inherit from different types of identical names.
+     * </p>
+     */
+    static class Templating implements MethodLookupEngine {
+
+        /**
+         * The engine that is used for analyzing the methods that are inherited by a shape.
+         */
+        private final Default methodLookupEngine;
+
+        /**
+         * A map of all shapes that were analyzed by this engine to their templates.
+         */
+        private final ConcurrentMap<Shape, Template> templates;
+
+        /**
+         * Creates a new templating method lookup engine.
+         *
+         * @param methodLookupEngine The engine that is used for analyzing the methods that are inherited by a shape.
+         */
+        public Templating(Default methodLookupEngine) {
+            this.methodLookupEngine = methodLookupEngine;
+            templates = new ConcurrentHashMap<Shape, Template>();
+        }
+
+        @Override
+        public Finding process(TypeDescription typeDescription) {
+            Shape shape = Shape.of(typeDescription);
+            Template template = templates.get(shape);
+            if (template == null) {
+                template = Template.of(methodLookupEngine.process(typeDescription, none()));
+                Template previous = templates.putIfAbsent(shape, template);
+                if (previous != null) {
+                    template = previous;
+                }
+            }
+            return template.apply(typeDescription);
+        }
+
+        @Override
+        public String toString() {
+            return "MethodLookupEngine.Templating{" +
+                    "methodLookupEngine=" + methodLookupEngine +
+                    ", templates=" + templates +
+                    '}';
+        }
+
+        /**
+         * A factory for templating method lookup engines. A factory always returns the same engine for each
+         * configuration such that templates are shared among all users of a factory.
+         */
+        public static class Factory implements MethodLookupEngine.Factory {
+
+            /**
+             * The engine that extracts default methods.
+             */
+            private final MethodLookupEngine extractingEngine;
+
+            /**
+             * The engine that does not extract default methods.
+             */
+            private final MethodLookupEngine nonExtractingEngine;
+
+            /**
+             * Creates a new factory for templating method lookup engines.
+             */
+            public Factory() {
+                extractingEngine = new Templating(new Default(Default.DefaultMethodLookup.ENABLED));
+                nonExtractingEngine = new Templating(new Default(Default.DefaultMethodLookup.DISABLED));
+            }
+
+            @Override
+            public MethodLookupEngine make(boolean extractDefaultMethods) {
+                return extractDefaultMethods
+                        ? extractingEngine
+                        : nonExtractingEngine;
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Templating.Factory{" +
+                        "extractingEngine=" + extractingEngine +
+                        ", nonExtractingEngine=" + nonExtractingEngine +
+                        '}';
+            }
+        }
+
+        /**
+         * Describes the properties of a type that determine the methods that this type inherits.
+         */
+        protected static class Shape {
+
+            /**
+             * The super type of the described type or {@code null} if the type does not define a super type.
+             */
+            private final TypeDescription supertype;
+
+            /**
+             * The interfaces of the described type.
+             */
+            private final List<TypeDescription> interfaces;
+
+            /**
+             * The name of the package of the described type or {@code null} if the type does not define a package.
+             */
+            private final String packageName;
+
+            /**
+             * Creates a new shape.
+             *
+             * @param supertype   The super type of the described type or {@code null} if the type does not define
+             *                    a super type.
+             * @param interfaces  The interfaces of the described type.
+             * @param packageName The name of the package of the described type or {@code null} if the type does not
+             *                    define a package.
+             */
+            protected Shape(TypeDescription supertype, List<TypeDescription> interfaces, String packageName) {
+                this.supertype = supertype;
+                this.interfaces = interfaces;
+                this.packageName = packageName;
+            }
+
+            /**
+             * Creates the shape of the given type.
+             *
+             * @param typeDescription The type for which a shape is to be created.
+             * @return The shape of the given type.
+             */
+            protected static Shape of(TypeDescription typeDescription) {
+                PackageDescription packageDescription = typeDescription.getPackage();
+                return new Shape(typeDescription.getSupertype(),
+                        new ArrayList<TypeDescription>(typeDescription.getInterfaces()),
+                        packageDescription == null
+                                ? null
+                                : packageDescription.getName());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Shape shape = (Shape) other;
+                return (supertype == null ? shape.supertype == null : supertype.equals(shape.supertype))
+                        && interfaces.equals(shape.interfaces)
+                        && (packageName == null ? shape.packageName == null : packageName.equals(shape.packageName));
+            }
+
+            @Override
+            public int hashCode() {
+                int result = supertype == null ? 0 : supertype.hashCode();
+                result = 31 * result + interfaces.hashCode();
+                result = 31 * result + (packageName == null ? 0 : packageName.hashCode());
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Templating.Shape{" +
+                        "supertype=" + supertype +
+                        ", interfaces=" + interfaces +
+                        ", packageName='" + packageName + '\'' +
+                        '}';
+            }
+        }
+
+        /**
+         * A template of the methods that are inherited by any type of a given shape.
+         */
+        protected static class Template {
+
+            /**
+             * The methods that are inherited from the classes of a shape by their unique signature.
+             */
+            private final Map<String, MethodDescription> classMethods;
+
+            /**
+             * The methods that are inherited from the interfaces of a shape by their unique signature.
+             */
+            private final Map<String, MethodDescription> interfaceMethods;
+
+            /**
+             * A map of interfaces that are eligible for default method invocation on any type of the shape.
+             */
+            private final Map<TypeDescription, Set<MethodDescription>> invokableDefaultMethods;
+
+            /**
+             * Creates a new template.
+             *
+             * @param classMethods            The methods that are inherited from the classes of a shape by their
+             *                                unique signature.
+             * @param interfaceMethods        The methods that are inherited from the interfaces of a shape by their
+             *                                unique signature.
+             * @param invokableDefaultMethods A map of interfaces that are eligible for default method invocation on
+             *                                any type of the shape.
+             */
+            protected Template(Map<String, MethodDescription> classMethods,
+                               Map<String, MethodDescription> interfaceMethods,
+                               Map<TypeDescription, Set<MethodDescription>> invokableDefaultMethods) {
+                this.classMethods = classMethods;
+                this.interfaceMethods = interfaceMethods;
+                this.invokableDefaultMethods = invokableDefaultMethods;
+            }
+
+            /**
+             * Creates a template from a finding that does not consider any methods that are declared by the
+             * looked up type.
+             *
+             * @param finding A finding of the methods that are inherited by a type.
+             * @return A template that represents the given finding.
+             */
+            protected static Template of(Finding finding) {
+                Map<String, MethodDescription> classMethods = new LinkedHashMap<String, MethodDescription>();
+                Map<String, MethodDescription> interfaceMethods = new LinkedHashMap<String, MethodDescription>();
+                for (MethodDescription methodDescription : finding.getInvokableMethods()) {
+                    if (methodDescription instanceof ConflictingInterfaceMethod || methodDescription.getDeclaringType().isInterface()) {
+                        interfaceMethods.put(methodDescription.getUniqueSignature(), methodDescription);
+                    } else {
+                        classMethods.put(methodDescription.getUniqueSignature(), methodDescription);
+                    }
+                }
+                return new Template(classMethods, interfaceMethods, finding.getInvokableDefaultMethods());
+            }
+
+            /**
+             * Applies this template to a type of the template's shape. Methods declared by the given type override
+             * any inherited class method and shadow any inherited interface method of identical signature.
+             *
+             * @param typeDescription The type to which this template is applied.
+             * @return A finding of the methods that can be invoked on the given type.
+             */
+            protected Finding apply(TypeDescription typeDescription) {
+                MethodList declaredMethods = typeDescription.getDeclaredMethods();
+                List<MethodDescription> invokableMethods = new ArrayList<MethodDescription>(declaredMethods.size()
+                        + classMethods.size()
+                        + interfaceMethods.size());
+                Set<String> declaredSignatures = new HashSet<String>(declaredMethods.size());
+                for (MethodDescription methodDescription : declaredMethods) {
+                    String uniqueSignature = methodDescription.getUniqueSignature();
+                    declaredSignatures.add(uniqueSignature);
+                    MethodDescription overriddenMethod = classMethods.get(uniqueSignature);
+                    invokableMethods.add(overriddenMethod == null
+                            ? methodDescription
+                            : override(methodDescription, overriddenMethod));
+                }
+                for (Map.Entry<String, MethodDescription> entry : classMethods.entrySet()) {
+                    if (!declaredSignatures.contains(entry.getKey())) {
+                        invokableMethods.add(entry.getValue());
+                    }
+                }
+                for (Map.Entry<String, MethodDescription> entry : interfaceMethods.entrySet()) {
+                    if (!declaredSignatures.contains(entry.getKey())) {
+                        MethodDescription methodDescription = entry.getValue();
+                        invokableMethods.add(methodDescription instanceof ConflictingInterfaceMethod
+                                ? new ConflictingInterfaceMethod(typeDescription, ((ConflictingInterfaceMethod) methodDescription).methodDescriptions)
+                                : methodDescription);
+                    }
+                }
+                return new Finding.Default(typeDescription, new MethodList.Explicit(invokableMethods), invokableDefaultMethods);
+            }
+
+            /**
+             * Represents a declared method that overrides an inherited class method.
+             *
+             * @param overridingMethod The declared method.
+             * @param overriddenMethod The inherited class method which might itself override other methods.
+             * @return A method description of the declared method that overrides the inherited method.
+             */
+            private static MethodDescription override(MethodDescription overridingMethod, MethodDescription overriddenMethod) {
+                if (overriddenMethod instanceof OverridenClassMethod) {
+                    for (MethodDescription methodDescription : ((OverridenClassMethod) overriddenMethod).methodChain) {
+                        overridingMethod = OverridenClassMethod.of(overridingMethod, methodDescription);
+                    }
+                    return overridingMethod;
+                } else {
+                    return OverridenClassMethod.of(overridingMethod, overriddenMethod);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Templating.Template{" +
+                        "classMethods=" + classMethods +
+                        ", interfaceMethods=" + interfaceMethods +
+                        ", invokableDefaultMethods=" + invokableDefaultMethods +
+                        '}';
+            }
+        }
+    }
 }
@@ -34,7 +34,9 @@ import static net.bytebuddy.matcher.ElementMatchers.returns;
  * <li>{@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super.Instantiation#UNSAFE}:
  * The proxy is created by making use of Java's {@link sun.reflect.ReflectionFactory} which is however not a public API which
  * is why it should be used with care. No constructor is called when this strategy is used. If this option is set, the
- * {@link Super#constructorParameters()} parameter is ignored.</li>
+ * {@link Super#constructorParameters()} parameter is ignored. As such a proxy does not carry any state other than
+ * the intercepted instance, a proxy can be reused for any interception on the same instance by setting
+ * {@link Super#reuseProxy()} to {@code true} which avoids an allocation on every intercepted call.</li>
  * </ol>
  * Note that when for example intercepting a type {@code Foo} that implements some interface {@code Bar}, the proxy type
  * will only implement {@code Bar} and therefore extend {@link java.lang.Object} what allows for calling the default
@@ -83,6 +85,20 @@ public @interface Super {
      */
     Class<?>[] constructorParameters() default {};
 
+    /**
+     * Determines if a single proxy should be reused for any interception on the same instance of the instrumented type.
+     * This option is only considered for the {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super.Instantiation#UNSAFE}
+     * strategy as a constructor call might otherwise have side effects. A reused proxy is stored in a {@code transient}
+     * field of the instrumented type such that this option must not be used if the interceptor relies on the proxy's
+     * identity. As this field is added to the instrumented type, this option must also not be used when a type is
+     * redefined or retransformed after it was loaded, for example by an
+     * {@link net.bytebuddy.agent.builder.AgentBuilder} that retransforms loaded types, as the virtual machine rejects
+     * any change of a loaded type's fields.
+     *
+     * @return {@code true} if a proxy should be reused for any interception on the same instance.
+     */
+    boolean reuseProxy() default false;
+
     /**
      * Determines the instantiation of the proxy type.
      *
@@ -126,7 +142,8 @@ public @interface Super {
                 return new TypeProxy.ForSuperMethodByReflectionFactory(parameterType,
                         instrumentationTarget,
                         annotation.getValue(IGNORE_FINALIZER, Boolean.class),
-                        annotation.getValue(SERIALIZABLE_PROXY, Boolean.class));
+                        annotation.getValue(SERIALIZABLE_PROXY, Boolean.class),
+                        annotation.getValue(REUSE_PROXY, Boolean.class));
             }
         };
 
@@ -145,6 +162,11 @@ public @interface Super {
          */
         private static final MethodDescription CONSTRUCTOR_PARAMETERS;
 
+        /**
+         * A reference to the reuse proxy method.
+         */
+        private static final MethodDescription REUSE_PROXY;
+
         /**
          * Extracts method references to the annotation methods.
          */
@@ -153,6 +175,7 @@ public @interface Super {
             IGNORE_FINALIZER = annotationProperties.filter(named("ignoreFinalizer")).getOnly();
             SERIALIZABLE_PROXY = annotationProperties.filter(named("serializableProxy")).getOnly();
             CONSTRUCTOR_PARAMETERS = annotationProperties.filter(named("constructorParameters")).getOnly();
+            REUSE_PROXY = annotationProperties.filter(named("reuseProxy")).getOnly();
         }
 
         /**
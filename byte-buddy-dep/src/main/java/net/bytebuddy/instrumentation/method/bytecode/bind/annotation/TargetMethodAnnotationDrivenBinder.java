@@ -2,6 +2,7 @@ package net.bytebuddy.instrumentation.method.bytecode.bind.annotation;
 
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription;
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationList;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder;
 import net.bytebuddy.instrumentation.method.bytecode.stack.Removal;
@@ -12,6 +13,8 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This {@link net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder} binds
@@ -79,13 +82,14 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
         if (!methodTermination.isValid()) {
             return MethodBinding.Illegal.INSTANCE;
         }
+        DelegationProcessor.BindingPlan bindingPlan = delegationProcessor.plan(target);
         MethodBinding.Builder methodDelegationBindingBuilder = new MethodBinding.Builder(methodInvoker, target);
         Iterator<AnnotationDescription> defaults = defaultsProvider.makeIterator(instrumentationTarget, source, target);
         for (int targetParameterIndex = 0;
-             targetParameterIndex < target.getParameterTypes().size();
+             targetParameterIndex < bindingPlan.getParameterCount();
              targetParameterIndex++) {
-            ParameterBinding<?> parameterBinding = delegationProcessor
-                    .handler(target.getParameterAnnotations().get(targetParameterIndex), defaults)
+            ParameterBinding<?> parameterBinding = bindingPlan
+                    .handler(targetParameterIndex, defaults)
                     .bind(targetParameterIndex,
                             source,
                             target,
@@ -297,6 +301,12 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
          */
         private final Map<TypeDescription, ParameterBinder<?>> parameterBinders;
 
+        /**
+         * A cache of binding plans for target methods that were already processed by this delegation processor.
+         * This cache does not contribute to the delegation processor's identity.
+         */
+        private final ConcurrentMap<MethodDescription, BindingPlan> bindingPlans;
+
         /**
          * Creates a new delegation processor.
          *
@@ -312,17 +322,53 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
                 }
             }
             this.parameterBinders = Collections.unmodifiableMap(parameterBinderMap);
+            bindingPlans = new ConcurrentHashMap<MethodDescription, BindingPlan>();
         }
 
         /**
-         * Locates a handler which is responsible for processing the given parameter. If no explicit handler can
-         * be located, a fallback handler is provided.
+         * Returns the binding plan for the given target method. A binding plan is only computed once for any target
+         * method and is reused for binding this target method to any source method.
+         *
+         * @param target The target method for which a binding plan is requested.
+         * @return A binding plan for the given target method.
+         */
+        private BindingPlan plan(MethodDescription target) {
+            BindingPlan bindingPlan = bindingPlans.get(target);
+            if (bindingPlan == null) {
+                bindingPlan = compile(target);
+                BindingPlan previous = bindingPlans.putIfAbsent(target, bindingPlan);
+                if (previous != null) {
+                    bindingPlan = previous;
+                }
+            }
+            return bindingPlan;
+        }
+
+        /**
+         * Computes a binding plan for the given target method by locating an explicit handler for each of the
+         * target method's parameters.
+         *
+         * @param target The target method for which a binding plan is to be computed.
+         * @return A binding plan for the given target method.
+         */
+        private BindingPlan compile(MethodDescription target) {
+            int parameterCount = target.getParameterTypes().size();
+            List<AnnotationList> parameterAnnotations = target.getParameterAnnotations();
+            Handler[] handlers = new Handler[parameterCount];
+            for (int index = 0; index < parameterCount; index++) {
+                handlers[index] = handler(parameterAnnotations.get(index));
+            }
+            return new BindingPlan(handlers);
+        }
+
+        /**
+         * Locates a handler which is responsible for processing a parameter with the given annotations.
          *
          * @param annotations The annotations of the parameter for which a handler should be provided.
-         * @param defaults    The defaults provider to be queried if no explicit handler mapping could be found.
-         * @return A handler for processing the parameter with the given annotations.
+         * @return A handler for processing the parameter with the given annotations or {@code null} if no explicit
+         * handler mapping could be found such that the parameter must be bound by a default annotation.
          */
-        private Handler handler(List<AnnotationDescription> annotations, Iterator<AnnotationDescription> defaults) {
+        private Handler handler(List<AnnotationDescription> annotations) {
             Handler handler = null;
             for (AnnotationDescription annotation : annotations) {
                 ParameterBinder<?> parameterBinder = parameterBinders.get(annotation.getAnnotationType());
@@ -332,22 +378,27 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
                     handler = makeHandler(parameterBinder, annotation);
                 }
             }
-            if (handler == null) { // No handler was found: attempt using defaults provider.
-                if (defaults.hasNext()) {
-                    AnnotationDescription defaultAnnotation = defaults.next();
-                    ParameterBinder<?> parameterBinder = parameterBinders.get(defaultAnnotation.getAnnotationType());
-                    if (parameterBinder == null) {
-                        return Handler.Unbound.INSTANCE;
-                    } else {
-                        handler = makeHandler(parameterBinder, defaultAnnotation);
-                    }
-                } else {
-                    return Handler.Unbound.INSTANCE;
-                }
-            }
             return handler;
         }
 
+        /**
+         * Locates a handler for a parameter without an explicit handler mapping by querying the defaults provider.
+         *
+         * @param defaults The defaults provider to be queried.
+         * @return A handler for processing the parameter.
+         */
+        private Handler handler(Iterator<AnnotationDescription> defaults) {
+            if (defaults.hasNext()) {
+                AnnotationDescription defaultAnnotation = defaults.next();
+                ParameterBinder<?> parameterBinder = parameterBinders.get(defaultAnnotation.getAnnotationType());
+                return parameterBinder == null
+                        ? Handler.Unbound.INSTANCE
+                        : makeHandler(parameterBinder, defaultAnnotation);
+            } else {
+                return Handler.Unbound.INSTANCE;
+            }
+        }
+
         /**
          * Creates a handler for a given annotation.
          *
@@ -379,6 +430,59 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
                     '}';
         }
 
+        /**
+         * A binding plan records the handlers of a target method's parameters that are explicitly annotated. Parameters
+         * without an explicit handler are bound by querying a defaults provider which depends on the source method.
+         */
+        private class BindingPlan {
+
+            /**
+             * The handlers of the target method's parameters where a {@code null} value indicates a parameter that
+             * is bound by a default annotation.
+             */
+            private final Handler[] handlers;
+
+            /**
+             * Creates a new binding plan.
+             *
+             * @param handlers The handlers of the target method's parameters where a {@code null} value indicates
+             *                 a parameter that is bound by a default annotation.
+             */
+            private BindingPlan(Handler[] handlers) {
+                this.handlers = handlers;
+            }
+
+            /**
+             * Returns the number of parameters of the target method.
+             *
+             * @return The number of parameters of the target method.
+             */
+            private int getParameterCount() {
+                return handlers.length;
+            }
+
+            /**
+             * Returns the handler for a given parameter.
+             *
+             * @param targetParameterIndex The index of the target method's parameter.
+             * @param defaults             The defaults provider to be queried if no explicit handler mapping exists.
+             * @return A handler for processing the given parameter.
+             */
+            private Handler handler(int targetParameterIndex, Iterator<AnnotationDescription> defaults) {
+                Handler handler = handlers[targetParameterIndex];
+                return handler == null
+                        ? DelegationProcessor.this.handler(defaults)
+                        : handler;
+            }
+
+            @Override
+            public String toString() {
+                return "TargetMethodAnnotationDrivenBinder.DelegationProcessor.BindingPlan{" +
+                        "handlers=" + Arrays.toString(handlers) +
+                        '}';
+            }
+        }
+
         /**
          * A handler is responsible for processing a parameter's binding.
          */
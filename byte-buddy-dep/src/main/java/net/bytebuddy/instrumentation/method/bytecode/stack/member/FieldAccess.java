@@ -1,12 +1,16 @@
 package net.bytebuddy.instrumentation.method.bytecode.stack.member;
 
 import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription;
 import net.bytebuddy.instrumentation.field.FieldDescription;
+import net.bytebuddy.instrumentation.field.FieldList;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
 /**
  * An access representation to a given field.
  */
@@ -66,6 +70,20 @@ public enum FieldAccess {
         }
     }
 
+    /**
+     * Creates a stack manipulation that loads the constant of an enumeration onto the operand stack by reading the
+     * constant's static field.
+     *
+     * @param enumerationValue The enumeration constant to load.
+     * @return A stack manipulation that loads the given enumeration constant onto the operand stack.
+     */
+    public static StackManipulation forEnumeration(AnnotationDescription.EnumerationValue enumerationValue) {
+        FieldList fieldList = enumerationValue.getEnumerationType().getDeclaredFields().filter(named(enumerationValue.getValue()));
+        return fieldList.size() != 1 || !fieldList.getOnly().isStatic() || !fieldList.getOnly().isPublic()
+                ? StackManipulation.Illegal.INSTANCE
+                : STATIC.new AccessDispatcher(fieldList.getOnly()).getter();
+    }
+
     /**
      * Representation of a field access for which a getter and a putter can be created.
      */
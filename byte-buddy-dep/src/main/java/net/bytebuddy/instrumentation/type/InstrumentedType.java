@@ -7,11 +7,12 @@ import net.bytebuddy.instrumentation.field.FieldList;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.MethodList;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.utility.PersistentList;
+import net.bytebuddy.utility.PersistentMap;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -201,7 +202,15 @@ public interface InstrumentedType extends TypeDescription {
     }
 
     /**
+     * <p>
      * An abstract base implementation of an instrumented type.
+     * </p>
+     * <p>
+     * The declared members of an instrumented type are stored by {@link InstrumentedType.AbstractBase.DeclaredMembers}
+     * which are shared with any instrumented type that is derived from this type. Adding a member therefore does not
+     * copy the already declared members. Members that were declared by a previous instance of an instrumented type
+     * are bound to the querying instance when its declared fields or methods are queried for the first time.
+     * </p>
      */
     abstract static class AbstractBase extends AbstractTypeDescription.OfSimpleType implements InstrumentedType {
 
@@ -216,14 +225,19 @@ public interface InstrumentedType extends TypeDescription {
         protected final TypeInitializer typeInitializer;
 
         /**
-         * A list of field descriptions registered for this instrumented type.
+         * The members that are declared by this instrumented type.
          */
-        protected final List<FieldDescription> fieldDescriptions;
+        protected final DeclaredMembers declaredMembers;
 
         /**
-         * A list of method descriptions registered for this instrumented type.
+         * The declared fields bound to this instrumented type or {@code null} if they were not yet bound.
          */
-        protected final List<MethodDescription> methodDescriptions;
+        private volatile FieldList declaredFields;
+
+        /**
+         * The declared methods bound to this instrumented type or {@code null} if they were not yet bound.
+         */
+        private volatile MethodList declaredMethods;
 
         /**
          * Creates a new instrumented type with a no-op loaded type initializer and without registered fields or
@@ -232,8 +246,7 @@ public interface InstrumentedType extends TypeDescription {
         protected AbstractBase() {
             loadedTypeInitializer = LoadedTypeInitializer.NoOp.INSTANCE;
             typeInitializer = TypeInitializer.None.INSTANCE;
-            fieldDescriptions = Collections.emptyList();
-            methodDescriptions = Collections.emptyList();
+            declaredMembers = new DeclaredMembers();
         }
 
         /**
@@ -254,14 +267,31 @@ public interface InstrumentedType extends TypeDescription {
                                List<? extends MethodDescription> methodDescriptions) {
             this.loadedTypeInitializer = loadedTypeInitializer;
             this.typeInitializer = typeInitializer;
-            this.fieldDescriptions = new ArrayList<FieldDescription>(fieldDescriptions.size());
+            DeclaredMembers declaredMembers = new DeclaredMembers();
             for (FieldDescription fieldDescription : fieldDescriptions) {
-                this.fieldDescriptions.add(new FieldToken(typeName, fieldDescription));
+                declaredMembers = declaredMembers.with(new FieldToken(typeName, fieldDescription));
             }
-            this.methodDescriptions = new ArrayList<MethodDescription>(methodDescriptions.size());
             for (MethodDescription methodDescription : methodDescriptions) {
-                this.methodDescriptions.add(new MethodToken(typeName, methodDescription));
+                declaredMembers = declaredMembers.with(new MethodToken(typeName, methodDescription),
+                        MethodDescription.SignatureToken.of(methodDescription));
             }
+            this.declaredMembers = declaredMembers;
+        }
+
+        /**
+         * Creates a new instrumented type with the given loaded type initializer and the given declared members. The
+         * declared members must only contain members of instrumented types with the same name as this type.
+         *
+         * @param loadedTypeInitializer A loaded type initializer for this instrumented type.
+         * @param typeInitializer       A type initializer for this instrumented type.
+         * @param declaredMembers       The members that are declared by this instrumented type.
+         */
+        protected AbstractBase(LoadedTypeInitializer loadedTypeInitializer,
+                               TypeInitializer typeInitializer,
+                               DeclaredMembers declaredMembers) {
+            this.loadedTypeInitializer = loadedTypeInitializer;
+            this.typeInitializer = typeInitializer;
+            this.declaredMembers = declaredMembers;
         }
 
         /**
@@ -313,12 +343,34 @@ public interface InstrumentedType extends TypeDescription {
 
         @Override
         public FieldList getDeclaredFields() {
-            return new FieldList.Explicit(fieldDescriptions);
+            FieldList declaredFields = this.declaredFields;
+            if (declaredFields == null) {
+                List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>(declaredMembers.getFields().size());
+                for (FieldDescription fieldDescription : declaredMembers.getFields()) {
+                    fieldDescriptions.add(fieldDescription.getDeclaringType() == this
+                            ? fieldDescription
+                            : new FieldToken(getName(), fieldDescription));
+                }
+                declaredFields = new FieldList.Explicit(fieldDescriptions);
+                this.declaredFields = declaredFields;
+            }
+            return declaredFields;
         }
 
         @Override
         public MethodList getDeclaredMethods() {
-            return new MethodList.Explicit(methodDescriptions);
+            MethodList declaredMethods = this.declaredMethods;
+            if (declaredMethods == null) {
+                List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>(declaredMembers.getMethods().size());
+                for (MethodDescription methodDescription : declaredMembers.getMethods()) {
+                    methodDescriptions.add(methodDescription.getDeclaringType() == this
+                            ? methodDescription
+                            : new MethodToken(getName(), methodDescription));
+                }
+                declaredMethods = new MethodList.Explicit(methodDescriptions);
+                this.declaredMethods = declaredMethods;
+            }
+            return declaredMethods;
         }
 
         @Override
@@ -339,6 +391,160 @@ public interface InstrumentedType extends TypeDescription {
                     : new PackageDescription.Simple(packageName);
         }
 
+        /**
+         * The members that are declared by an instrumented type. Declared members are stored in persistent lists such
+         * that adding a member to the members that were most recently derived from a given instance only requires
+         * amortized constant time. Fields are additionally indexed by their name and methods by their signature such
+         * that checking if a member is already declared does not require a linear search. The stored members might
+         * be declared by any instance of an instrumented type with the same name.
+         */
+        protected static class DeclaredMembers {
+
+            /**
+             * The declared fields in their declaration order.
+             */
+            private final PersistentList<FieldDescription> fields;
+
+            /**
+             * The declared methods in their declaration order.
+             */
+            private final PersistentList<MethodDescription> methods;
+
+            /**
+             * The declared fields by their names.
+             */
+            private final PersistentMap<String, FieldDescription> fieldsByName;
+
+            /**
+             * The declared methods by their signature tokens.
+             */
+            private final PersistentMap<MethodDescription.SignatureToken, MethodDescription> methodsBySignature;
+
+            /**
+             * Creates an empty representation of declared members.
+             */
+            public DeclaredMembers() {
+                this(PersistentList.<FieldDescription>empty(),
+                        PersistentList.<MethodDescription>empty(),
+                        PersistentMap.<String, FieldDescription>empty(),
+                        PersistentMap.<MethodDescription.SignatureToken, MethodDescription>empty());
+            }
+
+            /**
+             * Creates a new representation of declared members.
+             *
+             * @param fields             The declared fields in their declaration order.
+             * @param methods            The declared methods in their declaration order.
+             * @param fieldsByName       The declared fields by their names.
+             * @param methodsBySignature The declared methods by their signature tokens.
+             */
+            private DeclaredMembers(PersistentList<FieldDescription> fields,
+                                    PersistentList<MethodDescription> methods,
+                                    PersistentMap<String, FieldDescription> fieldsByName,
+                                    PersistentMap<MethodDescription.SignatureToken, MethodDescription> methodsBySignature) {
+                this.fields = fields;
+                this.methods = methods;
+                this.fieldsByName = fieldsByName;
+                this.methodsBySignature = methodsBySignature;
+            }
+
+            /**
+             * Returns these members with an additional field.
+             *
+             * @param fieldDescription The field to add.
+             * @return These members with the additional field.
+             */
+            public DeclaredMembers with(FieldDescription fieldDescription) {
+                return new DeclaredMembers(fields.append(fieldDescription),
+                        methods,
+                        fieldsByName.with(fieldDescription.getName(), fieldDescription),
+                        methodsBySignature);
+            }
+
+            /**
+             * Returns these members with an additional method.
+             *
+             * @param methodDescription The method to add.
+             * @return These members with the additional method.
+             */
+            public DeclaredMembers with(MethodDescription methodDescription) {
+                return with(methodDescription, MethodDescription.SignatureToken.of(methodDescription));
+            }
+
+            /**
+             * Returns these members with an additional method that is indexed by the given signature token. This
+             * allows to index a method that references an instrumented type which is not yet fully constructed.
+             *
+             * @param methodDescription The method to add.
+             * @param signatureToken    The signature token of the method to add.
+             * @return These members with the additional method.
+             */
+            public DeclaredMembers with(MethodDescription methodDescription, MethodDescription.SignatureToken signatureToken) {
+                return new DeclaredMembers(fields,
+                        methods.append(methodDescription),
+                        fieldsByName,
+                        methodsBySignature.with(signatureToken, methodDescription));
+            }
+
+            /**
+             * Checks if a field of the given field's name is declared.
+             *
+             * @param fieldDescription The field to check.
+             * @return {@code true} if a field of the given field's name is declared.
+             */
+            public boolean isDeclared(FieldDescription fieldDescription) {
+                return fieldsByName.containsKey(fieldDescription.getName());
+            }
+
+            /**
+             * Checks if a method of the given method's signature is declared.
+             *
+             * @param methodDescription The method to check.
+             * @return {@code true} if a method of the given method's signature is declared.
+             */
+            public boolean isDeclared(MethodDescription methodDescription) {
+                return methodsBySignature.containsKey(MethodDescription.SignatureToken.of(methodDescription));
+            }
+
+            /**
+             * Returns the declared fields in their declaration order.
+             *
+             * @return The declared fields in their declaration order.
+             */
+            public List<FieldDescription> getFields() {
+                return fields;
+            }
+
+            /**
+             * Returns the declared methods in their declaration order.
+             *
+             * @return The declared methods in their declaration order.
+             */
+            public List<MethodDescription> getMethods() {
+                return methods;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && fields.equals(((DeclaredMembers) other).fields)
+                        && methods.equals(((DeclaredMembers) other).methods);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * fields.hashCode() + methods.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "InstrumentedType.AbstractBase.DeclaredMembers{" +
+                        "fields=" + fields +
+                        ", methods=" + methods +
+                        '}';
+            }
+        }
+
         /**
          * An implementation of a new field for the enclosing instrumented type.
          */
@@ -495,6 +495,16 @@ public interface TypeDescription extends ByteCodeElement {
          */
         private final Class<?> type;
 
+        /**
+         * The internal name of this type which is computed lazily.
+         */
+        private String internalName;
+
+        /**
+         * The descriptor of this type which is computed lazily.
+         */
+        private String descriptor;
+
         /**
          * Creates a new immutable type description for a loaded type.
          *
@@ -649,9 +659,24 @@ public interface TypeDescription extends ByteCodeElement {
             return type.getName();
         }
 
+        @Override
+        public String getInternalName() {
+            String internalName = this.internalName;
+            if (internalName == null) {
+                internalName = super.getInternalName();
+                this.internalName = internalName;
+            }
+            return internalName;
+        }
+
         @Override
         public String getDescriptor() {
-            return Type.getDescriptor(type);
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = Type.getDescriptor(type);
+                this.descriptor = descriptor;
+            }
+            return descriptor;
         }
 
         @Override
@@ -133,6 +133,11 @@ public interface TypeList extends FilterableList<TypeDescription, TypeList> {
             return stackSize;
         }
 
+        @Override
+        protected List<? extends TypeDescription> unwrap() {
+            return typeDescriptions;
+        }
+
         @Override
         protected TypeList wrap(List<TypeDescription> values) {
             return new Explicit(values);
@@ -9,6 +9,7 @@ import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.MethodLookupEngine;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.Duplication;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Removal;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.Throw;
 import net.bytebuddy.instrumentation.method.bytecode.stack.TypeCreation;
@@ -21,11 +22,13 @@ import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.modifier.Ownership;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.List;
 
@@ -48,6 +51,12 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
      */
     public static final String INSTANCE_FIELD = "target";
 
+    /**
+     * The name of the {@code static} field that caches the serialization constructor which is used by the
+     * {@link net.bytebuddy.instrumentation.type.auxiliary.TypeProxy#REFLECTION_METHOD}.
+     */
+    public static final String CONSTRUCTOR_FIELD = "constructor";
+
     /**
      * The type that is proxied, i.e. the original instrumented type this proxy is created for.
      */
@@ -193,7 +202,9 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
     /**
      * An implementation of a <i>silent construction</i> of a given type by using the non-standardized
      * {@link sun.reflect.ReflectionFactory}. This way, a constructor invocation can be avoided. However, this comes
-     * at the cost of potentially breaking compatibility as the reflection factory is not standardized.
+     * at the cost of potentially breaking compatibility as the reflection factory is not standardized. The
+     * serialization constructor is only looked up on the first construction and is cached in a {@code static} field
+     * of the instrumented type for any subsequent construction.
      */
     protected enum SilentConstruction implements Instrumentation {
 
@@ -204,7 +215,9 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
 
         @Override
         public InstrumentedType prepare(InstrumentedType instrumentedType) {
-            return instrumentedType;
+            return instrumentedType.withField(CONSTRUCTOR_FIELD,
+                    new TypeDescription.ForLoadedType(Constructor.class),
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC);
         }
 
         @Override
@@ -258,6 +271,11 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
              */
             public static final String JAVA_LANG_CONSTRUCTOR_INTERNAL_NAME = "java/lang/reflect/Constructor";
 
+            /**
+             * The descriptor of the {@link java.lang.reflect.Constructor} class.
+             */
+            public static final String JAVA_LANG_CONSTRUCTOR_DESCRIPTOR = "Ljava/lang/reflect/Constructor;";
+
             /**
              * The internal name of the {@link java.lang.reflect.Constructor#newInstance(Object...)} method.
              */
@@ -305,6 +323,14 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
 
             @Override
             public Size apply(MethodVisitor methodVisitor, Context instrumentationContext, MethodDescription instrumentedMethod) {
+                methodVisitor.visitFieldInsn(Opcodes.GETSTATIC,
+                        instrumentedType.getInternalName(),
+                        CONSTRUCTOR_FIELD,
+                        JAVA_LANG_CONSTRUCTOR_DESCRIPTOR);
+                methodVisitor.visitInsn(Opcodes.DUP);
+                Label initialized = new Label();
+                methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, initialized);
+                methodVisitor.visitInsn(Opcodes.POP);
                 methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC,
                         REFLECTION_FACTORY_INTERNAL_NAME,
                         GET_REFLECTION_FACTORY_METHOD_NAME,
@@ -324,6 +350,12 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
                         NEW_CONSTRUCTOR_FOR_SERIALIZATION_METHOD_NAME,
                         NEW_CONSTRUCTOR_FOR_SERIALIZATION_METHOD_DESCRIPTOR,
                         false);
+                methodVisitor.visitInsn(Opcodes.DUP);
+                methodVisitor.visitFieldInsn(Opcodes.PUTSTATIC,
+                        instrumentedType.getInternalName(),
+                        CONSTRUCTOR_FIELD,
+                        JAVA_LANG_CONSTRUCTOR_DESCRIPTOR);
+                methodVisitor.visitLabel(initialized);
                 methodVisitor.visitInsn(Opcodes.ICONST_0);
                 methodVisitor.visitTypeInsn(Opcodes.ANEWARRAY, JAVA_LANG_OBJECT_INTERNAL_NAME);
                 methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, JAVA_LANG_CONSTRUCTOR_INTERNAL_NAME,
@@ -530,7 +562,12 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
      * Loads a type proxy onto the operand stack which is created by constructing a serialization constructor using
      * the Oracle JDK's {@link sun.reflect.ReflectionFactory#newConstructorForSerialization(Class, java.lang.reflect.Constructor)}
      * method which might not be available in any Java runtime. When this stack manipulation is applied, an instance of
-     * the instrumented type must lie on top of the operand stack.
+     * the instrumented type must lie on top of the operand stack. As no constructor is invoked for creating such a proxy,
+     * the proxy does not carry any state other than its target such that a single proxy can optionally be reused for
+     * any invocation on the same instance of the instrumented type. Such a proxy is then stored in a {@code transient}
+     * instance field of the instrumented type when it is first created. A proxy is only reused if the instrumentation
+     * context is an {@link net.bytebuddy.instrumentation.Instrumentation.Context.ExtractableView} that can define
+     * such a field.
      */
     public static class ForSuperMethodByReflectionFactory implements StackManipulation {
 
@@ -555,7 +592,13 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
         private final boolean serializableProxy;
 
         /**
-         * Creates a new stack operation for reflectively creating a type proxy for the given arguments.
+         * {@code true} if a proxy should be reused for any invocation on the same instance of the instrumented type.
+         */
+        private final boolean reuseProxy;
+
+        /**
+         * Creates a new stack operation for reflectively creating a type proxy for the given arguments. The created
+         * proxy is not reused.
          *
          * @param proxiedType           The type for the type proxy to subclass or implement.
          * @param instrumentationTarget The instrumentation target this type proxy is created for.
@@ -566,10 +609,29 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
                                                  Instrumentation.Target instrumentationTarget,
                                                  boolean ignoreFinalizer,
                                                  boolean serializableProxy) {
+            this(proxiedType, instrumentationTarget, ignoreFinalizer, serializableProxy, false);
+        }
+
+        /**
+         * Creates a new stack operation for reflectively creating a type proxy for the given arguments.
+         *
+         * @param proxiedType           The type for the type proxy to subclass or implement.
+         * @param instrumentationTarget The instrumentation target this type proxy is created for.
+         * @param ignoreFinalizer       {@code true} if any finalizer methods should be ignored for proxying.
+         * @param serializableProxy     Determines if the proxy should be serializable.
+         * @param reuseProxy            {@code true} if a proxy should be reused for any invocation on the same instance
+         *                              of the instrumented type.
+         */
+        public ForSuperMethodByReflectionFactory(TypeDescription proxiedType,
+                                                 Instrumentation.Target instrumentationTarget,
+                                                 boolean ignoreFinalizer,
+                                                 boolean serializableProxy,
+                                                 boolean reuseProxy) {
             this.proxiedType = proxiedType;
             this.instrumentationTarget = instrumentationTarget;
             this.ignoreFinalizer = ignoreFinalizer;
             this.serializableProxy = serializableProxy;
+            this.reuseProxy = reuseProxy;
         }
 
         @Override
@@ -585,14 +647,31 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
                             InvocationFactory.Default.SUPER_METHOD,
                             ignoreFinalizer,
                             serializableProxy));
-            return new Compound(
+            StackManipulation proxyCreation = new Compound(
                     MethodInvocation.invoke(proxyType.getDeclaredMethods()
                             .filter(named(REFLECTION_METHOD).and(takesArguments(0))).getOnly()),
                     Duplication.SINGLE,
                     MethodVariableAccess.forType(instrumentationTarget.getTypeDescription()).loadFromIndex(0),
                     FieldAccess.forField(proxyType.getDeclaredFields()
                             .filter((named(INSTANCE_FIELD))).getOnly()).putter()
-            ).apply(methodVisitor, instrumentationContext);
+            );
+            if (!reuseProxy
+                    || instrumentationTarget.getTypeDescription().isInterface()
+                    || !(instrumentationContext instanceof Instrumentation.Context.ExtractableView)) {
+                return proxyCreation.apply(methodVisitor, instrumentationContext);
+            }
+            FieldAccess.Defined proxyCache = FieldAccess.forField(((Instrumentation.Context.ExtractableView) instrumentationContext)
+                    .cacheInstance(proxyType));
+            StackManipulation thisReference = MethodVariableAccess.forType(instrumentationTarget.getTypeDescription()).loadFromIndex(0);
+            Size size = new Compound(thisReference, proxyCache.getter(), Duplication.SINGLE).apply(methodVisitor, instrumentationContext);
+            Label initialized = new Label();
+            methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, initialized);
+            size = size.aggregate(new Size(-1, 0))
+                    .aggregate(new Compound(Removal.SINGLE, thisReference, proxyCreation).apply(methodVisitor, instrumentationContext));
+            methodVisitor.visitInsn(Opcodes.DUP_X1);
+            size = size.aggregate(new Size(1, 1)).aggregate(proxyCache.putter().apply(methodVisitor, instrumentationContext));
+            methodVisitor.visitLabel(initialized);
+            return size;
         }
 
         @Override
@@ -603,7 +682,8 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
             return ignoreFinalizer == that.ignoreFinalizer
                     && instrumentationTarget.equals(that.instrumentationTarget)
                     && proxiedType.equals(that.proxiedType)
-                    && serializableProxy == that.serializableProxy;
+                    && serializableProxy == that.serializableProxy
+                    && reuseProxy == that.reuseProxy;
         }
 
         @Override
@@ -612,6 +692,7 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
             result = 31 * result + instrumentationTarget.hashCode();
             result = 31 * result + (ignoreFinalizer ? 1 : 0);
             result = 31 * result + (serializableProxy ? 1 : 0);
+            result = 31 * result + (reuseProxy ? 1 : 0);
             return result;
         }
 
@@ -622,6 +703,7 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
                     ", instrumentationTarget=" + instrumentationTarget +
                     ", ignoreFinalizer=" + ignoreFinalizer +
                     ", serializableProxy=" + serializableProxy +
+                    ", reuseProxy=" + reuseProxy +
                     '}';
         }
     }
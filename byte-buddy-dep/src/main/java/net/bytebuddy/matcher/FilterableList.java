@@ -76,7 +76,14 @@ public interface FilterableList<T, S extends FilterableList<T, S>> extends List<
     }
 
     /**
+     * <p>
      * A base implementation of a {@link net.bytebuddy.matcher.FilterableList}.
+     * </p>
+     * <p>
+     * Filtering such a list does not copy any elements but returns a lazy view of the filtered elements. Filters that
+     * are applied on such a view are fused with the view's filter into a single view. The filtered elements are
+     * collected and cached on the first use of a view.
+     * </p>
      *
      * @param <T> The type of the collection's elements.
      * @param <S> The type of this list.
@@ -86,15 +93,10 @@ public interface FilterableList<T, S extends FilterableList<T, S>> extends List<
         @Override
         @SuppressWarnings("unchecked")
         public S filter(ElementMatcher<? super T> elementMatcher) {
-            List<T> filteredElements = new ArrayList<T>(size());
-            for (T value : this) {
-                if (elementMatcher.matches(value)) {
-                    filteredElements.add(value);
-                }
-            }
-            return filteredElements.size() == size() ?
-                    (S) this
-                    : wrap(filteredElements);
+            List<? extends T> values = unwrap();
+            return wrap(values instanceof Filtered
+                    ? ((Filtered<T>) values).filter(elementMatcher)
+                    : new Filtered<T>(this, elementMatcher));
         }
 
         @Override
@@ -111,6 +113,16 @@ public interface FilterableList<T, S extends FilterableList<T, S>> extends List<
             return wrap(super.subList(fromIndex, toIndex));
         }
 
+        /**
+         * Returns the list of values that is represented by this list. A list that wraps another list should return
+         * the wrapped list such that filters can be fused.
+         *
+         * @return The list of values that is represented by this list.
+         */
+        protected List<? extends T> unwrap() {
+            return this;
+        }
+
         /**
          * Represents a list of values as an instance of this instance's list type.
          *
@@ -119,4 +131,84 @@ public interface FilterableList<T, S extends FilterableList<T, S>> extends List<
          */
         protected abstract S wrap(List<T> values);
     }
+
+    /**
+     * A lazy view of the elements of a list that are matched by an element matcher. The matched elements are
+     * collected once on the first use of a view and are cached for any later use. A view must only be applied to
+     * a list that is not altered after the view was created.
+     *
+     * @param <T> The type of the list's elements.
+     */
+    static class Filtered<T> extends AbstractList<T> {
+
+        /**
+         * The list that is filtered by this view.
+         */
+        private final List<? extends T> source;
+
+        /**
+         * The element matcher that is applied to the source list's elements.
+         */
+        private final ElementMatcher<? super T> elementMatcher;
+
+        /**
+         * The matched elements or {@code null} if they were not yet collected.
+         */
+        private volatile List<T> values;
+
+        /**
+         * Creates a new filtered view.
+         *
+         * @param source         The list that is filtered by this view.
+         * @param elementMatcher The element matcher that is applied to the source list's elements.
+         */
+        public Filtered(List<? extends T> source, ElementMatcher<? super T> elementMatcher) {
+            this.source = source;
+            this.elementMatcher = elementMatcher;
+        }
+
+        /**
+         * Returns a view of the elements of this view that are additionally matched by the given matcher. If this
+         * view's elements were not yet collected, the returned view applies both matchers in a single pass over
+         * this view's source.
+         *
+         * @param elementMatcher The element matcher to apply additionally.
+         * @return A view of this view's elements that are matched by the given matcher.
+         */
+        public Filtered<T> filter(ElementMatcher<? super T> elementMatcher) {
+            List<T> values = this.values;
+            return values == null
+                    ? new Filtered<T>(source, new ElementMatcher.Junction.Conjunction<T>(this.elementMatcher, elementMatcher))
+                    : new Filtered<T>(values, elementMatcher);
+        }
+
+        /**
+         * Returns the matched elements, collecting them if this was not done before.
+         *
+         * @return The matched elements.
+         */
+        private List<T> values() {
+            List<T> values = this.values;
+            if (values == null) {
+                values = new ArrayList<T>();
+                for (T value : source) {
+                    if (elementMatcher.matches(value)) {
+                        values.add(value);
+                    }
+                }
+                this.values = values;
+            }
+            return values;
+        }
+
+        @Override
+        public T get(int index) {
+            return values().get(index);
+        }
+
+        @Override
+        public int size() {
+            return values().size();
+        }
+    }
 }
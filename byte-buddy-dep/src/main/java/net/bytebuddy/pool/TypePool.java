@@ -1486,6 +1486,16 @@ public interface TypePool {
          */
         private final String name;
 
+        /**
+         * The internal name of this type.
+         */
+        private final String internalName;
+
+        /**
+         * The descriptor of this type which is computed lazily.
+         */
+        private String descriptor;
+
         /**
          * The binary name of the super type of this type or {@code null} if no such type exists.
          */
@@ -1551,6 +1561,7 @@ public interface TypePool {
             this.typePool = typePool;
             this.modifiers = modifiers;
             this.name = name.replace('/', '.');
+            internalName = name;
             this.superTypeName = superTypeName == null ? null : superTypeName.replace('/', '.');
             this.interfaceInternalName = interfaceName;
             this.declarationContext = declarationContext;
@@ -1636,6 +1647,21 @@ public interface TypePool {
             return name;
         }
 
+        @Override
+        public String getInternalName() {
+            return internalName;
+        }
+
+        @Override
+        public String getDescriptor() {
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = super.getDescriptor();
+                this.descriptor = descriptor;
+            }
+            return descriptor;
+        }
+
         @Override
         public TypeDescription getDeclaringType() {
             return declarationContext.isDeclaredInType()
@@ -3728,6 +3754,21 @@ public interface TypePool {
              */
             private final String returnTypeName;
 
+            /**
+             * The descriptor of this method.
+             */
+            private final String methodDescriptor;
+
+            /**
+             * The signature token of this method which is computed lazily.
+             */
+            private MethodDescription.SignatureToken signatureToken;
+
+            /**
+             * The hash code of this method which is computed lazily or {@code 0} if it was not yet computed.
+             */
+            private int hashCode;
+
             /**
              * A list of parameter type of this method.
              */
@@ -3783,6 +3824,7 @@ public interface TypePool {
                 returnTypeName = returnType.getSort() == Type.ARRAY
                         ? returnType.getDescriptor().replace('/', '.')
                         : returnType.getClassName();
+                this.methodDescriptor = methodDescriptor;
                 parameterTypes = new LazyTypeList(methodDescriptor);
                 exceptionTypes = exceptionInternalName == null
                         ? new TypeList.Empty()
@@ -3864,6 +3906,41 @@ public interface TypePool {
                 return modifiers;
             }
 
+            @Override
+            public String getDescriptor() {
+                return methodDescriptor;
+            }
+
+            @Override
+            public String getUniqueSignature() {
+                return getSignatureToken().getUniqueSignature();
+            }
+
+            @Override
+            public MethodDescription.SignatureToken getSignatureToken() {
+                MethodDescription.SignatureToken signatureToken = this.signatureToken;
+                if (signatureToken == null) {
+                    signatureToken = super.getSignatureToken();
+                    this.signatureToken = signatureToken;
+                }
+                return signatureToken;
+            }
+
+            @Override
+            protected boolean isHashCodeCached() {
+                return true;
+            }
+
+            @Override
+            public int hashCode() {
+                int hashCode = this.hashCode;
+                if (hashCode == 0) {
+                    hashCode = super.hashCode();
+                    this.hashCode = hashCode;
+                }
+                return hashCode;
+            }
+
             @Override
             public Object getDefaultValue() {
                 return defaultValue == null
@@ -0,0 +1,201 @@
+package net.bytebuddy.utility;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * An immutable list that shares its elements with the lists it was derived from. Appending or prepending an element
+ * to a persistent list never alters the original list but returns a new list that is backed by the same array
+ * whenever the original list is the most recent list that was derived from this array at the according end. As a
+ * result, building up a list by a chain of appending or prepending operations only requires amortized constant time
+ * for each step, other than copying all elements for each derived list.
+ * </p>
+ * <p>
+ * <b>Note</b>: Derived lists that branch off an older list share their prefix with the older list's array only if
+ * they are the first to claim the array's next slot. Otherwise, the elements of the older list are copied into a
+ * new array.
+ * </p>
+ *
+ * @param <T> The type of the list's elements.
+ */
+public final class PersistentList<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * The minimal capacity of a new backing array.
+     */
+    private static final int MINIMUM_CAPACITY = 8;
+
+    /**
+     * An empty persistent list.
+     */
+    private static final PersistentList<?> EMPTY = new PersistentList<Object>(new Buffer(new Object[0], 0, 0), 0, 0);
+
+    /**
+     * The buffer that is backing this list.
+     */
+    private final Buffer buffer;
+
+    /**
+     * The index of this list's first element within the backing buffer, inclusive.
+     */
+    private final int from;
+
+    /**
+     * The index of this list's last element within the backing buffer, exclusive.
+     */
+    private final int to;
+
+    /**
+     * Creates a new persistent list.
+     *
+     * @param buffer The buffer that is backing this list.
+     * @param from   The index of this list's first element within the backing buffer, inclusive.
+     * @param to     The index of this list's last element within the backing buffer, exclusive.
+     */
+    private PersistentList(Buffer buffer, int from, int to) {
+        this.buffer = buffer;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns an empty persistent list.
+     *
+     * @param <S> The type of the list's elements.
+     * @return An empty persistent list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S> PersistentList<S> empty() {
+        return (PersistentList<S>) EMPTY;
+    }
+
+    /**
+     * Returns a persistent list that contains the given list's elements. If the given list is already a persistent
+     * list, this list is returned as it is.
+     *
+     * @param list The list to represent as a persistent list.
+     * @param <S>  The type of the list's elements.
+     * @return A persistent list containing the given list's elements.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S> PersistentList<S> of(List<? extends S> list) {
+        if (list instanceof PersistentList) {
+            // Persistent lists are never mutated such that they can be treated as a list of any super type.
+            return (PersistentList<S>) list;
+        } else if (list.isEmpty()) {
+            return empty();
+        }
+        Object[] array = new Object[Math.max(MINIMUM_CAPACITY, list.size() * 2)];
+        int index = 0;
+        for (S element : list) {
+            array[index++] = element;
+        }
+        return new PersistentList<S>(new Buffer(array, 0, index), 0, index);
+    }
+
+    /**
+     * Returns a list that contains all elements of this list followed by the given element.
+     *
+     * @param element The element to append.
+     * @return A list that contains all elements of this list followed by the given element.
+     */
+    public PersistentList<T> append(T element) {
+        synchronized (buffer) {
+            if (buffer.to == to && to < buffer.array.length) {
+                buffer.array[buffer.to++] = element;
+                return new PersistentList<T>(buffer, from, to + 1);
+            }
+        }
+        int size = size();
+        Object[] array = new Object[Math.max(MINIMUM_CAPACITY, (size + 1) * 2)];
+        System.arraycopy(buffer.array, from, array, 0, size);
+        array[size] = element;
+        return new PersistentList<T>(new Buffer(array, 0, size + 1), 0, size + 1);
+    }
+
+    /**
+     * Returns a list that contains the given element followed by all elements of this list.
+     *
+     * @param element The element to prepend.
+     * @return A list that contains the given element followed by all elements of this list.
+     */
+    public PersistentList<T> prepend(T element) {
+        synchronized (buffer) {
+            if (buffer.from == from && from > 0) {
+                buffer.array[--buffer.from] = element;
+                return new PersistentList<T>(buffer, from - 1, to);
+            }
+        }
+        int size = size();
+        Object[] array = new Object[Math.max(MINIMUM_CAPACITY, (size + 1) * 2)];
+        int start = array.length - size - 1;
+        array[start] = element;
+        System.arraycopy(buffer.array, from, array, start + 1, size);
+        return new PersistentList<T>(new Buffer(array, start, array.length), start, array.length);
+    }
+
+    /**
+     * Returns a list that contains all elements of this list followed by all elements of the given list.
+     *
+     * @param elements The elements to append.
+     * @return A list that contains all elements of this list followed by all elements of the given list.
+     */
+    public PersistentList<T> appendAll(List<? extends T> elements) {
+        PersistentList<T> result = this;
+        for (T element : elements) {
+            result = result.append(element);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return (T) buffer.array[from + index];
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * An array that is shared among persistent lists together with the range of slots that were already claimed.
+     */
+    private static class Buffer {
+
+        /**
+         * The array containing the elements of all lists that are backed by this buffer. The slots of this array
+         * are written at most once.
+         */
+        private final Object[] array;
+
+        /**
+         * The lowest index that was claimed by any list, inclusive.
+         */
+        private int from;
+
+        /**
+         * The highest index that was claimed by any list, exclusive.
+         */
+        private int to;
+
+        /**
+         * Creates a new buffer.
+         *
+         * @param array The array containing the elements of all lists that are backed by this buffer.
+         * @param from  The lowest index that was claimed by any list, inclusive.
+         * @param to    The highest index that was claimed by any list, exclusive.
+         */
+        private Buffer(Object[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
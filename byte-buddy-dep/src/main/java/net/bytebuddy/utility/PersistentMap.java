@@ -0,0 +1,242 @@
+package net.bytebuddy.utility;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An immutable map that shares its entries with the maps it was derived from. Adding an entry to a persistent map
+ * never alters the original map but returns a new map that is backed by the same index whenever the original map
+ * is the most recent map that was derived from this index. As a result, building up a map by a chain of adding
+ * operations only requires amortized constant time for each step, other than copying all entries for each derived
+ * map.
+ * </p>
+ * <p>
+ * <b>Note</b>: A persistent map does not accept {@code null} keys.
+ * </p>
+ *
+ * @param <K> The type of the map's keys.
+ * @param <V> The type of the map's values.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The minimal capacity of a new backing index.
+     */
+    private static final int MINIMUM_CAPACITY = 8;
+
+    /**
+     * An empty persistent map.
+     */
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<Object, Object>(new Index(0), 0);
+
+    /**
+     * The index that is backing this map.
+     */
+    private final Index index;
+
+    /**
+     * The number of entries of the backing index that belong to this map.
+     */
+    private final int size;
+
+    /**
+     * Creates a new persistent map.
+     *
+     * @param index The index that is backing this map.
+     * @param size  The number of entries of the backing index that belong to this map.
+     */
+    private PersistentMap(Index index, int size) {
+        this.index = index;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty persistent map.
+     *
+     * @param <S> The type of the map's keys.
+     * @param <T> The type of the map's values.
+     * @return An empty persistent map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> PersistentMap<S, T> empty() {
+        return (PersistentMap<S, T>) EMPTY;
+    }
+
+    /**
+     * Returns a persistent map that contains the given map's entries. If the given map is already a persistent
+     * map, this map is returned as it is.
+     *
+     * @param map The map to represent as a persistent map.
+     * @param <S> The type of the map's keys.
+     * @param <T> The type of the map's values.
+     * @return A persistent map containing the given map's entries.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> PersistentMap<S, T> of(Map<? extends S, ? extends T> map) {
+        if (map instanceof PersistentMap) {
+            // Persistent maps are never mutated such that they can be treated as a map of any super types.
+            return (PersistentMap<S, T>) map;
+        }
+        PersistentMap<S, T> result = empty();
+        for (Map.Entry<? extends S, ? extends T> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map that contains all entries of this map and an entry of the given key and value. If this map
+     * already contains a mapping for the given key, this mapping is replaced in the returned map.
+     *
+     * @param key   The key to add.
+     * @param value The value to add.
+     * @return A map that contains all entries of this map and an entry of the given key and value.
+     */
+    public PersistentMap<K, V> with(K key, V value) {
+        if (key == null) {
+            throw new NullPointerException("A persistent map does not accept null keys");
+        }
+        Integer position = positionOf(key);
+        if (position == null) {
+            synchronized (index) {
+                if (index.size == size && size < index.keys.length) {
+                    index.keys[size] = key;
+                    index.values[size] = value;
+                    index.positions.put(key, size);
+                    index.size++;
+                    return new PersistentMap<K, V>(index, size + 1);
+                }
+            }
+        }
+        Index index = new Index(Math.max(MINIMUM_CAPACITY, (size + 1) * 2));
+        for (int entry = 0; entry < size; entry++) {
+            index.keys[entry] = this.index.keys[entry];
+            index.values[entry] = position != null && entry == position ? value : this.index.values[entry];
+            index.positions.put(this.index.keys[entry], entry);
+        }
+        if (position == null) {
+            index.keys[size] = key;
+            index.values[size] = value;
+            index.positions.put(key, size);
+        }
+        index.size = position == null ? size + 1 : size;
+        return new PersistentMap<K, V>(index, index.size);
+    }
+
+    /**
+     * Returns the position of the given key within the backing index if it belongs to this map.
+     *
+     * @param key The key to locate.
+     * @return The position of the key or {@code null} if this map does not contain the given key.
+     */
+    private Integer positionOf(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Integer position = index.positions.get(key);
+        return position == null || position >= size ? null : position;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Integer position = positionOf(key);
+        return position == null ? null : (V) index.values[position];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return positionOf(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * The arrays of keys and values that are shared among persistent maps together with a lookup of positions.
+     */
+    private static class Index {
+
+        /**
+         * The keys of this index. The slots of this array are written at most once.
+         */
+        private final Object[] keys;
+
+        /**
+         * The values of this index. The slots of this array are written at most once.
+         */
+        private final Object[] values;
+
+        /**
+         * A mapping of all keys to their position within this index.
+         */
+        private final Map<Object, Integer> positions;
+
+        /**
+         * The number of slots that were already claimed by any map.
+         */
+        private int size;
+
+        /**
+         * Creates a new empty index.
+         *
+         * @param capacity The capacity of this index.
+         */
+        private Index(int capacity) {
+            keys = new Object[capacity];
+            values = new Object[capacity];
+            positions = new ConcurrentHashMap<Object, Integer>(capacity);
+        }
+    }
+
+    /**
+     * A view of a persistent map's entries.
+     */
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<Map.Entry<K, V>>() {
+
+                /**
+                 * The position of the next entry.
+                 */
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position < size;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map.Entry<K, V> next() {
+                    if (position >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<K, V> entry = new SimpleImmutableEntry<K, V>((K) index.keys[position], (V) index.values[position]);
+                    position++;
+                    return entry;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("A persistent map is immutable");
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -2,11 +2,19 @@ package net.bytebuddy.utility;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.LinkedList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
+ * <p>
  * A utility for draining the contents of an {@link java.io.InputStream} into a {@code byte} array.
+ * </p>
+ * <p>
+ * If the size of a stream's content is known in advance, a stream drainer can be given this size as a hint such that
+ * it reads the stream directly into an array of the exact size. Otherwise, a stream is read into a growable buffer
+ * which is kept by the reading thread for draining further streams such that only the final array is allocated for
+ * each stream.
+ * </p>
  */
 public class StreamDrainer {
 
@@ -15,6 +23,22 @@ public class StreamDrainer {
      */
     public static final int DEFAULT_BUFFER_SIZE = 1024;
 
+    /**
+     * Represents a missing size hint.
+     */
+    public static final int NO_SIZE_HINT = -1;
+
+    /**
+     * The largest size hint that is trusted for allocating an array. Larger hints are ignored.
+     */
+    private static final int MAXIMUM_SIZE_HINT = 1 << 26;
+
+    /**
+     * The largest buffer that is retained by a thread after draining a stream. This size covers most class files
+     * while limiting the memory that is held by threads which only occasionally drain a stream.
+     */
+    private static final int MAXIMUM_RETAINED_SIZE = 1 << 16;
+
     /**
      * A convenience constant referring to the value representing the end of a stream.
      */
@@ -25,6 +49,11 @@ public class StreamDrainer {
      */
     private static final int FROM_BEGINNING = 0;
 
+    /**
+     * A growable buffer that is retained by each thread or {@code null} if a thread does not currently retain a buffer.
+     */
+    private static final ThreadLocal<byte[]> BUFFER = new ThreadLocal<byte[]>();
+
     /**
      * The buffer size for reading from a given stream.
      */
@@ -47,35 +76,139 @@ public class StreamDrainer {
     }
 
     /**
-     * Drains an input stream into a byte array. The given input stream is not closed.
+     * Drains an input stream into a byte array. The given input stream is not closed. The stream's
+     * {@link java.io.InputStream#available()} bytes are used as a size hint if this value is larger than one
+     * as some streams only indicate that they are not yet exhausted by returning a value of one.
      *
      * @param inputStream The input stream to drain.
      * @return A byte array containing the content of the input stream.
      * @throws IOException If the stream reading causes an error.
      */
     public byte[] drain(InputStream inputStream) throws IOException {
-        List<byte[]> previousBytes = new LinkedList<byte[]>();
-        byte[] currentArray = new byte[bufferSize];
-        int currentIndex = 0;
-        int currentRead;
-        do {
-            currentRead = inputStream.read(currentArray, currentIndex, bufferSize - currentIndex);
-            currentIndex += currentRead > 0 ? currentRead : 0;
-            if (currentIndex == bufferSize) {
-                previousBytes.add(currentArray);
-                currentArray = new byte[bufferSize];
-                currentIndex = 0;
+        int available = inputStream.available();
+        return drain(inputStream, available > 1 ? available : NO_SIZE_HINT);
+    }
+
+    /**
+     * Drains an input stream into a byte array. The given input stream is not closed. If the size hint matches the
+     * stream's content, the stream is read into the returned array without any copying. A wrong size hint does not
+     * alter the result but only results in additional copying.
+     *
+     * @param inputStream The input stream to drain.
+     * @param sizeHint    The expected number of bytes of the stream's content or {@link StreamDrainer#NO_SIZE_HINT}
+     *                    if this number is unknown.
+     * @return A byte array containing the content of the input stream.
+     * @throws IOException If the stream reading causes an error.
+     */
+    public byte[] drain(InputStream inputStream, int sizeHint) throws IOException {
+        if (sizeHint <= 0 || sizeHint > MAXIMUM_SIZE_HINT) {
+            return drainRetained(inputStream, FROM_BEGINNING, null);
+        }
+        byte[] binaryRepresentation = new byte[sizeHint];
+        int length = read(inputStream, binaryRepresentation, FROM_BEGINNING);
+        if (length < sizeHint) {
+            return Arrays.copyOf(binaryRepresentation, length);
+        }
+        int next = inputStream.read();
+        return next == END_OF_STREAM
+                ? binaryRepresentation
+                : drainRetained(inputStream, next, binaryRepresentation);
+    }
+
+    /**
+     * Drains an input stream into a byte buffer that is backed by an array which is exclusive to the returned buffer.
+     * The buffer's position is zero and its limit represents the number of drained bytes. Other than
+     * {@link StreamDrainer#drain(java.io.InputStream, int)}, this method never copies the drained bytes into an
+     * array of the exact size such that consumers that accept an array together with an offset and a length can
+     * process a stream's content without any copying even if the size hint is wrong.
+     *
+     * @param inputStream The input stream to drain.
+     * @param sizeHint    The expected number of bytes of the stream's content or {@link StreamDrainer#NO_SIZE_HINT}
+     *                    if this number is unknown.
+     * @return A byte buffer containing the content of the input stream.
+     * @throws IOException If the stream reading causes an error.
+     */
+    public ByteBuffer drainToBuffer(InputStream inputStream, int sizeHint) throws IOException {
+        // Reserve one additional byte such that the end of the stream is detected without growing the buffer.
+        byte[] buffer = new byte[sizeHint <= 0 || sizeHint > MAXIMUM_SIZE_HINT ? bufferSize : sizeHint + 1];
+        int length = FROM_BEGINNING;
+        while (true) {
+            length = read(inputStream, buffer, length);
+            if (length < buffer.length) {
+                return ByteBuffer.wrap(buffer, FROM_BEGINNING, length);
+            }
+            buffer = Arrays.copyOf(buffer, grow(buffer.length));
+        }
+    }
+
+    /**
+     * Drains the remainder of a stream into the calling thread's retained buffer and copies the result into an
+     * array of the exact size.
+     *
+     * @param inputStream The input stream to drain.
+     * @param next        The byte of the stream that was read after the prefix. This value is ignored if no prefix is given.
+     * @param prefix      The bytes of the stream that were already read or {@code null} if no bytes were read.
+     * @return A byte array containing the content of the input stream.
+     * @throws IOException If the stream reading causes an error.
+     */
+    private byte[] drainRetained(InputStream inputStream, int next, byte[] prefix) throws IOException {
+        byte[] buffer = BUFFER.get();
+        BUFFER.remove(); // Avoid sharing the buffer if the stream is drained reentrantly.
+        int length = FROM_BEGINNING;
+        if (prefix != null) {
+            if (buffer == null || buffer.length <= prefix.length) {
+                buffer = new byte[grow(prefix.length)];
             }
-        } while (currentRead != END_OF_STREAM);
-        byte[] result = new byte[previousBytes.size() * bufferSize + currentIndex];
-        int arrayIndex = 0;
-        for (byte[] previousByte : previousBytes) {
-            System.arraycopy(previousByte, FROM_BEGINNING, result, arrayIndex++ * bufferSize, bufferSize);
+            System.arraycopy(prefix, FROM_BEGINNING, buffer, FROM_BEGINNING, prefix.length);
+            buffer[prefix.length] = (byte) next;
+            length = prefix.length + 1;
+        } else if (buffer == null || buffer.length < bufferSize) {
+            buffer = new byte[bufferSize];
+        }
+        while (true) {
+            length = read(inputStream, buffer, length);
+            if (length < buffer.length) {
+                break;
+            }
+            buffer = Arrays.copyOf(buffer, grow(buffer.length));
+        }
+        byte[] result = Arrays.copyOf(buffer, length);
+        if (buffer.length <= MAXIMUM_RETAINED_SIZE) {
+            BUFFER.set(buffer);
         }
-        System.arraycopy(currentArray, FROM_BEGINNING, result, arrayIndex * bufferSize, currentIndex);
         return result;
     }
 
+    /**
+     * Reads from an input stream into the given buffer until the buffer is full or the stream is exhausted.
+     *
+     * @param inputStream The input stream to read from.
+     * @param buffer      The buffer to read into.
+     * @param offset      The offset of the first byte to read.
+     * @return The offset after the last read byte which is smaller than the buffer's length only if the stream is exhausted.
+     * @throws IOException If the stream reading causes an error.
+     */
+    private static int read(InputStream inputStream, byte[] buffer, int offset) throws IOException {
+        while (offset < buffer.length) {
+            int read = inputStream.read(buffer, offset, buffer.length - offset);
+            if (read == END_OF_STREAM) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+
+    /**
+     * Computes the size of a buffer that replaces a full buffer.
+     *
+     * @param length The length of the full buffer.
+     * @return The length of the replacing buffer.
+     */
+    private int grow(int length) {
+        return Math.max(length * 2, length + Math.max(bufferSize, 1));
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
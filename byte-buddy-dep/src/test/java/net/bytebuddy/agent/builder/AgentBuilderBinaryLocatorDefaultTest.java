@@ -9,8 +9,12 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 public class AgentBuilderBinaryLocatorDefaultTest {
 
@@ -24,18 +28,51 @@ public class AgentBuilderBinaryLocatorDefaultTest {
     @Mock
     private ClassLoader classLoader;
 
+    @Mock
+    private AgentBuilder.Metrics metrics;
+
     @Test
     public void testTypePool() throws Exception {
-        assertThat(AgentBuilder.BinaryLocator.Default.INSTANCE.initialize(FOO, QUX, classLoader).getTypePool(),
+        assertThat(AgentBuilder.BinaryLocator.Default.INSTANCE.initialize(FOO, QUX, classLoader, metrics).getTypePool(),
                 notNullValue(TypePool.class));
     }
 
     @Test
     public void testClassFileLocator() throws Exception {
-        assertThat(AgentBuilder.BinaryLocator.Default.INSTANCE.initialize(FOO, QUX, classLoader).getClassFileLocator(),
+        assertThat(AgentBuilder.BinaryLocator.Default.INSTANCE.initialize(FOO, QUX, classLoader, metrics).getClassFileLocator(),
                 notNullValue(ClassFileLocator.class));
     }
 
+    @Test
+    public void testClassFileLocatorOnlyReturnsBinaryRepresentationOfTransformedType() throws Exception {
+        ClassFileLocator classFileLocator = AgentBuilder.BinaryLocator.Default.INSTANCE
+                .initialize(FOO, QUX, getClass().getClassLoader(), metrics)
+                .getClassFileLocator();
+        assertThat(classFileLocator.locate(FOO).resolve(), is(QUX));
+        assertThat(classFileLocator.locate(Object.class.getName()).resolve(), not(QUX));
+    }
+
+    @Test
+    public void testTypePoolReportsCacheLookups() throws Exception {
+        TypePool typePool = AgentBuilder.BinaryLocator.Default.INSTANCE
+                .initialize(Object.class.getName(), QUX, getClass().getClassLoader(), metrics)
+                .getTypePool();
+        typePool.describe(Object.class.getName());
+        typePool.describe(Object.class.getName());
+        verify(metrics).onTypePoolLookup(false);
+        verify(metrics).onTypePoolLookup(true);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testTypePoolWithoutMetrics() throws Exception {
+        TypePool typePool = AgentBuilder.BinaryLocator.Default.INSTANCE
+                .initialize(Object.class.getName(), QUX, getClass().getClassLoader())
+                .getTypePool();
+        assertThat(typePool.describe(Object.class.getName()).resolve().represents(Object.class), is(true));
+        assertThat(typePool.describe(Object.class.getName()).resolve().represents(Object.class), is(true));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(AgentBuilder.BinaryLocator.Default.Initialized.class).apply();
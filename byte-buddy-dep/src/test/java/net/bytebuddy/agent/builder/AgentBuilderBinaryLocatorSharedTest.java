@@ -0,0 +1,93 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderBinaryLocatorSharedTest {
+
+    private static final String FOO = "foo";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AgentBuilder.Metrics metrics;
+
+    @Mock
+    private TypePool.CacheProvider cacheProvider;
+
+    @Mock
+    private TypePool.Resolution resolution;
+
+    @Test
+    public void testTypePoolSharesCacheOfClassLoader() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.Shared();
+        binaryLocator.initialize(FOO, QUX, getClass().getClassLoader()).getTypePool().describe(Object.class.getName());
+        ((AgentBuilder.BinaryLocator.Monitorable) binaryLocator).initialize(FOO, QUX, getClass().getClassLoader(), metrics)
+                .getTypePool()
+                .describe(Object.class.getName());
+        verify(metrics).onTypePoolLookup(true);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testTypePoolDoesNotShareCacheOfOtherClassLoader() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.Shared();
+        binaryLocator.initialize(FOO, QUX, getClass().getClassLoader()).getTypePool().describe(Object.class.getName());
+        ((AgentBuilder.BinaryLocator.Monitorable) binaryLocator).initialize(FOO, QUX, null, metrics)
+                .getTypePool()
+                .describe(Object.class.getName());
+        verify(metrics).onTypePoolLookup(false);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testTypePoolDoesNotShareInstrumentedType() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.Shared();
+        binaryLocator.initialize(FOO, QUX, getClass().getClassLoader()).getTypePool().describe(Object.class.getName());
+        ((AgentBuilder.BinaryLocator.Monitorable) binaryLocator).initialize(Object.class.getName(), QUX, getClass().getClassLoader(), metrics)
+                .getTypePool()
+                .describe(Object.class.getName());
+        verify(metrics).onTypePoolLookup(false);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testExcludingCacheProviderIgnoresInstrumentedType() throws Exception {
+        TypePool.CacheProvider cacheProvider = new AgentBuilder.BinaryLocator.Shared.ExcludingCacheProvider(FOO, this.cacheProvider);
+        assertThat(cacheProvider.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.register(FOO, resolution), is(resolution));
+        verifyZeroInteractions(this.cacheProvider);
+    }
+
+    @Test
+    public void testExcludingCacheProviderDelegatesOtherType() throws Exception {
+        TypePool.CacheProvider cacheProvider = new AgentBuilder.BinaryLocator.Shared.ExcludingCacheProvider(FOO, this.cacheProvider);
+        when(this.cacheProvider.find(Object.class.getName())).thenReturn(resolution);
+        when(this.cacheProvider.register(Object.class.getName(), resolution)).thenReturn(resolution);
+        assertThat(cacheProvider.find(Object.class.getName()), is(resolution));
+        assertThat(cacheProvider.register(Object.class.getName(), resolution), is(resolution));
+        cacheProvider.clear();
+        verify(this.cacheProvider).find(Object.class.getName());
+        verify(this.cacheProvider).register(Object.class.getName(), resolution);
+        verify(this.cacheProvider).clear();
+        verifyNoMoreInteractions(this.cacheProvider);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.BinaryLocator.Shared.ExcludingCacheProvider.class).apply();
+    }
+}
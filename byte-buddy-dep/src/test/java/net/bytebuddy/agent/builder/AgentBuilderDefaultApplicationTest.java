@@ -10,12 +10,14 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
+import org.objectweb.asm.*;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.Method;
+import java.security.ProtectionDomain;
 import java.util.concurrent.Callable;
 
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
@@ -27,6 +29,8 @@ public class AgentBuilderDefaultApplicationTest {
 
     private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
+    private static final String CORGE = Type.getInternalName(AgentBuilderDefaultApplicationTest.class) + "$Corge";
+
     @Rule
     public MethodRule toolsJarRule = new ToolsJarRule();
 
@@ -91,10 +95,33 @@ public class AgentBuilderDefaultApplicationTest {
         }
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testAsynchronousInstallation() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.InstallationMode.Asynchronous()
+                .withInterval(1L)
+                .install(ByteBuddyAgent.getInstrumentation(), new AnnotatingTransformer(), true, AgentBuilder.Listener.NoOp.INSTANCE);
+        try {
+            assertThat(new Corge().foo(), is(FOO));
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (!Corge.class.isAnnotationPresent(Transformed.class) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertThat(Corge.class.isAnnotationPresent(Transformed.class), is(true));
+            assertThat(new Corge().foo(), is(FOO));
+        } finally {
+            ((AgentBuilder.InstallationMode.Asynchronous.Deferring) classFileTransformer).shutdown();
+        }
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     private static @interface ShouldRebase {
     }
 
+    @Retention(RetentionPolicy.RUNTIME)
+    private static @interface Transformed {
+    }
+
     private static class FooTransformer implements AgentBuilder.Transformer {
 
         @Override
@@ -164,4 +191,35 @@ public class AgentBuilderDefaultApplicationTest {
             return FOO;
         }
     }
+
+    private static class AnnotatingTransformer implements ClassFileTransformer {
+
+        @Override
+        public byte[] transform(ClassLoader classLoader,
+                                String internalTypeName,
+                                Class<?> classBeingRedefined,
+                                ProtectionDomain protectionDomain,
+                                byte[] binaryRepresentation) {
+            if (!CORGE.equals(internalTypeName)) {
+                return null;
+            }
+            ClassReader classReader = new ClassReader(binaryRepresentation);
+            ClassWriter classWriter = new ClassWriter(classReader, 0);
+            classReader.accept(new ClassVisitor(Opcodes.ASM5, classWriter) {
+                @Override
+                public void visitEnd() {
+                    super.visitAnnotation(Type.getDescriptor(Transformed.class), true).visitEnd();
+                    super.visitEnd();
+                }
+            }, 0);
+            return classWriter.toByteArray();
+        }
+    }
+
+    private static class Corge {
+
+        public String foo() {
+            return FOO;
+        }
+    }
 }
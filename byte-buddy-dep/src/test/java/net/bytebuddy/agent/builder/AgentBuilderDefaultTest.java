@@ -25,6 +25,7 @@ import java.util.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Mockito.*;
@@ -85,6 +86,9 @@ public class AgentBuilderDefaultTest {
     @Mock
     private AgentBuilder.Listener listener;
 
+    @Mock
+    private AgentBuilder.Metrics metrics;
+
     private List<ClassFileTransformer> instrumentations;
 
     @Before
@@ -192,6 +196,229 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(instrumentation);
     }
 
+    @Test
+    public void testMonitorableBinaryLocatorWithMetrics() throws Exception {
+        AgentBuilder.BinaryLocator.Monitorable binaryLocator = mock(AgentBuilder.BinaryLocator.Monitorable.class);
+        when(binaryLocator.initialize(eq(FOO), eq(QUX), eq(classLoader), any(AgentBuilder.Metrics.class))).thenReturn(initialized);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withMetrics(metrics)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(binaryLocator).initialize(eq(FOO), eq(QUX), eq(classLoader), any(AgentBuilder.Metrics.class));
+        verifyNoMoreInteractions(binaryLocator);
+    }
+
+    @Test
+    public void testSuccessfulWithMetrics() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withMetrics(metrics)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(binaryLocator).initialize(FOO, QUX, classLoader);
+        for (AgentBuilder.Metrics.Stage stage : AgentBuilder.Metrics.Stage.values()) {
+            verify(metrics).onStage(eq(stage), anyLong());
+        }
+        verify(metrics).onTransformation(FOO, QUX.length, BAZ.length);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testIgnoredWithMetrics() throws Exception {
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(false);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withMetrics(metrics)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(metrics).onStage(eq(AgentBuilder.Metrics.Stage.BINARY_LOCATION), anyLong());
+        verify(metrics).onStage(eq(AgentBuilder.Metrics.Stage.TYPE_RESOLUTION), anyLong());
+        verify(metrics).onStage(eq(AgentBuilder.Metrics.Stage.MATCHING), anyLong());
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testInstallationMode() throws Exception {
+        AgentBuilder.InstallationMode installationMode = mock(AgentBuilder.InstallationMode.class);
+        ClassFileTransformer installed = mock(ClassFileTransformer.class);
+        when(installationMode.install(eq(instrumentation), any(ClassFileTransformer.class), eq(true), any(AgentBuilder.Listener.class)))
+                .thenReturn(installed);
+        assertThat(new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .allowRetransformation()
+                .withInstallationMode(installationMode)
+                .installOn(instrumentation), is(installed));
+        verify(installationMode).install(eq(instrumentation), any(ClassFileTransformer.class), eq(true), any(AgentBuilder.Listener.class));
+        verifyZeroInteractions(instrumentation);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeferredInstallationModeIsRejected() throws Exception {
+        AgentBuilder.InstallationMode installationMode = mock(AgentBuilder.InstallationMode.class);
+        when(installationMode.isDeferred()).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy).withInstallationMode(installationMode);
+    }
+
+    @Test
+    public void testUpdatableInstallationRetransformsAffectedTypesOnly() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{Object.class, String.class, Integer.class});
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        AgentBuilder.RawMatcher otherMatcher = mock(AgentBuilder.RawMatcher.class);
+        when(otherMatcher.matches(new TypeDescription.ForLoadedType(String.class), null, String.class, String.class.getProtectionDomain()))
+                .thenReturn(true);
+        when(otherMatcher.matches(new TypeDescription.ForLoadedType(Integer.class), null, Integer.class, Integer.class.getProtectionDomain()))
+                .thenReturn(true);
+        when(rawMatcher.matches(new TypeDescription.ForLoadedType(String.class), null, String.class, String.class.getProtectionDomain()))
+                .thenReturn(true);
+        AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withListener(listener)
+                .rebase(otherMatcher).transform(transformer);
+        AgentBuilder.Installation installation = agentBuilder.installUpdatableOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(installation.getClassFileTransformer(), is(instrumentations.get(0)));
+        verify(instrumentation).addTransformer(installation.getClassFileTransformer(), true);
+        AgentBuilder updated = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withListener(listener)
+                .rebase(otherMatcher).transform(transformer)
+                .rebase(rawMatcher).transform(transformer);
+        assertThat(installation.update(updated), is(Collections.<Class<?>>singletonList(String.class)));
+        verify(instrumentation).retransformClasses(String.class);
+        assertThat(installation.update(updated).size(), is(0));
+        verify(instrumentation).getAllLoadedClasses();
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testUpdatableInstallationRetransformsIndividuallyOnError() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{String.class, Integer.class});
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        when(rawMatcher.matches(any(TypeDescription.class), any(ClassLoader.class), any(Class.class), any(ProtectionDomain.class)))
+                .thenReturn(true);
+        RuntimeException exception = new RuntimeException();
+        doThrow(exception).when(instrumentation).retransformClasses(String.class, Integer.class);
+        doThrow(exception).when(instrumentation).retransformClasses(String.class);
+        AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy).disableSelfInitialization().withListener(listener);
+        AgentBuilder.Installation installation = agentBuilder.rebase(rawMatcher).transform(transformer).installUpdatableOn(instrumentation);
+        assertThat(installation.update(agentBuilder.rebase(rawMatcher).transform(mock(AgentBuilder.Transformer.class))),
+                is(Arrays.<Class<?>>asList(String.class, Integer.class)));
+        verify(instrumentation).retransformClasses(Integer.class);
+        verify(listener).onError(String.class.getName(), exception);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testUpdatableInstallationRetransformsInBatches() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{String.class, Integer.class});
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        when(rawMatcher.matches(any(TypeDescription.class), any(ClassLoader.class), any(Class.class), any(ProtectionDomain.class)))
+                .thenReturn(true);
+        AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy).disableSelfInitialization().withListener(listener);
+        AgentBuilder.Installation installation = agentBuilder.rebase(rawMatcher).transform(transformer).installUpdatableOn(instrumentation, 1);
+        assertThat(installation.update(agentBuilder.rebase(rawMatcher).transform(mock(AgentBuilder.Transformer.class))),
+                is(Arrays.<Class<?>>asList(String.class, Integer.class)));
+        verify(instrumentation).retransformClasses(String.class);
+        verify(instrumentation).retransformClasses(Integer.class);
+        verify(instrumentation, never()).retransformClasses(String.class, Integer.class);
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testUpdatableInstallationRejectsAddedRebasing() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{String.class});
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        when(rawMatcher.matches(any(TypeDescription.class), any(ClassLoader.class), any(Class.class), any(ProtectionDomain.class)))
+                .thenReturn(true);
+        AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy).disableSelfInitialization();
+        AgentBuilder.Installation installation = agentBuilder.installUpdatableOn(instrumentation);
+        try {
+            installation.update(agentBuilder.rebase(rawMatcher).transform(transformer));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(installation.update(agentBuilder).size(), is(0));
+        verify(instrumentation, never()).retransformClasses(String.class);
+    }
+
+    @Test
+    public void testUpdatableInstallationRejectsRemovedRebasing() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{String.class});
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        when(rawMatcher.matches(any(TypeDescription.class), any(ClassLoader.class), any(Class.class), any(ProtectionDomain.class)))
+                .thenReturn(true);
+        AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy).disableSelfInitialization();
+        AgentBuilder.Installation installation = agentBuilder.rebase(rawMatcher).transform(transformer).installUpdatableOn(instrumentation);
+        try {
+            installation.update(agentBuilder);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(installation.update(agentBuilder.rebase(rawMatcher).transform(transformer)).size(), is(0));
+        verify(instrumentation, never()).retransformClasses(String.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdatableInstallationRequiresPositiveBatchSize() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy).installUpdatableOn(instrumentation, 0);
+    }
+
+    @Test
+    public void testUpdatableInstallationDelegatesToUpdatedConfiguration() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[0]);
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener);
+        AgentBuilder.Installation installation = agentBuilder.installUpdatableOn(instrumentation);
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        installation.update(agentBuilder.rebase(rawMatcher).transform(transformer));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(listener).onIgnored(FOO);
+        verify(listener).onTransformation(unloaded);
+        verify(listener, times(2)).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdatableInstallationRequiresRetransformation() throws Exception {
+        new AgentBuilder.Default(byteBuddy).installUpdatableOn(instrumentation);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdatableInstallationCannotChangeNativeMethodPrefix() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy).installUpdatableOn(instrumentation)
+                .update(new AgentBuilder.Default(byteBuddy).withNativeMethodPrefix(FOO));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testEmptyPrefixThrowsException() throws Exception {
         new AgentBuilder.Default(byteBuddy).withNativeMethodPrefix("");
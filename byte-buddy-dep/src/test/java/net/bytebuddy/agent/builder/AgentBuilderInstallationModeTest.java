@@ -0,0 +1,318 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderInstallationModeTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3}, BAZ = new byte[]{4, 5, 6};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    @Mock
+    private ClassFileTransformer classFileTransformer;
+
+    @Mock
+    private AgentBuilder.Listener listener;
+
+    @Mock
+    private ProtectionDomain protectionDomain;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = getClass().getClassLoader();
+        when(classFileTransformer.transform(any(ClassLoader.class), any(String.class), any(Class.class), any(ProtectionDomain.class), any(byte[].class)))
+                .thenReturn(BAZ);
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+    }
+
+    @Test
+    public void testIsDeferred() throws Exception {
+        assertThat(AgentBuilder.InstallationMode.Synchronous.INSTANCE.isDeferred(), is(false));
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous().isDeferred(), is(true));
+    }
+
+    @Test
+    public void testSynchronous() throws Exception {
+        assertThat(AgentBuilder.InstallationMode.Synchronous.INSTANCE.install(instrumentation, classFileTransformer, true, listener),
+                is(classFileTransformer));
+        verify(instrumentation).addTransformer(classFileTransformer, true);
+        verifyNoMoreInteractions(instrumentation);
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testAsynchronousInstallation() throws Exception {
+        when(instrumentation.getInitiatedClasses(classLoader)).thenReturn(new Class<?>[]{Foo.class});
+        ClassFileTransformer deferring = new AgentBuilder.InstallationMode.Asynchronous()
+                .withInterval(1L)
+                .install(instrumentation, classFileTransformer, false, listener);
+        try {
+            assertThat(deferring, instanceOf(AgentBuilder.InstallationMode.Asynchronous.Deferring.class));
+            verify(instrumentation).addTransformer(deferring, true);
+            assertThat(deferring.transform(classLoader, Foo.class.getName().replace('.', '/'), null, protectionDomain, QUX),
+                    nullValue(byte[].class));
+            verify(instrumentation, timeout(10000)).retransformClasses(Foo.class);
+        } finally {
+            ((AgentBuilder.InstallationMode.Asynchronous.Deferring) deferring).shutdown();
+        }
+        verify(instrumentation).removeTransformer(deferring);
+        verifyZeroInteractions(classFileTransformer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsynchronousRequiresRetransformation() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(false);
+        new AgentBuilder.InstallationMode.Asynchronous().install(instrumentation, classFileTransformer, false, listener);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsynchronousIllegalQueueSize() throws Exception {
+        new AgentBuilder.InstallationMode.Asynchronous().withQueueSize(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsynchronousIllegalBatchSize() throws Exception {
+        new AgentBuilder.InstallationMode.Asynchronous().withBatchSize(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsynchronousIllegalInterval() throws Exception {
+        new AgentBuilder.InstallationMode.Asynchronous().withInterval(0L);
+    }
+
+    @Test
+    public void testDeferringQueuesLoadedType() throws Exception {
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        assertThat(deferring(queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).transform(classLoader, FOO, null, protectionDomain, QUX),
+                nullValue(byte[].class));
+        AgentBuilder.InstallationMode.Asynchronous.Request request = queue.poll();
+        assertThat(request.getTypeName(), is(FOO));
+        assertThat(request.getClassLoader(), is(classLoader));
+        assertThat(request.isBootstrapType(), is(false));
+        verifyZeroInteractions(classFileTransformer);
+    }
+
+    @Test
+    public void testDeferringQueuesSelectedType() throws Exception {
+        AgentBuilder.InstallationMode.Asynchronous.Selective selective = mock(AgentBuilder.InstallationMode.Asynchronous.Selective.class);
+        when(selective.isTransformed(classLoader, FOO, protectionDomain, QUX)).thenReturn(true);
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        assertThat(deferring(selective, queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).transform(classLoader, FOO, null, protectionDomain, QUX),
+                nullValue(byte[].class));
+        assertThat(queue.poll().getTypeName(), is(FOO));
+        verify(selective).isTransformed(classLoader, FOO, protectionDomain, QUX);
+        verifyNoMoreInteractions(selective);
+    }
+
+    @Test
+    public void testDeferringDoesNotQueueUnselectedType() throws Exception {
+        AgentBuilder.InstallationMode.Asynchronous.Selective selective = mock(AgentBuilder.InstallationMode.Asynchronous.Selective.class);
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        assertThat(deferring(selective, queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).transform(classLoader, FOO, null, protectionDomain, QUX),
+                nullValue(byte[].class));
+        assertThat(queue.isEmpty(), is(true));
+        verify(selective).isTransformed(classLoader, FOO, protectionDomain, QUX);
+        verifyNoMoreInteractions(selective);
+    }
+
+    @Test
+    public void testRequestEquality() throws Exception {
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader),
+                is(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader)));
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader).hashCode(),
+                is(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader).hashCode()));
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, null),
+                is(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, null)));
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader),
+                not(new AgentBuilder.InstallationMode.Asynchronous.Request(BAR, classLoader)));
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader),
+                not(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, null)));
+        assertThat(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader),
+                not(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, new URLClassLoader(new URL[0], classLoader))));
+    }
+
+    @Test
+    public void testDeferringQueuesEqualRequestOnce() throws Exception {
+        Map<AgentBuilder.InstallationMode.Asynchronous.Request, Integer> pending = new LinkedHashMap<AgentBuilder.InstallationMode.Asynchronous.Request, Integer>();
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader), 0);
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader), 0);
+        assertThat(pending.size(), is(1));
+    }
+
+    @Test
+    public void testRequestOfBootstrapType() throws Exception {
+        AgentBuilder.InstallationMode.Asynchronous.Request request = new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, null);
+        assertThat(request.getTypeName(), is(FOO));
+        assertThat(request.getClassLoader(), nullValue(ClassLoader.class));
+        assertThat(request.isBootstrapType(), is(true));
+    }
+
+    @Test
+    public void testDeferringTransformsRedefinedTypeSynchronously() throws Exception {
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        assertThat(deferring(queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).transform(classLoader, FOO, Object.class, protectionDomain, QUX),
+                is(BAZ));
+        assertThat(queue.isEmpty(), is(true));
+        verify(classFileTransformer).transform(classLoader, FOO, Object.class, protectionDomain, QUX);
+    }
+
+    @Test
+    public void testDeferringTransformsSynchronousTypeSynchronously() throws Exception {
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        assertThat(deferring(queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).transform(classLoader, BAR, null, protectionDomain, QUX),
+                is(BAZ));
+        assertThat(queue.isEmpty(), is(true));
+        verify(classFileTransformer).transform(classLoader, BAR, null, protectionDomain, QUX);
+    }
+
+    @Test
+    public void testDeferringBackPressureSynchronous() throws Exception {
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        queue.add(new AgentBuilder.InstallationMode.Asynchronous.Request(BAR, classLoader));
+        assertThat(deferring(queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).transform(classLoader, FOO, null, protectionDomain, QUX),
+                is(BAZ));
+        verify(classFileTransformer).transform(classLoader, FOO, null, protectionDomain, QUX);
+    }
+
+    @Test
+    public void testDeferringBackPressureDiscard() throws Exception {
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        queue.add(new AgentBuilder.InstallationMode.Asynchronous.Request(BAR, classLoader));
+        assertThat(deferring(queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.DISCARD).transform(classLoader, FOO, null, protectionDomain, QUX),
+                nullValue(byte[].class));
+        assertThat(queue.size(), is(1));
+        verifyZeroInteractions(classFileTransformer);
+    }
+
+    @Test
+    public void testDeferringBackPressureBlockInterrupted() throws Exception {
+        BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue = new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1);
+        queue.add(new AgentBuilder.InstallationMode.Asynchronous.Request(BAR, classLoader));
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(deferring(queue, AgentBuilder.InstallationMode.Asynchronous.BackPressure.BLOCK).transform(classLoader, FOO, null, protectionDomain, QUX),
+                    is(BAZ));
+        } finally {
+            assertThat(Thread.interrupted(), is(true));
+        }
+        verify(classFileTransformer).transform(classLoader, FOO, null, protectionDomain, QUX);
+    }
+
+    @Test
+    public void testRetransformLoadedTypes() throws Exception {
+        when(instrumentation.getInitiatedClasses(classLoader)).thenReturn(new Class<?>[]{Foo.class, Bar.class, Object.class});
+        when(instrumentation.getInitiatedClasses(null)).thenReturn(new Class<?>[]{Object.class});
+        Map<AgentBuilder.InstallationMode.Asynchronous.Request, Integer> pending = new LinkedHashMap<AgentBuilder.InstallationMode.Asynchronous.Request, Integer>();
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(Foo.class.getName(), classLoader), 0);
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(Bar.class.getName(), classLoader), 0);
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(Object.class.getName(), null), 0);
+        AgentBuilder.InstallationMode.Asynchronous.Request unresolved = new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader);
+        pending.put(unresolved, 0);
+        deferring(new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1),
+                AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).retransform(pending);
+        verify(instrumentation).retransformClasses(Foo.class, Bar.class);
+        verify(instrumentation).retransformClasses(Object.class);
+        verify(instrumentation).getInitiatedClasses(classLoader);
+        verify(instrumentation).getInitiatedClasses(null);
+        verify(instrumentation, never()).getAllLoadedClasses();
+        assertThat(pending.size(), is(1));
+        assertThat(pending.get(unresolved), is(1));
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testRetransformDiscardsRequestAfterMaximumAttempts() throws Exception {
+        when(instrumentation.getInitiatedClasses(classLoader)).thenReturn(new Class<?>[0]);
+        Map<AgentBuilder.InstallationMode.Asynchronous.Request, Integer> pending = new HashMap<AgentBuilder.InstallationMode.Asynchronous.Request, Integer>();
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(FOO, classLoader),
+                AgentBuilder.InstallationMode.Asynchronous.Deferring.MAXIMUM_ATTEMPTS - 1);
+        deferring(new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1),
+                AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).retransform(pending);
+        assertThat(pending.isEmpty(), is(true));
+        verify(instrumentation).getInitiatedClasses(classLoader);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testRetransformFailureIsolatesType() throws Exception {
+        when(instrumentation.getInitiatedClasses(classLoader)).thenReturn(new Class<?>[]{Foo.class, Bar.class});
+        UnmodifiableClassException exception = new UnmodifiableClassException();
+        doThrow(exception).when(instrumentation).retransformClasses(Foo.class, Bar.class);
+        doThrow(exception).when(instrumentation).retransformClasses(Foo.class);
+        Map<AgentBuilder.InstallationMode.Asynchronous.Request, Integer> pending = new HashMap<AgentBuilder.InstallationMode.Asynchronous.Request, Integer>();
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(Foo.class.getName(), classLoader), 0);
+        pending.put(new AgentBuilder.InstallationMode.Asynchronous.Request(Bar.class.getName(), classLoader), 0);
+        deferring(new ArrayBlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request>(1),
+                AgentBuilder.InstallationMode.Asynchronous.BackPressure.SYNCHRONOUS).retransform(pending);
+        verify(instrumentation).retransformClasses(Bar.class);
+        verify(listener).onError(Foo.class.getName(), exception);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        final Iterator<AgentBuilder.InstallationMode.Asynchronous.BackPressure> iterator = Arrays.asList(AgentBuilder.InstallationMode.Asynchronous.BackPressure.values()).iterator();
+        ObjectPropertyAssertion.of(AgentBuilder.InstallationMode.Asynchronous.class).create(new ObjectPropertyAssertion.Creator<AgentBuilder.InstallationMode.Asynchronous.BackPressure>() {
+            @Override
+            public AgentBuilder.InstallationMode.Asynchronous.BackPressure create() {
+                return iterator.next();
+            }
+        }).apply();
+    }
+
+    private AgentBuilder.InstallationMode.Asynchronous.Deferring deferring(BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue,
+                                                                           AgentBuilder.InstallationMode.Asynchronous.BackPressure backPressure) {
+        return deferring(classFileTransformer, queue, backPressure);
+    }
+
+    private AgentBuilder.InstallationMode.Asynchronous.Deferring deferring(ClassFileTransformer classFileTransformer,
+                                                                           BlockingQueue<AgentBuilder.InstallationMode.Asynchronous.Request> queue,
+                                                                           AgentBuilder.InstallationMode.Asynchronous.BackPressure backPressure) {
+        return new AgentBuilder.InstallationMode.Asynchronous.Deferring(instrumentation,
+                classFileTransformer,
+                listener,
+                queue,
+                2,
+                1L,
+                backPressure,
+                Collections.singleton(BAR));
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+}
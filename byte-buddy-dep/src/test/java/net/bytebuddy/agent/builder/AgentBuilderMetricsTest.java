@@ -0,0 +1,183 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderMetricsTest {
+
+    private static final String FOO = "foo";
+
+    private static final long NANOSECONDS = 42L;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AgentBuilder.Metrics first, second;
+
+    @Mock
+    private TypePool.CacheProvider cacheProvider;
+
+    @Mock
+    private TypePool.Resolution resolution;
+
+    @Test
+    public void testNoOp() throws Exception {
+        AgentBuilder.Metrics.NoOp.INSTANCE.onStage(AgentBuilder.Metrics.Stage.CREATION, NANOSECONDS);
+        AgentBuilder.Metrics.NoOp.INSTANCE.onTransformation(FOO, 1, 2);
+        AgentBuilder.Metrics.NoOp.INSTANCE.onTypePoolLookup(true);
+    }
+
+    @Test
+    public void testCompoundOnStage() throws Exception {
+        new AgentBuilder.Metrics.Compound(first, second).onStage(AgentBuilder.Metrics.Stage.CREATION, NANOSECONDS);
+        verify(first).onStage(AgentBuilder.Metrics.Stage.CREATION, NANOSECONDS);
+        verifyNoMoreInteractions(first);
+        verify(second).onStage(AgentBuilder.Metrics.Stage.CREATION, NANOSECONDS);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testCompoundOnTransformation() throws Exception {
+        new AgentBuilder.Metrics.Compound(first, second).onTransformation(FOO, 1, 2);
+        verify(first).onTransformation(FOO, 1, 2);
+        verifyNoMoreInteractions(first);
+        verify(second).onTransformation(FOO, 1, 2);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testCompoundOnTypePoolLookup() throws Exception {
+        new AgentBuilder.Metrics.Compound(first, second).onTypePoolLookup(true);
+        verify(first).onTypePoolLookup(true);
+        verifyNoMoreInteractions(first);
+        verify(second).onTypePoolLookup(true);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testMonitoringCacheProviderHit() throws Exception {
+        when(cacheProvider.find(FOO)).thenReturn(resolution);
+        assertThat(new AgentBuilder.Metrics.MonitoringCacheProvider(cacheProvider, first).find(FOO), is(resolution));
+        verify(first).onTypePoolLookup(true);
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test
+    public void testMonitoringCacheProviderMiss() throws Exception {
+        assertThat(new AgentBuilder.Metrics.MonitoringCacheProvider(cacheProvider, first).find(FOO), nullValue(TypePool.Resolution.class));
+        verify(first).onTypePoolLookup(false);
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test
+    public void testMonitoringCacheProviderDelegation() throws Exception {
+        when(cacheProvider.register(FOO, resolution)).thenReturn(resolution);
+        AgentBuilder.Metrics.MonitoringCacheProvider monitoringCacheProvider = new AgentBuilder.Metrics.MonitoringCacheProvider(cacheProvider, first);
+        assertThat(monitoringCacheProvider.register(FOO, resolution), is(resolution));
+        monitoringCacheProvider.clear();
+        verify(cacheProvider).register(FOO, resolution);
+        verify(cacheProvider).clear();
+        verifyNoMoreInteractions(cacheProvider);
+        verifyZeroInteractions(first);
+    }
+
+    @Test
+    public void testAccumulatingStage() throws Exception {
+        AgentBuilder.Metrics.Accumulating metrics = new AgentBuilder.Metrics.Accumulating();
+        metrics.onStage(AgentBuilder.Metrics.Stage.CREATION, 0L);
+        metrics.onStage(AgentBuilder.Metrics.Stage.CREATION, 5L);
+        metrics.onStage(AgentBuilder.Metrics.Stage.CREATION, 7L);
+        metrics.onStage(AgentBuilder.Metrics.Stage.CREATION, -1L);
+        String stage = AgentBuilder.Metrics.Stage.CREATION.name();
+        assertThat(metrics.getCount(stage), is(4L));
+        assertThat(metrics.getTotalNanoseconds(stage), is(12L));
+        assertThat(metrics.getMaximumNanoseconds(stage), is(7L));
+        long[] histogram = metrics.getHistogram(stage);
+        assertThat(histogram.length, is(Long.SIZE + 1));
+        assertThat(histogram[0], is(2L));
+        assertThat(histogram[3], is(2L));
+        assertThat(metrics.getCount(AgentBuilder.Metrics.Stage.MATCHING.name()), is(0L));
+        assertThat(metrics.getStages().length, is(AgentBuilder.Metrics.Stage.values().length));
+    }
+
+    @Test
+    public void testAccumulatingTransformation() throws Exception {
+        AgentBuilder.Metrics.Accumulating metrics = new AgentBuilder.Metrics.Accumulating();
+        metrics.onTransformation(FOO, 10, 15);
+        metrics.onTransformation(FOO, 20, 30);
+        assertThat(metrics.getTransformationCount(), is(2L));
+        assertThat(metrics.getOriginalBytes(), is(30L));
+        assertThat(metrics.getTransformedBytes(), is(45L));
+    }
+
+    @Test
+    public void testAccumulatingTypePoolLookup() throws Exception {
+        AgentBuilder.Metrics.Accumulating metrics = new AgentBuilder.Metrics.Accumulating();
+        assertThat(metrics.getTypePoolHitRatio(), is(0d));
+        metrics.onTypePoolLookup(true);
+        metrics.onTypePoolLookup(true);
+        metrics.onTypePoolLookup(true);
+        metrics.onTypePoolLookup(false);
+        assertThat(metrics.getTypePoolLookups(), is(4L));
+        assertThat(metrics.getTypePoolHits(), is(3L));
+        assertThat(metrics.getTypePoolHitRatio(), is(0.75d));
+    }
+
+    @Test
+    public void testAccumulatingReset() throws Exception {
+        AgentBuilder.Metrics.Accumulating metrics = new AgentBuilder.Metrics.Accumulating();
+        metrics.onStage(AgentBuilder.Metrics.Stage.CREATION, NANOSECONDS);
+        metrics.onTransformation(FOO, 1, 2);
+        metrics.onTypePoolLookup(true);
+        metrics.reset();
+        String stage = AgentBuilder.Metrics.Stage.CREATION.name();
+        assertThat(metrics.getCount(stage), is(0L));
+        assertThat(metrics.getTotalNanoseconds(stage), is(0L));
+        assertThat(metrics.getMaximumNanoseconds(stage), is(0L));
+        assertThat(metrics.getHistogram(stage)[6], is(0L));
+        assertThat(metrics.getTransformationCount(), is(0L));
+        assertThat(metrics.getOriginalBytes(), is(0L));
+        assertThat(metrics.getTransformedBytes(), is(0L));
+        assertThat(metrics.getTypePoolLookups(), is(0L));
+        assertThat(metrics.getTypePoolHits(), is(0L));
+    }
+
+    @Test
+    public void testAccumulatingRegistersAsMXBean() throws Exception {
+        AgentBuilder.Metrics.Accumulating metrics = new AgentBuilder.Metrics.Accumulating();
+        metrics.onTransformation(FOO, 1, 2);
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("net.bytebuddy:type=" + getClass().getSimpleName());
+        mBeanServer.registerMBean(metrics, objectName);
+        try {
+            assertThat(mBeanServer.getAttribute(objectName, "TransformationCount"), is((Object) 1L));
+            assertThat(mBeanServer.invoke(objectName,
+                    "getCount",
+                    new Object[]{AgentBuilder.Metrics.Stage.CREATION.name()},
+                    new String[]{String.class.getName()}), is((Object) 0L));
+        } finally {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.Metrics.Compound.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Metrics.MonitoringCacheProvider.class).apply();
+    }
+}
@@ -0,0 +1,161 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class ClassFileLocatorAgentBasedBatchedTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = getClass().getClassLoader();
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        final ArgumentCaptor<ClassFileTransformer> captor = ArgumentCaptor.forClass(ClassFileTransformer.class);
+        doNothing().when(instrumentation).addTransformer(captor.capture(), eq(true));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                for (Object argument : invocation.getArguments()) {
+                    Class<?> type = (Class<?>) argument;
+                    if (type == Qux.class) {
+                        throw new UnmodifiableClassException();
+                    }
+                    captor.getValue().transform(type.getClassLoader(),
+                            type.getName().replace('.', '/'),
+                            type,
+                            type.getProtectionDomain(),
+                            type.getName().getBytes());
+                }
+                return null;
+            }
+        }).when(instrumentation).retransformClasses(Matchers.<Class<?>>anyVararg());
+    }
+
+    @Test
+    public void testLocateIsCached() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 10);
+        ClassFileLocator.Resolution resolution = classFileLocator.locate(Foo.class.getName());
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(Foo.class.getName().getBytes()));
+        assertThat(classFileLocator.locate(Foo.class.getName()).resolve(), is(Foo.class.getName().getBytes()));
+        verify(instrumentation, times(1)).retransformClasses(Matchers.<Class<?>>anyVararg());
+        verify(instrumentation).addTransformer(any(ClassFileTransformer.class), eq(true));
+        verify(instrumentation).removeTransformer(any(ClassFileTransformer.class));
+    }
+
+    @Test
+    public void testEnqueuedTypesAreExtractedInOneRetransformation() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 10);
+        classFileLocator.enqueue(Bar.class.getName(), Baz.class.getName(), "does.not.Exist");
+        assertThat(classFileLocator.locate(Foo.class.getName()).isResolved(), is(true));
+        verify(instrumentation).retransformClasses(Foo.class, Bar.class, Baz.class);
+        assertThat(classFileLocator.size(), is(3));
+        assertThat(classFileLocator.locate(Bar.class.getName()).resolve(), is(Bar.class.getName().getBytes()));
+        assertThat(classFileLocator.locate(Baz.class.getName()).resolve(), is(Baz.class.getName().getBytes()));
+        verify(instrumentation, times(1)).retransformClasses(Matchers.<Class<?>>anyVararg());
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 10);
+        classFileLocator.prefetch(Foo.class.getName(), Bar.class.getName());
+        verify(instrumentation).retransformClasses(Foo.class, Bar.class);
+        assertThat(classFileLocator.locate(Foo.class.getName()).isResolved(), is(true));
+        assertThat(classFileLocator.locate(Bar.class.getName()).isResolved(), is(true));
+        verify(instrumentation, times(1)).retransformClasses(Matchers.<Class<?>>anyVararg());
+    }
+
+    @Test
+    public void testFailedBatchFallsBackToRequestedType() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 10);
+        classFileLocator.enqueue(Qux.class.getName());
+        assertThat(classFileLocator.locate(Foo.class.getName()).isResolved(), is(true));
+        verify(instrumentation).retransformClasses(Foo.class, Qux.class);
+        verify(instrumentation).retransformClasses(Foo.class);
+        assertThat(classFileLocator.locate(Qux.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testUnknownType() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 10);
+        assertThat(classFileLocator.locate("does.not.Exist").isResolved(), is(false));
+        verify(instrumentation, never()).retransformClasses(Matchers.<Class<?>>anyVararg());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 2);
+        classFileLocator.locate(Foo.class.getName());
+        classFileLocator.locate(Bar.class.getName());
+        classFileLocator.locate(Foo.class.getName());
+        classFileLocator.locate(Baz.class.getName());
+        assertThat(classFileLocator.size(), is(2));
+        classFileLocator.locate(Foo.class.getName());
+        verify(instrumentation, times(3)).retransformClasses(Matchers.<Class<?>>anyVararg());
+        classFileLocator.locate(Bar.class.getName());
+        verify(instrumentation, times(4)).retransformClasses(Matchers.<Class<?>>anyVararg());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveSize() throws Exception {
+        new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 0);
+    }
+
+    @Test
+    public void testBatchedFromAgentBased() throws Exception {
+        assertThat(new ClassFileLocator.AgentBased(instrumentation, classLoader).batched(10),
+                is(new ClassFileLocator.AgentBased.Batched(instrumentation, classLoader, 10)));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.AgentBased.Batched.class).refine(new ObjectPropertyAssertion.Refinement<Instrumentation>() {
+            @Override
+            public void apply(Instrumentation mock) {
+                when(mock.isRetransformClassesSupported()).thenReturn(true);
+            }
+        }).apply();
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Baz {
+        /* empty */
+    }
+
+    private static class Qux {
+        /* empty */
+    }
+}
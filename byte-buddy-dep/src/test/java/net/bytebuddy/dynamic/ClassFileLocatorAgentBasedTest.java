@@ -38,7 +38,21 @@ public class ClassFileLocatorAgentBasedTest {
         assertThat(resolution.resolve(), notNullValue(byte[].class));
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testBatchedExtraction() throws Exception {
+        ClassFileLocator.AgentBased.Batched classFileLocator = ((ClassFileLocator.AgentBased) ClassFileLocator.AgentBased
+                .fromInstalledAgent(getClass().getClassLoader())).batched(10).enqueue(Bar.class.getName());
+        assertThat(classFileLocator.locate(Foo.class.getName()).isResolved(), is(true));
+        assertThat(classFileLocator.size(), is(2));
+        assertThat(classFileLocator.locate(Bar.class.getName()).resolve(), notNullValue(byte[].class));
+    }
+
     private static class Foo {
 
     }
+
+    private static class Bar {
+
+    }
 }
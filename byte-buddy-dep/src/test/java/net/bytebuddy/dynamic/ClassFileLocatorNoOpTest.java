@@ -0,0 +1,14 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorNoOpTest {
+
+    @Test
+    public void testNoClassFileIsLocated() throws Exception {
+        assertThat(ClassFileLocator.NoOp.INSTANCE.locate(Object.class.getName()).isResolved(), is(false));
+    }
+}
@@ -0,0 +1,216 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class DynamicTypeInjectorTest {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final String FOO = "foo/Foo", BAR = "bar/Bar", QUX = "qux/Qux", BAZ = "baz/Baz";
+
+    private static final String DIRECTORY = "foo/", STORED = "stored.txt", TEMP = "tmp", COMMENT = "comment";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private DynamicType first, second;
+
+    @Mock
+    private TypeDescription firstTypeDescription, secondTypeDescription, auxiliaryTypeDescription;
+
+    private byte[] firstBinary = new byte[]{1, 2, 3}, secondBinary = new byte[]{4, 5, 6}, auxiliaryBinary = new byte[]{7, 8, 9};
+
+    private byte[] original;
+
+    private Manifest manifest;
+
+    private File sourceJar, targetJar;
+
+    private static byte[] read(ZipFile zipFile, String name) throws IOException {
+        ZipEntry zipEntry = zipFile.getEntry(name);
+        assertThat(zipEntry, notNullValue());
+        InputStream inputStream = zipFile.getInputStream(zipEntry);
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static byte[] read(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            byte[] binary = new byte[(int) randomAccessFile.length()];
+            randomAccessFile.readFully(binary);
+            return binary;
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        when(firstTypeDescription.getInternalName()).thenReturn(FOO);
+        when(secondTypeDescription.getInternalName()).thenReturn(BAR);
+        when(auxiliaryTypeDescription.getInternalName()).thenReturn(QUX);
+        when(first.getTypeDescription()).thenReturn(firstTypeDescription);
+        when(first.getBytes()).thenReturn(firstBinary);
+        when(first.getRawAuxiliaryTypes()).thenReturn(Collections.<TypeDescription, byte[]>singletonMap(auxiliaryTypeDescription, auxiliaryBinary));
+        when(second.getTypeDescription()).thenReturn(secondTypeDescription);
+        when(second.getBytes()).thenReturn(secondBinary);
+        when(second.getRawAuxiliaryTypes()).thenReturn(Collections.<TypeDescription, byte[]>emptyMap());
+        original = new byte[4096];
+        for (int index = 0; index < original.length; index++) {
+            original[index] = (byte) (index % 7);
+        }
+        manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        sourceJar = File.createTempFile(TEMP, TEMP);
+        targetJar = File.createTempFile(TEMP, TEMP);
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar), manifest);
+        try {
+            jarOutputStream.setComment(COMMENT);
+            jarOutputStream.putNextEntry(new JarEntry(DIRECTORY));
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(original);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(BAZ + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(original);
+            jarOutputStream.closeEntry();
+            JarEntry stored = new JarEntry(STORED);
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(original.length);
+            CRC32 checksum = new CRC32();
+            checksum.update(original);
+            stored.setCrc(checksum.getValue());
+            jarOutputStream.putNextEntry(stored);
+            jarOutputStream.write(original);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(sourceJar.delete(), is(true));
+        assertThat(!targetJar.exists() || targetJar.delete(), is(true));
+    }
+
+    @Test
+    public void testTargetInjection() throws Exception {
+        assertThat(new DynamicType.Injector(sourceJar).with(first, second).inject(targetJar), is(targetJar));
+        assertInjected(targetJar);
+        assertThat(new String(read(targetJar), "UTF-8").endsWith(COMMENT), is(true));
+        ZipFile source = new ZipFile(sourceJar), target = new ZipFile(targetJar);
+        try {
+            ZipEntry sourceEntry = source.getEntry(BAZ + CLASS_FILE_EXTENSION), targetEntry = target.getEntry(BAZ + CLASS_FILE_EXTENSION);
+            assertThat(targetEntry.getCompressedSize(), is(sourceEntry.getCompressedSize()));
+            assertThat(targetEntry.getCrc(), is(sourceEntry.getCrc()));
+            assertThat(target.getEntry(STORED).getMethod(), is(ZipEntry.STORED));
+        } finally {
+            source.close();
+            target.close();
+        }
+    }
+
+    @Test
+    public void testSelfInjectionWithReplacement() throws Exception {
+        assertThat(new DynamicType.Injector(sourceJar).with(first).with(second).inject(), is(sourceJar));
+        assertInjected(sourceJar);
+    }
+
+    @Test
+    public void testSelfInjectionAppends() throws Exception {
+        byte[] binary = read(sourceJar);
+        assertThat(new DynamicType.Injector(sourceJar).with(second).inject(), is(sourceJar));
+        byte[] injected = read(sourceJar);
+        assertThat(injected.length > binary.length, is(true));
+        ZipFile zipFile = new ZipFile(sourceJar);
+        try {
+            assertThat(Arrays.equals(read(zipFile, BAR + CLASS_FILE_EXTENSION), secondBinary), is(true));
+            assertThat(Arrays.equals(read(zipFile, FOO + CLASS_FILE_EXTENSION), original), is(true));
+            assertThat(Arrays.equals(read(zipFile, BAZ + CLASS_FILE_EXTENSION), original), is(true));
+            assertThat(Arrays.equals(read(zipFile, STORED), original), is(true));
+            assertThat(Arrays.equals(Arrays.copyOf(injected, original.length), Arrays.copyOf(binary, original.length)), is(true));
+        } finally {
+            zipFile.close();
+        }
+        assertThat(new String(injected, "UTF-8").endsWith(COMMENT), is(true));
+        assertReadableAsStream(sourceJar, 6);
+    }
+
+    @Test
+    public void testNoInjection() throws Exception {
+        byte[] binary = read(sourceJar);
+        assertThat(new DynamicType.Injector(sourceJar).inject(), is(sourceJar));
+        assertThat(Arrays.equals(read(sourceJar), binary), is(true));
+    }
+
+    @Test
+    public void testInjectorIdentity() throws Exception {
+        DynamicType.Injector injector = new DynamicType.Injector(sourceJar);
+        assertThat(injector, is(new DynamicType.Injector(sourceJar)));
+        assertThat(injector.hashCode(), is(new DynamicType.Injector(sourceJar).hashCode()));
+        assertThat(injector, not(is(new DynamicType.Injector(targetJar))));
+        assertThat(injector.with(first), is(injector.with(first)));
+        assertThat(injector.with(first), not(is(injector)));
+        assertThat(injector.with(first).toString(), containsString(FOO));
+    }
+
+    private void assertInjected(File file) throws IOException {
+        ZipFile zipFile = new ZipFile(file);
+        try {
+            assertThat(Arrays.equals(read(zipFile, FOO + CLASS_FILE_EXTENSION), firstBinary), is(true));
+            assertThat(Arrays.equals(read(zipFile, BAR + CLASS_FILE_EXTENSION), secondBinary), is(true));
+            assertThat(Arrays.equals(read(zipFile, QUX + CLASS_FILE_EXTENSION), auxiliaryBinary), is(true));
+            assertThat(Arrays.equals(read(zipFile, BAZ + CLASS_FILE_EXTENSION), original), is(true));
+            assertThat(Arrays.equals(read(zipFile, STORED), original), is(true));
+            assertThat(zipFile.getEntry(DIRECTORY).isDirectory(), is(true));
+        } finally {
+            zipFile.close();
+        }
+        assertReadableAsStream(file, 7);
+    }
+
+    private void assertReadableAsStream(File file, int entries) throws IOException {
+        JarInputStream jarInputStream = new JarInputStream(new FileInputStream(file));
+        try {
+            assertThat(jarInputStream.getManifest(), is(manifest));
+            int count = 0;
+            while (jarInputStream.getNextJarEntry() != null) {
+                count++;
+            }
+            assertThat(count, is(entries - 1));
+        } finally {
+            jarInputStream.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.RandomString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DynamicTypeOutputCacheTest {
+
+    private static final String FOO = "foo.Bar", TEMP = "tmp";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private DynamicType.Builder<?> builder, otherBuilder;
+
+    @Mock
+    private DynamicType.Unloaded<?> dynamicType;
+
+    @Mock
+    private TypeDescription typeDescription;
+
+    private byte[] original = new byte[]{1, 2, 3}, other = new byte[]{4, 5, 6}, transformed = new byte[]{7, 8, 9, 10};
+
+    private File folder;
+
+    private static byte[] read(File file) throws Exception {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            byte[] binary = new byte[(int) randomAccessFile.length()];
+            randomAccessFile.readFully(binary);
+            return binary;
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        File file = File.createTempFile(TEMP, TEMP);
+        folder = new File(file.getParentFile(), TEMP + RandomString.make());
+        assertThat(file.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        when(typeDescription.getName()).thenReturn(FOO);
+        when(dynamicType.getAllTypes()).thenReturn(Collections.singletonMap(typeDescription, transformed));
+        when(builder.make()).thenReturn((DynamicType.Unloaded) dynamicType);
+        when(otherBuilder.make()).thenReturn((DynamicType.Unloaded) dynamicType);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File file = new File(folder, FOO.replace('.', File.separatorChar) + ".class");
+        assertThat(!file.exists() || file.delete(), is(true));
+        assertThat(file.getParentFile().delete() || !file.getParentFile().exists(), is(true));
+        assertThat(folder.delete(), is(true));
+    }
+
+    @Test
+    public void testCacheHitSkipsTransformation() throws Exception {
+        DynamicType.OutputCache outputCache = new DynamicType.OutputCache(1024L);
+        Map<TypeDescription, File> files = outputCache.saveIn(folder, original, builder);
+        assertThat(files.size(), is(1));
+        File file = files.get(typeDescription);
+        assertThat(Arrays.equals(read(file), transformed), is(true));
+        assertThat(outputCache.saveIn(folder, original.clone(), builder), is(files));
+        verify(builder).make();
+        verifyNoMoreInteractions(builder);
+        assertThat(outputCache.getSize(), is((long) transformed.length));
+    }
+
+    @Test
+    public void testChangedInputIsTransformed() throws Exception {
+        DynamicType.OutputCache outputCache = new DynamicType.OutputCache(1024L);
+        outputCache.saveIn(folder, original, builder);
+        outputCache.saveIn(folder, other, builder);
+        verify(builder, times(2)).make();
+        outputCache.saveIn(folder, original, otherBuilder);
+        verify(otherBuilder).make();
+        assertThat(outputCache.getSize(), is(3L * transformed.length));
+    }
+
+    @Test
+    public void testDeletedFileIsRewrittenWithoutTransformation() throws Exception {
+        DynamicType.OutputCache outputCache = new DynamicType.OutputCache(1024L);
+        File file = outputCache.saveIn(folder, original, builder).get(typeDescription);
+        assertThat(file.delete(), is(true));
+        outputCache.saveIn(folder, original, builder);
+        assertThat(Arrays.equals(read(file), transformed), is(true));
+        verify(builder).make();
+    }
+
+    @Test
+    public void testEvictionBySize() throws Exception {
+        DynamicType.OutputCache outputCache = new DynamicType.OutputCache(2L * transformed.length);
+        outputCache.saveIn(folder, original, builder);
+        outputCache.saveIn(folder, other, builder);
+        outputCache.saveIn(folder, original, builder);
+        outputCache.saveIn(folder, original, otherBuilder);
+        assertThat(outputCache.getSize(), is(2L * transformed.length));
+        outputCache.saveIn(folder, original, builder);
+        verify(builder, times(2)).make();
+        outputCache.saveIn(folder, other, builder);
+        verify(builder, times(3)).make();
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        DynamicType.OutputCache outputCache = new DynamicType.OutputCache(1024L);
+        outputCache.saveIn(folder, original, builder);
+        outputCache.clear();
+        assertThat(outputCache.getSize(), is(0L));
+        outputCache.saveIn(folder, original, builder);
+        verify(builder, times(2)).make();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() throws Exception {
+        new DynamicType.OutputCache(-1L);
+    }
+}
@@ -40,7 +40,8 @@ public class ByteArrayClassLoaderTest {
     public static Collection<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {ByteArrayClassLoader.PersistenceHandler.LATENT, nullValue(InputStream.class)},
-                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, notNullValue(InputStream.class)}
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, notNullValue(InputStream.class)},
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST_COMPRESSED, notNullValue(InputStream.class)}
         });
     }
 
@@ -0,0 +1,216 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClassReloadingStrategySnapshotTest {
+
+    private static final byte[] ORIGINAL = new byte[]{1, 2, 3}, FIRST = new byte[]{4, 5, 6}, SECOND = new byte[]{7, 8, 9, 10};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    @Mock
+    private TypeDescription fooDescription, barDescription;
+
+    private List<Map<Class<?>, byte[]>> redefinitions;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = getClass().getClassLoader();
+        redefinitions = new ArrayList<Map<Class<?>, byte[]>>();
+        when(fooDescription.getName()).thenReturn(Foo.class.getName());
+        when(barDescription.getName()).thenReturn(Bar.class.getName());
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        final ArgumentCaptor<ClassFileTransformer> captor = ArgumentCaptor.forClass(ClassFileTransformer.class);
+        doNothing().when(instrumentation).addTransformer(captor.capture(), eq(true));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                for (Object argument : invocation.getArguments()) {
+                    Class<?> type = (Class<?>) argument;
+                    captor.getValue().transform(type.getClassLoader(),
+                            type.getName().replace('.', '/'),
+                            type,
+                            type.getProtectionDomain(),
+                            ORIGINAL);
+                }
+                return null;
+            }
+        }).when(instrumentation).retransformClasses(Matchers.<Class<?>>anyVararg());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                Map<Class<?>, byte[]> redefinition = new HashMap<Class<?>, byte[]>();
+                for (Object argument : invocation.getArguments()) {
+                    ClassDefinition classDefinition = (ClassDefinition) argument;
+                    redefinition.put(classDefinition.getDefinitionClass(), classDefinition.getDefinitionClassFile());
+                }
+                redefinitions.add(redefinition);
+                return null;
+            }
+        }).when(instrumentation).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+    }
+
+    private void load(ClassReloadingStrategy classReloadingStrategy, byte[] binaryRepresentation, TypeDescription... typeDescription) {
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>();
+        for (TypeDescription aTypeDescription : typeDescription) {
+            types.put(aTypeDescription, binaryRepresentation);
+        }
+        classReloadingStrategy.load(classLoader, types);
+    }
+
+    private byte[] lastRedefinitionOf(Class<?> type) {
+        return redefinitions.get(redefinitions.size() - 1).get(type);
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots();
+        load(classReloadingStrategy, FIRST, fooDescription);
+        load(classReloadingStrategy, SECOND, fooDescription);
+        verify(instrumentation, times(1)).retransformClasses(Matchers.<Class<?>>anyVararg());
+        assertThat(classReloadingStrategy.rollback(Foo.class), is(classReloadingStrategy));
+        assertThat(lastRedefinitionOf(Foo.class), is(FIRST));
+        classReloadingStrategy.rollback(Foo.class);
+        assertThat(lastRedefinitionOf(Foo.class), is(ORIGINAL));
+    }
+
+    @Test
+    public void testMultiStepRollback() throws Exception {
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots();
+        load(classReloadingStrategy, FIRST, fooDescription);
+        load(classReloadingStrategy, SECOND, fooDescription);
+        load(classReloadingStrategy, SECOND, fooDescription);
+        classReloadingStrategy.rollback(2, Foo.class);
+        assertThat(lastRedefinitionOf(Foo.class), is(FIRST));
+        classReloadingStrategy.rollback(5, Foo.class);
+        assertThat(lastRedefinitionOf(Foo.class), is(ORIGINAL));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRollbackBeyondOriginal() throws Exception {
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots();
+        load(classReloadingStrategy, FIRST, fooDescription);
+        classReloadingStrategy.rollback(Foo.class);
+        classReloadingStrategy.rollback(Foo.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRollbackWithoutSnapshots() throws Exception {
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION);
+        load(classReloadingStrategy, FIRST, fooDescription);
+        classReloadingStrategy.rollback(Foo.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRollbackNoSteps() throws Exception {
+        new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots().rollback(0, Foo.class);
+    }
+
+    @Test
+    public void testResetIsBatchedAndFromMemory() throws Exception {
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots();
+        load(classReloadingStrategy, FIRST, fooDescription, barDescription);
+        load(classReloadingStrategy, SECOND, fooDescription);
+        verify(instrumentation, times(1)).retransformClasses(Matchers.<Class<?>>anyVararg());
+        classReloadingStrategy.reset(Foo.class, Bar.class);
+        assertThat(redefinitions.size(), is(3));
+        assertThat(lastRedefinitionOf(Foo.class), is(ORIGINAL));
+        assertThat(lastRedefinitionOf(Bar.class), is(ORIGINAL));
+        load(classReloadingStrategy, FIRST, fooDescription);
+        verify(instrumentation, times(1)).retransformClasses(Matchers.<Class<?>>anyVararg());
+        classReloadingStrategy.rollback(Foo.class);
+        assertThat(lastRedefinitionOf(Foo.class), is(ORIGINAL));
+    }
+
+    @Test
+    public void testResetWithoutSnapshotReadsClassFile() throws Exception {
+        new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots().reset(Foo.class);
+        assertThat(lastRedefinitionOf(Foo.class), is(ClassReloadingStrategy.readClassFile(Foo.class)));
+        verify(instrumentation, never()).retransformClasses(Matchers.<Class<?>>anyVararg());
+    }
+
+    @Test
+    public void testCaptureFallsBackToClassFile() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(false);
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION).withSnapshots();
+        load(classReloadingStrategy, FIRST, fooDescription);
+        classReloadingStrategy.rollback(Foo.class);
+        assertThat(lastRedefinitionOf(Foo.class), is(ClassReloadingStrategy.readClassFile(Foo.class)));
+        verify(instrumentation, never()).addTransformer(any(ClassFileTransformer.class), eq(true));
+    }
+
+    @Test
+    public void testOffHeapSnapshotStore() throws Exception {
+        ClassReloadingStrategy.SnapshotStore.Default snapshotStore = new ClassReloadingStrategy.SnapshotStore.Default(true);
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION).with(snapshotStore);
+        load(classReloadingStrategy, FIRST, fooDescription);
+        load(classReloadingStrategy, SECOND, fooDescription);
+        assertThat(snapshotStore.getDepth(Foo.class), is(2));
+        classReloadingStrategy.rollback(Foo.class);
+        assertThat(snapshotStore.getDepth(Foo.class), is(1));
+        assertThat(lastRedefinitionOf(Foo.class), is(FIRST));
+        classReloadingStrategy.reset(Foo.class);
+        assertThat(snapshotStore.getDepth(Foo.class), is(0));
+        assertThat(snapshotStore.getDepth(Bar.class), is(0));
+    }
+
+    @Test
+    public void testSnapshotCompression() throws Exception {
+        byte[] binaryRepresentation = ClassReloadingStrategy.readClassFile(ClassReloadingStrategy.class);
+        assertThat(ClassReloadingStrategy.SnapshotStore.Default.Snapshot.of(binaryRepresentation, false).resolve(), is(binaryRepresentation));
+        assertThat(ClassReloadingStrategy.SnapshotStore.Default.Snapshot.of(binaryRepresentation, true).resolve(), is(binaryRepresentation));
+        assertThat(ClassReloadingStrategy.SnapshotStore.Default.Snapshot.of(new byte[0], true).resolve(), is(new byte[0]));
+    }
+
+    @Test
+    public void testNoOpSnapshotStore() throws Exception {
+        ClassReloadingStrategy.SnapshotStore.NoOp.INSTANCE.capture(instrumentation, Collections.<Class<?>>singleton(Foo.class));
+        ClassReloadingStrategy.SnapshotStore.NoOp.INSTANCE.record(Collections.<Class<?>, ClassDefinition>emptyMap());
+        assertThat(ClassReloadingStrategy.SnapshotStore.NoOp.INSTANCE.locate(Collections.<Class<?>>singleton(Foo.class),
+                ClassReloadingStrategy.SnapshotStore.ORIGINAL).size(), is(0));
+        verifyZeroInteractions(instrumentation);
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
@@ -18,7 +18,7 @@ import static org.mockito.Mockito.spy;
 
 public class ClassReloadingStrategyTest {
 
-    private static final String FOO = "foo", BAR = "bar";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public MethodRule toolsJarRule = new ToolsJarRule();
@@ -88,6 +88,30 @@ public class ClassReloadingStrategyTest {
         assertThat(foo.foo(), is(FOO));
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testSnapshotRollback() throws Exception {
+        Foo foo = new Foo();
+        ClassReloadingStrategy classReloadingStrategy = ClassReloadingStrategy.fromInstalledAgent().withSnapshots();
+        new ByteBuddy()
+                .redefine(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR))
+                .make()
+                .load(Foo.class.getClassLoader(), classReloadingStrategy);
+        new ByteBuddy()
+                .redefine(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(QUX))
+                .make()
+                .load(Foo.class.getClassLoader(), classReloadingStrategy);
+        assertThat(foo.foo(), is(QUX));
+        classReloadingStrategy.rollback(Foo.class);
+        assertThat(foo.foo(), is(BAR));
+        classReloadingStrategy.reset(Foo.class);
+        assertThat(foo.foo(), is(FOO));
+    }
+
     @SuppressWarnings("unused")
     public static class Foo {
 
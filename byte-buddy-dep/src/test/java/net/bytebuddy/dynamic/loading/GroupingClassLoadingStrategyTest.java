@@ -0,0 +1,138 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class GroupingClassLoadingStrategyTest {
+
+    private static final String CLASS_FILE = ".class";
+
+    private ClassLoader classLoader;
+
+    private TypeDescription foo, bar;
+
+    private Map<TypeDescription, byte[]> fooType, barType;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        foo = new TypeDescription.ForLoadedType(Foo.class);
+        bar = new TypeDescription.ForLoadedType(Bar.class);
+        fooType = Collections.singletonMap(foo, ClassFileExtraction.extract(Foo.class));
+        barType = Collections.singletonMap(bar, ClassFileExtraction.extract(Bar.class));
+    }
+
+    @Test
+    public void testTypesShareGroup() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(2);
+        Class<?> first = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        Class<?> second = classLoadingStrategy.load(classLoader, barType).get(bar);
+        assertThat(first.getName(), is(Foo.class.getName()));
+        assertThat(second.getName(), is(Bar.class.getName()));
+        assertThat(first.getClassLoader().getParent(), is(classLoader));
+        assertThat(second.getClassLoader(), is(first.getClassLoader()));
+    }
+
+    @Test
+    public void testGroupCapacityExceeded() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(1);
+        Class<?> first = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        Class<?> second = classLoadingStrategy.load(classLoader, barType).get(bar);
+        assertThat(second.getClassLoader(), not(is(first.getClassLoader())));
+        assertThat(second.getClassLoader().getParent(), is(classLoader));
+    }
+
+    @Test
+    public void testDuplicateNameOpensNewGroup() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(2);
+        Class<?> first = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        Class<?> second = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        assertThat(second, not(is((Object) first)));
+        assertThat(second.getClassLoader(), not(is(first.getClassLoader())));
+    }
+
+    @Test
+    public void testDistinctParentsUseDistinctGroups() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(2);
+        Class<?> first = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        ClassLoader otherClassLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        Class<?> second = classLoadingStrategy.load(otherClassLoader, barType).get(bar);
+        assertThat(second.getClassLoader().getParent(), is(otherClassLoader));
+        assertThat(second.getClassLoader(), not(is(first.getClassLoader())));
+    }
+
+    @Test
+    public void testRelease() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(2);
+        Class<?> first = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        Class<?> second = classLoadingStrategy.release().load(classLoader, barType).get(bar);
+        assertThat(second.getClassLoader(), not(is(first.getClassLoader())));
+    }
+
+    @Test
+    public void testCompressedManifest() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(2,
+                getClass().getProtectionDomain(),
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST_COMPRESSED);
+        Class<?> type = classLoadingStrategy.load(classLoader, fooType).get(foo);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        InputStream inputStream = type.getClassLoader().getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
+        try {
+            assertThat(inputStream, notNullValue(InputStream.class));
+            assertThat(new StreamDrainer().drain(inputStream), is(fooType.get(foo)));
+        } finally {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        }
+    }
+
+    @Test
+    public void testOfferedTypeResourceIsVisible() throws Exception {
+        GroupingClassLoadingStrategy classLoadingStrategy = new GroupingClassLoadingStrategy(2,
+                getClass().getProtectionDomain(),
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        ClassLoader group = classLoadingStrategy.load(classLoader, fooType).get(foo).getClassLoader();
+        assertThat(((ByteArrayClassLoader) group).typeDefinitions, instanceOf(ConcurrentMap.class));
+        assertThat(classLoadingStrategy.load(classLoader, barType).get(bar).getClassLoader(), is(group));
+        InputStream inputStream = group.getResourceAsStream(Bar.class.getName().replace('.', '/') + CLASS_FILE);
+        try {
+            assertThat(inputStream, notNullValue(InputStream.class));
+            assertThat(new StreamDrainer().drain(inputStream), is(barType.get(bar)));
+        } finally {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalGroupSize() throws Exception {
+        new GroupingClassLoadingStrategy(0, (ProtectionDomain) null, ByteArrayClassLoader.PersistenceHandler.LATENT);
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
@@ -24,6 +24,7 @@ import java.lang.reflect.Field;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -32,6 +33,8 @@ public class MethodRegistryDefaultTest {
 
     private static final int BASIC_SIZE = 1, EXTENDED_SIZE = 2;
 
+    private static final String FOO = "foo", BAR = "bar";
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -240,6 +243,96 @@ public class MethodRegistryDefaultTest {
         verifyNoMoreInteractions(fallbackFactory);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInheritedMethodMatchIsSharedBetweenEqualRegistries() throws Exception {
+        ElementMatcher<? super MethodDescription> methodMatcher = mock(ElementMatcher.class);
+        when(methodMatcher.matches(knownMethod)).thenReturn(true);
+        TypeDescription declaringType = mock(TypeDescription.class);
+        when(declaringType.getName()).thenReturn(FOO);
+        when(knownMethod.getDeclaringType()).thenReturn(declaringType);
+        when(knownMethod.getInternalName()).thenReturn(FOO);
+        when(knownMethod.getDescriptor()).thenReturn(BAR);
+        when(unknownMethod.getDeclaringType()).thenReturn(declaringType);
+        when(unknownMethod.getInternalName()).thenReturn(BAR);
+        when(unknownMethod.getDescriptor()).thenReturn(FOO);
+        MethodRegistry.Compiled first = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(methodMatcher), simpleInstrumentation, simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        MethodRegistry.Compiled second = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(methodMatcher), simpleInstrumentation, simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        assertThat(first.target(knownMethod).getByteCodeAppender(), is(simpleByteCodeAppender));
+        assertThat(second.target(knownMethod).getByteCodeAppender(), is(simpleByteCodeAppender));
+        assertThat(first.target(unknownMethod), is(fallback));
+        assertThat(second.target(unknownMethod), is(fallback));
+        verify(methodMatcher).matches(knownMethod);
+        verify(methodMatcher).matches(unknownMethod);
+        verifyNoMoreInteractions(methodMatcher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInheritedMethodMatchIsNotSharedBetweenTypesOfEqualName() throws Exception {
+        ElementMatcher<? super MethodDescription> methodMatcher = mock(ElementMatcher.class);
+        when(methodMatcher.matches(knownMethod)).thenReturn(true);
+        TypeDescription declaringType = mock(TypeDescription.class), otherDeclaringType = mock(TypeDescription.class);
+        when(declaringType.getName()).thenReturn(FOO);
+        when(otherDeclaringType.getName()).thenReturn(FOO);
+        when(knownMethod.getDeclaringType()).thenReturn(declaringType);
+        when(knownMethod.getInternalName()).thenReturn(FOO);
+        when(knownMethod.getDescriptor()).thenReturn(BAR);
+        when(unknownMethod.getDeclaringType()).thenReturn(otherDeclaringType);
+        when(unknownMethod.getInternalName()).thenReturn(FOO);
+        when(unknownMethod.getDescriptor()).thenReturn(BAR);
+        MethodRegistry.Compiled first = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(methodMatcher), simpleInstrumentation, simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        MethodRegistry.Compiled second = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(methodMatcher), simpleInstrumentation, simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        assertThat(first.target(knownMethod).getByteCodeAppender(), is(simpleByteCodeAppender));
+        assertThat(second.target(unknownMethod), is(fallback));
+        verify(methodMatcher).matches(knownMethod);
+        verify(methodMatcher).matches(unknownMethod);
+        verifyNoMoreInteractions(methodMatcher);
+    }
+
+    @Test
+    public void testMatchCacheKeyIdentifiesDeclaringTypeByIdentity() throws Exception {
+        TypeDescription declaringType = mock(TypeDescription.class), otherDeclaringType = mock(TypeDescription.class);
+        MethodDescription.SignatureToken signatureToken = MethodDescription.SignatureToken.of(FOO, BAR);
+        MethodRegistry.Default.MatchCache.Shared.Key key = new MethodRegistry.Default.MatchCache.Shared.Key(declaringType, signatureToken);
+        assertThat(key, is(new MethodRegistry.Default.MatchCache.Shared.Key(declaringType, MethodDescription.SignatureToken.of(FOO, BAR))));
+        assertThat(key.hashCode(), is(new MethodRegistry.Default.MatchCache.Shared.Key(declaringType, signatureToken).hashCode()));
+        assertThat(key, not(new MethodRegistry.Default.MatchCache.Shared.Key(otherDeclaringType, signatureToken)));
+        assertThat(key, not(new MethodRegistry.Default.MatchCache.Shared.Key(declaringType, MethodDescription.SignatureToken.of(BAR, FOO))));
+        key.clear();
+        assertThat(key, is(key));
+        assertThat(key, not(new MethodRegistry.Default.MatchCache.Shared.Key(declaringType, signatureToken)));
+        assertThat(key.toString(), notNullValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDeclaredMethodMatchIsNotCached() throws Exception {
+        ElementMatcher<? super MethodDescription> methodMatcher = mock(ElementMatcher.class);
+        when(methodMatcher.matches(knownMethod)).thenReturn(true);
+        when(knownMethod.getDeclaringType()).thenReturn(basicInstrumentedType);
+        MethodRegistry.Compiled compiled = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(methodMatcher), simpleInstrumentation, simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        assertThat(compiled.target(knownMethod).getByteCodeAppender(), is(simpleByteCodeAppender));
+        assertThat(compiled.target(knownMethod).getByteCodeAppender(), is(simpleByteCodeAppender));
+        verify(methodMatcher, times(2)).matches(knownMethod);
+        verifyNoMoreInteractions(methodMatcher);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(MethodRegistry.Default.class).apply();
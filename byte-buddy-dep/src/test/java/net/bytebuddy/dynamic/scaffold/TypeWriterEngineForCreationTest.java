@@ -1,14 +1,19 @@
 package net.bytebuddy.dynamic.scaffold;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.asm.ClassVisitorWrapper;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.attribute.TypeAttributeAppender;
 import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.field.FieldList;
 import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.modifier.Visibility;
 import net.bytebuddy.test.utility.MockitoRule;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Before;
@@ -17,11 +22,16 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
@@ -115,8 +125,56 @@ public class TypeWriterEngineForCreationTest {
         verifyNoMoreInteractions(typeAttributeAppender);
     }
 
+    @Test
+    public void testBranchingCodeIsVerifiedWithStackMapFrames() throws Exception {
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Collections.<Class<?>>singletonList(boolean.class), Visibility.PUBLIC)
+                .intercept(new Branching())
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Method method = type.getDeclaredMethod(FOO, boolean.class);
+        assertThat(method.invoke(type.newInstance(), true), is((Object) FOO));
+        assertThat(method.invoke(type.newInstance(), false), is((Object) BAR));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypeWriter.Engine.ForCreation.class).apply();
     }
+
+    private static class Branching implements Instrumentation, ByteCodeAppender {
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            return this;
+        }
+
+        @Override
+        public boolean appendsCode() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor,
+                          Instrumentation.Context instrumentationContext,
+                          MethodDescription instrumentedMethod) {
+            Label otherwise = new Label(), end = new Label();
+            methodVisitor.visitVarInsn(Opcodes.ILOAD, 1);
+            methodVisitor.visitJumpInsn(Opcodes.IFEQ, otherwise);
+            methodVisitor.visitLdcInsn(FOO);
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, end);
+            methodVisitor.visitLabel(otherwise);
+            methodVisitor.visitLdcInsn(BAR);
+            methodVisitor.visitLabel(end);
+            methodVisitor.visitInsn(Opcodes.ARETURN);
+            return new Size(1, 2);
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package net.bytebuddy.dynamic.scaffold;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.asm.ClassVisitorWrapper;
 import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.scaffold.inline.MethodRebaseResolver;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
@@ -11,6 +13,7 @@ import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.field.FieldList;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.test.utility.MockitoRule;
@@ -22,6 +25,7 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -29,9 +33,12 @@ import org.objectweb.asm.Type;
 import java.io.InputStream;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
@@ -41,7 +48,7 @@ public class TypeWriterEngineForRedefinitionTest {
 
     private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
 
-    private static final int TYPE_MODIFIER = 42, CLASS_VERSION = 60;
+    private static final int TYPE_MODIFIER = 42, CLASS_VERSION = 50;
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -183,7 +190,7 @@ public class TypeWriterEngineForRedefinitionTest {
                 methodPool,
                 classFileLocator,
                 methodRebaseResolver).create(instrumentationContext), notNullValue());
-        verify(classFileVersion).compareTo(any(ClassFileVersion.class));
+        verify(classFileVersion, atLeast(1)).compareTo(any(ClassFileVersion.class));
         verify(classVisitor).visit(CLASS_VERSION, TYPE_MODIFIER, FOO, QUX, BAR, new String[]{BAZ});
         verify(classVisitor, atLeast(0)).visitSource(any(String.class), any(String.class));
         verify(classVisitor, atLeast(0)).visitInnerClass(any(String.class), any(String.class), any(String.class), any(int.class));
@@ -205,9 +212,9 @@ public class TypeWriterEngineForRedefinitionTest {
         verify(methodPool).target(new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(BAR)));
         verify(barEntry).isDefineMethod();
         verify(methodPool).target(firstMethod);
-        verify(firstMethodEntry).apply(classVisitor, instrumentationContext, firstMethod);
+        verify(firstMethodEntry).apply(any(ClassVisitor.class), eq(instrumentationContext), eq(firstMethod));
         verify(methodPool).target(secondMethod);
-        verify(secondMethodEntry).apply(classVisitor, instrumentationContext, secondMethod);
+        verify(secondMethodEntry).apply(any(ClassVisitor.class), eq(instrumentationContext), eq(secondMethod));
         verify(quxMethodVisitor).visitCode();
         verify(quxMethodVisitor).visitEnd();
         verify(classVisitor).visitEnd();
@@ -215,7 +222,7 @@ public class TypeWriterEngineForRedefinitionTest {
         verify(typeAttributeAppender).apply(any(ClassVisitor.class), eq(instrumentedType));
         verifyNoMoreInteractions(typeAttributeAppender);
         verify(fieldPool).target(secondField);
-        verify(secondFieldEntry).apply(classVisitor, secondField);
+        verify(secondFieldEntry).apply(any(ClassVisitor.class), eq(secondField));
         verifyNoMoreInteractions(fieldPool);
         verifyZeroInteractions(firstFieldEntry);
         verifyNoMoreInteractions(secondFieldEntry);
@@ -241,7 +248,7 @@ public class TypeWriterEngineForRedefinitionTest {
                 methodPool,
                 classFileLocator,
                 methodRebaseResolver).create(instrumentationContext), notNullValue());
-        verify(classFileVersion).compareTo(any(ClassFileVersion.class));
+        verify(classFileVersion, atLeast(1)).compareTo(any(ClassFileVersion.class));
         verify(classVisitor).visit(CLASS_VERSION, TYPE_MODIFIER, FOO, QUX, BAR, new String[]{BAZ});
         verify(classVisitor, atLeast(0)).visitSource(any(String.class), any(String.class));
         verify(classVisitor, atLeast(0)).visitInnerClass(any(String.class), any(String.class), any(String.class), any(int.class));
@@ -263,9 +270,9 @@ public class TypeWriterEngineForRedefinitionTest {
         verify(methodPool).target(new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(BAR)));
         verify(barEntry).isDefineMethod();
         verify(methodPool).target(firstMethod);
-        verify(firstMethodEntry).apply(classVisitor, instrumentationContext, firstMethod);
+        verify(firstMethodEntry).apply(any(ClassVisitor.class), eq(instrumentationContext), eq(firstMethod));
         verify(methodPool).target(secondMethod);
-        verify(secondMethodEntry).apply(classVisitor, instrumentationContext, secondMethod);
+        verify(secondMethodEntry).apply(any(ClassVisitor.class), eq(instrumentationContext), eq(secondMethod));
         verify(quxMethodVisitor).visitCode();
         verify(quxMethodVisitor).visitEnd();
         verify(classVisitor).visitEnd();
@@ -273,17 +280,81 @@ public class TypeWriterEngineForRedefinitionTest {
         verify(typeAttributeAppender).apply(any(ClassVisitor.class), eq(instrumentedType));
         verifyNoMoreInteractions(typeAttributeAppender);
         verify(fieldPool).target(secondField);
-        verify(secondFieldEntry).apply(classVisitor, secondField);
+        verify(secondFieldEntry).apply(any(ClassVisitor.class), eq(secondField));
         verifyNoMoreInteractions(fieldPool);
         verifyZeroInteractions(firstFieldEntry);
         verifyNoMoreInteractions(secondFieldEntry);
     }
 
+    @Test
+    public void testBranchingCodeIsVerifiedWithStackMapFrames() throws Exception {
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .rebase(Branching.class, ClassFileLocator.ForClassLoader.of(getClass().getClassLoader()))
+                .name(Branching.class.getName() + "$" + FOO)
+                .method(named(FOO)).intercept(new NumberBranching())
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.newInstance();
+        Method foo = type.getDeclaredMethod(FOO, boolean.class), bar = type.getDeclaredMethod(BAR, boolean.class);
+        assertThat(foo.invoke(instance, true), is((Object) 0));
+        assertThat(foo.invoke(instance, false), is((Object) 1L));
+        assertThat(bar.invoke(instance, true), is((Object) FOO));
+        assertThat(bar.invoke(instance, false), is((Object) BAR));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypeWriter.Engine.ForRedefinition.class).apply();
     }
 
+    public static class Branching {
+
+        public Number foo(boolean value) {
+            return value ? 1 : 0L;
+        }
+
+        public String bar(boolean value) {
+            return value ? FOO : BAR;
+        }
+    }
+
+    private static class NumberBranching implements Instrumentation, ByteCodeAppender {
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            return this;
+        }
+
+        @Override
+        public boolean appendsCode() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor,
+                          Instrumentation.Context instrumentationContext,
+                          MethodDescription instrumentedMethod) {
+            Label otherwise = new Label(), end = new Label();
+            methodVisitor.visitVarInsn(Opcodes.ILOAD, 1);
+            methodVisitor.visitJumpInsn(Opcodes.IFEQ, otherwise);
+            methodVisitor.visitInsn(Opcodes.ICONST_0);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Integer.class), "valueOf", "(I)Ljava/lang/Integer;", false);
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, end);
+            methodVisitor.visitLabel(otherwise);
+            methodVisitor.visitInsn(Opcodes.LCONST_1);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Long.class), "valueOf", "(J)Ljava/lang/Long;", false);
+            methodVisitor.visitLabel(end);
+            methodVisitor.visitInsn(Opcodes.ARETURN);
+            return new Size(2, 2);
+        }
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     public static @interface Bar {
         /* empty */
@@ -0,0 +1,102 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Type;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TypeWriterEngineFrameComputingClassWriterTest {
+
+    private static final String FOO = "foo", OBJECT = "java/lang/Object";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeDescription instrumentedType;
+
+    private TypeWriter.Engine.FrameComputingClassWriter classWriter;
+
+    @Before
+    public void setUp() throws Exception {
+        when(instrumentedType.getInternalName()).thenReturn(FOO);
+        when(instrumentedType.getSupertype()).thenReturn(new TypeDescription.ForLoadedType(ArrayList.class));
+        when(instrumentedType.getInterfaces()).thenReturn(new TypeList.ForLoadedType(Serializable.class));
+        classWriter = new TypeWriter.Engine.FrameComputingClassWriter(ClassWriter.COMPUTE_FRAMES,
+                instrumentedType,
+                ClassFileLocator.ForClassLoader.ofClassPath());
+    }
+
+    @Test
+    public void testWriterFlags() throws Exception {
+        assertThat(TypeWriter.Engine.FrameComputingClassWriter.writerFlags(ClassFileVersion.JAVA_V5), is(0));
+        assertThat(TypeWriter.Engine.FrameComputingClassWriter.writerFlags(ClassFileVersion.JAVA_V6), is(ClassWriter.COMPUTE_FRAMES));
+        assertThat(TypeWriter.Engine.FrameComputingClassWriter.writerFlags(ClassFileVersion.JAVA_V8), is(ClassWriter.COMPUTE_FRAMES));
+    }
+
+    @Test
+    public void testIdenticalTypes() throws Exception {
+        assertThat(classWriter.getCommonSuperClass(FOO, FOO), is(FOO));
+    }
+
+    @Test
+    public void testInstrumentedTypeAndItsSuperType() throws Exception {
+        String abstractList = Type.getInternalName(AbstractList.class);
+        assertThat(classWriter.getCommonSuperClass(FOO, abstractList), is(abstractList));
+        assertThat(classWriter.getCommonSuperClass(abstractList, FOO), is(abstractList));
+    }
+
+    @Test
+    public void testInstrumentedTypeAndUnrelatedType() throws Exception {
+        assertThat(classWriter.getCommonSuperClass(FOO, Type.getInternalName(Integer.class)), is(OBJECT));
+    }
+
+    @Test
+    public void testResolutionByTypePool() throws Exception {
+        assertThat(classWriter.getCommonSuperClass(Type.getInternalName(Integer.class), Type.getInternalName(Long.class)),
+                is(Type.getInternalName(Number.class)));
+    }
+
+    @Test
+    public void testInterfaceType() throws Exception {
+        assertThat(classWriter.getCommonSuperClass(FOO, Type.getInternalName(Serializable.class)), is(OBJECT));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnresolvableTypeThrowsException() throws Exception {
+        new TypeWriter.Engine.FrameComputingClassWriter(ClassWriter.COMPUTE_FRAMES,
+                instrumentedType,
+                ClassFileLocator.NoOp.INSTANCE).getCommonSuperClass(FOO, Type.getInternalName(Integer.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnresolvableSuperTypeThrowsException() throws Exception {
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        when(classFileLocator.locate(Integer.class.getName()))
+                .thenReturn(ClassFileLocator.ForClassLoader.ofClassPath().locate(Integer.class.getName()));
+        when(classFileLocator.locate(Long.class.getName()))
+                .thenReturn(ClassFileLocator.ForClassLoader.ofClassPath().locate(Long.class.getName()));
+        when(classFileLocator.locate(Number.class.getName())).thenReturn(ClassFileLocator.Resolution.Illegal.INSTANCE);
+        TypeWriter.Engine.FrameComputingClassWriter classWriter = new TypeWriter.Engine.FrameComputingClassWriter(ClassWriter.COMPUTE_FRAMES,
+                instrumentedType,
+                classFileLocator);
+        classWriter.getCommonSuperClass(Type.getInternalName(Integer.class), Type.getInternalName(Long.class));
+    }
+}
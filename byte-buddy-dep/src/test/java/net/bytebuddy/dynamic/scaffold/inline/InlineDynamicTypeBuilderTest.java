@@ -204,6 +204,45 @@ public class InlineDynamicTypeBuilderTest {
         assertThat(loaded.getDeclaredMethod(FOO).invoke(loaded.newInstance()), is((Object) FOO));
     }
 
+    @Test
+    public void testRebasingUsesSharedPlaceholder() throws Exception {
+        DynamicType.Unloaded<Foo> dynamicType = rebase(Foo.class);
+        assertThat(dynamicType.getRawAuxiliaryTypes().size(), is(0));
+        Class<?> loaded = dynamicType.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(loaded.getDeclaredConstructor(Void.class).getModifiers(), is(MethodRebaseResolver.REBASED_METHOD_MODIFIER));
+        assertThat(loaded.getDeclaredMethod(FOO).invoke(loaded.newInstance()), is((Object) FOO));
+    }
+
+    @Test
+    public void testRebasingWithVoidConstructorDefinesPlaceholder() throws Exception {
+        DynamicType.Unloaded<VoidConstructor> dynamicType = rebase(VoidConstructor.class);
+        assertThat(dynamicType.getRawAuxiliaryTypes().size(), is(1));
+        Class<?> loaded = dynamicType.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(loaded.getDeclaredConstructors().length, is(4));
+        assertThat(loaded.getDeclaredConstructor(Void.class).getModifiers(), is(Opcodes.ACC_PUBLIC));
+        assertThat(loaded.getDeclaredConstructor(Void.class).newInstance((Object) null), notNullValue());
+    }
+
+    private <T> DynamicType.Unloaded<T> rebase(Class<T> type) {
+        return new InlineDynamicTypeBuilder<T>(ClassFileVersion.forCurrentJavaVersion(),
+                new NamingStrategy.Fixed(FOOBAR),
+                new TypeDescription.ForLoadedType(type),
+                new TypeList.Empty(),
+                Opcodes.ACC_PUBLIC,
+                TypeAttributeAppender.NoOp.INSTANCE,
+                isDeclaredBy(Object.class),
+                BridgeMethodResolver.Simple.Factory.FAIL_FAST,
+                new ClassVisitorWrapper.Chain(),
+                new FieldRegistry.Default(),
+                new MethodRegistry.Default(),
+                MethodLookupEngine.Default.Factory.INSTANCE,
+                FieldAttributeAppender.NoOp.INSTANCE,
+                MethodAttributeAppender.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofClassPath(),
+                new InlineDynamicTypeBuilder.TargetHandler.ForRebaseInstrumentation(new MethodRebaseResolver.MethodNameTransformer.Suffixing()))
+                .make();
+    }
+
     @Test
     public void testPlainRedefinition() throws Exception {
         Class<?> loaded = new InlineDynamicTypeBuilder<Foo>(ClassFileVersion.forCurrentJavaVersion(),
@@ -568,4 +607,15 @@ public class InlineDynamicTypeBuilderTest {
             return FOO;
         }
     }
+
+    public static class VoidConstructor {
+
+        public VoidConstructor() {
+            /* empty */
+        }
+
+        public VoidConstructor(Void placeholder) {
+            /* empty */
+        }
+    }
 }
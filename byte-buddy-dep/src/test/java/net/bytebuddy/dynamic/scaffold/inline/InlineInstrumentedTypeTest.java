@@ -63,6 +63,19 @@ public class InlineInstrumentedTypeTest extends AbstractInstrumentedTypeTest {
         assertThat(typeDescription.getDeclaredFields().size(), is(1));
     }
 
+    @Test
+    public void testTargetTypeSelfReferencingMember() throws Exception {
+        TypeDescription typeDescription = new InlineInstrumentedType(
+                ClassFileVersion.forCurrentJavaVersion(),
+                new TypeDescription.ForLoadedType(Bar.class),
+                new TypeList.Empty(),
+                Opcodes.ACC_PUBLIC,
+                new NamingStrategy.Fixed(FOOBAR));
+        assertThat(typeDescription.getDeclaredMethods().filter(isMethod()).size(), is(1));
+        assertThat(typeDescription.getDeclaredMethods().filter(isMethod()).getOnly().getReturnType(), is(typeDescription));
+        assertThat(typeDescription.getDeclaredMethods().filter(isMethod()).getOnly().getParameterTypes().getOnly(), is(typeDescription));
+    }
+
     public static class Foo {
 
         private Void foo;
@@ -71,4 +84,11 @@ public class InlineInstrumentedTypeTest extends AbstractInstrumentedTypeTest {
             /* empty */
         }
     }
+
+    public static class Bar {
+
+        public Bar bar(Bar bar) {
+            return bar;
+        }
+    }
 }
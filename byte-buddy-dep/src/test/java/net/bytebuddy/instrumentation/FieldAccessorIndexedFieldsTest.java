@@ -0,0 +1,145 @@
+package net.bytebuddy.instrumentation;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.field.FieldDescription;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FieldAccessorIndexedFieldsTest extends AbstractInstrumentationTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final int INT_VALUE = 42;
+
+    private static final double DOUBLE_VALUE = 42d;
+
+    @Test
+    public void testIndexShadowsFields() throws Exception {
+        List<String> names = new ArrayList<String>();
+        List<TypeDescription> declaringTypes = new ArrayList<TypeDescription>();
+        for (FieldDescription fieldDescription : FieldAccessor.FieldLocator.ForInstrumentedTypeHierarchy
+                .index(new TypeDescription.ForLoadedType(Sub.class)).values()) {
+            names.add(fieldDescription.getName());
+            declaringTypes.add(fieldDescription.getDeclaringType());
+        }
+        assertThat(new HashSet<String>(names.subList(0, 2)), is(new HashSet<String>(Arrays.asList(BAR, QUX))));
+        assertThat(new HashSet<String>(names.subList(2, 5)), is(new HashSet<String>(Arrays.asList(FOO, BAZ, "staticValue"))));
+        assertThat(declaringTypes.get(names.indexOf(BAR)).represents(Sub.class), is(true));
+    }
+
+    @Test
+    public void testLocatorResolvesMostSpecificField() throws Exception {
+        FieldAccessor.FieldLocator fieldLocator = new FieldAccessor.FieldLocator.ForInstrumentedTypeHierarchy(new TypeDescription.ForLoadedType(Sub.class));
+        assertThat(fieldLocator.locate(BAR).getDeclaringType().represents(Sub.class), is(true));
+        assertThat(fieldLocator.locate(FOO).getDeclaringType().represents(Base.class), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLocatorInvisibleField() throws Exception {
+        new FieldAccessor.FieldLocator.ForInstrumentedTypeHierarchy(new TypeDescription.ForLoadedType(Sub.class)).locate("invisible");
+    }
+
+    @Test
+    public void testIndexedAccess() throws Exception {
+        DynamicType.Loaded<Sub> loaded = instrument(Sub.class, FieldAccessor.ofIndexedFields());
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        Sub instance = loaded.getLoaded().newInstance();
+        instance.set(0, BAR);
+        instance.set(1, DOUBLE_VALUE);
+        instance.set(2, INT_VALUE);
+        assertThat(instance.bar, is(BAR));
+        assertThat(instance.qux, is(DOUBLE_VALUE));
+        assertThat(instance.foo, is(INT_VALUE));
+        assertThat(instance.get(0), is((Object) BAR));
+        assertThat(instance.get(1), is((Object) DOUBLE_VALUE));
+        assertThat(instance.get(2), is((Object) INT_VALUE));
+        assertThat(((Base) instance).bar, is((Object) null));
+    }
+
+    @Test
+    public void testBulkCopy() throws Exception {
+        DynamicType.Loaded<Sub> loaded = instrument(Sub.class, FieldAccessor.ofIndexedFields());
+        Sub source = loaded.getLoaded().newInstance(), target = loaded.getLoaded().newInstance();
+        source.bar = BAR;
+        source.qux = DOUBLE_VALUE;
+        source.foo = INT_VALUE;
+        for (int index = 0; index < 3; index++) {
+            target.set(index, source.get(index));
+        }
+        assertThat(target.bar, is(BAR));
+        assertThat(target.qux, is(DOUBLE_VALUE));
+        assertThat(target.foo, is(INT_VALUE));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetterIllegalIndex() throws Exception {
+        instrument(Sub.class, FieldAccessor.ofIndexedFields()).getLoaded().newInstance().get(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetterIllegalIndex() throws Exception {
+        instrument(Sub.class, FieldAccessor.ofIndexedFields()).getLoaded().newInstance().set(-1, QUX);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNoFields() throws Exception {
+        instrument(Empty.class, FieldAccessor.ofIndexedFields()).getLoaded().newInstance().get(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoIndexedAccessor() throws Exception {
+        instrument(Illegal.class, FieldAccessor.ofIndexedFields());
+    }
+
+    @SuppressWarnings("unused")
+    public static class Base {
+
+        public static Object staticValue;
+
+        protected int foo;
+
+        protected Object bar;
+
+        protected final Object baz = null;
+
+        private Object invisible;
+    }
+
+    @SuppressWarnings("unused")
+    public static class Sub extends Base {
+
+        protected String bar;
+
+        protected double qux;
+
+        public Object get(int index) {
+            return null;
+        }
+
+        public void set(int index, Object value) {
+            /* empty */
+        }
+    }
+
+    public static class Empty {
+
+        public Object get(int index) {
+            return null;
+        }
+    }
+
+    public static class Illegal {
+
+        public Object get(String index) {
+            return null;
+        }
+    }
+}
@@ -60,6 +60,8 @@ public class FieldAccessorObjectPropertiesTest {
         ObjectPropertyAssertion.of(FieldAccessor.ForUnnamedField.class).apply();
         ObjectPropertyAssertion.of(FieldAccessor.FieldLocator.ForGivenType.class).apply();
         ObjectPropertyAssertion.of(FieldAccessor.FieldLocator.ForGivenType.Factory.class).apply();
-        ObjectPropertyAssertion.of(FieldAccessor.FieldLocator.ForInstrumentedTypeHierarchy.class).apply();
+        ObjectPropertyAssertion.of(FieldAccessor.FieldLocator.ForInstrumentedTypeHierarchy.class).ignoreFields("index").apply();
+        ObjectPropertyAssertion.of(FieldAccessor.ForIndexedFields.class).apply();
+        ObjectPropertyAssertion.of(FieldAccessor.ForIndexedFields.Appender.class).apply();
     }
 }
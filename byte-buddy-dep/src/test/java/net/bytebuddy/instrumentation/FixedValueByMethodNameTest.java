@@ -0,0 +1,112 @@
+package net.bytebuddy.instrumentation;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.test.utility.CallTraceable;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FixedValueByMethodNameTest extends AbstractInstrumentationTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final int VALUE = 42;
+
+    @Test
+    public void testConstantValues() throws Exception {
+        Map<String, Object> fixedValues = new HashMap<String, Object>();
+        fixedValues.put(FOO, FOO);
+        fixedValues.put(BAR, VALUE);
+        fixedValues.put(QUX, null);
+        fixedValues.put(BAZ, BAZ);
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, FixedValue.byMethodName(fixedValues));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(0));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(), is(FOO));
+        assertThat(instance.bar(), is(VALUE));
+        assertThat(instance.qux(), nullValue(Object.class));
+        assertThat(instance.baz(), is((Object) BAZ));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    public void testNonConstantValuesShareField() throws Exception {
+        Map<String, Object> fixedValues = new HashMap<String, Object>();
+        Object first = new Object(), second = new Object();
+        fixedValues.put(FOO, FOO);
+        fixedValues.put(BAR, VALUE);
+        fixedValues.put(QUX, first);
+        fixedValues.put(BAZ, second);
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, FixedValue.byMethodName(fixedValues));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(1));
+        assertThat(loaded.getLoaded().getDeclaredFields()[0].getType(), is((Object) Object[].class));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(), is(FOO));
+        assertThat(instance.bar(), is(VALUE));
+        assertThat(instance.qux(), is(first));
+        assertThat(instance.baz(), is(second));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    public void testNonConstantValueOfInaccessibleType() throws Exception {
+        Map<String, Object> fixedValues = new HashMap<String, Object>();
+        fixedValues.put(FOO, Collections.emptyList());
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, FixedValue.byMethodName(fixedValues));
+        assertThat(loaded.getLoaded().newInstance().foo(), is((Object) Collections.emptyList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingValue() throws Exception {
+        Map<String, Object> fixedValues = new HashMap<String, Object>();
+        fixedValues.put(FOO, FOO);
+        instrument(Foo.class, FixedValue.byMethodName(fixedValues));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleValue() throws Exception {
+        Map<String, Object> fixedValues = new HashMap<String, Object>();
+        fixedValues.put(FOO, new Object());
+        fixedValues.put(BAR, VALUE);
+        fixedValues.put(QUX, null);
+        fixedValues.put(BAZ, BAZ);
+        instrument(Foo.class, FixedValue.byMethodName(fixedValues));
+    }
+
+    public static class Foo extends CallTraceable {
+
+        public String foo() {
+            register(FOO);
+            return null;
+        }
+
+        public int bar() {
+            register(BAR);
+            return 0;
+        }
+
+        public Object qux() {
+            register(QUX);
+            return new Object();
+        }
+
+        public Object baz() {
+            register(BAZ);
+            return null;
+        }
+    }
+
+    public static class Bar {
+
+        public List<?> foo() {
+            return null;
+        }
+    }
+}
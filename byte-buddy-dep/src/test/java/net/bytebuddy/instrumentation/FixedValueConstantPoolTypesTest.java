@@ -6,6 +6,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.lang.annotation.RetentionPolicy;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -31,6 +32,8 @@ public class FixedValueConstantPoolTypesTest<T extends CallTraceable>
     private static final float FLOAT_VALUE = 42f;
     private static final double DOUBLE_VALUE = 42d;
     private static final Void NULL_VALUE = null;
+    private static final Class<?> CLASS_VALUE = Object.class;
+    private static final RetentionPolicy ENUM_VALUE = RetentionPolicy.SOURCE;
 
     private static final String STRING_DEFAULT_VALUE = "bar";
     private static final boolean BOOLEAN_DEFAULT_VALUE = false;
@@ -61,7 +64,9 @@ public class FixedValueConstantPoolTypesTest<T extends CallTraceable>
                 {LONG_VALUE, LongTarget.class},
                 {FLOAT_VALUE, FloatTarget.class},
                 {DOUBLE_VALUE, DoubleTarget.class},
-                {NULL_VALUE, NullTarget.class}
+                {NULL_VALUE, NullTarget.class},
+                {CLASS_VALUE, ClassTarget.class},
+                {ENUM_VALUE, EnumTarget.class}
         });
     }
 
@@ -232,4 +237,32 @@ public class FixedValueConstantPoolTypesTest<T extends CallTraceable>
             return mock(Runnable.class);
         }
     }
+
+    @SuppressWarnings("unused")
+    public static class ClassTarget extends CallTraceable {
+
+        public Class<?> foo() {
+            register(FOO);
+            return Void.class;
+        }
+
+        public Object bar() {
+            register(BAR);
+            return Void.class;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class EnumTarget extends CallTraceable {
+
+        public RetentionPolicy foo() {
+            register(FOO);
+            return RetentionPolicy.RUNTIME;
+        }
+
+        public Object bar() {
+            register(BAR);
+            return RetentionPolicy.RUNTIME;
+        }
+    }
 }
@@ -43,5 +43,6 @@ public class FixedValueObjectPropertiesTest {
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(FixedValue.ForPoolValue.class).skipSynthetic().apply();
         ObjectPropertyAssertion.of(FixedValue.ForStaticField.class).apply();
+        ObjectPropertyAssertion.of(FixedValue.ForNamedValues.class).apply();
     }
 }
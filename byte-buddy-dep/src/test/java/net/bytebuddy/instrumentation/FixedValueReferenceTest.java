@@ -30,6 +30,20 @@ public class FixedValueReferenceTest extends AbstractInstrumentationTest {
         assertType(instrument(Foo.class, FixedValue.value(bar)));
     }
 
+    @Test
+    public void testUserEnumerationIsNotInlined() throws Exception {
+        DynamicType.Loaded<Qux> loaded = instrument(Qux.class, FixedValue.value(Baz.INSTANCE));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(1));
+        assertThat(loaded.getLoaded().newInstance().baz(), is((Object) Baz.INSTANCE));
+    }
+
+    @Test
+    public void testUserClassIsNotInlined() throws Exception {
+        DynamicType.Loaded<Qux> loaded = instrument(Qux.class, FixedValue.value(Bar.class));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(1));
+        assertThat(loaded.getLoaded().newInstance().baz(), is((Object) Bar.class));
+    }
+
     private void assertType(DynamicType.Loaded<Foo> loaded) throws Exception {
         assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
         assertThat(loaded.getLoaded().getDeclaredMethods().length, is(1));
@@ -52,4 +66,15 @@ public class FixedValueReferenceTest extends AbstractInstrumentationTest {
     public static class Bar {
         /* empty */
     }
+
+    public static class Qux {
+
+        public Object baz() {
+            return null;
+        }
+    }
+
+    public static enum Baz {
+        INSTANCE
+    }
 }
@@ -14,7 +14,6 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.instrumentation.type.auxiliary.AuxiliaryType;
 import net.bytebuddy.test.utility.MockitoRule;
-import net.bytebuddy.test.utility.MoreOpcodes;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Before;
 import org.junit.Rule;
@@ -395,6 +394,36 @@ public class InstrumentationContextDefaultTest {
         instrumentationContext.cache(firstFieldValue, firstFieldType);
     }
 
+    @Test
+    public void testInstanceFieldCache() throws Exception {
+        Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
+                typeInitializer,
+                classFileVersion);
+        FieldDescription firstField = instrumentationContext.cacheInstance(firstFieldType);
+        assertThat(firstField.isStatic(), is(false));
+        assertThat(firstField.getDeclaringType(), is(instrumentedType));
+        assertThat(instrumentationContext.cacheInstance(firstFieldType), is(firstField));
+        instrumentationContext.drain(classVisitor, methodPool, injectedCode);
+        verify(classVisitor).visitField(eq(Instrumentation.Context.ExtractableView.INSTANCE_FIELD_CACHE_MODIFIER),
+                eq(firstField.getInternalName()), eq(BAR), isNull(String.class), isNull());
+        verifyNoMoreInteractions(classVisitor);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotRegisterInstanceFieldForInterface() throws Exception {
+        when(instrumentedType.isInterface()).thenReturn(true);
+        new Instrumentation.Context.Default(instrumentedType, typeInitializer, classFileVersion).cacheInstance(firstFieldType);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotRegisterInstanceFieldAfterDraining() throws Exception {
+        Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
+                typeInitializer,
+                classFileVersion);
+        instrumentationContext.drain(classVisitor, methodPool, injectedCode);
+        instrumentationContext.cacheInstance(firstFieldType);
+    }
+
     @Test
     public void testAccessorMethodRegistration() throws Exception {
         Instrumentation.Context.Default instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
@@ -434,8 +463,8 @@ public class InstrumentationContextDefaultTest {
         verify(classVisitor).visitMethod(eq(AuxiliaryType.MethodAccessorFactory.ACCESSOR_METHOD_MODIFIER), Matchers.startsWith(FOO),
                 eq("(" + BAZ + ")" + QUX), isNull(String.class), aryEq(new String[]{FOO}));
         verify(methodVisitor).visitCode();
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 1);
         verify(firstSpecialInvocation).apply(methodVisitor, instrumentationContext);
         verify(methodVisitor).visitInsn(Opcodes.ARETURN);
         verify(methodVisitor).visitMaxs(2, 1);
@@ -454,7 +483,7 @@ public class InstrumentationContextDefaultTest {
         verify(classVisitor).visitMethod(eq(AuxiliaryType.MethodAccessorFactory.ACCESSOR_METHOD_MODIFIER | Opcodes.ACC_STATIC), Matchers.startsWith(BAR),
                 eq("(" + BAR + ")" + FOO), isNull(String.class), aryEq(new String[]{BAZ}));
         verify(methodVisitor).visitCode();
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
         verify(secondSpecialInvocation).apply(methodVisitor, instrumentationContext);
         verify(methodVisitor).visitInsn(Opcodes.ARETURN);
         verify(methodVisitor).visitMaxs(1, 0);
@@ -500,7 +529,7 @@ public class InstrumentationContextDefaultTest {
         verify(classVisitor).visitMethod(eq(AuxiliaryType.MethodAccessorFactory.ACCESSOR_METHOD_MODIFIER), Matchers.startsWith(FOO),
                 eq("()" + BAR), isNull(String.class), isNull(String[].class));
         verify(methodVisitor).visitCode();
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
         verify(methodVisitor).visitFieldInsn(Opcodes.GETFIELD, QUX, FOO, BAR);
         verify(methodVisitor).visitInsn(Opcodes.ARETURN);
         verify(methodVisitor).visitMaxs(1, 1);
@@ -564,8 +593,8 @@ public class InstrumentationContextDefaultTest {
         verify(classVisitor).visitMethod(eq(AuxiliaryType.MethodAccessorFactory.ACCESSOR_METHOD_MODIFIER), Matchers.startsWith(FOO),
                 eq("(" + BAR + ")V"), isNull(String.class), isNull(String[].class));
         verify(methodVisitor).visitCode();
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 1);
         verify(methodVisitor).visitFieldInsn(Opcodes.PUTFIELD, QUX, FOO, BAR);
         verify(methodVisitor).visitInsn(Opcodes.RETURN);
         verify(methodVisitor).visitMaxs(2, 1);
@@ -584,7 +613,7 @@ public class InstrumentationContextDefaultTest {
         verify(classVisitor).visitMethod(eq(AuxiliaryType.MethodAccessorFactory.ACCESSOR_METHOD_MODIFIER | Opcodes.ACC_STATIC), Matchers.startsWith(BAR),
                 eq("(" + QUX + ")V"), isNull(String.class), isNull(String[].class));
         verify(methodVisitor).visitCode();
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
         verify(methodVisitor).visitFieldInsn(Opcodes.PUTSTATIC, BAZ, BAR, FOO);
         verify(methodVisitor).visitInsn(Opcodes.RETURN);
         verify(methodVisitor).visitMaxs(1, 0);
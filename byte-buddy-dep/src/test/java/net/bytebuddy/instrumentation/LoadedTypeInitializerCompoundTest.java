@@ -21,6 +21,8 @@ public class LoadedTypeInitializerCompoundTest {
 
     private static final Class<?> TYPE = Object.class;
 
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -64,6 +66,33 @@ public class LoadedTypeInitializerCompoundTest {
         verifyNoMoreInteractions(second);
     }
 
+    @Test
+    public void testApplyNested() throws Exception {
+        new LoadedTypeInitializer.Compound(new LoadedTypeInitializer.Compound(first), second).onLoad(TYPE);
+        verify(first).onLoad(TYPE);
+        verify(second).onLoad(TYPE);
+        verifyNoMoreInteractions(first);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testApplyStaticFields() throws Exception {
+        Object foo = new Object(), bar = new Object();
+        new LoadedTypeInitializer.Compound(LoadedTypeInitializer.ForStaticField.nonAccessible(FOO, foo),
+                first,
+                new LoadedTypeInitializer.Compound(LoadedTypeInitializer.ForStaticField.accessible(BAR, bar))).onLoad(Foo.class);
+        assertThat(Foo.foo, is(foo));
+        assertThat(Foo.bar, is(bar));
+        verify(first).onLoad(Foo.class);
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testApplyStaticFieldNotDeclared() throws Exception {
+        new LoadedTypeInitializer.Compound(LoadedTypeInitializer.ForStaticField.nonAccessible(FOO, new Object()),
+                LoadedTypeInitializer.ForStaticField.nonAccessible(QUX, new Object())).onLoad(Foo.class);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(LoadedTypeInitializer.Compound.class).create(new ObjectPropertyAssertion.Creator<List<?>>() {
@@ -73,4 +102,12 @@ public class LoadedTypeInitializerCompoundTest {
             }
         }).apply();
     }
+
+    @SuppressWarnings("unused")
+    public static class Foo {
+
+        private static Object foo;
+
+        public static Object bar;
+    }
 }
@@ -34,6 +34,18 @@ public class MethodDelegationSuperTest extends AbstractInstrumentationTest {
         assertThat(instance.qux(), is((Object) (FOO + QUX)));
     }
 
+    @Test
+    public void testSuperInstanceUnsafeReused() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(ReusingQuxBaz.class));
+        Foo instance = loaded.getLoaded().newInstance(), other = loaded.getLoaded().newInstance();
+        assertThat(instance.qux(), is((Object) (FOO + QUX)));
+        Object proxy = ReusingQuxBaz.proxy;
+        assertThat(instance.qux(), is((Object) (FOO + QUX)));
+        assertThat(ReusingQuxBaz.proxy, sameInstance(proxy));
+        assertThat(other.qux(), is((Object) (FOO + QUX)));
+        assertThat(ReusingQuxBaz.proxy, not(sameInstance(proxy)));
+    }
+
     @Test
     public void testBridgeMethodResolution() throws Exception {
         DynamicType.Loaded<Bar> loaded = instrument(Bar.class, MethodDelegation.to(GenericBaz.class));
@@ -91,6 +103,16 @@ public class MethodDelegationSuperTest extends AbstractInstrumentationTest {
         }
     }
 
+    public static class ReusingQuxBaz {
+
+        private static Object proxy;
+
+        public static String baz(@Super(strategy = Super.Instantiation.UNSAFE, reuseProxy = true) Foo foo) {
+            proxy = foo;
+            return foo.qux() + QUX;
+        }
+    }
+
     public static abstract class FooBarQuxBaz implements Qux {
 
         @Override
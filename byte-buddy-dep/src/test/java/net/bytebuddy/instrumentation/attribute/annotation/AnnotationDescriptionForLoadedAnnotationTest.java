@@ -41,6 +41,25 @@ public class AnnotationDescriptionForLoadedAnnotationTest extends AbstractAnnota
                 .getValue(new MethodDescription.ForLoadedMethod(PrivateAnnotation.class.getDeclaredMethod("value")));
     }
 
+    @Test
+    public void testValuesAreReadOnce() throws Exception {
+        CountingAnnotation countingAnnotation = new CountingAnnotation();
+        MethodDescription value = new MethodDescription.ForLoadedMethod(PrivateAnnotation.class.getDeclaredMethod("value"));
+        AnnotationDescription annotationDescription = describe(countingAnnotation, Carrier.class);
+        assertThat(annotationDescription.getValue(value, String.class), is(FOO));
+        assertThat(annotationDescription.getValue(value, String.class), is(FOO));
+        assertThat(annotationDescription.hashCode(), is(annotationDescription.hashCode()));
+        assertThat(countingAnnotation.count, is(1));
+    }
+
+    @Test
+    public void testArrayValueIsCopied() throws Exception {
+        MethodDescription value = new MethodDescription.ForLoadedMethod(ArrayAnnotation.class.getDeclaredMethod("value"));
+        AnnotationDescription annotationDescription = describe(Carrier.class.getAnnotation(ArrayAnnotation.class), Carrier.class);
+        annotationDescription.getValue(value, String[].class)[0] = null;
+        assertThat(annotationDescription.getValue(value, String[].class)[0], is(FOO));
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     private static @interface PrivateAnnotation {
         String value();
@@ -61,7 +80,29 @@ public class AnnotationDescriptionForLoadedAnnotationTest extends AbstractAnnota
         }
     }
 
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface ArrayAnnotation {
+        String[] value();
+    }
+
     @PrivateAnnotation(FOO)
+    @ArrayAnnotation(FOO)
     private static class Carrier {
     }
+
+    private static class CountingAnnotation implements PrivateAnnotation {
+
+        private int count;
+
+        @Override
+        public String value() {
+            count++;
+            return FOO;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return PrivateAnnotation.class;
+        }
+    }
 }
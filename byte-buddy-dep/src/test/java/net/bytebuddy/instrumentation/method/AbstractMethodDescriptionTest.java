@@ -117,6 +117,28 @@ public abstract class AbstractMethodDescriptionTest {
         assertThat(describe(secondConstructor).getDescriptor(), is(Type.getConstructorDescriptor(secondConstructor)));
     }
 
+    @Test
+    public void testSignatureToken() throws Exception {
+        MethodDescription.SignatureToken signatureToken = MethodDescription.SignatureToken.of(describe(firstMethod));
+        assertThat(signatureToken, is(MethodDescription.SignatureToken.of(new MethodDescription.ForLoadedMethod(firstMethod))));
+        assertThat(signatureToken.getUniqueSignature(), is(describe(firstMethod).getUniqueSignature()));
+        assertThat(signatureToken.getInternalName(), is(firstMethod.getName()));
+        assertThat(signatureToken.getDescriptor(), is(Type.getMethodDescriptor(firstMethod)));
+        assertThat(signatureToken, not(MethodDescription.SignatureToken.of(describe(secondMethod))));
+        assertThat(MethodDescription.SignatureToken.of(describe(firstConstructor)).getUniqueSignature(),
+                is(describe(firstConstructor).getUniqueSignature()));
+    }
+
+    @Test
+    public void testCachedPropertiesAreStable() throws Exception {
+        MethodDescription methodDescription = describe(firstMethod);
+        assertThat(methodDescription.hashCode(), is(methodDescription.hashCode()));
+        assertThat(methodDescription.hashCode(), is(new MethodDescription.ForLoadedMethod(firstMethod).hashCode()));
+        assertThat(methodDescription.getDescriptor(), is(methodDescription.getDescriptor()));
+        assertThat(methodDescription.getUniqueSignature(), is(firstMethod.getName() + Type.getMethodDescriptor(firstMethod)));
+        assertThat(methodDescription.getParameterTypes(), is(methodDescription.getParameterTypes()));
+    }
+
     @Test
     public void testMethodModifiers() throws Exception {
         assertThat(describe(firstMethod).getModifiers(), is(firstMethod.getModifiers()));
@@ -0,0 +1,49 @@
+package net.bytebuddy.instrumentation.method;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MethodDescriptionSignatureTokenTest {
+
+    private static final String FOO = "foo", BAR = "bar", DESCRIPTOR = "()V";
+
+    @Test
+    public void testEquality() throws Exception {
+        MethodDescription.SignatureToken signatureToken = MethodDescription.SignatureToken.of(FOO, DESCRIPTOR);
+        assertThat(MethodDescription.SignatureToken.of(new String(FOO), new String(DESCRIPTOR)), is(signatureToken));
+        assertThat(MethodDescription.SignatureToken.of(BAR, DESCRIPTOR), not(signatureToken));
+    }
+
+    @Test
+    public void testOfMethodDescription() throws Exception {
+        MethodDescription methodDescription = mock(MethodDescription.class);
+        when(methodDescription.getInternalName()).thenReturn(FOO);
+        when(methodDescription.getDescriptor()).thenReturn(DESCRIPTOR);
+        assertThat(MethodDescription.SignatureToken.of(methodDescription), is(MethodDescription.SignatureToken.of(FOO, DESCRIPTOR)));
+    }
+
+    @Test
+    public void testOfAbstractMethodDescriptionIsCached() throws Exception {
+        MethodDescription methodDescription = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString"));
+        assertThat(MethodDescription.SignatureToken.of(methodDescription), sameInstance(MethodDescription.SignatureToken.of(methodDescription)));
+    }
+
+    @Test
+    public void testProperties() throws Exception {
+        MethodDescription.SignatureToken signatureToken = MethodDescription.SignatureToken.of(FOO, DESCRIPTOR);
+        assertThat(signatureToken.getInternalName(), is(FOO));
+        assertThat(signatureToken.getDescriptor(), is(DESCRIPTOR));
+        assertThat(signatureToken.getUniqueSignature(), is(FOO + DESCRIPTOR));
+        assertThat(signatureToken.getUniqueSignature(), sameInstance(signatureToken.getUniqueSignature()));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MethodDescription.SignatureToken.class).ignoreFields("hashCode", "uniqueSignature").apply();
+    }
+}
@@ -0,0 +1,225 @@
+package net.bytebuddy.instrumentation.method;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.type.PackageDescription;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.test.utility.PrecompiledTypeClassLoader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.util.*;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MethodLookupEngineTemplatingTest {
+
+    private static final String FOO = "foo", PREFIX = "net.bytebuddy.test.precompiled.";
+
+    private static final String SINGLE_DEFAULT_METHOD_CLASS = PREFIX + "SingleDefaultMethodClass",
+            SINGLE_DEFAULT_METHOD_CONFLICTING_CLASS = PREFIX + "SingleDefaultMethodConflictingClass",
+            SINGLE_DEFAULT_METHOD_MANIFEST_OVERRIDING_CLASS = PREFIX + "SingleDefaultMethodManifestOverridingClass";
+
+    @Rule
+    public MethodRule java8Rule = new JavaVersionRule(8);
+
+    private MethodLookupEngine.Factory factory;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = new MethodLookupEngine.Templating.Factory();
+        classLoader = new PrecompiledTypeClassLoader(getClass().getClassLoader());
+    }
+
+    private static void assertIdentical(MethodLookupEngine.Finding actual, MethodLookupEngine.Finding expected) {
+        assertThat(actual.getTypeDescription(), is(expected.getTypeDescription()));
+        assertThat(actual.getInvokableMethods().size(), is(expected.getInvokableMethods().size()));
+        Map<String, MethodDescription> expectedMethods = new HashMap<String, MethodDescription>();
+        for (MethodDescription methodDescription : expected.getInvokableMethods()) {
+            expectedMethods.put(methodDescription.getUniqueSignature(), methodDescription);
+        }
+        for (MethodDescription methodDescription : actual.getInvokableMethods()) {
+            MethodDescription expectedMethod = expectedMethods.get(methodDescription.getUniqueSignature());
+            assertThat(methodDescription, is(expectedMethod));
+            assertThat(methodDescription.getClass(), is((Object) expectedMethod.getClass()));
+            assertThat(methodDescription.getDeclaringType(), is(expectedMethod.getDeclaringType()));
+            assertThat(methodDescription.isSpecializableFor(expected.getTypeDescription().getSupertype() == null
+                            ? expected.getTypeDescription()
+                            : expected.getTypeDescription().getSupertype()),
+                    is(expectedMethod.isSpecializableFor(expected.getTypeDescription().getSupertype() == null
+                            ? expected.getTypeDescription()
+                            : expected.getTypeDescription().getSupertype())));
+        }
+        assertThat(actual.getInvokableDefaultMethods(), is(expected.getInvokableDefaultMethods()));
+    }
+
+    private void assertIdentical(boolean extractDefaultMethods, Class<?>... type) {
+        MethodLookupEngine methodLookupEngine = factory.make(extractDefaultMethods);
+        MethodLookupEngine.Finding[] findings = new MethodLookupEngine.Finding[type.length];
+        for (int index = 0; index < type.length; index++) {
+            findings[index] = methodLookupEngine.process(new TypeDescription.ForLoadedType(type[index]));
+        }
+        for (int index = 0; index < type.length; index++) {
+            assertIdentical(findings[index], MethodLookupEngine.Default.Factory.INSTANCE.make(extractDefaultMethods)
+                    .process(new TypeDescription.ForLoadedType(type[index])));
+        }
+    }
+
+    @Test
+    public void testFactoryReturnsSameEngine() throws Exception {
+        assertThat(factory.make(true), sameInstance(factory.make(true)));
+        assertThat(factory.make(false), sameInstance(factory.make(false)));
+        assertThat(factory.make(true), not(sameInstance(factory.make(false))));
+    }
+
+    @Test
+    public void testTrivialLookup() throws Exception {
+        assertIdentical(false, Object.class, Object.class);
+    }
+
+    @Test
+    public void testComplexHierarchyLookup() throws Exception {
+        assertIdentical(false, ArrayList.class, HashMap.class, ArrayList.class);
+    }
+
+    @Test
+    public void testOverridingTypesOfSameShape() throws Exception {
+        assertIdentical(false, Foo.class, Bar.class, Qux.class);
+        assertIdentical(true, Qux.class, Bar.class, Foo.class);
+    }
+
+    @Test
+    public void testConflictingInterfaceTypesOfSameShape() throws Exception {
+        assertIdentical(false, OtherConflictingInterfaceClass.class, ConflictingInterfaceClass.class);
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    public void testDefaultMethodLookup() throws Exception {
+        MethodLookupEngine methodLookupEngine = factory.make(true);
+        for (String name : Arrays.asList(SINGLE_DEFAULT_METHOD_CLASS,
+                SINGLE_DEFAULT_METHOD_CONFLICTING_CLASS,
+                SINGLE_DEFAULT_METHOD_MANIFEST_OVERRIDING_CLASS)) {
+            TypeDescription typeDescription = new TypeDescription.ForLoadedType(Class.forName(name, true, classLoader));
+            assertIdentical(methodLookupEngine.process(typeDescription),
+                    MethodLookupEngine.Default.Factory.INSTANCE.make(true).process(typeDescription));
+        }
+    }
+
+    @Test
+    public void testInheritedMethodsAreAnalyzedOncePerShape() throws Exception {
+        TypeDescription supertype = mock(TypeDescription.class);
+        when(supertype.getDeclaredMethods()).thenReturn(new MethodList.Empty());
+        when(supertype.getInterfaces()).thenReturn(new TypeList.Empty());
+        PackageDescription packageDescription = mock(PackageDescription.class);
+        when(packageDescription.getName()).thenReturn(FOO);
+        MethodLookupEngine methodLookupEngine = factory.make(false);
+        for (int index = 0; index < 2; index++) {
+            TypeDescription typeDescription = mock(TypeDescription.class);
+            when(typeDescription.getSupertype()).thenReturn(supertype);
+            when(typeDescription.getInterfaces()).thenReturn(new TypeList.Empty());
+            when(typeDescription.getPackage()).thenReturn(packageDescription);
+            when(typeDescription.getDeclaredMethods()).thenReturn(new MethodList.Empty());
+            MethodLookupEngine.Finding finding = methodLookupEngine.process(typeDescription);
+            assertThat(finding.getTypeDescription(), is(typeDescription));
+            assertThat(finding.getInvokableMethods().size(), is(0));
+        }
+        verify(supertype).getDeclaredMethods();
+    }
+
+    @Test
+    public void testSubclassesOfSameShape() throws Exception {
+        ByteBuddy byteBuddy = new ByteBuddy().withMethodLookupEngine(factory);
+        for (String value : Arrays.asList(FOO, PREFIX)) {
+            Class<? extends Base> type = byteBuddy.subclass(Base.class)
+                    .method(named("toString")).intercept(FixedValue.value(value))
+                    .make()
+                    .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded();
+            assertThat(type.newInstance().toString(), is(value));
+        }
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MethodLookupEngine.Templating.Shape.class).apply();
+    }
+
+    public abstract static class Base {
+
+        public abstract void foo();
+
+        @Override
+        public String toString() {
+            return super.toString();
+        }
+    }
+
+    public static class Foo extends Base {
+
+        @Override
+        public void foo() {
+            /* empty */
+        }
+    }
+
+    public static class Bar extends Base {
+
+        @Override
+        public void foo() {
+            /* empty */
+        }
+
+        @Override
+        public String toString() {
+            return super.toString();
+        }
+
+        public void bar() {
+            /* empty */
+        }
+    }
+
+    public abstract static class Qux extends Base {
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+
+    public static interface FirstInterface {
+
+        void foo();
+    }
+
+    public static interface SecondInterface {
+
+        void foo();
+    }
+
+    public abstract static class ConflictingInterfaceClass implements FirstInterface, SecondInterface {
+        /* empty */
+    }
+
+    public static class OtherConflictingInterfaceClass implements FirstInterface, SecondInterface {
+
+        @Override
+        public void foo() {
+            /* empty */
+        }
+    }
+}
@@ -490,6 +490,33 @@ public class TargetMethodAnnotationDrivenBinderTest {
         verify(secondBinding).getIdentificationToken();
     }
 
+    @Test
+    public void testBindingPlanIsReused() throws Exception {
+        when(assignmentBinding.isValid()).thenReturn(true);
+        when(methodInvocation.isValid()).thenReturn(true);
+        when(termination.isValid()).thenReturn(true);
+        TypeList typeList = mock(TypeList.class);
+        when(typeList.size()).thenReturn(1);
+        when(target.getParameterTypes()).thenReturn(typeList);
+        when(target.getParameterAnnotations()).thenReturn(AnnotationList.Explicit.asList(Collections.singletonList(Collections.singletonList(firstPseudoAnnotation))));
+        when(target.getDeclaredAnnotations()).thenReturn(new AnnotationList.Empty());
+        prepareArgumentBinder(firstParameterBinder, FirstPseudoAnnotation.class, new Key(FOO), true);
+        prepareDefaultProvider(defaultsProvider, Collections.<AnnotationDescription>emptyList());
+        MethodDescription otherSource = mock(MethodDescription.class);
+        when(otherSource.getReturnType()).thenReturn(sourceTypeDescription);
+        when(terminationHandler.resolve(assigner, otherSource, target)).thenReturn(termination);
+        MethodDelegationBinder methodDelegationBinder = new TargetMethodAnnotationDrivenBinder(
+                Arrays.<TargetMethodAnnotationDrivenBinder.ParameterBinder<?>>asList(firstParameterBinder),
+                defaultsProvider,
+                terminationHandler,
+                assigner,
+                methodInvoker);
+        assertThat(methodDelegationBinder.bind(instrumentationTarget, source, target).isValid(), is(true));
+        assertThat(methodDelegationBinder.bind(instrumentationTarget, otherSource, target).isValid(), is(true));
+        verify(target, times(1)).getParameterAnnotations();
+        verify(firstPseudoAnnotation, times(1)).prepare(FirstPseudoAnnotation.class);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TargetMethodAnnotationDrivenBinder.class).refine(new ObjectPropertyAssertion.Refinement<TargetMethodAnnotationDrivenBinder.ParameterBinder>() {
@@ -0,0 +1,47 @@
+package net.bytebuddy.instrumentation.method.bytecode.stack.member;
+
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.annotation.RetentionPolicy;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class FieldAccessEnumerationTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    @Mock
+    private Instrumentation.Context instrumentationContext;
+
+    @Test
+    public void testEnumerationConstant() throws Exception {
+        StackManipulation stackManipulation = FieldAccess.forEnumeration(
+                new AnnotationDescription.EnumerationValue.ForLoadedEnumeration(RetentionPolicy.RUNTIME));
+        assertThat(stackManipulation.isValid(), is(true));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(1));
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETSTATIC,
+                Type.getInternalName(RetentionPolicy.class),
+                RetentionPolicy.RUNTIME.name(),
+                Type.getDescriptor(RetentionPolicy.class));
+        verifyNoMoreInteractions(methodVisitor);
+        verifyZeroInteractions(instrumentationContext);
+    }
+}
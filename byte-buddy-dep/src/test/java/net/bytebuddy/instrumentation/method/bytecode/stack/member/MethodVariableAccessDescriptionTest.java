@@ -7,7 +7,6 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.test.utility.MockitoRule;
-import net.bytebuddy.test.utility.MoreOpcodes;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -15,6 +14,7 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import java.util.Arrays;
 
@@ -66,8 +66,8 @@ public class MethodVariableAccessDescriptionTest {
         StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
         assertThat(size.getSizeImpact(), is(PARAMETER_STACK_SIZE));
         assertThat(size.getMaximalSize(), is(PARAMETER_STACK_SIZE));
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 1);
         verifyNoMoreInteractions(methodVisitor);
     }
 
@@ -78,9 +78,9 @@ public class MethodVariableAccessDescriptionTest {
         StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
         assertThat(size.getSizeImpact(), is(PARAMETER_STACK_SIZE + 1));
         assertThat(size.getMaximalSize(), is(PARAMETER_STACK_SIZE + 1));
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_1);
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_2);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 2);
         verifyNoMoreInteractions(methodVisitor);
     }
 }
@@ -4,7 +4,6 @@ import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.test.utility.MockitoRule;
-import net.bytebuddy.test.utility.MoreOpcodes;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
@@ -13,6 +12,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.mockito.Mock;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -47,26 +47,26 @@ public class MethodVariableAccessShortcutTest {
     @Parameterized.Parameters
     public static Collection<Object[]> data() {
         return Arrays.asList(new Object[][]{
-                {Object.class, 0, MoreOpcodes.ALOAD_0, 1},
-                {Object.class, 1, MoreOpcodes.ALOAD_1, 1},
-                {Object.class, 2, MoreOpcodes.ALOAD_2, 1},
-                {Object.class, 3, MoreOpcodes.ALOAD_3, 1},
-                {int.class, 0, MoreOpcodes.ILOAD_0, 1},
-                {int.class, 1, MoreOpcodes.ILOAD_1, 1},
-                {int.class, 2, MoreOpcodes.ILOAD_2, 1},
-                {int.class, 3, MoreOpcodes.ILOAD_3, 1},
-                {long.class, 0, MoreOpcodes.LLOAD_0, 2},
-                {long.class, 1, MoreOpcodes.LLOAD_1, 2},
-                {long.class, 2, MoreOpcodes.LLOAD_2, 2},
-                {long.class, 3, MoreOpcodes.LLOAD_3, 2},
-                {double.class, 0, MoreOpcodes.DLOAD_0, 2},
-                {double.class, 1, MoreOpcodes.DLOAD_1, 2},
-                {double.class, 2, MoreOpcodes.DLOAD_2, 2},
-                {double.class, 3, MoreOpcodes.DLOAD_3, 2},
-                {float.class, 0, MoreOpcodes.FLOAD_0, 1},
-                {float.class, 1, MoreOpcodes.FLOAD_1, 1},
-                {float.class, 2, MoreOpcodes.FLOAD_2, 1},
-                {float.class, 3, MoreOpcodes.FLOAD_3, 1},
+                {Object.class, 0, Opcodes.ALOAD, 1},
+                {Object.class, 1, Opcodes.ALOAD, 1},
+                {Object.class, 2, Opcodes.ALOAD, 1},
+                {Object.class, 3, Opcodes.ALOAD, 1},
+                {int.class, 0, Opcodes.ILOAD, 1},
+                {int.class, 1, Opcodes.ILOAD, 1},
+                {int.class, 2, Opcodes.ILOAD, 1},
+                {int.class, 3, Opcodes.ILOAD, 1},
+                {long.class, 0, Opcodes.LLOAD, 2},
+                {long.class, 1, Opcodes.LLOAD, 2},
+                {long.class, 2, Opcodes.LLOAD, 2},
+                {long.class, 3, Opcodes.LLOAD, 2},
+                {double.class, 0, Opcodes.DLOAD, 2},
+                {double.class, 1, Opcodes.DLOAD, 2},
+                {double.class, 2, Opcodes.DLOAD, 2},
+                {double.class, 3, Opcodes.DLOAD, 2},
+                {float.class, 0, Opcodes.FLOAD, 1},
+                {float.class, 1, Opcodes.FLOAD, 1},
+                {float.class, 2, Opcodes.FLOAD, 1},
+                {float.class, 3, Opcodes.FLOAD, 1},
         });
     }
 
@@ -82,7 +82,7 @@ public class MethodVariableAccessShortcutTest {
         StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
         assertThat(size.getSizeImpact(), is(this.size));
         assertThat(size.getMaximalSize(), is(this.size));
-        verify(methodVisitor).visitInsn(opcode);
+        verify(methodVisitor).visitVarInsn(opcode, index);
         verifyNoMoreInteractions(methodVisitor);
     }
 }
@@ -119,6 +119,52 @@ public abstract class AbstractInstrumentedTypeTest {
                 .withMethod(BAR, returnType, Collections.<TypeDescription>emptyList(), Collections.<TypeDescription>emptyList(), Opcodes.ACC_PUBLIC);
     }
 
+    @Test
+    public void testWithMethodOverloaded() throws Exception {
+        TypeDescription returnType = mock(TypeDescription.class), parameterType = mock(TypeDescription.class);
+        when(returnType.getName()).thenReturn(FOO);
+        when(returnType.getDescriptor()).thenReturn("L" + FOO + ";");
+        when(parameterType.getName()).thenReturn(QUX);
+        when(parameterType.getDescriptor()).thenReturn("L" + QUX + ";");
+        InstrumentedType instrumentedType = makePlainInstrumentedType()
+                .withMethod(BAR, returnType, Collections.<TypeDescription>emptyList(), Collections.<TypeDescription>emptyList(), Opcodes.ACC_PUBLIC)
+                .withMethod(BAR, returnType, Arrays.asList(parameterType), Collections.<TypeDescription>emptyList(), Opcodes.ACC_PUBLIC);
+        assertThat(instrumentedType.getDeclaredMethods().size(), is(2));
+        assertThat(instrumentedType.getDeclaredMethods().get(0).getParameterTypes().size(), is(0));
+        assertThat(instrumentedType.getDeclaredMethods().get(1).getParameterTypes().size(), is(1));
+    }
+
+    @Test
+    public void testWithMembersAreBoundToDerivedType() throws Exception {
+        InstrumentedType instrumentedType = makePlainInstrumentedType();
+        instrumentedType = instrumentedType.withField(FOO, instrumentedType, Opcodes.ACC_PUBLIC);
+        instrumentedType = instrumentedType.withMethod(FOO,
+                instrumentedType,
+                Collections.<TypeDescription>emptyList(),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC);
+        instrumentedType = instrumentedType.withField(BAR, instrumentedType, Opcodes.ACC_PUBLIC);
+        instrumentedType = instrumentedType.withMethod(BAR,
+                instrumentedType,
+                Collections.<TypeDescription>emptyList(),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC);
+        assertThat(instrumentedType.getDeclaredFields().size(), is(2));
+        for (FieldDescription fieldDescription : instrumentedType.getDeclaredFields()) {
+            assertThat(fieldDescription.getDeclaringType() == instrumentedType, is(true));
+            assertThat(fieldDescription.getFieldType() == instrumentedType, is(true));
+        }
+        assertThat(instrumentedType.getDeclaredMethods().size(), is(2));
+        for (MethodDescription methodDescription : instrumentedType.getDeclaredMethods()) {
+            assertThat(methodDescription.getDeclaringType() == instrumentedType, is(true));
+            assertThat(methodDescription.getReturnType() == instrumentedType, is(true));
+        }
+        assertThat(instrumentedType.getDeclaredFields().get(0).getName(), is(FOO));
+        assertThat(instrumentedType.getDeclaredFields().get(1).getName(), is(BAR));
+        assertThat(instrumentedType.getDeclaredMethods().get(0).getName(), is(FOO));
+        assertThat(instrumentedType.getDeclaredMethods().get(1).getName(), is(BAR));
+    }
+
     @Test
     public void testWithLoadedTypeInitializerInitial() throws Exception {
         LoadedTypeInitializer loadedTypeInitializer = makePlainInstrumentedType().getLoadedTypeInitializer();
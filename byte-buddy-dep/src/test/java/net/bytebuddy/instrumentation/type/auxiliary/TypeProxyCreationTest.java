@@ -3,6 +3,7 @@ package net.bytebuddy.instrumentation.type.auxiliary;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.ModifierContributor;
+import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.MethodList;
 import net.bytebuddy.instrumentation.method.MethodLookupEngine;
@@ -10,13 +11,13 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.test.utility.MockitoRule;
-import net.bytebuddy.test.utility.MoreOpcodes;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.mockito.asm.Type;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
@@ -28,6 +29,7 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -233,7 +235,7 @@ public class TypeProxyCreationTest {
                 foo.getInternalName(),
                 TypeProxy.INSTANCE_FIELD,
                 Type.getDescriptor(Void.class));
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
         verifyNoMoreInteractions(methodVisitor);
     }
 
@@ -269,7 +271,7 @@ public class TypeProxyCreationTest {
                 foo.getInternalName(),
                 TypeProxy.INSTANCE_FIELD,
                 Type.getDescriptor(Void.class));
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
         verifyNoMoreInteractions(methodVisitor);
     }
 
@@ -306,10 +308,74 @@ public class TypeProxyCreationTest {
                 Type.getInternalName(FooProxyMake.class),
                 TypeProxy.INSTANCE_FIELD,
                 Type.getDescriptor(Void.class));
-        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
         verifyNoMoreInteractions(methodVisitor);
     }
 
+    @Test
+    public void testForReflectionFactoryConstructionReused() throws Exception {
+        when(instrumentationTarget.getTypeDescription()).thenReturn(foo);
+        StackManipulation stackManipulation = new TypeProxy.ForSuperMethodByReflectionFactory(foo,
+                instrumentationTarget,
+                true,
+                false,
+                true);
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        Instrumentation.Context.ExtractableView instrumentationContext = mock(Instrumentation.Context.ExtractableView.class);
+        TypeDescription proxyType = new TypeDescription.ForLoadedType(FooProxyMake.class);
+        when(instrumentationContext.register(any(AuxiliaryType.class))).thenReturn(proxyType);
+        FieldDescription proxyCache = mock(FieldDescription.class);
+        when(proxyCache.getDeclaringType()).thenReturn(foo);
+        when(proxyCache.getFieldType()).thenReturn(proxyType);
+        when(proxyCache.getInternalName()).thenReturn(FOO);
+        when(proxyCache.getDescriptor()).thenReturn(proxyType.getDescriptor());
+        when(instrumentationContext.cacheInstance(proxyType)).thenReturn(proxyCache);
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(4));
+        verify(instrumentationContext).register(any(AuxiliaryType.class));
+        verify(instrumentationContext).cacheInstance(proxyType);
+        verifyNoMoreInteractions(instrumentationContext);
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETFIELD, foo.getInternalName(), FOO, proxyType.getDescriptor());
+        verify(methodVisitor).visitJumpInsn(eq(Opcodes.IFNONNULL), any(Label.class));
+        verify(methodVisitor).visitInsn(Opcodes.POP);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC,
+                Type.getInternalName(FooProxyMake.class),
+                TypeProxy.REFLECTION_METHOD,
+                Type.getMethodDescriptor(FooProxyMake.class.getDeclaredMethod("make")),
+                false);
+        verify(methodVisitor, times(2)).visitInsn(Opcodes.DUP);
+        verify(methodVisitor).visitFieldInsn(Opcodes.PUTFIELD,
+                Type.getInternalName(FooProxyMake.class),
+                TypeProxy.INSTANCE_FIELD,
+                Type.getDescriptor(Void.class));
+        verify(methodVisitor).visitInsn(Opcodes.DUP_X1);
+        verify(methodVisitor).visitFieldInsn(Opcodes.PUTFIELD, foo.getInternalName(), FOO, proxyType.getDescriptor());
+        verify(methodVisitor).visitLabel(any(Label.class));
+        verify(methodVisitor, times(3)).visitVarInsn(Opcodes.ALOAD, 0);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testForReflectionFactoryConstructionNotReusedWithoutExtractableContext() throws Exception {
+        when(instrumentationTarget.getTypeDescription()).thenReturn(foo);
+        StackManipulation stackManipulation = new TypeProxy.ForSuperMethodByReflectionFactory(foo,
+                instrumentationTarget,
+                true,
+                false,
+                true);
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        Instrumentation.Context instrumentationContext = mock(Instrumentation.Context.class);
+        when(instrumentationContext.register(any(AuxiliaryType.class)))
+                .thenReturn(new TypeDescription.ForLoadedType(FooProxyMake.class));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(3));
+        verify(instrumentationContext).register(any(AuxiliaryType.class));
+        verifyNoMoreInteractions(instrumentationContext);
+        verify(methodVisitor, never()).visitJumpInsn(anyInt(), any(Label.class));
+    }
+
     @Test
     public void testInstrumentationsValid() throws Exception {
         assertThat(TypeProxy.AbstractMethodErrorThrow.INSTANCE.isValid(), is(true));
@@ -0,0 +1,102 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.MethodList;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class FilterableListFilteredTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private MethodDescription first, second, third;
+
+    @Mock
+    private ElementMatcher<? super MethodDescription> firstMatcher, secondMatcher;
+
+    private MethodList methodList;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        methodList = new MethodList.Explicit(Arrays.asList(first, second, third));
+        when(((ElementMatcher<Object>) firstMatcher).matches(any())).thenReturn(true);
+        when(((ElementMatcher<Object>) secondMatcher).matches(first)).thenReturn(true);
+    }
+
+    @Test
+    public void testFilterIsLazy() throws Exception {
+        MethodList filtered = methodList.filter(firstMatcher).filter(secondMatcher);
+        verifyZeroInteractions(firstMatcher, secondMatcher);
+        assertThat(filtered.size(), is(1));
+        assertThat(filtered.get(0), is(first));
+        assertThat(filtered.size(), is(1));
+        verify(firstMatcher, times(3)).matches(any(MethodDescription.class));
+        verify(secondMatcher, times(3)).matches(any(MethodDescription.class));
+    }
+
+    @Test
+    public void testChainedFiltersAreFused() throws Exception {
+        MethodList filtered = methodList.filter(firstMatcher).filter(secondMatcher);
+        assertThat(filtered.getOnly(), is(first));
+        verify(firstMatcher, times(3)).matches(any(MethodDescription.class));
+        verify(secondMatcher, times(3)).matches(any(MethodDescription.class));
+    }
+
+    @Test
+    public void testIterationIsCached() throws Exception {
+        MethodList filtered = methodList.filter(secondMatcher);
+        for (int index = 0; index < 2; index++) {
+            Iterator<MethodDescription> iterator = filtered.iterator();
+            assertThat(iterator.next(), is(first));
+            assertThat(iterator.hasNext(), is(false));
+            assertThat(filtered.isEmpty(), is(false));
+        }
+        verify(secondMatcher, times(3)).matches(any(MethodDescription.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetOnlyOfMany() throws Exception {
+        methodList.filter(firstMatcher).getOnly();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetOnlyOfNone() throws Exception {
+        methodList.filter(secondMatcher).filter(not(secondMatcher)).getOnly();
+    }
+
+    @Test
+    public void testFilterOfCollectedView() throws Exception {
+        MethodList filtered = methodList.filter(firstMatcher);
+        assertThat(filtered.size(), is(3));
+        assertThat(filtered.filter(secondMatcher).getOnly(), is(first));
+        verify(firstMatcher, times(3)).matches(any(MethodDescription.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIteratorRemove() throws Exception {
+        Iterator<MethodDescription> iterator = methodList.filter(firstMatcher).iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void testEquality() throws Exception {
+        assertThat(methodList.filter(firstMatcher), is((MethodList) new MethodList.Explicit(Arrays.asList(first, second, third))));
+    }
+}
@@ -0,0 +1,106 @@
+package net.bytebuddy.utility;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PersistentListTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int SIZE = 100;
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertThat(PersistentList.empty().size(), is(0));
+        assertThat(PersistentList.empty(), is((List<Object>) Collections.emptyList()));
+        assertThat(PersistentList.of(Collections.emptyList()), is((List<Object>) Collections.emptyList()));
+    }
+
+    @Test
+    public void testOfCopiesList() throws Exception {
+        assertThat(PersistentList.of(Arrays.asList(FOO, BAR)), is(Arrays.asList(FOO, BAR)));
+        assertThat(PersistentList.of(Arrays.asList(FOO, BAR)).hashCode(), is(Arrays.asList(FOO, BAR).hashCode()));
+    }
+
+    @Test
+    public void testOfReusesPersistentList() throws Exception {
+        PersistentList<String> list = PersistentList.of(Arrays.asList(FOO, BAR));
+        assertThat(PersistentList.of(list), sameInstance(list));
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        PersistentList<String> list = PersistentList.<String>empty().append(FOO).append(BAR);
+        assertThat(list, is(Arrays.asList(FOO, BAR)));
+    }
+
+    @Test
+    public void testPrepend() throws Exception {
+        PersistentList<String> list = PersistentList.<String>empty().prepend(FOO).prepend(BAR);
+        assertThat(list, is(Arrays.asList(BAR, FOO)));
+    }
+
+    @Test
+    public void testAppendAndPrepend() throws Exception {
+        PersistentList<String> list = PersistentList.<String>empty().append(FOO).prepend(BAR).append(QUX);
+        assertThat(list, is(Arrays.asList(BAR, FOO, QUX)));
+    }
+
+    @Test
+    public void testAppendAll() throws Exception {
+        assertThat(PersistentList.<String>empty().append(FOO).appendAll(Arrays.asList(BAR, QUX)), is(Arrays.asList(FOO, BAR, QUX)));
+    }
+
+    @Test
+    public void testAppendDoesNotAlterOriginal() throws Exception {
+        PersistentList<String> original = PersistentList.<String>empty().append(FOO);
+        PersistentList<String> first = original.append(BAR), second = original.append(QUX);
+        assertThat(original, is(Collections.singletonList(FOO)));
+        assertThat(first, is(Arrays.asList(FOO, BAR)));
+        assertThat(second, is(Arrays.asList(FOO, QUX)));
+    }
+
+    @Test
+    public void testPrependDoesNotAlterOriginal() throws Exception {
+        PersistentList<String> original = PersistentList.<String>empty().prepend(FOO);
+        PersistentList<String> first = original.prepend(BAR), second = original.prepend(QUX);
+        assertThat(original, is(Collections.singletonList(FOO)));
+        assertThat(first, is(Arrays.asList(BAR, FOO)));
+        assertThat(second, is(Arrays.asList(QUX, FOO)));
+    }
+
+    @Test
+    public void testGrowth() throws Exception {
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int index = 0; index < SIZE; index++) {
+            list = list.append(index).prepend(-index);
+        }
+        assertThat(list.size(), is(SIZE * 2));
+        for (int index = 0; index < SIZE; index++) {
+            assertThat(list.get(SIZE - 1 - index), is(-index));
+            assertThat(list.get(SIZE + index), is(index));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() throws Exception {
+        PersistentList.<String>empty().append(FOO).get(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegativeIndex() throws Exception {
+        PersistentList.<String>empty().append(FOO).get(-1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        PersistentList.<String>empty().append(FOO).add(BAR);
+    }
+}
@@ -0,0 +1,88 @@
+package net.bytebuddy.utility;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PersistentMapTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int SIZE = 100;
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertThat(PersistentMap.empty().size(), is(0));
+        assertThat(PersistentMap.empty(), is((Map<Object, Object>) Collections.emptyMap()));
+        assertThat(PersistentMap.empty().get(FOO), nullValue());
+    }
+
+    @Test
+    public void testWith() throws Exception {
+        PersistentMap<String, String> map = PersistentMap.<String, String>empty().with(FOO, BAR).with(BAR, QUX);
+        Map<String, String> expected = new HashMap<String, String>();
+        expected.put(FOO, BAR);
+        expected.put(BAR, QUX);
+        assertThat(map, is(expected));
+        assertThat(map.hashCode(), is(expected.hashCode()));
+        assertThat(map.get(FOO), is(BAR));
+        assertThat(map.containsKey(BAR), is(true));
+        assertThat(map.containsKey(QUX), is(false));
+    }
+
+    @Test
+    public void testWithReplaces() throws Exception {
+        PersistentMap<String, String> original = PersistentMap.<String, String>empty().with(FOO, BAR);
+        PersistentMap<String, String> replaced = original.with(FOO, QUX);
+        assertThat(original, is(Collections.singletonMap(FOO, BAR)));
+        assertThat(replaced, is(Collections.singletonMap(FOO, QUX)));
+    }
+
+    @Test
+    public void testWithDoesNotAlterOriginal() throws Exception {
+        PersistentMap<String, String> original = PersistentMap.<String, String>empty().with(FOO, FOO);
+        PersistentMap<String, String> first = original.with(BAR, BAR), second = original.with(QUX, QUX);
+        assertThat(original.size(), is(1));
+        assertThat(original.containsKey(BAR), is(false));
+        assertThat(first.containsKey(BAR), is(true));
+        assertThat(first.containsKey(QUX), is(false));
+        assertThat(second.containsKey(BAR), is(false));
+        assertThat(second.containsKey(QUX), is(true));
+    }
+
+    @Test
+    public void testOf() throws Exception {
+        assertThat(PersistentMap.of(Collections.singletonMap(FOO, BAR)), is(Collections.singletonMap(FOO, BAR)));
+        PersistentMap<String, String> map = PersistentMap.<String, String>empty().with(FOO, BAR);
+        assertThat(PersistentMap.of(map), sameInstance(map));
+    }
+
+    @Test
+    public void testGrowth() throws Exception {
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        for (int index = 0; index < SIZE; index++) {
+            map = map.with(index, -index);
+        }
+        assertThat(map.size(), is(SIZE));
+        for (int index = 0; index < SIZE; index++) {
+            assertThat(map.get(index), is(-index));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKey() throws Exception {
+        PersistentMap.empty().with(null, FOO);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        PersistentMap.<String, String>empty().with(FOO, BAR).put(BAR, FOO);
+    }
+}
@@ -4,20 +4,114 @@ import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class StreamDrainerTest {
 
+    private static byte[] makeInput(int length) {
+        byte[] input = new byte[length];
+        for (int index = 0; index < length; index++) {
+            input[index] = (byte) index;
+        }
+        return input;
+    }
+
+    private static byte[] toArray(ByteBuffer byteBuffer) {
+        return Arrays.copyOfRange(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.arrayOffset() + byteBuffer.limit());
+    }
+
     @Test
     public void testDrainage() throws Exception {
         byte[] input = new byte[]{1, 2, 3, 4};
         assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input)), is(input));
     }
 
+    @Test
+    public void testDrainageOfLargeStream() throws Exception {
+        byte[] input = makeInput(10000);
+        assertThat(new StreamDrainer(7).drain(new ChunkedInputStream(input)), is(input));
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(makeInput(3))), is(makeInput(3)));
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(new byte[0])), is(new byte[0]));
+    }
+
+    @Test
+    public void testDrainageWithExactSizeHint() throws Exception {
+        byte[] input = makeInput(100);
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(input), input.length), is(input));
+    }
+
+    @Test
+    public void testDrainageWithTooSmallSizeHint() throws Exception {
+        byte[] input = makeInput(5000);
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(input), 10), is(input));
+    }
+
+    @Test
+    public void testDrainageWithTooLargeSizeHint() throws Exception {
+        byte[] input = makeInput(10);
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(input), 100), is(input));
+    }
+
+    @Test
+    public void testDrainageWithIllegalSizeHint() throws Exception {
+        byte[] input = makeInput(10);
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(input), Integer.MAX_VALUE), is(input));
+        assertThat(new StreamDrainer().drain(new ChunkedInputStream(input), StreamDrainer.NO_SIZE_HINT), is(input));
+    }
+
+    @Test
+    public void testDrainageToBuffer() throws Exception {
+        byte[] input = makeInput(100);
+        ByteBuffer exact = new StreamDrainer().drainToBuffer(new ChunkedInputStream(input), input.length);
+        assertThat(exact.position(), is(0));
+        assertThat(exact.remaining(), is(input.length));
+        assertThat(toArray(exact), is(input));
+        assertThat(toArray(new StreamDrainer(3).drainToBuffer(new ChunkedInputStream(input), 10)), is(input));
+        assertThat(toArray(new StreamDrainer(3).drainToBuffer(new ChunkedInputStream(input), StreamDrainer.NO_SIZE_HINT)), is(input));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(StreamDrainer.class).apply();
     }
+
+    private static class ChunkedInputStream extends InputStream {
+
+        private final byte[] input;
+
+        private int position;
+
+        private ChunkedInputStream(byte[] input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return position < input.length ? input[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            } else if (position == input.length) {
+                return -1;
+            }
+            int read = Math.min(Math.min(length, 13), input.length - position);
+            System.arraycopy(input, position, buffer, offset, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return input.length - position;
+        }
+    }
 }